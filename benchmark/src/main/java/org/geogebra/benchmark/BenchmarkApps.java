@@ -0,0 +1,82 @@
+package org.geogebra.benchmark;
+
+import java.util.Locale;
+
+import org.geogebra.common.kernel.commands.AlgebraProcessor;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.main.App;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+
+/**
+ * Headless apps and generated constructions shared by the benchmarks. All
+ * constructions are deterministic, so that results of different runs can be
+ * compared.
+ */
+public final class BenchmarkApps {
+
+	private BenchmarkApps() {
+		// utility class
+	}
+
+	/**
+	 * @return headless app with a 800x600 graphics view
+	 */
+	public static AppDNoGui createApp() {
+		AppDNoGui app = new AppDNoGui(new LocalizationD(3), true);
+		app.setLanguage(Locale.US);
+		return app;
+	}
+
+	/**
+	 * @param app
+	 *            app
+	 * @param commands
+	 *            commands to evaluate
+	 */
+	public static void eval(App app, String... commands) {
+		AlgebraProcessor ap = app.getKernel().getAlgebraProcessor();
+		for (String command : commands) {
+			ap.processAlgebraCommand(command, false);
+		}
+	}
+
+	/**
+	 * @param app
+	 *            app
+	 * @param label
+	 *            label
+	 * @return element with given label
+	 * @throws IllegalStateException
+	 *             if there is no such element
+	 */
+	public static GeoElement lookup(App app, String label) {
+		GeoElement geo = app.getKernel().lookupLabel(label);
+		if (geo == null) {
+			throw new IllegalStateException("missing element " + label);
+		}
+		return geo;
+	}
+
+	/**
+	 * Creates a chain of dependent elements that all depend on the free point
+	 * A: for every i a free point Pi, midpoint Mi of M(i-1) and Pi, line fi
+	 * through Mi and A and distance di of Mi and Pi.
+	 * 
+	 * @param app
+	 *            app
+	 * @param size
+	 *            number of chain links
+	 */
+	public static void createChain(App app, int size) {
+		eval(app, "A=(0,0)", "M=A");
+		String previous = "M";
+		for (int i = 0; i < size; i++) {
+			eval(app, "P" + i + "=(" + (i % 17 - 8) + "," + (i % 11 - 5) + ")",
+					"M" + i + "=Midpoint(" + previous + ",P" + i + ")",
+					"f" + i + "=Line(M" + i + ",A)",
+					"d" + i + "=Distance(M" + i + ",P" + i + ")");
+			previous = "M" + i;
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package org.geogebra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.euclidian.plot.CurvePlotter;
+import org.geogebra.common.euclidian.plot.CurvePlotter.Gap;
+import org.geogebra.common.euclidian.plot.CurveSampleCache;
+import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Plotting a function graph in the 800x600 graphics view.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CurvePlotterBenchmark {
+
+	/** function definition */
+	@Param({ "x sin(x)", "tan(x)", "sin(10 / x)" })
+	public String expression;
+
+	private GeoFunction function;
+	private EuclidianView view;
+	private GeneralPathClippedForCurvePlotter path;
+	private CurveSampleCache cache;
+	private int step = 0;
+
+	/**
+	 * Creates the function
+	 */
+	@Setup
+	public void setup() {
+		AppDNoGui app = BenchmarkApps.createApp();
+		BenchmarkApps.eval(app, "f(x)=" + expression);
+		function = (GeoFunction) BenchmarkApps.lookup(app, "f");
+		view = app.getActiveEuclidianView();
+		path = new GeneralPathClippedForCurvePlotter(view);
+		cache = new CurveSampleCache(function);
+	}
+
+	/**
+	 * @return label position
+	 */
+	@Benchmark
+	public GPoint plotCurve() {
+		path.reset();
+		return CurvePlotter.plotCurve(function, view.getXmin(),
+				view.getXmax(), view, path, true, Gap.MOVE_TO);
+	}
+
+	/**
+	 * Plots the function for a slightly shifted interval each time, like
+	 * dragging the view
+	 * 
+	 * @return label position
+	 */
+	@Benchmark
+	public GPoint panCurve() {
+		path.reset();
+		double shift = panShift();
+		return CurvePlotter.plotCurve(function, view.getXmin() + shift,
+				view.getXmax() + shift, view, path, true, Gap.MOVE_TO);
+	}
+
+	/**
+	 * Same as {@link #panCurve()} with a sample cache
+	 * 
+	 * @return label position
+	 */
+	@Benchmark
+	public GPoint panCachedCurve() {
+		path.reset();
+		double shift = panShift();
+		return CurvePlotter.plotCachedCurve(cache, view.getXmin() + shift,
+				view.getXmax() + shift, view, path, true, Gap.MOVE_TO);
+	}
+
+	private double panShift() {
+		step = (step + 1) % 100;
+		// 3 pixels per step
+		return 3 * step / view.getXscale();
+	}
+}
@@ -0,0 +1,66 @@
+package org.geogebra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.arithmetic.Function;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluation of a function in 1000 points, walking the expression tree or
+ * running the compiled program.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExpressionBenchmark {
+
+	/** tree or compiled */
+	@Param({ "tree", "compiled" })
+	public String mode;
+
+	/** function definition */
+	@Param({ "sin(x)^2 + x^3 / (1 + x^2)",
+			"sqrt(abs(x)) exp(-x / 5) - floor(x) cos(3x)" })
+	public String expression;
+
+	private Function function;
+
+	/**
+	 * Creates the function
+	 */
+	@Setup
+	public void setup() {
+		AppDNoGui app = BenchmarkApps.createApp();
+		BenchmarkApps.eval(app, "f(x)=" + expression);
+		function = ((GeoFunction) BenchmarkApps.lookup(app, "f"))
+				.getFunction();
+		function.setCompiledEvaluation("compiled".equals(mode));
+	}
+
+	/**
+	 * @return sum of function values
+	 */
+	@Benchmark
+	public double evaluate() {
+		double sum = 0;
+		for (int i = 0; i < 1000; i++) {
+			sum += function.value(-10 + i * 0.02);
+		}
+		return sum;
+	}
+}
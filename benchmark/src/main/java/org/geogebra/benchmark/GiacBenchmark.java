@@ -0,0 +1,66 @@
+package org.geogebra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.CASException;
+import org.geogebra.common.kernel.GeoGebraCasInterface;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round trips GeoGebra CAS input - Giac (CASgiacD) - GeoGebra output. The
+ * kernel's CAS result cache is bypassed. Needs the native Giac library.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GiacBenchmark {
+
+	/** CAS input */
+	@Param({ "Factor(x^4 - 1)", "Integral(x sin(x))",
+			"Solve(x^3 - 2x + 1 = 0)" })
+	public String input;
+
+	private Kernel kernel;
+	private GeoGebraCasInterface cas;
+
+	/**
+	 * Initializes Giac
+	 * 
+	 * @throws CASException
+	 *             if Giac is not available
+	 */
+	@Setup
+	public void setup() throws CASException {
+		AppDNoGui app = BenchmarkApps.createApp();
+		kernel = app.getKernel();
+		cas = kernel.getGeoGebraCAS();
+		roundTrip();
+	}
+
+	/**
+	 * @return CAS output
+	 * @throws CASException
+	 *             on CAS error
+	 */
+	@Benchmark
+	public String roundTrip() throws CASException {
+		return cas.evaluateGeoGebraCAS(input, null,
+				StringTemplate.numericNoLocal, kernel);
+	}
+}
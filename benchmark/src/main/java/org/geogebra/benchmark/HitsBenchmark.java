@@ -0,0 +1,95 @@
+package org.geogebra.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hit testing in a view with many points and segments.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HitsBenchmark {
+
+	private static final int QUERIES = 256;
+
+	/** number of points */
+	@Param({ "1000", "10000" })
+	public int count;
+
+	private EuclidianView view;
+	private GeoPoint dragged;
+	private final GPoint[] queries = new GPoint[QUERIES];
+	private int next = 0;
+
+	/**
+	 * Creates points, every tenth one connected to the previous point
+	 */
+	@Setup
+	public void setup() {
+		AppDNoGui app = BenchmarkApps.createApp();
+		view = app.getActiveEuclidianView();
+		Random random = new Random(42);
+		double width = view.getXmax() - view.getXmin();
+		double height = view.getYmax() - view.getYmin();
+		for (int i = 0; i < count; i++) {
+			double x = view.getXmin() + random.nextDouble() * width;
+			double y = view.getYmin() + random.nextDouble() * height;
+			BenchmarkApps.eval(app, "P" + i + "=(" + x + "," + y + ")");
+			if (i % 10 == 9) {
+				BenchmarkApps.eval(app,
+						"s" + i + "=Segment(P" + (i - 1) + ",P" + i + ")");
+			}
+		}
+		dragged = (GeoPoint) BenchmarkApps.lookup(app, "P0");
+		for (int i = 0; i < QUERIES; i++) {
+			queries[i] = new GPoint(random.nextInt(view.getWidth()),
+					random.nextInt(view.getHeight()));
+		}
+	}
+
+	/**
+	 * @return number of hits
+	 */
+	@Benchmark
+	public int setHits() {
+		next = (next + 1) % QUERIES;
+		view.setHits(queries[next], 5);
+		return view.getHits().size();
+	}
+
+	/**
+	 * Hover while dragging: one point changes between the hit tests
+	 * 
+	 * @return number of hits
+	 */
+	@Benchmark
+	public int dragAndSetHits() {
+		next = (next + 1) % QUERIES;
+		GPoint p = queries[next];
+		dragged.setCoords(view.toRealWorldCoordX(p.x),
+				view.toRealWorldCoordY(p.y), 1);
+		dragged.updateRepaint();
+		view.setHits(queries[(next + 1) % QUERIES], 5);
+		return view.getHits().size();
+	}
+}
@@ -0,0 +1,54 @@
+package org.geogebra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.implicit.GeoImplicitCurve;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Quadtree plotting of implicit curves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ImplicitCurveBenchmark {
+
+	/** curve equation */
+	@Param({ "x^3 + y^3 = 3x y", "x^4 + y^4 = 2x y + 1",
+			"(x^2 + y^2)^2 = 8(x^2 - y^2)" })
+	public String equation;
+
+	private GeoImplicitCurve curve;
+
+	/**
+	 * Creates the curve
+	 */
+	@Setup
+	public void setup() {
+		AppDNoGui app = BenchmarkApps.createApp();
+		BenchmarkApps.eval(app, "c:" + equation);
+		curve = (GeoImplicitCurve) BenchmarkApps.lookup(app, "c");
+	}
+
+	/**
+	 * Recomputes the curve points
+	 */
+	@Benchmark
+	public void updatePath() {
+		curve.updatePath();
+	}
+}
@@ -0,0 +1,89 @@
+package org.geogebra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.geogebra3D.kernel3D.implicit3D.GeoImplicitSurface;
+import org.geogebra.common.jre.kernel.ForkJoinTaskRunner;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Marching cubes for implicit surfaces: separate triangles vs. indexed mesh,
+ * with and without refinement and parallel evaluation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ImplicitSurfaceBenchmark {
+
+	/** view bounds and scales, about 20 cubes per axis */
+	private static final double[] BOUNDS = { -2, 2, -2, 2, -2, 2, 200, 200,
+			200 };
+
+	/** surface equation */
+	@Param({ "x^4 + y^4 + z^4 = 1", "x^2 + y^2 - z^2 = 0.5" })
+	public String equation;
+
+	/** whether to build an indexed mesh */
+	@Param({ "false", "true" })
+	public boolean indexed;
+
+	/** refinement level of indexed mesh */
+	@Param({ "0", "1" })
+	public int refinement;
+
+	/** whether to evaluate on several threads (indexed mesh only) */
+	@Param({ "false", "true" })
+	public boolean parallel;
+
+	private GeoImplicitSurface surface;
+	private ForkJoinTaskRunner runner;
+
+	/**
+	 * Creates the surface
+	 */
+	@Setup
+	public void setup() {
+		AppDNoGui app = BenchmarkApps.createApp();
+		if (parallel) {
+			runner = new ForkJoinTaskRunner();
+			app.getKernel().setTaskRunner(runner);
+		}
+		BenchmarkApps.eval(app, "c:" + equation);
+		surface = (GeoImplicitSurface) BenchmarkApps.lookup(app, "c");
+		surface.setIndexedMesh(indexed);
+		surface.setRefinement(refinement);
+	}
+
+	/**
+	 * Stops the worker threads
+	 */
+	@TearDown
+	public void tearDown() {
+		if (runner != null) {
+			runner.shutdown();
+		}
+	}
+
+	/**
+	 * Recomputes the triangles
+	 */
+	@Benchmark
+	public void updateSurface() {
+		surface.updateSurface(BOUNDS);
+	}
+}
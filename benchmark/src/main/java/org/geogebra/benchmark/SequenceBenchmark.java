@@ -0,0 +1,84 @@
+package org.geogebra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sequences and Zip of points driven by sliders: moving the upper bound, a
+ * number used in the expression, and one element of a zipped list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SequenceBenchmark {
+
+	/** number of list elements */
+	@Param({ "1000", "10000" })
+	public int size;
+
+	private GeoNumeric n;
+	private GeoNumeric a;
+	private GeoNumeric b;
+	private int step = 0;
+
+	/**
+	 * Creates the construction
+	 */
+	@Setup
+	public void setup() {
+		AppDNoGui app = BenchmarkApps.createApp();
+		BenchmarkApps.eval(app, "n = " + size, "a = 1", "b = 1",
+				"s = Sequence((i, a sin(i / 100)), i, 1, n)",
+				"L = Join({b}, Sequence(" + size + "))",
+				"z = Zip((k, sqrt(k)), k, L)");
+		n = (GeoNumeric) BenchmarkApps.lookup(app, "n");
+		a = (GeoNumeric) BenchmarkApps.lookup(app, "a");
+		b = (GeoNumeric) BenchmarkApps.lookup(app, "b");
+	}
+
+	/**
+	 * Changes the upper bound by a few elements
+	 */
+	@Benchmark
+	public void moveUpperBound() {
+		step++;
+		n.setValue(size - step % 10);
+		n.updateCascade();
+	}
+
+	/**
+	 * Changes a number the expression depends on (all elements change)
+	 */
+	@Benchmark
+	public void moveExpressionNumber() {
+		step++;
+		a.setValue(1 + step % 10);
+		a.updateCascade();
+	}
+
+	/**
+	 * Changes the first element of the zipped list
+	 */
+	@Benchmark
+	public void moveZipElement() {
+		step++;
+		b.setValue(step % 10);
+		b.updateCascade();
+	}
+}
@@ -0,0 +1,78 @@
+package org.geogebra.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.io.MyXMLio;
+import org.geogebra.common.jre.io.MyXMLioJre;
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Undo XML after moving a point that few objects depend on, and saving of
+ * large constructions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UndoXMLBenchmark {
+
+	/** number of chain links (4 objects each) */
+	@Param({ "250", "2500" })
+	public int size;
+
+	private AppDNoGui app;
+	private Construction cons;
+	private GeoPoint moved;
+	private int step = 0;
+
+	/**
+	 * Creates the construction
+	 */
+	@Setup
+	public void setup() {
+		app = BenchmarkApps.createApp();
+		BenchmarkApps.createChain(app, size);
+		cons = app.getKernel().getConstruction();
+		moved = (GeoPoint) BenchmarkApps.lookup(app, "P" + (size - 1));
+	}
+
+	/**
+	 * @return undo XML
+	 */
+	@Benchmark
+	public StringBuilder storeUndoXML() {
+		step++;
+		moved.setCoords(step % 7, 1, 1);
+		moved.updateCascade();
+		return MyXMLio.getUndoXML(cons, true);
+	}
+
+	/**
+	 * @return zipped file
+	 * @throws IOException
+	 *             on write error
+	 */
+	@Benchmark
+	public byte[] saveGgb() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		((MyXMLioJre) app.getXMLio()).writeGeoGebraFile(out, false);
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,78 @@
+package org.geogebra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.jre.kernel.ParallelAlgoScheduler;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Moving the free point of a generated construction, see
+ * {@link BenchmarkApps#createChain(org.geogebra.common.main.App, int)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UpdateCascadeBenchmark {
+
+	/** number of chain links */
+	@Param({ "100", "1000" })
+	public int size;
+
+	/** whether to use the parallel update scheduler */
+	@Param({ "false", "true" })
+	public boolean parallel;
+
+	private GeoPoint point;
+	private ParallelAlgoScheduler scheduler;
+	private int step = 0;
+
+	/**
+	 * Creates the construction
+	 */
+	@Setup
+	public void setup() {
+		AppDNoGui app = BenchmarkApps.createApp();
+		BenchmarkApps.createChain(app, size);
+		point = (GeoPoint) BenchmarkApps.lookup(app, "A");
+		if (parallel) {
+			scheduler = new ParallelAlgoScheduler();
+			app.getKernel().setAlgoUpdateScheduler(scheduler);
+		}
+	}
+
+	/**
+	 * Stops the scheduler threads
+	 */
+	@TearDown
+	public void tearDown() {
+		if (scheduler != null) {
+			scheduler.shutdown();
+		}
+	}
+
+	/**
+	 * Moves the free point and updates all dependent elements
+	 */
+	@Benchmark
+	public void moveFreePoint() {
+		step++;
+		point.setCoords(step % 10, step % 7, 1);
+		point.updateCascade();
+	}
+}
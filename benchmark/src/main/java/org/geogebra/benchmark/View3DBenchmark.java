@@ -0,0 +1,75 @@
+package org.geogebra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
+import org.geogebra.common.geogebra3D.kernel3D.geos.GeoPoint3D;
+import org.geogebra.common.kernel.Matrix.Coords;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rotating the 3D view and moving a point that 3D lines and intersections
+ * depend on. Run with -Pprof=gc to see the allocation rate
+ * (gc.alloc.rate.norm = bytes per operation).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class View3DBenchmark {
+
+	private EuclidianView3D view;
+	private GeoPoint3D moved;
+	private Coords point = new Coords(4);
+	private int step = 0;
+
+	/**
+	 * Creates the view and construction
+	 */
+	@Setup
+	public void setup() {
+		AppDNoGui app = BenchmarkApps.createApp();
+		view = (EuclidianView3D) app.getEuclidianView3D();
+		BenchmarkApps.eval(app, "A = (1, 2, 3)", "B = (3, 1, 0)",
+				"C = (0, 0, 2)", "f = Line(A, B)", "p = Plane(C, B, (0, 1, 0))",
+				"g = OrthogonalLine(C, f, space)", "D = Intersect(g, p)",
+				"E = Intersect(f, p)");
+		moved = (GeoPoint3D) BenchmarkApps.lookup(app, "A");
+	}
+
+	/**
+	 * @return converted point
+	 */
+	@Benchmark
+	public Coords rotateView() {
+		step++;
+		view.setRotXYinDegrees(step % 360, 20 + step % 40);
+		view.updateMatrix();
+		point.set(step % 5, 1, 2, 1);
+		view.toSceneCoords3D(point);
+		view.toScreenCoords3D(point);
+		return point;
+	}
+
+	/**
+	 * Moves A, updates lines and intersections
+	 */
+	@Benchmark
+	public void movePoint() {
+		step++;
+		moved.setCoords(step % 7, 2, 3, 1);
+		moved.updateCascade();
+	}
+}
@@ -0,0 +1,154 @@
+package org.geogebra.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.io.DocHandler;
+import org.geogebra.common.io.QDParser;
+import org.geogebra.common.jre.io.MyXMLioJre;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading and saving of constructions as XML and as .ggb file. Run with
+ * -p file=path/to/file.ggb to use a sample file instead of the generated
+ * construction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class XMLBenchmark {
+
+	private static final DocHandler NO_OP_HANDLER = new DocHandler() {
+
+		@Override
+		public void startElement(String tag,
+				LinkedHashMap<String, String> attrs) {
+			// only tokenizing
+		}
+
+		@Override
+		public void endElement(String tag) {
+			// only tokenizing
+		}
+
+		@Override
+		public void startDocument() {
+			// only tokenizing
+		}
+
+		@Override
+		public void endDocument() {
+			// only tokenizing
+		}
+
+		@Override
+		public void text(String str) {
+			// only tokenizing
+		}
+
+		@Override
+		public int getConsStep() {
+			return 0;
+		}
+	};
+
+	/** .ggb file to load, empty for generated construction */
+	@Param({ "" })
+	public String file;
+
+	private AppDNoGui app;
+	private MyXMLioJre xmlio;
+	private byte[] ggb;
+	private final QDParser parser = new QDParser();
+	private String xml;
+
+	/**
+	 * Creates or loads the construction
+	 * 
+	 * @throws Exception
+	 *             if file can't be loaded
+	 */
+	@Setup
+	public void setup() throws Exception {
+		app = BenchmarkApps.createApp();
+		xmlio = (MyXMLioJre) app.getXMLio();
+		if (file.isEmpty()) {
+			BenchmarkApps.createChain(app, 250);
+			ggb = saveGgb();
+		} else {
+			ggb = Files.readAllBytes(new File(file).toPath());
+			xmlio.readZipFromString(ggb);
+		}
+		xml = app.getXML();
+	}
+
+	/**
+	 * @throws Exception
+	 *             if XML is invalid
+	 */
+	@Benchmark
+	public void loadXML() throws Exception {
+		xmlio.processXMLString(xml, true, false);
+	}
+
+	/**
+	 * @throws Exception
+	 *             if file is invalid
+	 */
+	@Benchmark
+	public void loadGgb() throws Exception {
+		xmlio.readZipFromString(ggb);
+	}
+
+	/**
+	 * Tokenizing only, without building the construction
+	 * 
+	 * @return number of elements
+	 * @throws Exception
+	 *             if XML is invalid
+	 */
+	@Benchmark
+	public int tokenizeXML() throws Exception {
+		parser.parse(NO_OP_HANDLER, new StringReader(xml));
+		return parser.getElementCount();
+	}
+
+	/**
+	 * @return XML of the construction
+	 */
+	@Benchmark
+	public String saveXML() {
+		return app.getXML();
+	}
+
+	/**
+	 * @return zipped file
+	 * @throws IOException
+	 *             on write error
+	 */
+	@Benchmark
+	public byte[] saveGgb() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		xmlio.writeGeoGebraFile(out, false);
+		return out.toByteArray();
+	}
+}
@@ -49,6 +49,7 @@ import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.util.Charsets;
 import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.debug.Instrumentation;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -264,10 +265,17 @@ public abstract class MyXMLioJre extends MyXMLio {
 			}
 
 			// write XML file for construction
+			Instrumentation instrumentation = app.getInstrumentation();
+			double start = instrumentation == null ? -1
+					: instrumentation.start();
 			zip.putNextEntry(new ZipEntry(XML_FILE));
-			osw.write(getFullXML());
+			// stream into zip without building the whole XML
+			writeFullXML(osw);
 			osw.flush();
 			zip.closeEntry();
+			if (instrumentation != null) {
+				instrumentation.end(Instrumentation.XML, "save", start);
+			}
 
 			osw.close();
 			zip.close();
@@ -566,6 +574,11 @@ public abstract class MyXMLioJre extends MyXMLio {
 		XMLStreamJre streamJre = (XMLStreamJre) stream;
 		xmlParser.parse(xmlHandler, streamJre.getReader());
 		streamJre.closeReader();
+		if (app.getInstrumentation() != null) {
+			Log.debug("parsed XML: " + xmlParser.getElementCount()
+					+ " elements, " + xmlParser.getAttributeCount()
+					+ " attributes, " + xmlParser.getCharCount() + " chars");
+		}
 
 	}
 
@@ -0,0 +1,78 @@
+package org.geogebra.common.jre.kernel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.geogebra.common.kernel.TaskRunner;
+
+/**
+ * Runs independent tasks concurrently on a fork-join pool.
+ */
+public class ForkJoinTaskRunner implements TaskRunner {
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates runner with one thread per processor
+	 */
+	public ForkJoinTaskRunner() {
+		this(new ForkJoinPool());
+	}
+
+	/**
+	 * @param pool
+	 *            thread pool
+	 */
+	public ForkJoinTaskRunner(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public boolean runAll(List<? extends Runnable> tasks) {
+		if (tasks.size() < 2) {
+			return false;
+		}
+		ArrayList<Callable<Void>> callables = new ArrayList<>(tasks.size());
+		for (final Runnable task : tasks) {
+			callables.add(new Callable<Void>() {
+				@Override
+				public Void call() {
+					task.run();
+					return null;
+				}
+			});
+		}
+		for (Future<Void> result : pool.invokeAll(callables)) {
+			try {
+				result.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return thread pool
+	 */
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Stops the thread pool
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+}
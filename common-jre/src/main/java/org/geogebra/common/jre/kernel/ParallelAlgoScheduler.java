@@ -0,0 +1,235 @@
+package org.geogebra.common.jre.kernel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.geogebra.common.kernel.algos.AlgoDistancePoints;
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.algos.AlgoIntersectLines;
+import org.geogebra.common.kernel.algos.AlgoJoinPoints;
+import org.geogebra.common.kernel.algos.AlgoLineBisector;
+import org.geogebra.common.kernel.algos.AlgoMidpoint;
+import org.geogebra.common.kernel.algos.AlgoOrthoLinePointLine;
+import org.geogebra.common.kernel.algos.AlgoUpdateScheduler;
+import org.geogebra.common.kernel.geos.GeoElement;
+
+/**
+ * Updates independent algorithms concurrently on a fork-join pool.
+ *
+ * The sorted algorithm set is cut into runs of consecutive thread safe
+ * algorithms; every other algorithm is updated sequentially in its place.
+ * Inside a run each algorithm gets a level (1 + level of its parent algos in
+ * the run), algorithms of one level only read outputs of lower levels. For
+ * each level compute() runs concurrently, then outputs are updated on the
+ * calling thread. Results are the same as for sequential update.
+ *
+ * Only algorithm classes registered via {@link #addThreadSafe(Class)} are
+ * computed concurrently; their compute() must only read their input and
+ * write their own output.
+ */
+public class ParallelAlgoScheduler implements AlgoUpdateScheduler {
+
+	/** default minimal number of algorithms of one level to use threads */
+	public static final int DEFAULT_MIN_PARALLEL = 4;
+
+	private final ForkJoinPool pool;
+	private final Set<Class<?>> threadSafe = Collections
+			.synchronizedSet(new HashSet<Class<?>>());
+	private int minParallel = DEFAULT_MIN_PARALLEL;
+
+	private long parallelLevels = 0;
+	private long parallelAlgos = 0;
+	private long sequentialAlgos = 0;
+
+	/**
+	 * Creates scheduler with default whitelist and one thread per processor
+	 */
+	public ParallelAlgoScheduler() {
+		this(new ForkJoinPool());
+	}
+
+	/**
+	 * @param pool
+	 *            thread pool
+	 */
+	public ParallelAlgoScheduler(ForkJoinPool pool) {
+		this.pool = pool;
+		addThreadSafe(AlgoDistancePoints.class);
+		addThreadSafe(AlgoIntersectLines.class);
+		addThreadSafe(AlgoJoinPoints.class);
+		addThreadSafe(AlgoLineBisector.class);
+		addThreadSafe(AlgoMidpoint.class);
+		addThreadSafe(AlgoOrthoLinePointLine.class);
+	}
+
+	/**
+	 * @param algoClass
+	 *            algorithm class whose compute() may run concurrently with
+	 *            other algorithms; ignored if it overrides update()
+	 */
+	public void addThreadSafe(Class<? extends AlgoElement> algoClass) {
+		try {
+			if (algoClass.getMethod("update")
+					.getDeclaringClass() != AlgoElement.class) {
+				return;
+			}
+		} catch (NoSuchMethodException e) {
+			return;
+		}
+		threadSafe.add(algoClass);
+	}
+
+	/**
+	 * @param algoClass
+	 *            algorithm class
+	 */
+	public void removeThreadSafe(Class<? extends AlgoElement> algoClass) {
+		threadSafe.remove(algoClass);
+	}
+
+	/**
+	 * @param minParallel
+	 *            minimal number of algorithms of one level to use threads
+	 */
+	public void setMinParallel(int minParallel) {
+		this.minParallel = Math.max(2, minParallel);
+	}
+
+	private boolean isThreadSafe(AlgoElement algo) {
+		return threadSafe.contains(algo.getClass())
+				&& algo.isComputeSeparable();
+	}
+
+	@Override
+	public boolean updateAll(AlgoElement[] algos, int size) {
+		if (size < minParallel) {
+			return false;
+		}
+		int start = 0;
+		while (start < size) {
+			if (!isThreadSafe(algos[start])) {
+				algos[start].update();
+				sequentialAlgos++;
+				start++;
+				continue;
+			}
+			int end = start + 1;
+			while (end < size && isThreadSafe(algos[end])) {
+				end++;
+			}
+			updateRun(algos, start, end);
+			start = end;
+		}
+		return true;
+	}
+
+	private void updateRun(AlgoElement[] algos, int start, int end) {
+		if (end - start < minParallel) {
+			updateSequential(algos, start, end);
+			return;
+		}
+		IdentityHashMap<AlgoElement, Integer> levels = new IdentityHashMap<>();
+		ArrayList<List<AlgoElement>> byLevel = new ArrayList<>();
+		for (int i = start; i < end; i++) {
+			AlgoElement algo = algos[i];
+			int level = 0;
+			GeoElement[] input = algo.getInputForUpdateSetPropagation();
+			for (int j = 0; input != null && j < input.length; j++) {
+				Integer parentLevel = levels
+						.get(input[j].getParentAlgorithm());
+				if (parentLevel != null) {
+					level = Math.max(level, parentLevel + 1);
+				}
+			}
+			levels.put(algo, level);
+			if (level == byLevel.size()) {
+				byLevel.add(new ArrayList<AlgoElement>());
+			}
+			byLevel.get(level).add(algo);
+		}
+		for (List<AlgoElement> level : byLevel) {
+			if (level.size() < minParallel) {
+				for (AlgoElement algo : level) {
+					algo.update();
+				}
+				sequentialAlgos += level.size();
+			} else {
+				computeConcurrently(level);
+				for (AlgoElement algo : level) {
+					algo.updateAfterCompute();
+				}
+				parallelLevels++;
+				parallelAlgos += level.size();
+			}
+		}
+	}
+
+	private void updateSequential(AlgoElement[] algos, int start, int end) {
+		for (int i = start; i < end; i++) {
+			algos[i].update();
+		}
+		sequentialAlgos += end - start;
+	}
+
+	private void computeConcurrently(List<AlgoElement> level) {
+		ArrayList<Callable<Void>> tasks = new ArrayList<>(level.size());
+		for (final AlgoElement algo : level) {
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() {
+					algo.compute();
+					return null;
+				}
+			});
+		}
+		for (Future<Void> result : pool.invokeAll(tasks)) {
+			try {
+				result.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * @return number of levels computed concurrently
+	 */
+	public long getParallelLevels() {
+		return parallelLevels;
+	}
+
+	/**
+	 * @return number of algorithms computed concurrently
+	 */
+	public long getParallelAlgos() {
+		return parallelAlgos;
+	}
+
+	/**
+	 * @return number of algorithms updated sequentially
+	 */
+	public long getSequentialAlgos() {
+		return sequentialAlgos;
+	}
+
+	/**
+	 * Stops the thread pool
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+}
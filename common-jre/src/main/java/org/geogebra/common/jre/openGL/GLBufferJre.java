@@ -1,9 +1,9 @@
 package org.geogebra.common.jre.openGL;
 
 import java.nio.FloatBuffer;
-import java.util.ArrayList;
 
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.GLBuffer;
+import org.geogebra.common.geogebra3D.euclidian3D.openGL.ReusableFloatArray;
 
 /**
  * buffers for openGL
@@ -71,22 +71,21 @@ public class GLBufferJre implements GLBuffer {
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, int length) {
+	public void set(ReusableFloatArray array, int length) {
 
 		allocate(length);
 
-		for (int i = 0; i < length; i++) {
-			put(array.get(i));
-		}
+		impl.put(array.array(), 0, length);
 
 		setLimit(length);
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, int offset, int length) {
-		for (int i = 0; i < length; i++) {
-			impl.put(i + offset, array.get(i).floatValue());
-		}
+	public void set(ReusableFloatArray array, int offset, int length) {
+		int position = impl.position();
+		impl.position(offset);
+		impl.put(array.array(), 0, length);
+		impl.position(position);
 	}
 
 	@Override
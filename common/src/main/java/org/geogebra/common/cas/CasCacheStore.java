@@ -0,0 +1,23 @@
+package org.geogebra.common.cas;
+
+/**
+ * Second level storage for CAS results, e.g. a file that survives restarts.
+ * Implementations must be thread safe if shared by several kernels.
+ */
+public interface CasCacheStore {
+
+	/**
+	 * @param key
+	 *            cache key (CAS settings and normalized input)
+	 * @return stored result or null
+	 */
+	public String get(String key);
+
+	/**
+	 * @param key
+	 *            cache key (CAS settings and normalized input)
+	 * @param result
+	 *            CAS result
+	 */
+	public void put(String key, String result);
+}
@@ -0,0 +1,186 @@
+package org.geogebra.common.cas;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+/**
+ * LRU cache for CAS results. The number of entries and the total length of
+ * keys and results are bounded. Keys are prefixed by a context (version and
+ * CAS settings), so that results computed with different settings are never
+ * mixed. Optionally backed by a {@link CasCacheStore}.
+ */
+public class CasResultCache {
+
+	/** default maximal number of entries */
+	public static final int DEFAULT_MAX_ENTRIES = 500;
+	/** default maximal total length of keys and results */
+	public static final long DEFAULT_MAX_CHARS = 4 * 1024 * 1024;
+
+	private final int maxEntries;
+	private final long maxChars;
+	private final LinkedHashMap<String, String> map;
+	private long chars = 0;
+	private String context = "";
+	private CasCacheStore store;
+
+	private long hits = 0;
+	private long storeHits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	/**
+	 * @param maxEntries
+	 *            maximal number of entries
+	 * @param maxChars
+	 *            maximal total length of keys and results
+	 */
+	public CasResultCache(int maxEntries, long maxChars) {
+		this.maxEntries = Math.max(1, maxEntries);
+		this.maxChars = maxChars;
+		// access order, i.e. LRU
+		map = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * @param context
+	 *            CAS settings that influence results
+	 */
+	public synchronized void setContext(String context) {
+		this.context = context;
+	}
+
+	/**
+	 * @param store
+	 *            second level store (may be null)
+	 */
+	public void setStore(CasCacheStore store) {
+		this.store = store;
+	}
+
+	/**
+	 * @return second level store (may be null)
+	 */
+	public CasCacheStore getStore() {
+		return store;
+	}
+
+	/**
+	 * @param input
+	 *            CAS input
+	 * @return cache key for the input in current context
+	 */
+	String getKey(String input) {
+		return context + '\n' + input.trim();
+	}
+
+	/**
+	 * @param input
+	 *            CAS input
+	 * @return cached result or null
+	 */
+	public synchronized String get(String input) {
+		if (input == null) {
+			return null;
+		}
+		String key = getKey(input);
+		String result = map.get(key);
+		if (result != null) {
+			hits++;
+			return result;
+		}
+		if (store != null) {
+			result = store.get(key);
+			if (result != null) {
+				storeHits++;
+				putInternal(key, result);
+				return result;
+			}
+		}
+		misses++;
+		return null;
+	}
+
+	/**
+	 * @param input
+	 *            CAS input
+	 * @param result
+	 *            CAS result
+	 */
+	public synchronized void put(String input, String result) {
+		if (input == null || result == null) {
+			return;
+		}
+		String key = getKey(input);
+		putInternal(key, result);
+		if (store != null) {
+			store.put(key, result);
+		}
+	}
+
+	private void putInternal(String key, String result) {
+		String old = map.put(key, result);
+		if (old != null) {
+			chars -= key.length() + old.length();
+		}
+		chars += key.length() + result.length();
+		Iterator<Entry<String, String>> it = map.entrySet().iterator();
+		while ((map.size() > maxEntries || chars > maxChars)
+				&& map.size() > 1) {
+			Entry<String, String> eldest = it.next();
+			chars -= eldest.getKey().length() + eldest.getValue().length();
+			it.remove();
+			evictions++;
+		}
+	}
+
+	/**
+	 * Removes all entries from memory, the store is kept.
+	 */
+	public synchronized void clear() {
+		map.clear();
+		chars = 0;
+	}
+
+	/**
+	 * @return number of entries in memory
+	 */
+	public synchronized int size() {
+		return map.size();
+	}
+
+	/**
+	 * @return number of lookups answered from memory
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return number of lookups answered from the store
+	 */
+	public synchronized long getStoreHits() {
+		return storeHits;
+	}
+
+	/**
+	 * @return number of unsuccessful lookups
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return number of entries removed because of size limits
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "CAS cache: " + map.size() + " entries, " + chars
+				+ " chars, hits: " + hits + ", store hits: " + storeHits
+				+ ", misses: " + misses + ", evictions: " + evictions;
+	}
+}
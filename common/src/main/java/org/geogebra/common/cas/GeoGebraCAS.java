@@ -30,6 +30,7 @@ import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoPlaneND;
 import org.geogebra.common.main.App;
 import org.geogebra.common.util.MaxSizeHashMap;
+import org.geogebra.common.util.debug.Instrumentation;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -47,7 +48,7 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 	private ArrayList<String> varSwaps = new ArrayList<>();
 	// these variables are cached to gain some speed in getPolynomialCoeffs
 	private Map<String, String[]> getPolynomialCoeffsCache = new MaxSizeHashMap<>(
-			Kernel.GEOGEBRA_CAS_CACHE_SIZE);
+			Kernel.GEOGEBRA_CAS_CACHE_SIZE, true);
 	private StringBuilder getPolynomialCoeffsSB = new StringBuilder();
 	private StringBuilder sbPolyCoeffs = new StringBuilder();
 	private int counter = 1;
@@ -119,18 +120,33 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 	public String evaluateGeoGebraCAS(ValidExpression casInput,
 			MyArbitraryConstant arbconst, StringTemplate tpl, GeoCasCell cell,
 			Kernel kernel) throws CASException {
+		return evaluateGeoGebraCAS(casInput, arbconst, tpl, cell, kernel,
+				false);
+	}
+
+	private String evaluateGeoGebraCAS(ValidExpression casInput,
+			MyArbitraryConstant arbconst, StringTemplate tpl, GeoCasCell cell,
+			Kernel kernel, boolean useCache) throws CASException {
 		if (!app.getSettings().getCasSettings().isEnabled()
 				&& getCurrentCAS() != null) {
 			return "?";
 		}
 		String result = null;
 		CASException exception = null;
+		Instrumentation instrumentation = app.getInstrumentation();
+		double start = instrumentation == null ? -1
+				: instrumentation.start();
 		try {
 			result = getCurrentCAS().evaluateGeoGebraCAS(casInput, arbconst,
-					tpl, cell, kernel);
+					tpl, cell, kernel, useCache);
 		} catch (CASException ce) {
 			exception = ce;
 		}
+		if (instrumentation != null) {
+			Command cmd = casInput.getTopLevelCommand();
+			instrumentation.end(Instrumentation.CAS,
+					cmd == null ? "expression" : cmd.getName(), start);
+		}
 
 		// check if keep input command was successful
 		// e.g. for KeepInput[Substitute[...]]
@@ -161,9 +177,17 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 	final public String evaluateGeoGebraCAS(String exp,
 			MyArbitraryConstant arbconst, StringTemplate tpl, Kernel kernel)
 			throws CASException {
+		return evaluateGeoGebraCAS(exp, arbconst, tpl, kernel, false);
+	}
+
+	@Override
+	final public String evaluateGeoGebraCAS(String exp,
+			MyArbitraryConstant arbconst, StringTemplate tpl, Kernel kernel,
+			boolean useCache) throws CASException {
 		try {
 			ValidExpression inVE = casParser.parseGeoGebraCASInput(exp, null);
-			String ret = evaluateGeoGebraCAS(inVE, arbconst, tpl, null, kernel);
+			String ret = evaluateGeoGebraCAS(inVE, arbconst, tpl, null, kernel,
+					useCache);
 			if (ret == null) {
 				throw new CASException(new Exception(app.getLocalization()
 						.getError("CAS.GeneralErrorMessage")));
@@ -229,7 +253,7 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 		try {
 			// expand expression and get coefficients of
 			// "3*a*x^2 + b" in form "{ b, 0, 3*a }"
-			String tmp = evaluate(sbPolyCoeffs.toString());
+			String tmp = evaluatePolynomialCoeffs(sbPolyCoeffs.toString());
 
 			// not a polynomial -- cache
 			if ("{}".equals(tmp)) {
@@ -1063,6 +1087,25 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 		return cmdSet;
 	}
 
+	/**
+	 * Evaluates Giac input for getPolynomialCoeffs, using the kernel's CAS
+	 * cache so that results survive clearCache() and (with a persistent
+	 * store) restarts.
+	 */
+	private String evaluatePolynomialCoeffs(String giacInput)
+			throws CASException {
+		CasResultCache cache = app.getKernel().getCasCache();
+		String result = cache.get(giacInput);
+		if (result == null) {
+			result = evaluate(giacInput);
+			if (result != null && !"?".equals(result)
+					&& !"".equals(result)) {
+				cache.put(giacInput, result);
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public void clearCache() {
 		getPolynomialCoeffsCache.clear();
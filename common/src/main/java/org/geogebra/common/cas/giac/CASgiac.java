@@ -10,6 +10,7 @@ import java.util.Map.Entry;
 import java.util.Random;
 
 import org.geogebra.common.cas.CASparser;
+import org.geogebra.common.cas.CasResultCache;
 import org.geogebra.common.kernel.AsynchronousCommand;
 import org.geogebra.common.kernel.CASException;
 import org.geogebra.common.kernel.CASGenericInterface;
@@ -502,12 +503,21 @@ public abstract class CASgiac implements CASGenericInterface {
 			final ValidExpression inputExpression, MyArbitraryConstant arbconst,
 			StringTemplate tpl, GeoCasCell cell, Kernel kernel)
 			throws CASException {
+		return evaluateGeoGebraCAS(inputExpression, arbconst, tpl, cell, kernel,
+				false);
+	}
+
+	@Override
+	final public synchronized String evaluateGeoGebraCAS(
+			final ValidExpression inputExpression, MyArbitraryConstant arbconst,
+			StringTemplate tpl, GeoCasCell cell, Kernel kernel,
+			boolean useCache) throws CASException {
 
 		ValidExpression casInput = inputExpression;
 		Command cmd = casInput.getTopLevelCommand();
 		boolean keepInput = (cell != null && cell.isKeepInputUsed())
 				|| (cmd != null && "KeepInput".equals(cmd.getName()));
-		String plainResult = getPlainResult(casInput, kernel);
+		String plainResult = getPlainResult(casInput, kernel, useCache);
 
 		if (keepInput) {
 			// remove KeepInput[] command and take argument
@@ -592,7 +602,7 @@ public abstract class CASgiac implements CASGenericInterface {
 	final public synchronized ExpressionValue evaluateToExpression(
 			final ValidExpression inputExpression, MyArbitraryConstant arbconst,
 			Kernel kernel) throws CASException {
-		String result = getPlainResult(inputExpression, kernel);
+		String result = getPlainResult(inputExpression, kernel, false);
 		// standard case
 		if ("".equals(result)) {
 			return null;
@@ -601,7 +611,8 @@ public abstract class CASgiac implements CASGenericInterface {
 
 	}
 
-	private String getPlainResult(ValidExpression casInput, Kernel kernel) {
+	private String getPlainResult(ValidExpression casInput, Kernel kernel,
+			boolean useCache) {
 		// KeepInput[] command should set flag keepinput!!:=1
 		// so that commands like Substitute can work accordingly
 		Command cmd = casInput.getTopLevelCommand();
@@ -630,7 +641,8 @@ public abstract class CASgiac implements CASGenericInterface {
 				StringTemplate.giacTemplate, this);
 
 		// evaluate in Giac
-		String plainResult = evaluateCAS(giacInput);
+		String plainResult = useCache ? evaluateCached(giacInput, kernel)
+				: evaluateCAS(giacInput);
 		// get initial nr of vars
 		int nrOfVars = casParser.getNrOfVars();
 		StringBuilder newPlainResult = new StringBuilder();
@@ -661,6 +673,23 @@ public abstract class CASgiac implements CASGenericInterface {
 		return plainResult;
 	}
 
+	/**
+	 * Looks up the Giac input in the kernel's CAS cache, so that inputs which
+	 * only differ in GeoGebra syntax share one entry.
+	 */
+	private String evaluateCached(String giacInput, Kernel kernel) {
+		CasResultCache cache = kernel.getCasCache();
+		String result = cache.get(giacInput);
+		if (result == null) {
+			result = evaluateCAS(giacInput);
+			if (result != null && !"?".equals(result)
+					&& !"".equals(result)) {
+				cache.put(giacInput, result);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Tries to parse a given Giac string and returns a String in GeoGebra
 	 * syntax.
@@ -786,8 +815,32 @@ public abstract class CASgiac implements CASGenericInterface {
 		}
 
 		c.handleCASoutput(result, input.hashCode());
-		if (c.useCacheing()) {
-			c.getKernel().putToCasCache(input, result);
+		if (c.useCacheing() && result2 != null) {
+			String giacInput = toGiacInput(input);
+			if (giacInput != null) {
+				c.getKernel().putToCasCache(giacInput, result2);
+			}
+		}
+	}
+
+	/**
+	 * @param input
+	 *            input in GeoGebraCAS syntax
+	 * @return input translated to Giac, as used for cache keys (null if the
+	 *         input can't be parsed)
+	 */
+	private String toGiacInput(String input) {
+		// translation may count variables, keep the count of running
+		// evaluations
+		int nrOfVars = casParser.getNrOfVars();
+		try {
+			return casParser.translateToCAS(
+					casParser.parseGeoGebraCASInput(input, null),
+					StringTemplate.giacTemplate, this);
+		} catch (CASException e) {
+			return null;
+		} finally {
+			casParser.setNrOfVars(nrOfVars);
 		}
 	}
 
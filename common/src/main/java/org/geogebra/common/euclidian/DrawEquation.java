@@ -14,6 +14,7 @@ import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.main.App;
 import org.geogebra.common.main.GeoGebraColorConstants;
 import org.geogebra.common.main.MyError;
+import org.geogebra.common.util.MaxSizeHashMap;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
 
@@ -32,6 +33,77 @@ import com.himamis.retex.renderer.share.platform.graphics.Insets;
  */
 public abstract class DrawEquation {
 
+	/** maximal number of parsed formulas kept in memory */
+	private static final int MAX_CACHED_ICONS = 200;
+
+	/**
+	 * Parsed and laid out formulas; unlike the image cache this is also used
+	 * for export and for platforms that paint the icon directly
+	 */
+	private final MaxSizeHashMap<IconKey, TeXIcon> iconCache;
+	private int iconCacheHits = 0;
+	private int iconCacheMisses = 0;
+
+	/**
+	 * Creates helper with empty formula cache
+	 */
+	public DrawEquation() {
+		iconCache = new MaxSizeHashMap<>(MAX_CACHED_ICONS, true);
+	}
+
+	/**
+	 * Everything that influences parsing and layout of a formula
+	 */
+	private static final class IconKey {
+		private final String text;
+		private final Color fgColor;
+		private final int size;
+		private final int style;
+		private final Integer maxWidth;
+		private final Double lineSpace;
+
+		IconKey(String text, Color fgColor, int size, int style,
+				Integer maxWidth, Double lineSpace) {
+			this.text = text;
+			this.fgColor = fgColor;
+			this.size = size;
+			this.style = style;
+			this.maxWidth = maxWidth;
+			this.lineSpace = lineSpace;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = text.hashCode();
+			result = 31 * result + hash(fgColor);
+			result = 31 * result + size;
+			result = 31 * result + style;
+			result = 31 * result + hash(maxWidth);
+			return 31 * result + hash(lineSpace);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof IconKey)) {
+				return false;
+			}
+			IconKey other = (IconKey) obj;
+			return text.equals(other.text) && size == other.size
+					&& style == other.style
+					&& equal(fgColor, other.fgColor)
+					&& equal(maxWidth, other.maxWidth)
+					&& equal(lineSpace, other.lineSpace);
+		}
+
+		private static int hash(Object o) {
+			return o == null ? 0 : o.hashCode();
+		}
+
+		private static boolean equal(Object a, Object b) {
+			return a == null ? b == null : a.equals(b);
+		}
+	}
+
 	/**
 	 * @param app
 	 *            application
@@ -253,8 +325,17 @@ public abstract class DrawEquation {
 	public TeXIcon createIcon(String text, Color fgColor, GFont font, int style,
 			Integer maxWidth, Double lineSpace, App app) {
 		checkFirstCall(app);
+		IconKey key = new IconKey(text, fgColor, font.getSize(), style,
+				maxWidth, lineSpace);
+		TeXIcon icon = iconCache.get(key);
+		if (icon != null) {
+			iconCacheHits++;
+			return icon;
+		}
+		iconCacheMisses++;
 		TeXFormula formula;
-		TeXIcon icon;
+		// formulas with errors are not cached
+		boolean valid = true;
 
 		try {
 			formula = new TeXFormula(text);
@@ -273,7 +354,7 @@ public abstract class DrawEquation {
 			// Application.debug("MyError LaTeX parse exception:
 			// "+e.getMessage()+"\n"+text);
 			// Write error message to Graphics View
-
+			valid = false;
 			formula = TeXFormula.getPartialTeXFormula(text);
 			icon = formula.createTeXIcon(TeXConstants.STYLE_DISPLAY,
 					font.getSize() + 3, style, fgColor);
@@ -287,6 +368,7 @@ public abstract class DrawEquation {
 			// Application.debug("LaTeX parse exception:
 			// "+e.getMessage()+"\n"+text);
 			// Write error message to Graphics View
+			valid = false;
 			try {
 				formula = TeXFormula.getPartialTeXFormula(text);
 
@@ -306,9 +388,41 @@ public abstract class DrawEquation {
 			}
 		}
 		icon.setInsets(new Insets(1, 1, 1, 1));
+		if (valid) {
+			iconCache.put(key, icon);
+		}
 		return icon;
 	}
 
+	/**
+	 * Remove all parsed formulas, needed when fonts change
+	 */
+	public void clearIconCache() {
+		iconCache.clear();
+	}
+
+	/**
+	 * @return number of formulas found in the cache
+	 */
+	public int getIconCacheHits() {
+		return iconCacheHits;
+	}
+
+	/**
+	 * @return number of formulas that had to be parsed
+	 */
+	public int getIconCacheMisses() {
+		return iconCacheMisses;
+	}
+
+	/**
+	 * @return ratio of cache hits to all icon requests, 0 if there were none
+	 */
+	public double getIconCacheHitRate() {
+		int total = iconCacheHits + iconCacheMisses;
+		return total == 0 ? 0 : iconCacheHits / (double) total;
+	}
+
 	/**
 	 * @param text
 	 *            LaTeX
@@ -385,52 +499,8 @@ public abstract class DrawEquation {
 			final GFont font, final boolean serif, final Integer maxWidth,
 			final Double lineSpace) {
 
-		checkFirstCall(app);
-		GColor fgColor = GColor.BLACK;
-		int style = font.getLaTeXStyle(serif);
-
-		TeXFormula formula;
-		TeXIcon icon;
-
-		try {
-			formula = new TeXFormula(text);
-
-			if (maxWidth == null) {
-				icon = formula.createTeXIcon(TeXConstants.STYLE_DISPLAY,
-						font.getSize() + 3, style, convertColor(fgColor));
-			} else {
-				icon = formula.createTeXIcon(TeXConstants.STYLE_DISPLAY,
-						font.getSize() + 3, TeXConstants.UNIT_CM,
-						maxWidth.intValue(), TeXConstants.ALIGN_LEFT,
-						TeXConstants.UNIT_CM, lineSpace.doubleValue());
-			}
-		} catch (final MyError e) {
-			// e.printStackTrace();
-			// Application.debug("MyError LaTeX parse exception:
-			// "+e.getMessage()+"\n"+text);
-			// Write error message to Graphics View
-
-			formula = TeXFormula.getPartialTeXFormula(text);
-			icon = formula.createTeXIcon(TeXConstants.STYLE_DISPLAY,
-					font.getSize() + 3, style, convertColor(fgColor));
-
-			formula.createTeXIcon(TeXConstants.STYLE_DISPLAY, 15,
-					TeXConstants.UNIT_CM, 4f, TeXConstants.ALIGN_LEFT,
-					TeXConstants.UNIT_CM, 0.5f);
-
-		} catch (final Exception e) {
-			// e.printStackTrace();
-			// Application.debug("LaTeX parse exception:
-			// "+e.getMessage()+"\n"+text);
-			// Write error message to Graphics View
-
-			formula = TeXFormula.getPartialTeXFormula(text);
-			icon = formula.createTeXIcon(TeXConstants.STYLE_DISPLAY,
-					font.getSize() + 3, style, convertColor(fgColor));
-
-		}
-		icon.setInsets(new Insets(1, 1, 1, 1));
-
+		TeXIcon icon = createIcon(text, convertColor(GColor.BLACK), font,
+				font.getLaTeXStyle(serif), maxWidth, lineSpace, app);
 		return AwtFactory.getPrototype().newDimension(icon.getIconWidth(),
 				icon.getIconHeight());
 
@@ -19,6 +19,7 @@ import java.util.NoSuchElementException;
 import org.geogebra.common.awt.GGraphics2D;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.util.debug.Instrumentation;
 
 /**
  * List to store Drawable objects for fast drawing.
@@ -177,6 +178,19 @@ public class DrawableList {
 	 *            Graphic to be used
 	 */
 	public final void drawAll(GGraphics2D g2) {
+		drawAll(g2, null);
+	}
+
+	/**
+	 * Draws all drawables in the list.
+	 * 
+	 * @param g2
+	 *            Graphic to be used
+	 * @param instrumentation
+	 *            instrumentation to measure drawing time, may be null
+	 */
+	public final void drawAll(GGraphics2D g2,
+			Instrumentation instrumentation) {
 		Link cur = head;
 		while (cur != null) {
 			// defined check needed in case the GeoList changed its size
@@ -185,11 +199,16 @@ public class DrawableList {
 			if (geo.isDefined()
 					&& !(geo.isGeoList() && ((GeoList) geo).drawAsComboBox())
 					&& !(geo.isGeoInputBox())) {
+				double start = instrumentation == null ? -1
+						: instrumentation.start();
 				if (cur.d.needsUpdate()) {
 					cur.d.setNeedsUpdate(false);
 					cur.d.update();
 				}
 				cur.d.draw(g2);
+				if (instrumentation != null) {
+					instrumentation.end(Instrumentation.DRAW, cur.d, start);
+				}
 			}
 			cur = cur.next;
 		}
@@ -17,7 +17,6 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.TreeSet;
 
 import org.geogebra.common.awt.GPoint;
 import org.geogebra.common.awt.GPoint2D;
@@ -6102,7 +6101,7 @@ public abstract class EuclidianController {
 			for (GeoPointND pt : pts) {
 				pt.rotate(tempNum, rotationCenter);
 			}
-			GeoElement.updateCascade(pts, new TreeSet<AlgoElement>(), false);
+			GeoElement.updateCascade(pts, false);
 			view.repaint();
 		}
 		rotationLastAngle = newAngle;
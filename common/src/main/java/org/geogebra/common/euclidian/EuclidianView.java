@@ -80,6 +80,7 @@ import org.geogebra.common.util.AsyncOperation;
 import org.geogebra.common.util.MyMath;
 import org.geogebra.common.util.NumberFormatAdapter;
 import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.debug.Instrumentation;
 
 import com.himamis.retex.editor.share.util.Unicode;
 
@@ -259,6 +260,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	private ArrayList<GeoPointND> stickyPointList = new ArrayList<>();
 
 	protected DrawableList allDrawableList = new DrawableList();
+	/** spatial index of allDrawableList for hit testing */
+	private final HitGrid hitGrid = new HitGrid();
 	/** lists of geos on different layers */
 	public DrawableList drawLayers[];
 
@@ -1650,6 +1653,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			return;
 		}
 		allDrawableList.updateAll();
+		hitGrid.invalidate();
 		if (repaint) {
 			repaint();
 		}
@@ -1665,6 +1669,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			return;
 		}
 		allDrawableList.updateAllForView();
+		hitGrid.invalidate();
 		if (repaint) {
 			repaint();
 		}
@@ -1686,6 +1691,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		this.batchUpdate = false;
 		if (this.needsAllDrawablesUpdate) {
 			allDrawableList.updateAll();
+			hitGrid.invalidate();
 			repaint();
 		}
 	}
@@ -1818,6 +1824,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		Object d = drawableMap.get(geo);
 		if (d != null) {
 			((Drawable) d).update();
+			hitGrid.update((Drawable) d);
 			repaint();
 		}
 	}
@@ -1825,6 +1832,9 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	@Override
 	public void update(GeoElement geo) {
 		DrawableND d = drawableMap.get(geo);
+		if (d instanceof Drawable) {
+			hitGrid.update((Drawable) d);
+		}
 
 		if (d != null) {
 			if (d instanceof DrawImage) {
@@ -2030,6 +2040,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			drawLayers[layer].remove(d);
 		}
 		allDrawableList.remove(d);
+		hitGrid.invalidate();
 
 		drawableMap.remove(geo);
 		if (geo.isGeoPoint()) {
@@ -2124,9 +2135,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		if (p == null) {
 			return;
 		}
-		DrawableIterator it = allDrawableList.getIterator();
-		while (it.hasNext()) {
-			Drawable d = it.next();
+		for (Drawable d : hitGrid.getCandidates(allDrawableList, this, p.x,
+				p.y, hitThreshold)) {
 			if (d.isEuclidianVisible()) {
 				if (d.hit(p.x, p.y, hitThreshold)) {
 					GeoElement geo = d.getGeoElement();
@@ -2239,9 +2249,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		if (!getApplication().isLabelDragsEnabled()) {
 			return null;
 		}
-		DrawableIterator it = allDrawableList.getIterator();
-		while (it.hasNext()) {
-			Drawable d = it.next();
+		for (Drawable d : hitGrid.getCandidates(allDrawableList, this, p.x,
+				p.y, 0)) {
 			if (d.hitLabel(p.x, p.y)) {
 				GeoElement geo = d.getGeoElement();
 				if (geo.isEuclidianVisible()) {
@@ -2361,6 +2370,9 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 
 		if (d != null) {
 			allDrawableList.add(d);
+			hitGrid.invalidate();
+			// label is positioned on first repaint
+			hitGrid.update(d);
 		}
 	}
 
@@ -2872,6 +2884,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	 */
 	public void setBoundingBox(BoundingBox boundingBox) {
 		this.boundingBox = boundingBox;
+		hitGrid.invalidate();
 	}
 
 	/**
@@ -3523,6 +3536,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		// boolean
 		// isSVGExtensions=g2.getClass().getName().endsWith("SVGExtensions");
 		int layer;
+		Instrumentation instrumentation = getApplication()
+				.getInstrumentation();
 
 		for (layer = 0; layer <= getApplication().getMaxLayerUsed(); layer++) // only
 																				// draw
@@ -3531,7 +3546,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		{
 			// if (isSVGExtensions)
 			// ((geogebra.export.SVGExtensions)g2).startGroup("layer "+layer);
-			drawLayers[layer].drawAll(g2);
+			drawLayers[layer].drawAll(g2, instrumentation);
 			// if (isSVGExtensions)
 			// ((geogebra.export.SVGExtensions)g2).endGroup("layer "+layer);
 		}
@@ -3545,7 +3560,6 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	 *            graphics
 	 */
 	protected void drawObjects(GGraphics2D g2) {
-
 		drawGeometricObjects(g2);
 		drawActionObjects(g2);
 
@@ -3553,6 +3567,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			previewDrawable.drawPreview(g2);
 		}
 		adjustObjects();
+		// drawables are updated and labels positioned while drawing
+		hitGrid.afterDraw();
 	}
 
 	/**
@@ -4248,9 +4264,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			return;
 		}
 
-		DrawableIterator it = allDrawableList.getIterator();
-		while (it.hasNext()) {
-			Drawable d = it.next();
+		for (Drawable d : hitGrid.getCandidates(allDrawableList, this,
+				rect)) {
 			GeoElement geo = d.getGeoElement();
 			if (geo.isEuclidianVisible() && d.isInside(rect)) {
 				hits.add(geo);
@@ -4276,9 +4291,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			return;
 		}
 
-		DrawableIterator it = allDrawableList.getIterator();
-		while (it.hasNext()) {
-			Drawable d = it.next();
+		for (Drawable d : hitGrid.getCandidates(allDrawableList, this,
+				rect)) {
 			GeoElement geo = d.getGeoElement();
 			if (geo.isEuclidianVisible() && d.intersectsRectangle(rect)) {
 				hits.add(geo);
@@ -4388,6 +4402,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		drawableMap.clear();
 		stickyPointList.clear();
 		allDrawableList.clear();
+		hitGrid.invalidate();
 		bgImageList.clear();
 		this.geosWaiting.clear();
 
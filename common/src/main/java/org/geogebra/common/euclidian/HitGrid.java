@@ -0,0 +1,338 @@
+package org.geogebra.common.euclidian;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import org.geogebra.common.awt.GRectangle;
+import org.geogebra.common.euclidian.DrawableList.DrawableIterator;
+import org.geogebra.common.euclidian.draw.DrawPoint;
+import org.geogebra.common.euclidian.draw.DrawPolygon;
+import org.geogebra.common.euclidian.draw.DrawSegment;
+import org.geogebra.common.euclidian.draw.DrawText;
+import org.geogebra.common.euclidian.draw.DrawVector;
+
+/**
+ * Uniform grid over the screen for hit testing. Each cell keeps the drawables
+ * whose bounds (including label and hit threshold) touch it, other drawables
+ * are tested for every query. Candidates are returned in the order of the
+ * drawable list, so hits don't depend on the index.
+ *
+ * Changed drawables are moved to their new cells (see {@link #update}); the
+ * whole grid is only rebuilt after {@link #invalidate()}, i.e. when drawables
+ * are added or removed or the view changes.
+ */
+public class HitGrid {
+
+	/** cell size in pixels */
+	public static final int CELL_SIZE = 64;
+
+	private boolean valid = false;
+	private int margin = -1;
+	private int width;
+	private int height;
+	private int cols;
+	private int rows;
+	private ArrayList<Entry>[] cells;
+	private final HashMap<Drawable, Entry> entries = new HashMap<>();
+	/** drawables without reliable bounds */
+	private final ArrayList<Entry> unbounded = new ArrayList<>();
+	/** drawables to move before the next query */
+	private final HashSet<Drawable> dirty = new HashSet<>();
+	/** drawables whose bounds may still change while drawing */
+	private final HashSet<Drawable> changedSinceDraw = new HashSet<>();
+	private final ArrayList<Entry> found = new ArrayList<>();
+	private final ArrayList<Drawable> candidates = new ArrayList<>();
+	private int query = 0;
+
+	/**
+	 * Grid position of a drawable
+	 */
+	private static final class Entry {
+		final Drawable drawable;
+		/** position in drawable list */
+		final int position;
+		boolean bounded;
+		int col0;
+		int col1;
+		int row0;
+		int row1;
+		/** last query that collected this entry */
+		int query = -1;
+
+		Entry(Drawable drawable, int position) {
+			this.drawable = drawable;
+			this.position = position;
+		}
+	}
+
+	/**
+	 * Marks the whole grid as outdated
+	 */
+	public void invalidate() {
+		valid = false;
+	}
+
+	/**
+	 * Needs to be called when a drawable changed or is about to change. The
+	 * drawable is moved to its new cells before the next query and again after
+	 * the next repaint, because drawables are updated and labels positioned
+	 * while drawing.
+	 *
+	 * @param d
+	 *            changed drawable
+	 */
+	public void update(Drawable d) {
+		dirty.add(d);
+		changedSinceDraw.add(d);
+	}
+
+	/**
+	 * Needs to be called after all drawables were drawn.
+	 */
+	public void afterDraw() {
+		if (!changedSinceDraw.isEmpty()) {
+			dirty.addAll(changedSinceDraw);
+			changedSinceDraw.clear();
+		}
+	}
+
+	/**
+	 * @param list
+	 *            all drawables of the view
+	 * @param view
+	 *            view
+	 * @param x
+	 *            screen x-coord
+	 * @param y
+	 *            screen y-coord
+	 * @param hitThreshold
+	 *            hit threshold
+	 * @return drawables that might be hit at (x,y), in list order; the list is
+	 *         reused by the next call
+	 */
+	public ArrayList<Drawable> getCandidates(DrawableList list,
+			EuclidianView view, int x, int y, int hitThreshold) {
+		prepare(list, view, hitThreshold);
+		ArrayList<Entry> cell = cells[cellIndex(x, y)];
+		candidates.clear();
+		if (cell == null) {
+			for (Entry entry : unbounded) {
+				candidates.add(entry.drawable);
+			}
+			return candidates;
+		}
+		// merge both lists by position in drawable list
+		int i = 0;
+		int j = 0;
+		while (i < cell.size() || j < unbounded.size()) {
+			if (j >= unbounded.size() || (i < cell.size()
+					&& cell.get(i).position < unbounded.get(j).position)) {
+				candidates.add(cell.get(i++).drawable);
+			} else {
+				candidates.add(unbounded.get(j++).drawable);
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * @param list
+	 *            all drawables of the view
+	 * @param view
+	 *            view
+	 * @param rect
+	 *            screen rectangle
+	 * @return drawables that might be inside of or intersect the rectangle, in
+	 *         list order; the list is reused by the next call
+	 */
+	public ArrayList<Drawable> getCandidates(DrawableList list,
+			EuclidianView view, GRectangle rect) {
+		prepare(list, view, 0);
+		query++;
+		found.clear();
+		int col0 = clamp(cellFloor(rect.getX()), cols);
+		int col1 = clamp(cellFloor(rect.getX() + rect.getWidth()), cols);
+		int row0 = clamp(cellFloor(rect.getY()), rows);
+		int row1 = clamp(cellFloor(rect.getY() + rect.getHeight()), rows);
+		for (int row = row0; row <= row1; row++) {
+			for (int col = col0; col <= col1; col++) {
+				ArrayList<Entry> cell = cells[row * cols + col];
+				if (cell != null) {
+					for (Entry entry : cell) {
+						collect(entry);
+					}
+				}
+			}
+		}
+		for (Entry entry : unbounded) {
+			collect(entry);
+		}
+		candidates.clear();
+		if (found.size() == entries.size()) {
+			// everything is a candidate, keep list order without sorting
+			DrawableIterator it = list.getIterator();
+			while (it.hasNext()) {
+				candidates.add(it.next());
+			}
+			return candidates;
+		}
+		sortByPosition(found);
+		for (Entry entry : found) {
+			candidates.add(entry.drawable);
+		}
+		return candidates;
+	}
+
+	private void collect(Entry entry) {
+		if (entry.query != query) {
+			entry.query = query;
+			found.add(entry);
+		}
+	}
+
+	private static void sortByPosition(ArrayList<Entry> list) {
+		// insertion sort: cells are sorted already, so runs are long
+		for (int i = 1; i < list.size(); i++) {
+			Entry entry = list.get(i);
+			int j = i - 1;
+			while (j >= 0 && list.get(j).position > entry.position) {
+				list.set(j + 1, list.get(j));
+				j--;
+			}
+			list.set(j + 1, entry);
+		}
+	}
+
+	private void prepare(DrawableList list, EuclidianView view,
+			int hitThreshold) {
+		if (!valid || hitThreshold > margin || width != view.getWidth()
+				|| height != view.getHeight()) {
+			build(list, view, Math.max(hitThreshold, margin));
+		} else if (!dirty.isEmpty()) {
+			for (Drawable d : dirty) {
+				Entry entry = entries.get(d);
+				if (entry != null) {
+					unbin(entry);
+					bin(entry, view);
+				}
+			}
+			dirty.clear();
+		}
+	}
+
+	private int cellIndex(int x, int y) {
+		return clamp(y / CELL_SIZE, rows) * cols + clamp(x / CELL_SIZE, cols);
+	}
+
+	private static int clamp(int value, int size) {
+		return value < 0 ? 0 : (value >= size ? size - 1 : value);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void build(DrawableList list, EuclidianView view,
+			int hitThreshold) {
+		margin = hitThreshold;
+		width = view.getWidth();
+		height = view.getHeight();
+		cols = Math.max(1, (width + CELL_SIZE - 1) / CELL_SIZE);
+		rows = Math.max(1, (height + CELL_SIZE - 1) / CELL_SIZE);
+		cells = new ArrayList[cols * rows];
+		entries.clear();
+		unbounded.clear();
+		dirty.clear();
+		int position = 0;
+		DrawableIterator it = list.getIterator();
+		while (it.hasNext()) {
+			Drawable d = it.next();
+			Entry entry = new Entry(d, position);
+			entries.put(d, entry);
+			// positions increase, so appending keeps the cells sorted
+			bin(entry, view);
+			position++;
+		}
+		valid = true;
+	}
+
+	private void bin(Entry entry, EuclidianView view) {
+		Drawable d = entry.drawable;
+		GRectangle bounds = hasReliableBounds(d, view) ? d.getBounds() : null;
+		entry.bounded = bounds != null;
+		if (bounds == null) {
+			insert(unbounded, entry);
+			return;
+		}
+		double minX = bounds.getX();
+		double minY = bounds.getY();
+		double maxX = minX + bounds.getWidth();
+		double maxY = minY + bounds.getHeight();
+		GRectangle label = d.labelRectangle;
+		if (label != null && label.getWidth() > 0) {
+			minX = Math.min(minX, label.getX());
+			minY = Math.min(minY, label.getY());
+			maxX = Math.max(maxX, label.getX() + label.getWidth());
+			maxY = Math.max(maxY, label.getY() + label.getHeight());
+		}
+		entry.col0 = clamp(cellFloor(minX - margin), cols);
+		entry.col1 = clamp(cellFloor(maxX + margin), cols);
+		entry.row0 = clamp(cellFloor(minY - margin), rows);
+		entry.row1 = clamp(cellFloor(maxY + margin), rows);
+		for (int row = entry.row0; row <= entry.row1; row++) {
+			for (int col = entry.col0; col <= entry.col1; col++) {
+				int index = row * cols + col;
+				if (cells[index] == null) {
+					cells[index] = new ArrayList<>();
+				}
+				insert(cells[index], entry);
+			}
+		}
+	}
+
+	private void unbin(Entry entry) {
+		if (!entry.bounded) {
+			unbounded.remove(entry);
+			return;
+		}
+		for (int row = entry.row0; row <= entry.row1; row++) {
+			for (int col = entry.col0; col <= entry.col1; col++) {
+				cells[row * cols + col].remove(entry);
+			}
+		}
+	}
+
+	/**
+	 * Inserts entry so that the list stays sorted by position
+	 */
+	private static void insert(ArrayList<Entry> list, Entry entry) {
+		int low = 0;
+		int high = list.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (list.get(mid).position < entry.position) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		list.add(low, entry);
+	}
+
+	private static int cellFloor(double coord) {
+		return (int) Math.floor(coord / CELL_SIZE);
+	}
+
+	/**
+	 * Only drawables whose hit area is known to stay inside their bounds are
+	 * indexed, everything else is always tested.
+	 */
+	private static boolean hasReliableBounds(Drawable d, EuclidianView view) {
+		if (!(d instanceof DrawPoint || d instanceof DrawSegment
+				|| d instanceof DrawPolygon || d instanceof DrawVector
+				|| d instanceof DrawText)) {
+			return false;
+		}
+		// bounding box handlers of selected drawable may be outside
+		return view.getBoundingBox() == null
+				|| d.getBoundingBox() != view.getBoundingBox();
+	}
+}
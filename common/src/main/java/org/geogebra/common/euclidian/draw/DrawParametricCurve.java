@@ -25,6 +25,7 @@ import org.geogebra.common.euclidian.BoundingBox;
 import org.geogebra.common.euclidian.Drawable;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.plot.CurvePlotter;
+import org.geogebra.common.euclidian.plot.CurveSampleCache;
 import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
 import org.geogebra.common.factories.AwtFactory;
 import org.geogebra.common.kernel.Kernel;
@@ -63,6 +64,8 @@ public class DrawParametricCurve extends Drawable {
 	private ExpressionNode dataExpression;
 	private FunctionVariable invFV;
 	private ExpressionNode invert;
+	private CurveSampleCache sampleCache;
+	private boolean updateForView = false;
 
 	/**
 	 * Creates graphical representation of the curve
@@ -79,8 +82,19 @@ public class DrawParametricCurve extends Drawable {
 		update();
 	}
 
+	@Override
+	public void updateForView() {
+		updateForView = true;
+		update();
+		updateForView = false;
+	}
+
 	@Override
 	final public void update() {
+		if (sampleCache != null && !updateForView) {
+			// curve or one of its dependencies changed
+			sampleCache.clear();
+		}
 		isVisible = geo.isEuclidianVisible();
 		if (!isVisible) {
 			return;
@@ -123,9 +137,19 @@ public class DrawParametricCurve extends Drawable {
 			view.toScreenCoords(eval);
 			labelPoint = new GPoint((int) eval[0], (int) eval[1]);
 		} else {
-			labelPoint = CurvePlotter.plotCurve(curve, min, max, view, gp,
-					labelVisible, fillCurve ? CurvePlotter.Gap.CORNER
-							: CurvePlotter.Gap.MOVE_TO);
+			CurvePlotter.Gap gap = fillCurve ? CurvePlotter.Gap.CORNER
+					: CurvePlotter.Gap.MOVE_TO;
+			if (curve == geo) {
+				// wrappers for curves in other views may depend on the view
+				if (sampleCache == null) {
+					sampleCache = new CurveSampleCache(curve);
+				}
+				labelPoint = CurvePlotter.plotCachedCurve(sampleCache, min,
+						max, view, gp, labelVisible, gap);
+			} else {
+				labelPoint = CurvePlotter.plotCurve(curve, min, max, view, gp,
+						labelVisible, gap);
+			}
 		}
 
 		// gp on screen?
@@ -458,6 +482,13 @@ public class DrawParametricCurve extends Drawable {
 		return AwtFactory.getPrototype().newRectangle(gp.getBounds());
 	}
 
+	/**
+	 * @return points evaluated in the last plot; null if not cached
+	 */
+	public CurveSampleCache getSampleCache() {
+		return sampleCache;
+	}
+
 	final private static boolean filling(CurveEvaluable curve) {
 		return !curve.isFunctionInX() && curve.toGeoElement().isFilled();
 	}
@@ -89,8 +89,9 @@ public class CurvePlotter {
 		// ensure MIN_PLOT_POINTS
 		double max_param_step = Math.abs(t2 - t1) / view.getMinSamplePoints();
 		// plot Interval [t1, t2]
-		GPoint labelPoint = plotInterval(curve, t1, t2, 0, max_param_step, view,
-				gp, calcLabelPos, moveToAllowed);
+		GPoint labelPoint = plotInterval(curve, t1, t2, 0, max_param_step,
+				view.getMaxDefinedBisections(), view, gp, calcLabelPos,
+				moveToAllowed);
 		if (moveToAllowed == Gap.CORNER) {
 			gp.corner();
 		}
@@ -101,6 +102,51 @@ public class CurvePlotter {
 		return labelPoint;
 	}
 
+	/**
+	 * Draws a parametric curve (x(t), y(t)) for t in [t1, t2], reusing points
+	 * of the previous plot with the same cache. The sampled interval is
+	 * extended to an interval aligned to a power of two (clamped to the domain
+	 * of the curve), so that panning and small zooms evaluate the curve mostly
+	 * at the same parameter values as before. The bisection depth is increased
+	 * accordingly, the parts outside [t1, t2] are usually off screen.
+	 * 
+	 * @param cache
+	 *            curve with sample cache
+	 * @param t1
+	 *            min value of parameter
+	 * @param t2
+	 *            max value of parameter
+	 * @param view
+	 *            Euclidian view to be used
+	 * @param gp
+	 *            generalpath that can be drawn afterwards
+	 * @param calcLabelPos
+	 *            whether label position should be calculated and returned
+	 * @param moveToAllowed
+	 *            whether moveTo() may be used for gp
+	 * @return label position as Point
+	 */
+	final public static GPoint plotCachedCurve(CurveSampleCache cache,
+			double t1, double t2, EuclidianView view, PathPlotter gp,
+			boolean calcLabelPos, Gap moveToAllowed) {
+		cache.start();
+		double[] interval = moveToAllowed == Gap.CORNER
+				? new double[] { t1, t2 } : cache.align(t1, t2);
+		double max_param_step = Math.abs(t2 - t1) / view.getMinSamplePoints();
+		// keep the smallest step of the plot in [t1, t2]
+		int extraDepth = 0;
+		while (interval[1] - interval[0] > (t2 - t1) * (1 << extraDepth)) {
+			extraDepth++;
+		}
+		GPoint labelPoint = plotInterval(cache, interval[0], interval[1], 0,
+				max_param_step, view.getMaxDefinedBisections() + extraDepth,
+				view, gp, calcLabelPos, moveToAllowed);
+		if (moveToAllowed == Gap.CORNER) {
+			gp.corner();
+		}
+		return labelPoint;
+	}
+
 	// private static int plotIntervals = 0;
 
 	/**
@@ -108,6 +154,8 @@ public class CurvePlotter {
 	 * 
 	 * @param: max_param_step:
 	 *             largest parameter step width allowed
+	 * @param maxDepth
+	 *            maximal number of bisections
 	 * @param gp
 	 *            generalpath that can be drawn afterwards
 	 * @param calcLabelPos
@@ -118,7 +166,7 @@ public class CurvePlotter {
 	 * @author Markus Hohenwarter, based on an algori5thm by John Gillam
 	 */
 	private static GPoint plotInterval(CurveEvaluable curve, double t1,
-			double t2, int intervalDepth, double max_param_step,
+			double t2, int intervalDepth, double max_param_step, int maxDepth,
 			EuclidianView view, PathPlotter gp, boolean calcLabelPos,
 			Gap moveToAllowed) {
 		// Log.debug(++plotIntervals);
@@ -152,8 +200,8 @@ public class CurvePlotter {
 		if (isUndefined(eval)) {
 			// Application.debug("Curve undefined at t = " + t1);
 			return plotProblemInterval(curve, t1, t2, intervalDepth,
-					max_param_step, view, gp, calcLabelPos, moveToAllowed,
-					labelPoint);
+					max_param_step, maxDepth, view, gp, calcLabelPos,
+					moveToAllowed, labelPoint);
 		}
 		eval0 = Cloner.clone(eval);
 
@@ -162,8 +210,8 @@ public class CurvePlotter {
 		if (isUndefined(eval)) {
 			// Application.debug("Curve undefined at t = " + t2);
 			return plotProblemInterval(curve, t1, t2, intervalDepth,
-					max_param_step, view, gp, calcLabelPos, moveToAllowed,
-					labelPoint);
+					max_param_step, maxDepth, view, gp, calcLabelPos,
+					moveToAllowed, labelPoint);
 		}
 		onScreen = view.isOnView(eval);
 		eval1 = Cloner.clone(eval);
@@ -173,7 +221,7 @@ public class CurvePlotter {
 
 		// TODO
 		// INIT plotting algorithm
-		int LENGTH = view.getMaxDefinedBisections() + 1;
+		int LENGTH = maxDepth + 1;
 		int dyadicStack[] = new int[LENGTH];
 		int depthStack[] = new int[LENGTH];
 		double[][] posStack = new double[LENGTH][];
@@ -223,7 +271,7 @@ public class CurvePlotter {
 
 			// bisect interval as long as ...
 			while ( // max bisection depth not reached
-			depth < view.getMaxDefinedBisections() &&
+			depth < maxDepth &&
 			// distance not ok or angle not ok or step too big
 					(!distanceOK || !angleOK
 							|| divisors[depth] > max_param_step)
@@ -254,8 +302,8 @@ public class CurvePlotter {
 					if (!singularity) {
 						// Application.debug("Curve undefined at t = " + t);
 						return plotProblemInterval(curve, left, t2,
-								intervalDepth, max_param_step, view, gp,
-								calcLabelPos, moveToAllowed, labelPoint);
+								intervalDepth, max_param_step, maxDepth, view,
+								gp, calcLabelPos, moveToAllowed, labelPoint);
 					}
 					Log.debug("SINGULARITY AT" + t);
 				}
@@ -380,7 +428,7 @@ public class CurvePlotter {
 	 * Plots an interval where f(t1) or f(t2) is undefined.
 	 */
 	private static GPoint plotProblemInterval(CurveEvaluable curve, double t1,
-			double t2, int intervalDepth, double max_param_step,
+			double t2, int intervalDepth, double max_param_step, int maxDepth,
 			EuclidianView view, PathPlotter gp, boolean calcLabelPos,
 			Gap moveToAllowed, GPoint labelPoint) {
 		boolean calcLabel = calcLabelPos;
@@ -404,12 +452,14 @@ public class CurvePlotter {
 			// bisect interval
 			calcLabel = calcLabel && labelPoint == null;
 			labelPoint1 = plotInterval(curve, t1, splitParam, intervalDepth + 1,
-					max_param_step, view, gp, calcLabel, moveToAllowed);
+					max_param_step, maxDepth, view, gp, calcLabel,
+					moveToAllowed);
 
 			// plot interval [(t1+t2)/2, t2]
 			calcLabel = calcLabel && labelPoint1 == null;
 			labelPoint2 = plotInterval(curve, splitParam, t2, intervalDepth + 1,
-					max_param_step, view, gp, calcLabel, moveToAllowed);
+					max_param_step, maxDepth, view, gp, calcLabel,
+					moveToAllowed);
 		} else {
 			// look at the end points of the intervals [t1, (t1+t2)/2] and
 			// [(t1+t2)/2, t2]
@@ -424,15 +474,15 @@ public class CurvePlotter {
 			getDefinedInterval(curve, t1, splitParam, borders);
 			calcLabel = calcLabel && labelPoint == null;
 			labelPoint1 = plotInterval(curve, borders[0], borders[1],
-					intervalDepth + 1, max_param_step, view, gp, calcLabel,
-					moveToAllowed);
+					intervalDepth + 1, max_param_step, maxDepth, view, gp,
+					calcLabel, moveToAllowed);
 
 			// plot interval [(t1+t2)/2, t2]
 			getDefinedInterval(curve, splitParam, t2, borders);
 			calcLabel = calcLabel && labelPoint1 == null;
 			labelPoint2 = plotInterval(curve, borders[0], borders[1],
-					intervalDepth + 1, max_param_step, view, gp, calcLabel,
-					moveToAllowed);
+					intervalDepth + 1, max_param_step, maxDepth, view, gp,
+					calcLabel, moveToAllowed);
 		}
 
 		if (labelPoint != null) {
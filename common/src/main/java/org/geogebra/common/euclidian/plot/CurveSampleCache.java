@@ -0,0 +1,196 @@
+package org.geogebra.common.euclidian.plot;
+
+import java.util.HashMap;
+
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.kernelND.CurveEvaluable;
+
+/**
+ * Curve that remembers the points evaluated in the last plot, see
+ * {@link CurvePlotter#plotCachedCurve}. The plotter samples the curve at
+ * dyadic fractions of a parameter interval aligned to a power of two, so after
+ * panning (or zooming by a small amount) most of the parameter values are the
+ * same as before. Only the points used by the last plot are kept.
+ *
+ * The owner has to call {@link #clear()} whenever the curve changes.
+ */
+public class CurveSampleCache implements CurveEvaluable {
+
+	/** start of aligned interval is a multiple of its length / ALIGN_PARTS */
+	private static final int ALIGN_PARTS = 8;
+
+	private final CurveEvaluable curve;
+	private HashMap<Double, double[]> lastSamples = new HashMap<>();
+	private HashMap<Double, double[]> samples = new HashMap<>();
+	private int evaluations;
+	private int reused;
+
+	/**
+	 * @param curve
+	 *            cached curve
+	 */
+	public CurveSampleCache(CurveEvaluable curve) {
+		this.curve = curve;
+	}
+
+	/**
+	 * @return cached curve
+	 */
+	public CurveEvaluable getCurve() {
+		return curve;
+	}
+
+	/**
+	 * Forgets all points, needed when the curve changed
+	 */
+	public void clear() {
+		lastSamples.clear();
+		samples.clear();
+	}
+
+	/**
+	 * Starts a new plot, points of the previous plot may be reused
+	 */
+	void start() {
+		HashMap<Double, double[]> swap = lastSamples;
+		lastSamples = samples;
+		samples = swap;
+		samples.clear();
+		evaluations = 0;
+		reused = 0;
+	}
+
+	/**
+	 * @param t1
+	 *            min value of parameter
+	 * @param t2
+	 *            max value of parameter
+	 * @return interval [t1', t1' + L] containing [t1, t2] such that L is a
+	 *         power of two less than 16 / 7 (t2 - t1) and t1' is a multiple of
+	 *         L / 8, clamped to the domain of the curve; {t1, t2} if [t1, t2]
+	 *         is empty or infinite
+	 */
+	double[] align(double t1, double t2) {
+		double width = t2 - t1;
+		if (!(width > 0) || Double.isInfinite(width)) {
+			return new double[] { t1, t2 };
+		}
+		double length = Math.pow(2,
+				Math.ceil(Math.log(width) / Math.log(2)));
+		double start = alignStart(t1, length);
+		if (start + length < t2) {
+			length *= 2;
+			start = alignStart(t1, length);
+		}
+		return new double[] { Math.max(start, Math.min(t1, getDomainMin())),
+				Math.min(start + length, Math.max(t2, getDomainMax())) };
+	}
+
+	private static double alignStart(double t, double length) {
+		double part = length / ALIGN_PARTS;
+		return Math.floor(t / part) * part;
+	}
+
+	/**
+	 * The parameter range of functions is limited to the views, that is not
+	 * a restriction for sampling.
+	 */
+	private double getDomainMin() {
+		if (curve instanceof GeoFunction) {
+			GeoFunction f = (GeoFunction) curve;
+			return f.hasInterval() ? f.getIntervalMin()
+					: Double.NEGATIVE_INFINITY;
+		}
+		return curve.getMinParameter();
+	}
+
+	private double getDomainMax() {
+		if (curve instanceof GeoFunction) {
+			GeoFunction f = (GeoFunction) curve;
+			return f.hasInterval() ? f.getIntervalMax()
+					: Double.POSITIVE_INFINITY;
+		}
+		return curve.getMaxParameter();
+	}
+
+	@Override
+	public void evaluateCurve(double t, double[] out) {
+		Double key = Double.valueOf(t);
+		double[] sample = lastSamples.get(key);
+		if (sample == null) {
+			sample = samples.get(key);
+		} else {
+			samples.put(key, sample);
+		}
+		if (sample != null) {
+			reused++;
+			System.arraycopy(sample, 0, out, 0, out.length);
+			return;
+		}
+		evaluations++;
+		curve.evaluateCurve(t, out);
+		sample = new double[out.length];
+		System.arraycopy(out, 0, sample, 0, out.length);
+		samples.put(key, sample);
+	}
+
+	/**
+	 * @return number of curve evaluations in the last plot
+	 */
+	public int getEvaluationCount() {
+		return evaluations;
+	}
+
+	/**
+	 * @return number of points taken from the cache in the last plot
+	 */
+	public int getReusedCount() {
+		return reused;
+	}
+
+	@Override
+	public double getMinParameter() {
+		return curve.getMinParameter();
+	}
+
+	@Override
+	public double getMaxParameter() {
+		return curve.getMaxParameter();
+	}
+
+	@Override
+	public double[] newDoubleArray() {
+		return curve.newDoubleArray();
+	}
+
+	@Override
+	public double distanceMax(double[] p1, double[] p2) {
+		return curve.distanceMax(p1, p2);
+	}
+
+	@Override
+	public double[] getDefinedInterval(double a, double b) {
+		return curve.getDefinedInterval(a, b);
+	}
+
+	@Override
+	public boolean getTrace() {
+		return curve.getTrace();
+	}
+
+	@Override
+	public boolean isClosedPath() {
+		return curve.isClosedPath();
+	}
+
+	@Override
+	public boolean isFunctionInX() {
+		return curve.isFunctionInX();
+	}
+
+	@Override
+	public GeoElement toGeoElement() {
+		return curve.toGeoElement();
+	}
+}
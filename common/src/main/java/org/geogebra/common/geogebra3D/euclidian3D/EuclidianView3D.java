@@ -197,7 +197,7 @@ public abstract class EuclidianView3D extends EuclidianView
 	protected Hits3D hits = new Hits3D(); // objects picked from openGL
 	protected DrawClippingCube3D clippingCubeDrawable;
 	protected GeoPoint3D cursorOnXOYPlane;
-	protected CoordMatrix rotationAndScaleMatrix;
+	protected CoordMatrix rotationAndScaleMatrix = new CoordMatrix(4, 4);
 	// EuclidianViewInterface
 	protected Coords pickPoint = new Coords(0, 0, 0, 1);
 	protected CoordMatrix4x4 tmpMatrix4x4_3 = CoordMatrix4x4.Identity();
@@ -259,7 +259,13 @@ public abstract class EuclidianView3D extends EuclidianView
 	private CoordMatrix4x4 translationMatrixWithoutScale = CoordMatrix4x4
 			.Identity();
 	private CoordMatrix4x4 undoTranslationMatrix = CoordMatrix4x4.Identity();
-	private CoordMatrix rotationMatrix;
+	private CoordMatrix rotationMatrix = new CoordMatrix(4, 4);
+	// temporary matrices for rotation updates
+	private CoordMatrix tmpRotationMatrix1 = new CoordMatrix(4, 4);
+	private CoordMatrix tmpRotationMatrix2 = new CoordMatrix(4, 4);
+	private CoordMatrix4x4 tmpMatrixMove1 = CoordMatrix4x4.Identity();
+	private CoordMatrix4x4 tmpMatrixMove2 = CoordMatrix4x4.Identity();
+	private Coords tmpCoordsChange = new Coords(4);
 	private Coords viewDirectionPersp;
 	private Coords tmpCoordsLength3 = new Coords(3);
 	private int intersectionThickness;
@@ -328,9 +334,14 @@ public abstract class EuclidianView3D extends EuclidianView
 		// Log.printStacktrace("");
 	}
 
-	final private static void changeCoords(CoordMatrix mat, Coords vInOut) {
-		Coords v1 = vInOut.getCoordsLast1();
-		vInOut.set(mat.mul(v1));
+	final private void changeCoords(CoordMatrix mat, Coords vInOut) {
+		if (vInOut.getLength() != 4) {
+			Coords v1 = vInOut.getCoordsLast1();
+			vInOut.set(mat.mul(v1));
+			return;
+		}
+		tmpCoordsChange.setCoordsLast1(vInOut);
+		vInOut.setMul(mat, tmpCoordsChange);
 	}
 
 	/**
@@ -839,18 +850,18 @@ public abstract class EuclidianView3D extends EuclidianView
 		CoordMatrix m1, m2;
 
 		if (getYAxisVertical()) { // y axis taken for up-down direction
-			m1 = CoordMatrix.rotation3DMatrix(CoordMatrix.X_AXIS,
+			m1 = tmpRotationMatrix1.setRotation3DMatrix(CoordMatrix.X_AXIS,
 					(this.b) * EuclidianController3D.ANGLE_TO_DEGREES);
-			m2 = CoordMatrix.rotation3DMatrix(CoordMatrix.Y_AXIS,
+			m2 = tmpRotationMatrix2.setRotation3DMatrix(CoordMatrix.Y_AXIS,
 					(-this.a - 90) * EuclidianController3D.ANGLE_TO_DEGREES);
 		} else { // z axis taken for up-down direction
-			m1 = CoordMatrix.rotation3DMatrix(CoordMatrix.X_AXIS,
+			m1 = tmpRotationMatrix1.setRotation3DMatrix(CoordMatrix.X_AXIS,
 					(this.b - 90) * EuclidianController3D.ANGLE_TO_DEGREES);
-			m2 = CoordMatrix.rotation3DMatrix(CoordMatrix.Z_AXIS,
+			m2 = tmpRotationMatrix2.setRotation3DMatrix(CoordMatrix.Z_AXIS,
 					(-this.a - 90) * EuclidianController3D.ANGLE_TO_DEGREES);
 		}
 
-		rotationMatrix = m1.mul(m2);
+		rotationMatrix.setMul(m1, m2);
 	}
 
 	// TODO specific scaling for each direction
@@ -879,7 +890,8 @@ public abstract class EuclidianView3D extends EuclidianView
 		// rotations
 		updateRotationMatrix();
 
-		undoRotationMatrix.set(rotationMatrix.inverse());
+		// rotation matrix is orthogonal: inverse = transpose
+		undoRotationMatrix.setTranspose(rotationMatrix);
 
 		// scaling
 		updateScaleMatrix();
@@ -887,11 +899,11 @@ public abstract class EuclidianView3D extends EuclidianView
 		undoScaleMatrix.set(2, 2, 1 / getYscale());
 		undoScaleMatrix.set(3, 3, 1 / getZscale());
 
-		rotationAndScaleMatrix = rotationMatrix.mul(scaleMatrix);
+		rotationAndScaleMatrix.setMul(rotationMatrix, scaleMatrix);
 	}
 
 	/**
-	 * @return current rotation matrix
+	 * @return current rotation matrix (updated in place)
 	 */
 	public CoordMatrix getRotationMatrix() {
 		return rotationMatrix;
@@ -4537,8 +4549,11 @@ public abstract class EuclidianView3D extends EuclidianView
 		updateRotationAndScaleMatrices();
 
 		// center rotation on pick point ( + v for translation)
-		CoordMatrix m1 = rotationAndScaleMatrix.inverse().mul(startTranslation)
-				.mul(rotationAndScaleMatrix);
+		// (rotation * scale)^-1 = undo scale * undo rotation
+		tmpMatrixMove1.setMul(undoScaleMatrix, undoRotationMatrix);
+		tmpMatrixMove2.setMul(tmpMatrixMove1, startTranslation);
+		CoordMatrix m1 = tmpMatrixMove1.setMul(tmpMatrixMove2,
+				rotationAndScaleMatrix);
 		Coords t1 = m1.getOrigin();
 		setXZero(t1.getX() - startPos.getX() + v.getX());
 		setYZero(t1.getY() - startPos.getY() + v.getY());
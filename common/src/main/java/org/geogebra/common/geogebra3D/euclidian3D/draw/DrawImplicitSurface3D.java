@@ -5,11 +5,13 @@ import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
 import org.geogebra.common.geogebra3D.euclidian3D.Hitting;
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.Manager;
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.PlotterSurface;
+import org.geogebra.common.geogebra3D.euclidian3D.openGL.PlotterSurfaceElements;
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.Renderer;
 import org.geogebra.common.geogebra3D.kernel3D.geos.GeoTriangulatedSurface3D;
 import org.geogebra.common.geogebra3D.kernel3D.geos.GeoTriangulatedSurface3D.SurfaceMover;
 import org.geogebra.common.geogebra3D.kernel3D.geos.GeoTriangulatedSurface3D.Triangle;
 import org.geogebra.common.geogebra3D.kernel3D.implicit3D.GeoImplicitSurface;
+import org.geogebra.common.kernel.Matrix.CoordsDouble3;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.util.MyMath;
 
@@ -68,6 +70,10 @@ public class DrawImplicitSurface3D extends Drawable3DSurfaces {
 				v3d.getYmin(), v3d.getYmax(), v3d.getZmin(), v3d.getZmax(),
 				v3d.getXscale(), v3d.getYscale(), v3d.getZscale() });
 		GeoTriangulatedSurface3D surf = geo.getSurface3D();
+		if (surf.hasMesh()) {
+			drawMesh(surf);
+			return true;
+		}
 		SurfaceMover surfaceMover = surf.getSurfaceMover();
 
 		if (!surfaceMover.hasNext()) {
@@ -92,6 +98,57 @@ public class DrawImplicitSurface3D extends Drawable3DSurfaces {
 		return true;
 	}
 
+	/**
+	 * Draws indexed mesh of the surface: with GL elements if the indices fit
+	 * into short, triangle by triangle otherwise
+	 */
+	private void drawMesh(GeoTriangulatedSurface3D surf) {
+		Manager m = getView3D().getRenderer().getGeometryManager();
+		PlotterSurface s = m.getSurface();
+		double[] vertices = surf.getMeshVertices();
+		double[] normals = surf.getMeshNormals();
+		int[] indices = surf.getMeshIndices();
+		int vertexCount = surf.getMeshVertexCount();
+		int indexCount = surf.getMeshIndexCount();
+
+		s.start(getReusableSurfaceIndex());
+		if (s instanceof PlotterSurfaceElements
+				&& vertexCount <= Short.MAX_VALUE) {
+			PlotterSurfaceElements elements = (PlotterSurfaceElements) s;
+			elements.startTriangles(indexCount);
+			CoordsDouble3 p = new CoordsDouble3();
+			CoordsDouble3 n = new CoordsDouble3();
+			for (int i = 0; i < 3 * vertexCount; i += 3) {
+				n.set(normals[i], normals[i + 1], normals[i + 2]);
+				p.set(vertices[i], vertices[i + 1], vertices[i + 2]);
+				elements.normalDirect(n);
+				elements.vertexDirect(p);
+			}
+			for (int i = 0; i < indexCount; i++) {
+				elements.drawIndex(indices[i]);
+			}
+			elements.endGeometryDirect();
+		} else {
+			CoordsDouble3[] p = new CoordsDouble3[3];
+			CoordsDouble3[] n = new CoordsDouble3[3];
+			for (int j = 0; j < 3; j++) {
+				p[j] = new CoordsDouble3();
+				n[j] = new CoordsDouble3();
+			}
+			s.startTriangles();
+			for (int i = 0; i < indexCount; i += 3) {
+				for (int j = 0; j < 3; j++) {
+					int v = 3 * indices[i + j];
+					p[j].set(vertices[v], vertices[v + 1], vertices[v + 2]);
+					n[j].set(normals[v], normals[v + 1], normals[v + 2]);
+				}
+				s.triangle(p[0], p[1], p[2], n[0], n[1], n[2]);
+			}
+			s.endGeometry();
+		}
+		setSurfaceIndex(s.end());
+	}
+
 	@Override
 	protected void updateForView() {
 		if (getView3D().viewChangedByTranslate()
@@ -27,6 +27,7 @@ public abstract class DrawJoinPoints extends Drawable3DCurves
 	private Coords startPoint, endPoint;
 	private ArrayList<GeoPointND> selectedPoints;
 	private Coords project1, project2;
+	private Coords direction;
 	private double[] lineCoords, tmp;
 
 	/**
@@ -284,6 +285,17 @@ public abstract class DrawJoinPoints extends Drawable3DCurves
 	abstract protected void setPreviewableCoords(GeoPointND firstPoint,
 			GeoPointND secondPoint);
 
+	/**
+	 * @return end point - start point (reused vector)
+	 */
+	private Coords getDirection() {
+		if (direction == null
+				|| direction.getLength() != endPoint.getLength()) {
+			direction = new Coords(endPoint.getLength());
+		}
+		return direction.setSub(endPoint, startPoint);
+	}
+
 	@Override
 	public boolean hit(Hitting hitting) {
 
@@ -296,8 +308,8 @@ public abstract class DrawJoinPoints extends Drawable3DCurves
 				project1 = new Coords(4);
 				lineCoords = new double[2];
 			}
-			hitting.origin.projectLine(startPoint, endPoint.sub(startPoint),
-					project1, lineCoords);
+			hitting.origin.projectLine(startPoint, getDirection(), project1,
+					lineCoords);
 
 			// check if point is on segment drawn (between startPoint and
 			// endPoint)
@@ -336,7 +348,7 @@ public abstract class DrawJoinPoints extends Drawable3DCurves
 				return false;
 			}
 			CoordMatrixUtil.nearestPointsFromTwoLines(hitting.origin,
-					hitting.direction, startPoint, endPoint.sub(startPoint),
+					hitting.direction, startPoint, getDirection(),
 					project1.val, project2.val, lineCoords, tmp);
 
 			// check if hitting and line are parallel
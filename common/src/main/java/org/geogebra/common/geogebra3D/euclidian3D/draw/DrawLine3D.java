@@ -18,6 +18,7 @@ import org.geogebra.common.kernel.kernelND.GeoPointND;
  */
 public class DrawLine3D extends DrawCoordSys1D implements Previewable {
 	private Coords boundsMin = new Coords(3), boundsMax = new Coords(3);
+	private Coords direction;
 
 	/**
 	 * common constructor
@@ -82,8 +83,11 @@ public class DrawLine3D extends DrawCoordSys1D implements Previewable {
 		GeoLineND line = getLine();
 
 		Coords o = line.getPointInD(3, 0).getInhomCoordsInSameDimension();
-		Coords v = line.getPointInD(3, 1).getInhomCoordsInSameDimension()
-				.sub(o);
+		Coords p = line.getPointInD(3, 1).getInhomCoordsInSameDimension();
+		if (direction == null || direction.getLength() != p.getLength()) {
+			direction = new Coords(p.getLength());
+		}
+		Coords v = direction.setSub(p, o);
 
 		double[] minmax = getView3D().getIntervalClippedLarge(new double[] {
 				Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY }, o, v);
@@ -1,5 +1,7 @@
 package org.geogebra.common.geogebra3D.euclidian3D.draw;
 
+import java.util.ArrayList;
+
 import org.geogebra.common.awt.GColor;
 import org.geogebra.common.euclidian.EuclidianController;
 import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
@@ -9,6 +11,7 @@ import org.geogebra.common.geogebra3D.euclidian3D.openGL.PlotterSurface;
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.Renderer;
 import org.geogebra.common.geogebra3D.kernel3D.geos.GeoSurfaceCartesian3D;
 import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.TaskRunner;
 import org.geogebra.common.kernel.Matrix.Coords;
 import org.geogebra.common.kernel.Matrix.Coords3;
 import org.geogebra.common.kernel.Matrix.CoordsDouble3;
@@ -55,6 +58,9 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 	private static final int MAX_SPLIT_SPEED = 4096;
 	private static final int MAX_SPLIT_QUALITY = MAX_SPLIT_SPEED * 2;
 
+	// rows of the root mesh evaluated in one task
+	private static final int ROOT_MESH_ROWS_PER_TASK = 4;
+
 	private static final int MAX_SPLIT_IN_ONE_UPDATE_SPEED = 512;
 	private static final int MAX_SPLIT_IN_ONE_UPDATE_QUALITY = MAX_SPLIT_IN_ONE_UPDATE_SPEED
 			* 2;
@@ -99,6 +105,14 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 
 	/** Current culling box - set to view3d.(x|y|z)(max|min) */
 	private double[] cullingBox = new double[6];
+	/**
+	 * view values the mesh was computed for: clipping cube, scales, axis
+	 * distances and pixel distance
+	 */
+	private double[] meshViewValues = new double[12];
+	private double[] tmpViewValues = new double[12];
+	/** root mesh values computed by the task runner, used while creating */
+	private RootMeshValues rootMeshValues;
 	// corners for drawing wireframe (bottom and right sides)
 	private Corner[] wireframeBottomCorners, wireframeRightCorners;
 	private int wireframeBottomCornersLength, wireframeRightCornersLength;
@@ -390,6 +404,7 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 			setTolerances();
 
 			updateCullingBox();
+			getMeshViewValues(meshViewValues);
 
 			initBounds();
 
@@ -807,8 +822,38 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 	protected void updateForView() {
 		if (getView3D().viewChangedByZoom()
 				|| getView3D().viewChangedByTranslate()) {
-			setWaitForUpdate();
+			// e.g. projection change: keep the refined mesh as long as
+			// clipping cube and scales are the same
+			if (drawFromScratch || meshViewChanged()) {
+				setWaitForUpdate();
+			}
+		}
+	}
+
+	private void getMeshViewValues(double[] values) {
+		EuclidianView3D view = getView3D();
+		values[0] = view.getXmin();
+		values[1] = view.getXmax();
+		values[2] = view.getYmin();
+		values[3] = view.getYmax();
+		values[4] = view.getZmin();
+		values[5] = view.getZmax();
+		values[6] = view.getXscale();
+		values[7] = view.getYscale();
+		values[8] = view.getZscale();
+		values[9] = view.getAxisNumberingDistance(0);
+		values[10] = view.getAxisNumberingDistance(1);
+		values[11] = view.getMaxPixelDistance();
+	}
+
+	private boolean meshViewChanged() {
+		getMeshViewValues(tmpViewValues);
+		for (int i = 0; i < tmpViewValues.length; i++) {
+			if (Double.compare(tmpViewValues[i], meshViewValues[i]) != 0) {
+				return true;
+			}
 		}
+		return false;
 	}
 
 	@Override
@@ -931,6 +976,9 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 			}
 		}
 
+		rootMeshValues = computeRootMeshValues(uBorderMin, uMax, uBorderMax,
+				uN, vBorderMin, vMax, vBorderMax, vN);
+
 		Corner bottomRight = newCorner(uBorderMax, vBorderMax);
 		Corner first = bottomRight;
 
@@ -1011,10 +1059,58 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 			}
 		}
 
+		rootMeshValues = null;
 		return first;
 
 	}
 
+	/**
+	 * Evaluates root mesh points and normals with the kernel's task runner,
+	 * in the same order as createRootMesh() creates the corners
+	 * 
+	 * @return values, null if they have to be computed by the corners
+	 */
+	private RootMeshValues computeRootMeshValues(double uBorderMin,
+			double uMax, double uBorderMax, int uN, double vBorderMin,
+			double vMax, double vBorderMax, int vN) {
+		TaskRunner runner = ((GeoElement) surfaceGeo).getKernel()
+				.getTaskRunner();
+		if (runner == null || !(surfaceGeo instanceof GeoSurfaceCartesian3D)) {
+			return null;
+		}
+		GeoSurfaceCartesian3D surface = (GeoSurfaceCartesian3D) surfaceGeo;
+
+		double[] us = new double[uN + 1];
+		us[0] = uBorderMax;
+		for (int i = 0; i < uN - 1; i++) {
+			us[i + 1] = uMax - (uDelta * i) / uN;
+		}
+		us[uN] = uBorderMin;
+		double[] vs = new double[vN + 1];
+		vs[0] = vBorderMax;
+		for (int j = 0; j < vN - 1; j++) {
+			vs[j + 1] = vMax - (vDelta * j) / vN;
+		}
+		vs[vN] = vBorderMin;
+
+		RootMeshValues values = new RootMeshValues(us, vs);
+		ArrayList<RootMeshRows> tasks = new ArrayList<>();
+		for (int j = 0; j < vs.length; j += ROOT_MESH_ROWS_PER_TASK) {
+			GeoSurfaceCartesian3D.ConcurrentEvaluator evaluator = surface
+					.newConcurrentEvaluator();
+			if (evaluator == null) {
+				return null;
+			}
+			tasks.add(new RootMeshRows(values, j,
+					Math.min(vs.length, j + ROOT_MESH_ROWS_PER_TASK),
+					evaluator));
+		}
+		if (!runner.runAll(tasks)) {
+			return null;
+		}
+		return values;
+	}
+
 	final private Corner addLeftToMesh(Corner right, double u, double v) {
 		Corner left = newCorner(u, v);
 		right.l = left;
@@ -1138,7 +1234,7 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 
 		// p is final value: use evaluatedPoint to compute
 		if (p == null || p.isFinalUndefined()) {
-			surfaceGeo.evaluatePoint(u, v, evaluatedPoint);
+			evaluateSurfacePoint(u, v, evaluatedPoint);
 
 			if (!evaluatedPoint.isDefined()) {
 				return Coords3.UNDEFINED;
@@ -1155,7 +1251,7 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 		}
 
 		// p is not final value
-		surfaceGeo.evaluatePoint(u, v, p);
+		evaluateSurfacePoint(u, v, p);
 
 		if (!p.isDefined()) {
 			return Coords3.UNDEFINED;
@@ -1171,13 +1267,29 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 		return Coords3.UNDEFINED;
 	}
 
+	private void evaluateSurfacePoint(double u, double v, Coords3 p) {
+		if (rootMeshValues != null) {
+			rootMeshValues.nextPoint(p);
+		} else {
+			surfaceGeo.evaluatePoint(u, v, p);
+		}
+	}
+
+	private boolean evaluateSurfaceNormal(Coords3 p, double u, double v,
+			Coords3 normal) {
+		if (rootMeshValues != null && rootMeshValues.currentNormal(normal)) {
+			return true;
+		}
+		return surfaceGeo.evaluateNormal(p, u, v, normal);
+	}
+
 	protected Coords3 evaluateNormal(Coords3 p, double u, double v,
 			Coords3 normal) {
 
 		boolean defined;
 		// normal is final value: use evaluatedNormal to compute
 		if (normal == null || normal.isFinalUndefined()) {
-			defined = surfaceGeo.evaluateNormal(p, u, v, evaluatedNormal);
+			defined = evaluateSurfaceNormal(p, u, v, evaluatedNormal);
 
 			if (!defined) {
 				return Coords3.UNDEFINED;
@@ -1188,7 +1300,7 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 		}
 
 		// normal is not final value
-		defined = surfaceGeo.evaluateNormal(p, u, v, normal);
+		defined = evaluateSurfaceNormal(p, u, v, normal);
 
 		if (!defined) {
 			return Coords3.UNDEFINED;
@@ -1199,6 +1311,94 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 
 	}
 
+	/**
+	 * Points and normals of the root mesh (not scaled), row by row
+	 */
+	private static final class RootMeshValues {
+		final double[] us;
+		final double[] vs;
+		final double[] points;
+		final double[] normals;
+		/** whether normal is defined (or has to be computed from neighbours) */
+		final boolean[] hasNormal;
+		private int current = -1;
+
+		RootMeshValues(double[] us, double[] vs) {
+			this.us = us;
+			this.vs = vs;
+			int size = us.length * vs.length;
+			points = new double[3 * size];
+			normals = new double[3 * size];
+			hasNormal = new boolean[size];
+		}
+
+		/**
+		 * @param p
+		 *            output for next point
+		 */
+		void nextPoint(Coords3 p) {
+			current++;
+			p.set(points[3 * current], points[3 * current + 1],
+					points[3 * current + 2]);
+		}
+
+		/**
+		 * @param n
+		 *            output for normal of the last point
+		 * @return false if the normal needs to be computed by the surface
+		 */
+		boolean currentNormal(Coords3 n) {
+			if (current < 0 || !hasNormal[current]) {
+				return false;
+			}
+			n.set(normals[3 * current], normals[3 * current + 1],
+					normals[3 * current + 2]);
+			return true;
+		}
+	}
+
+	/**
+	 * Evaluates some rows of the root mesh
+	 */
+	private static final class RootMeshRows implements Runnable {
+		private final RootMeshValues values;
+		private final int row0;
+		private final int row1;
+		private final GeoSurfaceCartesian3D.ConcurrentEvaluator evaluator;
+		private final CoordsDouble3 tmp = new CoordsDouble3();
+
+		RootMeshRows(RootMeshValues values, int row0, int row1,
+				GeoSurfaceCartesian3D.ConcurrentEvaluator evaluator) {
+			this.values = values;
+			this.row0 = row0;
+			this.row1 = row1;
+			this.evaluator = evaluator;
+		}
+
+		@Override
+		public void run() {
+			int width = values.us.length;
+			for (int j = row0; j < row1; j++) {
+				double v = values.vs[j];
+				for (int i = 0; i < width; i++) {
+					double u = values.us[i];
+					int index = j * width + i;
+					evaluator.evaluatePoint(u, v, tmp);
+					values.points[3 * index] = tmp.x;
+					values.points[3 * index + 1] = tmp.y;
+					values.points[3 * index + 2] = tmp.z;
+					if (tmp.isDefined()
+							&& evaluator.evaluateNormal(u, v, tmp)) {
+						values.hasNormal[index] = true;
+						values.normals[3 * index] = tmp.x;
+						values.normals[3 * index + 1] = tmp.y;
+						values.normals[3 * index + 2] = tmp.z;
+					}
+				}
+			}
+		}
+	}
+
 	class Corner {
 		Coords3 p;
 		Coords3 normal;
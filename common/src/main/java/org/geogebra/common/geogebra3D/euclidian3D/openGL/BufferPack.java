@@ -120,7 +120,7 @@ class BufferPack {
 		vertexBuffer.set(manager.vertexArray, offset * 3, length * 3);
 		if (manager.oneNormal) {
 			for (int i = 0; i < 3; i++) {
-				normalBuffer.set(manager.normalArray.get(i).floatValue(), offset * 3 + i, length, 3);
+				normalBuffer.set(manager.normalArray.get(i), offset * 3 + i, length, 3);
 			}
 		} else {
 			normalBuffer.set(manager.normalArray, offset * 3, length * 3);
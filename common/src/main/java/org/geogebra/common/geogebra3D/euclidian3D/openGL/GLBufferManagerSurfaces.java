@@ -64,7 +64,7 @@ public class GLBufferManagerSurfaces extends GLBufferManager {
 			}
 			break;
 		case SURFACE:
-			ReusableArrayList<Short> indices = manager.getIndices();
+			ReusableShortArray indices = manager.getIndices();
 			for (int i = 0; i < indices.getLength(); i++) {
 				putToIndices(indices.get(i));
 			}
@@ -1,6 +1,5 @@
 package org.geogebra.common.geogebra3D.euclidian3D.openGL;
 
-import java.util.ArrayList;
 
 import org.geogebra.common.awt.GColor;
 import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
@@ -23,7 +22,7 @@ public class ManagerShadersElementsGlobalBufferPacking extends ManagerShadersEle
 	private GLBufferManager currentBufferManager;
 	private GColor currentColor;
 	private int currentTextureType;
-	private ReusableArrayList<Short> indices;
+	private ReusableShortArray indices;
 
 	private class GeometriesSetElementsGlobalBufferPacking extends GeometriesSetElementsGlobalBuffer {
 
@@ -147,18 +146,18 @@ public class ManagerShadersElementsGlobalBufferPacking extends ManagerShadersEle
 			}
 
 			@Override
-			public void setVertices(ArrayList<Double> array, int length) {
+			public void setVertices(ReusableFloatArray array, int length) {
 				setBufferCurrentIndex();
 				geometrySet.getBufferManager().setVertexBuffer(array, length);
 			}
 
 			@Override
-			public void setNormals(ArrayList<Double> array, int length) {
+			public void setNormals(ReusableFloatArray array, int length) {
 				geometrySet.getBufferManager().setNormalBuffer(array, length);
 			}
 
 			@Override
-			public void setTextures(ArrayList<Double> array, int length) {
+			public void setTextures(ReusableFloatArray array, int length) {
 				geometrySet.getBufferManager().setTextureBuffer(array);
 			}
 
@@ -168,7 +167,7 @@ public class ManagerShadersElementsGlobalBufferPacking extends ManagerShadersEle
 			}
 
 			@Override
-			public void setColors(ArrayList<Double> array, int length) {
+			public void setColors(ReusableFloatArray array, int length) {
 				// not implemented yet
 			}
 
@@ -354,7 +353,7 @@ public class ManagerShadersElementsGlobalBufferPacking extends ManagerShadersEle
 	@Override
 	protected void setIndicesForDrawTriangleFans(int size) {
 		if (indices == null) {
-			indices = new ReusableArrayList<>(size);
+			indices = new ReusableShortArray(size);
 		}
 		indices.setLength(0);
 	}
@@ -373,7 +372,7 @@ public class ManagerShadersElementsGlobalBufferPacking extends ManagerShadersEle
 	 * 
 	 * @return current indices
 	 */
-	public ReusableArrayList<Short> getIndices() {
+	public ReusableShortArray getIndices() {
 		return indices;
 	}
 
@@ -1,70 +0,0 @@
-package org.geogebra.common.geogebra3D.euclidian3D.openGL;
-
-import java.util.ArrayList;
-
-/**
- * ArrayList that can be reused
- *
- * @param <T>
- *            values stored type
- */
-public class ReusableArrayList<T> extends ArrayList<T> {
-
-	private static final long serialVersionUID = 1L;
-	private int length, size;
-
-	/**
-	 * constructor
-	 */
-	public ReusableArrayList() {
-		length = 0;
-		size = 0;
-	}
-
-	/**
-	 * constructor
-	 * 
-	 * @param size
-	 *            initial size
-	 */
-	public ReusableArrayList(int size) {
-		super(size);
-		length = 0;
-		this.size = 0;
-	}
-
-	/**
-	 * set length
-	 * 
-	 * @param length
-	 *            length
-	 */
-	public void setLength(int length) {
-		this.length = length;
-	}
-
-	/**
-	 * 
-	 * @return current length
-	 */
-	public int getLength() {
-		return this.length;
-	}
-
-	/**
-	 * add a value to the current position
-	 * 
-	 * @param value
-	 *            value
-	 */
-	public void addValue(T value) {
-		if (length == size) {
-			add(value);
-			size++;
-		} else {
-			set(length, value);
-		}
-		length++;
-	}
-
-}
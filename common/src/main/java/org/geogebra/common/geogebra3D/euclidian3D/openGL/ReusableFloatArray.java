@@ -0,0 +1,108 @@
+package org.geogebra.common.geogebra3D.euclidian3D.openGL;
+
+/**
+ * Growable float array that can be reused, to collect geometry values without
+ * boxing them
+ */
+public class ReusableFloatArray {
+
+	private float[] values;
+	private int length;
+
+	/**
+	 * constructor
+	 */
+	public ReusableFloatArray() {
+		this(16);
+	}
+
+	/**
+	 * constructor
+	 * 
+	 * @param size
+	 *            initial size
+	 */
+	public ReusableFloatArray(int size) {
+		values = new float[Math.max(1, size)];
+		length = 0;
+	}
+
+	/**
+	 * set length
+	 * 
+	 * @param length
+	 *            length
+	 */
+	public void setLength(int length) {
+		ensureCapacity(length);
+		this.length = length;
+	}
+
+	/**
+	 * 
+	 * @return current length
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * add a value to the current position
+	 * 
+	 * @param value
+	 *            value
+	 */
+	public void addValue(double value) {
+		if (length == values.length) {
+			ensureCapacity(length + 1);
+		}
+		values[length] = (float) value;
+		length++;
+	}
+
+	/**
+	 * add three values to the current position
+	 * 
+	 * @param x
+	 *            first value
+	 * @param y
+	 *            second value
+	 * @param z
+	 *            third value
+	 */
+	public void addValues(double x, double y, double z) {
+		if (length + 3 > values.length) {
+			ensureCapacity(length + 3);
+		}
+		values[length] = (float) x;
+		values[length + 1] = (float) y;
+		values[length + 2] = (float) z;
+		length += 3;
+	}
+
+	/**
+	 * @param index
+	 *            index
+	 * @return value at index
+	 */
+	public float get(int index) {
+		return values[index];
+	}
+
+	/**
+	 * 
+	 * @return values, only first {@link #getLength()} are used
+	 */
+	public float[] array() {
+		return values;
+	}
+
+	private void ensureCapacity(int size) {
+		if (size > values.length) {
+			float[] old = values;
+			values = new float[Math.max(size, old.length * 2)];
+			System.arraycopy(old, 0, values, 0, length);
+		}
+	}
+
+}
@@ -0,0 +1,73 @@
+package org.geogebra.common.geogebra3D.euclidian3D.openGL;
+
+/**
+ * Growable short array that can be reused, to collect element indices without
+ * boxing them
+ */
+public class ReusableShortArray {
+
+	private short[] values;
+	private int length;
+
+	/**
+	 * constructor
+	 * 
+	 * @param size
+	 *            initial size
+	 */
+	public ReusableShortArray(int size) {
+		values = new short[Math.max(1, size)];
+		length = 0;
+	}
+
+	/**
+	 * set length
+	 * 
+	 * @param length
+	 *            length
+	 */
+	public void setLength(int length) {
+		ensureCapacity(length);
+		this.length = length;
+	}
+
+	/**
+	 * 
+	 * @return current length
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * add a value to the current position
+	 * 
+	 * @param value
+	 *            value
+	 */
+	public void addValue(short value) {
+		if (length == values.length) {
+			ensureCapacity(length + 1);
+		}
+		values[length] = value;
+		length++;
+	}
+
+	/**
+	 * @param index
+	 *            index
+	 * @return value at index
+	 */
+	public short get(int index) {
+		return values[index];
+	}
+
+	private void ensureCapacity(int size) {
+		if (size > values.length) {
+			short[] old = values;
+			values = new short[Math.max(size, old.length * 2)];
+			System.arraycopy(old, 0, values, 0, length);
+		}
+	}
+
+}
@@ -622,7 +622,7 @@ abstract public class Input3D implements Input3DConstants {
 		startMouse3DPosition.set(mouse3DPosition);
 
 		view3D.rememberOrigins();
-		vz = view3D.getRotationMatrix().getVz();
+		vz = view3D.getRotationMatrix().getVz().copyVector();
 
 	}
 
@@ -36,6 +36,9 @@ import org.geogebra.common.kernel.kernelND.GeoLineND;
  */
 public class AlgoIntersectCS1D2D extends AlgoIntersectCoordSys {
 
+	// created in compute(), called from super constructor
+	private Coords globalCoords, inPlaneCoords;
+
 	/**
 	 * Creates new AlgoIntersectLinePlane
 	 * 
@@ -70,8 +73,10 @@ public class AlgoIntersectCS1D2D extends AlgoIntersectCoordSys {
 		Coords o = line.getPointInD(3, 0).getInhomCoordsInSameDimension();
 		Coords d = line.getPointInD(3, 1).getInhomCoordsInSameDimension()
 				.sub(o);
-		Coords globalCoords = new Coords(4);
-		Coords inPlaneCoords = new Coords(4);
+		if (globalCoords == null) {
+			globalCoords = new Coords(4);
+			inPlaneCoords = new Coords(4);
+		}
 		o.projectPlaneThruV(cs2D.getCoordSys().getMatrixOrthonormal(), d,
 				globalCoords, inPlaneCoords);
 
@@ -29,6 +29,9 @@ import org.geogebra.common.kernel.kernelND.GeoPointND;
  */
 public class AlgoOrthoLinePointLine3D extends AlgoOrtho {
 
+	// created in compute(), called from super constructor
+	private Coords v1, v2, v3, v;
+
 	public AlgoOrthoLinePointLine3D(Construction cons, String label,
 			GeoPointND point, GeoLineND line) {
 		super(cons, label, point, (GeoElement) line);
@@ -55,14 +58,20 @@ public class AlgoOrthoLinePointLine3D extends AlgoOrtho {
 	public final void compute() {
 
 		GeoLineND line1 = getInputLine();
+		if (v == null) {
+			v1 = new Coords(3);
+			v2 = new Coords(3);
+			v3 = new Coords(3);
+			v = new Coords(3);
+		}
 		Coords o = line1.getPointInD(3, 0).getInhomCoordsInSameDimension();
-		Coords v1 = line1.getPointInD(3, 1).getInhomCoordsInSameDimension()
-				.sub(o);
+		v1.setSub3(line1.getPointInD(3, 1).getInhomCoordsInSameDimension(),
+				o);
 		Coords o2 = getPoint().getInhomCoordsInD3();
-		Coords v2 = o2.sub(o);
+		v2.setSub3(o2, o);
 
-		Coords v3 = v1.crossProduct(v2);
-		Coords v = v3.crossProduct(v1);
+		v3.setCrossProduct(v1, v2);
+		v.setCrossProduct(v3, v1);
 
 		if (v.equalsForKernel(0, Kernel.STANDARD_PRECISION)) {
 			getLine().setUndefined();
@@ -12,6 +12,7 @@ import org.geogebra.common.kernel.Matrix.CoordMatrix4x4;
 import org.geogebra.common.kernel.Matrix.Coords;
 import org.geogebra.common.kernel.Matrix.Coords3;
 import org.geogebra.common.kernel.Matrix.CoordsDouble3;
+import org.geogebra.common.kernel.arithmetic.CompiledExpression;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.ExpressionValue;
 import org.geogebra.common.kernel.arithmetic.FunctionNVar;
@@ -148,7 +149,102 @@ public class GeoSurfaceCartesian3D extends GeoSurfaceCartesianND
 
 	}
 
+	/**
+	 * Needs derivatives, see {@link #setDerivatives()}
+	 * 
+	 * @return evaluator for points and normals that may be used on another
+	 *         thread as long as the surface doesn't change; null if some
+	 *         function can't be evaluated concurrently
+	 */
+	public ConcurrentEvaluator newConcurrentEvaluator() {
+		if (fun == null || fun.length != 3 || fun1 == null) {
+			return null;
+		}
+		CompiledExpression[] coords = new CompiledExpression[3];
+		CompiledExpression[][] derivatives = new CompiledExpression[2][3];
+		for (int i = 0; i < 3; i++) {
+			coords[i] = copyCompiled(fun[i]);
+			if (coords[i] == null) {
+				return null;
+			}
+			for (int j = 0; j < 2; j++) {
+				derivatives[j][i] = copyCompiled(fun1[j][i]);
+				if (derivatives[j][i] == null) {
+					return null;
+				}
+			}
+		}
+		return new ConcurrentEvaluator(coords, derivatives);
+	}
+
+	private static CompiledExpression copyCompiled(FunctionNVar fn) {
+		CompiledExpression compiled = fn == null ? null
+				: fn.getCompiledExpression();
+		return compiled == null ? null : compiled.copyForConcurrentUse();
+	}
 
+	/**
+	 * Evaluates points and normals of the surface with its own copies of the
+	 * compiled functions
+	 */
+	public static final class ConcurrentEvaluator {
+		private final CompiledExpression[] coords;
+		private final CompiledExpression[][] derivatives;
+		private final double[] uv = new double[2];
+		private final Coords du = new Coords(3), dv = new Coords(3),
+				cross = new Coords(3);
+
+		ConcurrentEvaluator(CompiledExpression[] coords,
+				CompiledExpression[][] derivatives) {
+			this.coords = coords;
+			this.derivatives = derivatives;
+		}
+
+		/**
+		 * @param u
+		 *            first parameter
+		 * @param v
+		 *            second parameter
+		 * @param p
+		 *            output point
+		 */
+		public void evaluatePoint(double u, double v, Coords3 p) {
+			uv[0] = u;
+			uv[1] = v;
+			p.set(coords[0].evaluate(uv), coords[1].evaluate(uv),
+					coords[2].evaluate(uv));
+		}
+
+		/**
+		 * @param u
+		 *            first parameter
+		 * @param v
+		 *            second parameter
+		 * @param n
+		 *            output normal
+		 * @return false if some derivative is undefined (then the surface
+		 *         needs to compute the normal from neighbours)
+		 */
+		public boolean evaluateNormal(double u, double v, Coords3 n) {
+			uv[0] = u;
+			uv[1] = v;
+			for (int i = 0; i < 3; i++) {
+				double val = derivatives[0][i].evaluate(uv);
+				if (Double.isNaN(val)) {
+					return false;
+				}
+				du.set(i + 1, val);
+				val = derivatives[1][i].evaluate(uv);
+				if (Double.isNaN(val)) {
+					return false;
+				}
+				dv.set(i + 1, val);
+			}
+			cross.setCrossProduct(du, dv);
+			n.setNormalizedIfPossible(cross);
+			return true;
+		}
+	}
 
 	/**
 	 * set the jacobian matrix for bivariate newton method
@@ -26,6 +26,11 @@ public class GeoTriangulatedSurface3D {
 	private int counter;
 	private MyPoint3D[] vertices;
 	private MyPoint3D[] normals;
+	private double[] meshVertices;
+	private double[] meshNormals;
+	private int[] meshIndices;
+	private int meshVertexCount;
+	private int meshIndexCount;
 
 	/**
 	 * 
@@ -41,6 +46,76 @@ public class GeoTriangulatedSurface3D {
 	public void clear() {
 		this.current = 0;
 		this.counter = 0;
+		this.meshVertexCount = 0;
+		this.meshIndexCount = 0;
+	}
+
+	/**
+	 * Sets triangles with shared vertices, replaces the triangles created by
+	 * {@link #insertPoint(double[], double[])}
+	 * 
+	 * @param vertexCoords
+	 *            vertex coordinates {x0, y0, z0, x1, ...}
+	 * @param normalCoords
+	 *            normal coordinates, same layout as vertices
+	 * @param vertexCount
+	 *            number of vertices
+	 * @param indices
+	 *            vertex indices, three per triangle
+	 * @param indexCount
+	 *            number of indices
+	 */
+	public void setMesh(double[] vertexCoords, double[] normalCoords,
+			int vertexCount, int[] indices, int indexCount) {
+		clear();
+		this.meshVertices = vertexCoords;
+		this.meshNormals = normalCoords;
+		this.meshVertexCount = vertexCount;
+		this.meshIndices = indices;
+		this.meshIndexCount = indexCount;
+	}
+
+	/**
+	 * @return whether the surface consists of triangles with shared vertices
+	 *         (see {@link #setMesh(double[], double[], int, int[], int)})
+	 */
+	public boolean hasMesh() {
+		return meshIndexCount > 0;
+	}
+
+	/**
+	 * @return vertex coordinates of the mesh {x0, y0, z0, x1, ...}
+	 */
+	public double[] getMeshVertices() {
+		return meshVertices;
+	}
+
+	/**
+	 * @return normal coordinates of the mesh {x0, y0, z0, x1, ...}
+	 */
+	public double[] getMeshNormals() {
+		return meshNormals;
+	}
+
+	/**
+	 * @return number of mesh vertices
+	 */
+	public int getMeshVertexCount() {
+		return meshVertexCount;
+	}
+
+	/**
+	 * @return vertex indices of the mesh, three per triangle
+	 */
+	public int[] getMeshIndices() {
+		return meshIndices;
+	}
+
+	/**
+	 * @return number of mesh indices
+	 */
+	public int getMeshIndexCount() {
+		return meshIndexCount;
 	}
 
 	/**
@@ -1,14 +1,18 @@
 package org.geogebra.common.geogebra3D.kernel3D.implicit3D;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.geogebra.common.geogebra3D.kernel3D.geos.GeoElement3D;
 import org.geogebra.common.geogebra3D.kernel3D.geos.GeoTriangulatedSurface3D;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.TaskRunner;
 import org.geogebra.common.kernel.Matrix.Coords;
 import org.geogebra.common.kernel.Matrix.Coords3;
 import org.geogebra.common.kernel.Matrix.CoordsDouble3;
+import org.geogebra.common.kernel.arithmetic.CompiledExpression;
 import org.geogebra.common.kernel.arithmetic.Equation;
 import org.geogebra.common.kernel.arithmetic.EquationValue;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
@@ -45,6 +49,9 @@ public class GeoImplicitSurface extends GeoElement3D
 	private GeoFunctionNVar expression;
 	private GeoTriangulatedSurface3D surface3D;
 	private FunctionNVar[] derivFunc = new FunctionNVar[3];
+	private boolean indexedMesh = true;
+	private int refinement = 0;
+	private int lastEvaluations;
 
 	/**
 	 * Create an empty GeoImplicitSurface
@@ -304,9 +311,95 @@ public class GeoImplicitSurface extends GeoElement3D
 	public void updateSurface(double[] bounds) {
 		if (isDefined()) {
 			surface3D.clear();
-			MarchingCube m = new MarchingCube(this);
-			m.update(bounds);
+			if (indexedMesh) {
+				TaskRunner runner = kernel.getTaskRunner();
+				if (runner != null && newEvaluator(true) == null) {
+					runner = null;
+				}
+				IndexedMarchingCubes m = new IndexedMarchingCubes(this,
+						refinement, runner);
+				m.update(bounds);
+				lastEvaluations = m.getEvaluations();
+			} else {
+				MarchingCube m = new MarchingCube(this);
+				m.update(bounds);
+				lastEvaluations = m.getEvaluations();
+			}
+		}
+	}
+
+	/**
+	 * @param concurrent
+	 *            whether the evaluator will be used on another thread
+	 * @return evaluator for function and normals; null if concurrent
+	 *         evaluation is not possible
+	 */
+	Evaluator newEvaluator(boolean concurrent) {
+		if (!concurrent) {
+			return new Evaluator(this, null, null);
+		}
+		CompiledExpression function = copyCompiled(expression.getFunction());
+		if (function == null) {
+			return null;
+		}
+		CompiledExpression[] derivatives = null;
+		if (hasDerivatives) {
+			derivatives = new CompiledExpression[3];
+			for (int i = 0; i < 3; i++) {
+				derivatives[i] = copyCompiled(derivFunc[i]);
+				if (derivatives[i] == null) {
+					return null;
+				}
+			}
 		}
+		return new Evaluator(this, function, derivatives);
+	}
+
+	private static CompiledExpression copyCompiled(FunctionNVar fn) {
+		CompiledExpression compiled = fn.getCompiledExpression();
+		return compiled == null ? null : compiled.copyForConcurrentUse();
+	}
+
+	/**
+	 * @param flag
+	 *            whether to build an indexed mesh with shared vertices (see
+	 *            {@link GeoTriangulatedSurface3D#setMesh}) instead of separate
+	 *            triangles
+	 */
+	public void setIndexedMesh(boolean flag) {
+		indexedMesh = flag;
+	}
+
+	/**
+	 * @return whether the surface is built as indexed mesh
+	 */
+	public boolean isIndexedMesh() {
+		return indexedMesh;
+	}
+
+	/**
+	 * @param level
+	 *            0 for a uniform grid, 1 or 2 to subdivide the grid cubes near
+	 *            the surface 2 or 4 times along each axis (only for indexed
+	 *            mesh)
+	 */
+	public void setRefinement(int level) {
+		refinement = Math.max(0, Math.min(2, level));
+	}
+
+	/**
+	 * @return refinement level
+	 */
+	public int getRefinement() {
+		return refinement;
+	}
+
+	/**
+	 * @return number of function evaluations at grid points in last surface
+	 *         update
+	 */
+	public int getLastEvaluationCount() {
+		return lastEvaluations;
 	}
 
 	/**
@@ -454,11 +547,11 @@ public class GeoImplicitSurface extends GeoElement3D
 
 	private static abstract class ImplicitSurface {
 
-		private static final int EMPTY_OR_INVALID = 0x1ff;
+		protected static final int EMPTY_OR_INVALID = 0x1ff;
 
 		protected GeoImplicitSurface s;
 
-		private final int[][] EDGE_TABLE = new int[][] { {}, // 0x00, 0xff
+		protected final int[][] EDGE_TABLE = new int[][] { {}, // 0x00, 0xff
 				{ 0, 4, 3 }, // 0x01, 00000001
 				{ 0, 5, 1 }, // 0x02, 00000010
 				{ 1, 3, 4, 4, 5, 1 }, // 0x03, 00000011
@@ -818,6 +911,13 @@ public class GeoImplicitSurface extends GeoElement3D
 			super(s);
 		}
 
+		/**
+		 * @return number of function evaluations at grid points
+		 */
+		public int getEvaluations() {
+			return (sizeX + 1) * (sizeY + 1) * (sizeZ + 1);
+		}
+
 		private static int pixels(double c1, double c2, double scale) {
 			return (int) Math.ceil((Math.abs(c1 - c2) * scale));
 		}
@@ -896,6 +996,608 @@ public class GeoImplicitSurface extends GeoElement3D
 
 	}
 
+	/**
+	 * Marching cubes with shared vertices: every intersection of the surface
+	 * with a grid edge becomes one vertex and triangles refer to vertices by
+	 * index. The grid is cut into slabs along z which are polygonized
+	 * independently, on several threads if the kernel has a task runner and
+	 * the function can be evaluated concurrently; vertices on the borders of
+	 * slabs are merged afterwards.
+	 * 
+	 * With refinement level L &gt; 0 the function is evaluated on the grid of
+	 * {@link MarchingCube} first. Only blocks of (2^L)^3 cubes that have a
+	 * sign change at their corners, or are next to such a block, are
+	 * evaluated and polygonized at the finer resolution.
+	 */
+	private static class IndexedMarchingCubes extends ImplicitSurface {
+		/** minimal number of cube layers per slab */
+		private static final int MIN_SLAB_LAYERS = 2;
+		/** maximal number of slabs */
+		private static final int MAX_SLABS = 16;
+		/** vertices per task when computing normals */
+		private static final int NORMALS_PER_TASK = 2048;
+		/** grid offsets {x, y, z} of cube vertices, see Cube.VERTICES */
+		private static final int[][] OFFSETS = new int[8][3];
+
+		static {
+			for (int v = 0; v < 8; v++) {
+				OFFSETS[v][0] = Cube.VERTICES[v][0] == Cube.X2 ? 1 : 0;
+				OFFSETS[v][1] = Cube.VERTICES[v][1] == Cube.Y2 ? 1 : 0;
+				OFFSETS[v][2] = Cube.VERTICES[v][2] == Cube.Z2 ? 1 : 0;
+			}
+		}
+
+		private final int refinement;
+		/** task runner, null if the function can't be evaluated concurrently */
+		private final TaskRunner runner;
+		/** blocks (cubes of the coarse grid) per axis */
+		private int bx;
+		private int by;
+		private int bz;
+		/** cubes per block edge */
+		private int blockSize;
+		/** grid points per axis */
+		private int nx;
+		private int ny;
+		private int nz;
+		private double[] xcoords;
+		private double[] ycoords;
+		private double[] zcoords;
+		private double[] values;
+		/** evaluated grid points, null if all are evaluated */
+		private boolean[] known;
+		/** blocks to polygonize, null for all */
+		private boolean[] active;
+		private int evaluations;
+
+		/**
+		 * @param s
+		 *            surface
+		 * @param refinement
+		 *            refinement level
+		 * @param runner
+		 *            task runner, null to run on the calling thread (must be
+		 *            null if {@link GeoImplicitSurface#newEvaluator(boolean)}
+		 *            can't create concurrent evaluators)
+		 */
+		public IndexedMarchingCubes(GeoImplicitSurface s, int refinement,
+				TaskRunner runner) {
+			super(s);
+			this.refinement = refinement;
+			this.runner = runner;
+		}
+
+		/**
+		 * Grid cubes [c0, c1) along z with their vertices and triangles
+		 */
+		private class Slab implements Runnable {
+			final int c0;
+			final int c1;
+			/** vertex of each grid edge, 3 edges per grid point */
+			int[] edges;
+			double[] vertices = new double[3 * 256];
+			int vertexCount;
+			int[] triangles = new int[3 * 256];
+			int triangleCount;
+			/** global index of each vertex */
+			int[] global;
+
+			Slab(int c0, int c1) {
+				this.c0 = c0;
+				this.c1 = c1;
+			}
+
+			@Override
+			public void run() {
+				edges = new int[3 * nx * ny * (c1 - c0 + 1)];
+				Arrays.fill(edges, -1);
+				Cube cube = new Cube();
+				for (int k = c0; k < c1; k++) {
+					for (int j = 0; j < ny - 1; j++) {
+						for (int i = 0; i < nx - 1; i++) {
+							if (active == null || active[block(i, j, k)]) {
+								polygonize(cube, i, j, k);
+							}
+						}
+					}
+				}
+			}
+
+			private void polygonize(Cube cube, int i, int j, int k) {
+				for (int v = 0; v < 8; v++) {
+					cube.cache[v] = values[index(i + OFFSETS[v][0],
+							j + OFFSETS[v][1], k + OFFSETS[v][2])];
+				}
+				int config = config(cube);
+				if (config == EMPTY_OR_INVALID) {
+					return;
+				}
+				int[] cubeEdges = EDGE_TABLE[config];
+				for (int e = 0; e < cubeEdges.length; e++) {
+					int[] ends = Cube.EDGES[cubeEdges[e]];
+					int[] o1 = OFFSETS[ends[0]];
+					int[] o2 = OFFSETS[ends[1]];
+					int axis = o1[0] != o2[0] ? 0 : (o1[1] != o2[1] ? 1 : 2);
+					// lower end of the edge
+					int pi = i + Math.min(o1[0], o2[0]);
+					int pj = j + Math.min(o1[1], o2[1]);
+					int pk = k + Math.min(o1[2], o2[2]);
+					addIndex(vertex(pi, pj, pk, axis));
+				}
+			}
+
+			private int vertex(int i, int j, int k, int axis) {
+				int edge = 3 * (((k - c0) * ny + j) * nx + i) + axis;
+				if (edges[edge] >= 0) {
+					return edges[edge];
+				}
+				if (3 * vertexCount + 3 > vertices.length) {
+					vertices = Arrays.copyOf(vertices, 2 * vertices.length);
+				}
+				int pos = 3 * vertexCount;
+				vertices[pos] = xcoords[i];
+				vertices[pos + 1] = ycoords[j];
+				vertices[pos + 2] = zcoords[k];
+				double fa = values[index(i, j, k)];
+				switch (axis) {
+				case 0:
+					vertices[pos] = Cube.interpolate(fa,
+							values[index(i + 1, j, k)], xcoords[i],
+							xcoords[i + 1]);
+					break;
+				case 1:
+					vertices[pos + 1] = Cube.interpolate(fa,
+							values[index(i, j + 1, k)], ycoords[j],
+							ycoords[j + 1]);
+					break;
+				default:
+					vertices[pos + 2] = Cube.interpolate(fa,
+							values[index(i, j, k + 1)], zcoords[k],
+							zcoords[k + 1]);
+				}
+				edges[edge] = vertexCount;
+				return vertexCount++;
+			}
+
+			private void addIndex(int vertex) {
+				if (triangleCount == triangles.length) {
+					triangles = Arrays.copyOf(triangles,
+							2 * triangles.length);
+				}
+				triangles[triangleCount++] = vertex;
+			}
+
+			/**
+			 * @param layer
+			 *            grid point layer relative to c0
+			 * @param point
+			 *            point index in layer
+			 * @param axis
+			 *            0 for x, 1 for y
+			 * @return vertex on the edge, -1 if none
+			 */
+			int edgeVertex(int layer, int point, int axis) {
+				return edges[3 * (layer * nx * ny + point) + axis];
+			}
+		}
+
+		/**
+		 * Evaluates grid points with z index in [p0, p1)
+		 */
+		private class Evaluation implements Runnable {
+			private final int p0;
+			private final int p1;
+			private final Evaluator evaluator;
+
+			Evaluation(int p0, int p1, Evaluator evaluator) {
+				this.p0 = p0;
+				this.p1 = p1;
+				this.evaluator = evaluator;
+			}
+
+			@Override
+			public void run() {
+				for (int k = p0; k < p1; k++) {
+					if (active == null) {
+						// coarse grid
+						if (k % blockSize == 0) {
+							for (int j = 0; j < ny; j += blockSize) {
+								for (int i = 0; i < nx; i += blockSize) {
+									evaluate(i, j, k);
+								}
+							}
+						}
+						continue;
+					}
+					// blocks with this layer on top or bottom
+					int bk = k / blockSize;
+					for (int b = k % blockSize == 0 ? bk - 1 : bk; b <= bk
+							&& b < bz; b++) {
+						if (b < 0) {
+							continue;
+						}
+						for (int bj = 0; bj < by; bj++) {
+							for (int bi = 0; bi < bx; bi++) {
+								if (active[(b * by + bj) * bx + bi]) {
+									evaluateBlockLayer(bi, bj, k);
+								}
+							}
+						}
+					}
+				}
+			}
+
+			private void evaluateBlockLayer(int bi, int bj, int k) {
+				for (int j = bj * blockSize; j <= (bj + 1) * blockSize; j++) {
+					for (int i = bi * blockSize; i <= (bi + 1)
+							* blockSize; i++) {
+						evaluate(i, j, k);
+					}
+				}
+			}
+
+			private void evaluate(int i, int j, int k) {
+				int index = index(i, j, k);
+				if (known == null || !known[index]) {
+					values[index] = evaluator.value(xcoords[i], ycoords[j],
+							zcoords[k]);
+					if (known != null) {
+						known[index] = true;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Computes normals of vertices [from, to)
+		 */
+		private static class Normals implements Runnable {
+			private final double[] vertices;
+			private final double[] normals;
+			private final int from;
+			private final int to;
+			private final Evaluator evaluator;
+
+			Normals(double[] vertices, double[] normals, int from, int to,
+					Evaluator evaluator) {
+				this.vertices = vertices;
+				this.normals = normals;
+				this.from = from;
+				this.to = to;
+				this.evaluator = evaluator;
+			}
+
+			@Override
+			public void run() {
+				for (int v = from; v < to; v++) {
+					evaluator.normal(vertices, normals, 3 * v);
+				}
+			}
+		}
+
+		private int index(int i, int j, int k) {
+			return (k * ny + j) * nx + i;
+		}
+
+		private int block(int i, int j, int k) {
+			return ((k / blockSize) * by + j / blockSize) * bx + i / blockSize;
+		}
+
+		/**
+		 * @return number of function evaluations at grid points
+		 */
+		public int getEvaluations() {
+			return evaluations;
+		}
+
+		@Override
+		public void update() {
+			bx = Math.min(MarchingCube.MAX_SUB_DIV,
+					MarchingCube.pixels(x1, x2, scaleX) / MarchingCube.AVE_PXL
+							+ 1);
+			by = Math.min(MarchingCube.MAX_SUB_DIV,
+					MarchingCube.pixels(y1, y2, scaleY) / MarchingCube.AVE_PXL
+							+ 1);
+			bz = Math.min(MarchingCube.MAX_SUB_DIV,
+					MarchingCube.pixels(z1, z2, scaleZ) / MarchingCube.AVE_PXL
+							+ 1);
+			blockSize = 1 << refinement;
+			nx = bx * blockSize + 1;
+			ny = by * blockSize + 1;
+			nz = bz * blockSize + 1;
+			fracX = (x2 - x1) / (nx - 1);
+			fracY = (y2 - y1) / (ny - 1);
+			fracZ = (z2 - z1) / (nz - 1);
+			xcoords = new double[nx];
+			ycoords = new double[ny];
+			zcoords = new double[nz];
+			for (int i = 0; i < nx; i++) {
+				xcoords[i] = x1 + i * fracX;
+			}
+			for (int i = 0; i < ny; i++) {
+				ycoords[i] = y1 + i * fracY;
+			}
+			for (int i = 0; i < nz; i++) {
+				zcoords[i] = z1 + i * fracZ;
+			}
+			values = new double[nx * ny * nz];
+			known = refinement > 0 ? new boolean[values.length] : null;
+			active = null;
+			evaluations = 0;
+
+			// coarse grid (= whole grid without refinement)
+			evaluatePoints();
+			if (refinement > 0) {
+				markActiveBlocks();
+				evaluatePoints();
+			}
+
+			int slabCount = 1;
+			if (runner != null) {
+				slabCount = Math.max(1, Math.min(MAX_SLABS,
+						(nz - 1) / MIN_SLAB_LAYERS));
+			}
+			ArrayList<Slab> slabs = new ArrayList<>(slabCount);
+			for (int s = 0; s < slabCount; s++) {
+				slabs.add(new Slab((nz - 1) * s / slabCount,
+						(nz - 1) * (s + 1) / slabCount));
+			}
+			runAll(slabs);
+			merge(slabs);
+		}
+
+		private Evaluator newEvaluator() {
+			return s.newEvaluator(runner != null);
+		}
+
+		private void evaluatePoints() {
+			int taskCount = runner != null ? Math.min(MAX_SLABS, nz) : 1;
+			ArrayList<Evaluation> tasks = new ArrayList<>(taskCount);
+			for (int t = 0; t < taskCount; t++) {
+				tasks.add(new Evaluation(nz * t / taskCount,
+						nz * (t + 1) / taskCount, newEvaluator()));
+			}
+			runAll(tasks);
+			for (Evaluation task : tasks) {
+				evaluations += task.evaluator.evaluations;
+			}
+		}
+
+		/**
+		 * Marks blocks with a sign change (or undefined values) at their
+		 * corners and their neighbours
+		 */
+		private void markActiveBlocks() {
+			boolean[] crossing = new boolean[bx * by * bz];
+			for (int k = 0; k < bz; k++) {
+				for (int j = 0; j < by; j++) {
+					for (int i = 0; i < bx; i++) {
+						crossing[(k * by + j) * bx + i] = isCrossing(i, j, k);
+					}
+				}
+			}
+			active = new boolean[crossing.length];
+			for (int k = 0; k < bz; k++) {
+				for (int j = 0; j < by; j++) {
+					for (int i = 0; i < bx; i++) {
+						if (crossing[(k * by + j) * bx + i]) {
+							for (int d = 0; d < 3; d++) {
+								for (int sgn = -1; sgn <= 1; sgn++) {
+									int ni = i + (d == 0 ? sgn : 0);
+									int nj = j + (d == 1 ? sgn : 0);
+									int nk = k + (d == 2 ? sgn : 0);
+									if (ni >= 0 && nj >= 0 && nk >= 0
+											&& ni < bx && nj < by && nk < bz) {
+										active[(nk * by + nj) * bx
+												+ ni] = true;
+									}
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+
+		private boolean isCrossing(int bi, int bj, int bk) {
+			boolean positive = false;
+			boolean negative = false;
+			for (int v = 0; v < 8; v++) {
+				double value = values[index(
+						(bi + OFFSETS[v][0]) * blockSize,
+						(bj + OFFSETS[v][1]) * blockSize,
+						(bk + OFFSETS[v][2]) * blockSize)];
+				if (!MyDouble.isFinite(value)) {
+					return true;
+				}
+				if (value > 0) {
+					positive = true;
+				} else {
+					negative = true;
+				}
+			}
+			return positive && negative;
+		}
+
+		private void runAll(List<? extends Runnable> tasks) {
+			if (runner != null && runner.runAll(tasks)) {
+				return;
+			}
+			for (Runnable task : tasks) {
+				task.run();
+			}
+		}
+
+		/**
+		 * Joins vertices and triangles of the slabs, vertices on slab
+		 * borders are shared
+		 */
+		private void merge(ArrayList<Slab> slabs) {
+			int vertexCount = 0;
+			int indexCount = 0;
+			for (Slab slab : slabs) {
+				vertexCount += slab.vertexCount;
+				indexCount += slab.triangleCount;
+			}
+			double[] vertices = new double[3 * vertexCount];
+			int[] indices = new int[indexCount];
+			int layerSize = nx * ny;
+			vertexCount = 0;
+			indexCount = 0;
+			Slab previous = null;
+			for (Slab slab : slabs) {
+				slab.global = new int[slab.vertexCount];
+				Arrays.fill(slab.global, -1);
+				if (previous != null) {
+					int top = previous.c1 - previous.c0;
+					for (int p = 0; p < layerSize; p++) {
+						for (int axis = 0; axis < 2; axis++) {
+							int local = slab.edgeVertex(0, p, axis);
+							int shared = previous.edgeVertex(top, p, axis);
+							if (local >= 0 && shared >= 0) {
+								slab.global[local] = previous.global[shared];
+							}
+						}
+					}
+				}
+				for (int v = 0; v < slab.vertexCount; v++) {
+					if (slab.global[v] < 0) {
+						for (int c = 0; c < 3; c++) {
+							vertices[3 * vertexCount + c] = slab.vertices[3
+									* v + c];
+						}
+						slab.global[v] = vertexCount++;
+					}
+				}
+				for (int i = 0; i < slab.triangleCount; i++) {
+					indices[indexCount++] = slab.global[slab.triangles[i]];
+				}
+				previous = slab;
+			}
+
+			double[] normals = new double[3 * vertexCount];
+			ArrayList<Normals> tasks = new ArrayList<>();
+			for (int v = 0; v < vertexCount; v += NORMALS_PER_TASK) {
+				tasks.add(new Normals(vertices, normals, v,
+						Math.min(vertexCount, v + NORMALS_PER_TASK),
+						newEvaluator()));
+			}
+			runAll(tasks);
+			orient(vertices, normals, indices, indexCount);
+			surf.setMesh(vertices, normals, vertexCount, indices, indexCount);
+		}
+
+		/**
+		 * Orders vertices of each triangle as {@link #addSurface(Cube)} does
+		 */
+		private static void orient(double[] vertices, double[] normals,
+				int[] indices, int indexCount) {
+			for (int t = 0; t < indexCount; t += 3) {
+				int p1 = 3 * indices[t];
+				int p2 = 3 * indices[t + 1];
+				int p3 = 3 * indices[t + 2];
+				double ux = vertices[p2] - vertices[p1];
+				double uy = vertices[p2 + 1] - vertices[p1 + 1];
+				double uz = vertices[p2 + 2] - vertices[p1 + 2];
+				double vx = vertices[p3] - vertices[p1];
+				double vy = vertices[p3 + 1] - vertices[p1 + 1];
+				double vz = vertices[p3 + 2] - vertices[p1 + 2];
+				double nx1 = normals[p1];
+				double ny1 = normals[p1 + 1];
+				double nz1 = normals[p1 + 2];
+				double det = ux * (ny1 * vz - nz1 * vy)
+						+ uy * (nz1 * vx - nx1 * vz)
+						+ uz * (nx1 * vy - ny1 * vx);
+				if (det >= 0) {
+					int swap = indices[t + 1];
+					indices[t + 1] = indices[t + 2];
+					indices[t + 2] = swap;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Evaluates the function and its normal. Instances for concurrent use
+	 * have their own copies of the compiled function and derivatives.
+	 */
+	private static class Evaluator {
+		private final GeoImplicitSurface surface;
+		private final CompiledExpression function;
+		private final CompiledExpression[] derivatives;
+		private final double[] xyz = new double[3];
+		private final Coords point = new Coords(0, 0, 0);
+		private final Coords normal = new Coords(0, 0, 0);
+		/** number of function evaluations */
+		int evaluations;
+
+		Evaluator(GeoImplicitSurface surface, CompiledExpression function,
+				CompiledExpression[] derivatives) {
+			this.surface = surface;
+			this.function = function;
+			this.derivatives = derivatives;
+		}
+
+		double value(double x, double y, double z) {
+			evaluations++;
+			if (function == null) {
+				return surface.evaluateAt(x, y, z);
+			}
+			xyz[0] = x;
+			xyz[1] = y;
+			xyz[2] = z;
+			return function.evaluate(xyz);
+		}
+
+		/**
+		 * Same as {@link GeoImplicitSurface#evaluateNormalAt(Coords, Coords)}
+		 * 
+		 * @param vertices
+		 *            vertex coordinates
+		 * @param normals
+		 *            output normal coordinates
+		 * @param offset
+		 *            offset of the vertex in both arrays
+		 */
+		void normal(double[] vertices, double[] normals, int offset) {
+			if (function == null) {
+				point.set(vertices[offset], vertices[offset + 1],
+						vertices[offset + 2]);
+				surface.evaluateNormalAt(point, normal);
+				for (int i = 0; i < 3; i++) {
+					normals[offset + i] = normal.val[i];
+				}
+				return;
+			}
+			if (derivatives == null) {
+				return;
+			}
+			for (int i = 0; i < 3; i++) {
+				xyz[i] = vertices[offset + i];
+			}
+			double e = 1e-3, e2 = 2 * e, lt, rt;
+			double len = 0;
+			for (int i = 0; i < 3; i++) {
+				double d = derivatives[i].evaluate(xyz);
+				if (!MyDouble.isFinite(d)) {
+					double c = xyz[i];
+					xyz[i] = c - e;
+					lt = value(xyz[0], xyz[1], xyz[2]);
+					xyz[i] = c + e;
+					rt = value(xyz[0], xyz[1], xyz[2]);
+					xyz[i] = c;
+					d = (rt - lt) / e2;
+				}
+				normals[offset + i] = d;
+				len += d * d;
+			}
+			len = Math.sqrt(len);
+			for (int i = 0; i < 3; i++) {
+				normals[offset + i] /= len;
+			}
+		}
+	}
+
 	// Here is vertices and edges numbering convention used throughout the
 	// marching cube. Thus we can see vertices 7 and 1 map to (x1, y1, z1) and
 	// (x2, y2, z2) respectively
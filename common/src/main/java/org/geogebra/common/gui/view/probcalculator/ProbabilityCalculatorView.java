@@ -2,7 +2,6 @@ package org.geogebra.common.gui.view.probcalculator;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.TreeSet;
 
 import org.geogebra.common.awt.GColor;
 import org.geogebra.common.euclidian.EuclidianView;
@@ -190,8 +189,6 @@ public abstract class ProbabilityCalculatorView
 
 	protected ProbabilityManager probManager;
 	protected GeoFunction pdfCurve;
-	private TreeSet<AlgoElement> tempSet;
-
 	public ProbabilityCalculatorView(App app) {
 
 		isIniting = true;
@@ -958,8 +955,7 @@ public abstract class ProbabilityCalculatorView
 		lowPoint.setCoords(getLow(), 0.0, 1.0);
 		highPoint.setCoords(getHigh(), 0.0, 1.0);
 		getPlotPanel().repaint();
-		GeoElement.updateCascade(pointList, getTempSet(), false);
-		tempSet.clear();
+		GeoElement.updateCascade(pointList, false);
 
 		if (probManager.isDiscrete(selectedDist)) {
 			getTable().setSelectionByRowValue((int) getLow(), (int) getHigh());
@@ -1189,13 +1185,6 @@ public abstract class ProbabilityCalculatorView
 		plotGeoList.clear();
 	}
 
-	private TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null) {
-			tempSet = new TreeSet<>();
-		}
-		return tempSet;
-	}
-
 	/**
 	 * Exports all GeoElements that are currently displayed in this panel to a
 	 * target EuclidianView.
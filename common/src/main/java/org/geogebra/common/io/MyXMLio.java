@@ -11,6 +11,7 @@ the Free Software Foundation.
  */
 package org.geogebra.common.io;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 import org.geogebra.common.GeoGebraConstants;
@@ -19,6 +20,7 @@ import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.Macro;
 import org.geogebra.common.main.App;
+import org.geogebra.common.util.debug.Instrumentation;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -119,6 +121,8 @@ public abstract class MyXMLio {
 		constructionKernel.setIsGettingUndo(true);
 
 		App consApp = c.getApplication();
+		Instrumentation instrumentation = consApp.getInstrumentation();
+		double start = instrumentation == null ? -1 : instrumentation.start();
 
 		StringBuilder sb = new StringBuilder();
 		addXMLHeader(sb);
@@ -158,6 +162,9 @@ public abstract class MyXMLio {
 		sb.append("</geogebra>");
 
 		constructionKernel.setIsGettingUndo(kernelIsGettingUndo);
+		if (instrumentation != null) {
+			instrumentation.end(Instrumentation.XML, "undoXML", start);
+		}
 
 		return sb;
 	}
@@ -268,18 +275,7 @@ public abstract class MyXMLio {
 	 */
 	public String getFullXML() {
 		StringBuilder sb = new StringBuilder();
-		addXMLHeader(sb);
-		addGeoGebraHeader(sb, false, app.getUniqueId(), app.getVersion());
-		// sb.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n");
-		// sb.append("<geogebra format=\"" + GeoGebra.XML_FILE_FORMAT + "\"");
-		// sb.append("
-		// xsi:noNamespaceSchemaLocation=\"http://www.geogebra.org/");
-		// sb.append(GeoGebra.GGB_XSD_FILENAME); //eg ggb.xsd
-		// sb.append("\" xmlns=\"\"
-		// xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" >\n");
-
-		// save gui settings
-		sb.append(app.getCompleteUserInterfaceXML(false));
+		getFullXMLStart(sb);
 
 		// save construction
 		cons.getConstructionXML(sb, false);
@@ -288,6 +284,30 @@ public abstract class MyXMLio {
 		return sb.toString();
 	}
 
+	/**
+	 * Writes the same XML as {@link #getFullXML()} in pieces, so that the XML
+	 * of the whole construction doesn't need to be kept in memory.
+	 * 
+	 * @param out
+	 *            output, e.g. writer of a zip entry
+	 * @throws IOException
+	 *             when output fails
+	 */
+	public void writeFullXML(Appendable out) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		getFullXMLStart(sb);
+		out.append(sb);
+		cons.writeConstructionXML(out, false);
+		out.append("</geogebra>");
+	}
+
+	private void getFullXMLStart(StringBuilder sb) {
+		addXMLHeader(sb);
+		addGeoGebraHeader(sb, false, app.getUniqueId(), app.getVersion());
+		// save gui settings
+		sb.append(app.getCompleteUserInterfaceXML(false));
+	}
+
 	/**
 	 * Returns XML representation of given macros and/or exercise in the kernel,
 	 * including header.
@@ -383,6 +403,8 @@ public abstract class MyXMLio {
 		boolean oldVal = kernel.isNotifyViewsActive();
 		boolean oldVal2 = kernel.isUsingInternalCommandNames();
 		kernel.setUseInternalCommandNames(true);
+		Instrumentation instrumentation = app.getInstrumentation();
+		double start;
 
 		if (!isGGTOrDefaults && mayZoom) {
 			kernel.setNotifyViewsActive(false);
@@ -390,10 +412,15 @@ public abstract class MyXMLio {
 
 		if (clearConstruction) {
 			// clear construction
+			start = instrumentation == null ? -1 : instrumentation.start();
 			kernel.clearConstruction(false);
+			if (instrumentation != null) {
+				instrumentation.end(Instrumentation.XML, "clear", start);
+			}
 		}
 
 		try {
+			start = instrumentation == null ? -1 : instrumentation.start();
 			kernel.setLoadingMode(true);
 			if (settingsBatch && !isGGTOrDefaults) {
 				app.getSettings().beginBatch();
@@ -404,6 +431,9 @@ public abstract class MyXMLio {
 			}
 			resetXMLParser();
 			kernel.setLoadingMode(false);
+			if (instrumentation != null) {
+				instrumentation.end(Instrumentation.XML, "parse", start);
+			}
 		} catch (Error e) {
 			Log.error(e.getMessage());
 			if (!isGGTOrDefaults) {
@@ -417,8 +447,13 @@ public abstract class MyXMLio {
 		} finally {
 			kernel.setUseInternalCommandNames(oldVal2);
 			if (!isGGTOrDefaults && mayZoom) {
+				start = instrumentation == null ? -1
+						: instrumentation.start();
 				kernel.updateConstruction(randomize, 1);
 				kernel.setNotifyViewsActive(oldVal);
+				if (instrumentation != null) {
+					instrumentation.end(Instrumentation.XML, "update", start);
+				}
 			}
 
 			// #2153
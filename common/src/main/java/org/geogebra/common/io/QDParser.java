@@ -35,9 +35,24 @@ public class QDParser {
 			ATTRIBUTE_RVALUE = 10, QUOTE = 7, IN_TAG = 8, SINGLE_TAG = 12,
 			COMMENT = 13, DONE = 11, DOCTYPE = 14, PRE = 15, CDATA = 16;
 
+	/** longest attribute value that is shared between tags */
+	private final static int MAX_SHARED_VALUE_LENGTH = 8;
+	/** limit for shared names and values */
+	private final static int MAX_NAMES = 4096;
+
 	private LinkedHashMap<String, String> attrs;
 	private Stack<Integer> stack;
 	private StringBuilder sb, etag;
+	private final char[] buffer = new char[8192];
+
+	// tag and attribute names and short values, kept between parses so that
+	// the same String objects are used for all tags
+	private String[] names = new String[256];
+	private int nameCount = 0;
+
+	private int elementCount;
+	private int attributeCount;
+	private long charCount;
 
 	/**
 	 * Creates new parser
@@ -59,6 +74,90 @@ public class QDParser {
 		etag = new StringBuilder();
 	}
 
+	/**
+	 * @return number of elements in last parsed document
+	 */
+	public int getElementCount() {
+		return elementCount;
+	}
+
+	/**
+	 * @return number of attributes in last parsed document
+	 */
+	public int getAttributeCount() {
+		return attributeCount;
+	}
+
+	/**
+	 * @return number of characters in last parsed document
+	 */
+	public long getCharCount() {
+		return charCount;
+	}
+
+	/**
+	 * @param chars
+	 *            name or value
+	 * @return string with the same content, shared with previous tags if
+	 *         possible
+	 */
+	private String getName(StringBuilder chars) {
+		int length = chars.length();
+		int hash = 0;
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + chars.charAt(i);
+		}
+		int mask = names.length - 1;
+		int index = hash & mask;
+		while (names[index] != null) {
+			if (hasContent(names[index], chars)) {
+				return names[index];
+			}
+			index = (index + 1) & mask;
+		}
+		String name = chars.toString();
+		if (nameCount < MAX_NAMES) {
+			names[index] = name;
+			nameCount++;
+			if (2 * nameCount > names.length) {
+				growNames();
+			}
+		}
+		return name;
+	}
+
+	private static boolean hasContent(String name, StringBuilder chars) {
+		if (name.length() != chars.length()) {
+			return false;
+		}
+		for (int i = name.length() - 1; i >= 0; i--) {
+			if (name.charAt(i) != chars.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void growNames() {
+		String[] old = names;
+		names = new String[2 * old.length];
+		int mask = names.length - 1;
+		for (String name : old) {
+			if (name != null) {
+				int index = name.hashCode() & mask;
+				while (names[index] != null) {
+					index = (index + 1) & mask;
+				}
+				names[index] = name;
+			}
+		}
+	}
+
+	private String getValue(StringBuilder chars) {
+		return chars.length() <= MAX_SHARED_VALUE_LENGTH ? getName(chars)
+				: chars.toString();
+	}
+
 	private static int popMode(Stack<Integer> st) {
 		if (!st.empty()) {
 			return st.pop().intValue();
@@ -93,11 +192,26 @@ public class QDParser {
 
 		// attrs = new LinkedHashMap();
 		attrs.clear();
+		elementCount = 0;
+		attributeCount = 0;
+		charCount = 0;
 
 		doc.startDocument();
 		int line = 1, col = 0;
 		boolean eol = false;
-		while ((c = r.read()) != -1) {
+		// read blocks, Reader.read() is synchronized
+		int pos = 0;
+		int length = 0;
+		while (true) {
+			if (pos == length) {
+				length = r.read(buffer, 0, buffer.length);
+				pos = 0;
+				if (length <= 0) {
+					break;
+				}
+				charCount += length;
+			}
+			c = buffer[pos++];
 
 			// We need to map \r, \r\n, and \n to \n
 			// See XML spec section 2.11
@@ -130,7 +244,8 @@ public class QDParser {
 					stack.push(Integer.valueOf(mode));
 					mode = START_TAG;
 					if (sb.length() > 0) {
-						doc.text(sb.toString());
+						// mostly whitespace between tags
+						doc.text(getValue(sb));
 						sb.setLength(0);
 					}
 					break;
@@ -149,7 +264,7 @@ public class QDParser {
 				switch (c) {
 				case '>':
 					mode = popMode(stack);
-					tagName = sb.toString();
+					tagName = getName(sb);
 					sb.setLength(0);
 					depth--;
 					if (depth == 0) {
@@ -262,11 +377,12 @@ public class QDParser {
 			// and are looking for the final >.
 			case SINGLE_TAG:
 				if (tagName == null) {
-					tagName = sb.toString();
+					tagName = getName(sb);
 				}
 				if (c != '>') {
 					exc("Expected > for tag: <" + tagName + "/>", line, col);
 				}
+				elementCount++;
 				doc.startElement(tagName, attrs);
 				doc.endElement(tagName);
 				if (depth == 0) {
@@ -287,10 +403,11 @@ public class QDParser {
 				switch (c) {
 				case '>':
 					if (tagName == null) {
-						tagName = sb.toString();
+						tagName = getName(sb);
 					}
 					sb.setLength(0);
 					depth++;
+					elementCount++;
 					doc.startElement(tagName, attrs);
 					tagName = null;
 					// attrs = new LinkedHashMap();
@@ -303,7 +420,7 @@ public class QDParser {
 					break;
 
 				case '-':
-					if (sb.toString().equals("!-")) {
+					if (hasContent("!-", sb)) {
 						mode = COMMENT;
 					} else {
 						sb.append((char) c);
@@ -311,14 +428,14 @@ public class QDParser {
 					break;
 
 				case '[':
-					if (sb.toString().equals("![CDATA")) {
+					if (hasContent("![CDATA", sb)) {
 						mode = CDATA;
 						sb.setLength(0);
 					}
 					break;
 
 				case 'E':
-					if (sb.toString().equals("!DOCTYP")) {
+					if (hasContent("!DOCTYP", sb)) {
 						sb.setLength(0);
 						mode = DOCTYPE;
 					}
@@ -326,7 +443,7 @@ public class QDParser {
 
 				default:
 					if (StringUtil.isWhitespace((char) c)) {
-						tagName = sb.toString();
+						tagName = getName(sb);
 						sb.setLength(0);
 						mode = IN_TAG;
 					} else {
@@ -339,8 +456,9 @@ public class QDParser {
 			// of an element's attribute.
 			case QUOTE:
 				if (c == quotec) {
-					rvalue = sb.toString();
+					rvalue = getValue(sb);
 					sb.setLength(0);
+					attributeCount++;
 					attrs.put(lvalue, rvalue);
 					mode = IN_TAG;
 					// See section the XML spec, section 3.3.3
@@ -375,11 +493,11 @@ public class QDParser {
 
 			case ATTRIBUTE_LVALUE:
 				if (StringUtil.isWhitespace((char) c)) {
-					lvalue = sb.toString();
+					lvalue = getName(sb);
 					sb.setLength(0);
 					mode = ATTRIBUTE_EQUAL;
 				} else if (c == '=') {
-					lvalue = sb.toString();
+					lvalue = getName(sb);
 					sb.setLength(0);
 					mode = ATTRIBUTE_RVALUE;
 				} else {
@@ -399,6 +517,7 @@ public class QDParser {
 				switch (c) {
 				case '>':
 					mode = popMode(stack);
+					elementCount++;
 					doc.startElement(tagName, attrs);
 					depth++;
 					tagName = null;
@@ -51,6 +51,31 @@ public interface CASGenericInterface extends SettingListener {
 			MyArbitraryConstant arbconst, StringTemplate tpl, GeoCasCell cell,
 			Kernel kernel) throws CASException;
 
+	/**
+	 * Evaluates a valid expression and returns the resulting String in GeoGebra
+	 * notation.
+	 * 
+	 * @param casInput
+	 *            in GeoGebraCAS syntax
+	 * @param arbconst
+	 *            arbitrary constant handler
+	 * @param tpl
+	 *            string template
+	 * @param cell
+	 *            CAS cell
+	 * @param kernel
+	 *            kernel
+	 * @param useCache
+	 *            whether to look up the translated input in the kernel's CAS
+	 *            cache
+	 * @return evaluation result
+	 * @throws CASException
+	 *             if evaluation fails
+	 */
+	public abstract String evaluateGeoGebraCAS(ValidExpression casInput,
+			MyArbitraryConstant arbconst, StringTemplate tpl, GeoCasCell cell,
+			Kernel kernel, boolean useCache) throws CASException;
+
 	/**
 	 * Evaluates an expression in the syntax of the currently active CAS (Giac).
 	 * 
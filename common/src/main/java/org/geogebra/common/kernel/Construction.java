@@ -1,5 +1,6 @@
 package org.geogebra.common.kernel;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -144,6 +145,8 @@ public class Construction {
 	private TreeSet<GeoElement> randomElements;
 	/** algo set currently updated by GeoElement.updateDependentObjects() */
 	private AlgorithmSet algoSetCurrentlyUpdated;
+	/** incremented whenever some construction index changes */
+	private int algoOrderVersion = 0;
 
 	private final TreeSet<String> casDummies = new TreeSet<>();
 
@@ -188,6 +191,9 @@ public class Construction {
 	private boolean notXmlLoading = false;
 	private boolean updateConstructionRunning;
 
+	/** size of XML pieces passed to output by writeConstructionXML */
+	private static final int XML_CHUNK_SIZE = 16384;
+
 	/**
 	 * Creates a new Construction.
 	 * 
@@ -1294,24 +1300,7 @@ public class Construction {
 	public void getConstructionXML(StringBuilder sb, boolean getListenersToo) {
 
 		try {
-			// save construction elements
-			sb.append("<construction title=\"");
-			StringUtil.encodeXML(sb, getTitle());
-			sb.append("\" author=\"");
-			StringUtil.encodeXML(sb, getAuthor());
-			sb.append("\" date=\"");
-			StringUtil.encodeXML(sb, getDate());
-			sb.append("\">\n");
-
-			// worksheet text
-			if (worksheetTextDefined()) {
-				sb.append("\t<worksheetText above=\"");
-				StringUtil.encodeXML(sb, getWorksheetText(0));
-				sb.append("\" below=\"");
-				StringUtil.encodeXML(sb, getWorksheetText(1));
-				sb.append("\"/>\n");
-			}
-
+			getConstructionStartXML(sb);
 			getConstructionElementsXML(sb, getListenersToo);
 
 			sb.append("</construction>\n");
@@ -1320,6 +1309,53 @@ public class Construction {
 		}
 	}
 
+	/**
+	 * Writes this construction in XML format to the output in pieces, so that
+	 * the XML of the whole construction doesn't need to be kept in memory.
+	 * 
+	 * @param out
+	 *            output, e.g. writer of a zip entry
+	 * @param getListenersToo
+	 *            whether to include JS listener names
+	 * @throws IOException
+	 *             when output fails
+	 */
+	public void writeConstructionXML(Appendable out, boolean getListenersToo)
+			throws IOException {
+		StringBuilder sb = new StringBuilder();
+		getConstructionStartXML(sb);
+		int size = ceList.size();
+		for (int i = 0; i < size; ++i) {
+			ceList.get(i).getXML(getListenersToo, sb);
+			if (sb.length() > XML_CHUNK_SIZE) {
+				out.append(sb);
+				sb.setLength(0);
+			}
+		}
+		sb.append("</construction>\n");
+		out.append(sb);
+	}
+
+	private void getConstructionStartXML(StringBuilder sb) {
+		// save construction elements
+		sb.append("<construction title=\"");
+		StringUtil.encodeXML(sb, getTitle());
+		sb.append("\" author=\"");
+		StringUtil.encodeXML(sb, getAuthor());
+		sb.append("\" date=\"");
+		StringUtil.encodeXML(sb, getDate());
+		sb.append("\">\n");
+
+		// worksheet text
+		if (worksheetTextDefined()) {
+			sb.append("\t<worksheetText above=\"");
+			StringUtil.encodeXML(sb, getWorksheetText(0));
+			sb.append("\" below=\"");
+			StringUtil.encodeXML(sb, getWorksheetText(1));
+			sb.append("\"/>\n");
+		}
+	}
+
 	/**
 	 * Appends minimal version of the construction XML to given string builder.
 	 * Only elements/commands are preserved, the rest is ignored.
@@ -3332,6 +3368,21 @@ public class Construction {
 		return algoSetCurrentlyUpdated;
 	}
 
+	/**
+	 * @return version of construction order, changes whenever some
+	 *         construction index changes
+	 */
+	public int getAlgoOrderVersion() {
+		return algoOrderVersion;
+	}
+
+	/**
+	 * Called when construction index of some element changes.
+	 */
+	public void algoOrderChanged() {
+		algoOrderVersion++;
+	}
+
 	/**
 	 * @param b
 	 *            new value of update construction flag
@@ -3460,8 +3511,7 @@ public class Construction {
 		this.kernel.getApplication().setBlockUpdateScripts(true);
 		// TODO we do not need the whole construction update here
 		if (latexGeos != null) {
-			GeoElement.updateCascade(latexGeos, new TreeSet<AlgoElement>(),
-					true);
+			GeoElement.updateCascade(latexGeos, true);
 		}
 		this.latexGeos = null;
 		this.kernel.getApplication().setBlockUpdateScripts(oldFlag);
@@ -0,0 +1,278 @@
+package org.geogebra.common.kernel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Storage for undo XML that keeps only the parts changed since the previous
+ * state. The XML is split into chunks, each chunk starts with a tag at the
+ * beginning of a line (construction element, command, view settings, ...).
+ * Every {@link #getCheckpointDistance()}-th state stores all chunks, so that
+ * rebuilding a state needs to look at a bounded number of deltas.
+ */
+public class DeltaUndoStore {
+
+	/** default number of states between two full checkpoints */
+	public static final int DEFAULT_CHECKPOINT_DISTANCE = 10;
+
+	private final int checkpointDistance;
+	/** last state whose chunks were resolved, avoids rebuilding for diff */
+	private State lastResolved;
+	private String[] lastResolvedChunks;
+
+	private long xmlChars = 0;
+	private long storedChars = 0;
+	private double storeTime = 0;
+	private double loadTime = 0;
+	private int stores = 0;
+	private int loads = 0;
+
+	/**
+	 * Single undo state, either a checkpoint (full list of chunks) or a delta
+	 * against an older state.
+	 */
+	public static final class State {
+		/** base state, null for checkpoints */
+		final State base;
+		/** 0 for checkpoints, otherwise base.depth + 1 */
+		final int depth;
+		/**
+		 * for deltas: non-negative values are indices into base chunks,
+		 * negative value -1-k refers to k-th own chunk
+		 */
+		final int[] chunkRefs;
+		/** all chunks for checkpoint, new chunks for delta */
+		final String[] ownChunks;
+
+		State(State base, int[] chunkRefs, String[] ownChunks) {
+			this.base = base;
+			this.depth = base == null ? 0 : base.depth + 1;
+			this.chunkRefs = chunkRefs;
+			this.ownChunks = ownChunks;
+		}
+
+		/**
+		 * @return whether this state contains the whole XML
+		 */
+		public boolean isCheckpoint() {
+			return base == null;
+		}
+
+		/**
+		 * @return chunks that were not present in the base state (all chunks
+		 *         for a checkpoint)
+		 */
+		public String[] getChangedChunks() {
+			return ownChunks;
+		}
+
+		String[] resolve() {
+			if (base == null) {
+				return ownChunks;
+			}
+			String[] baseChunks = base.resolve();
+			String[] chunks = new String[chunkRefs.length];
+			for (int i = 0; i < chunkRefs.length; i++) {
+				int ref = chunkRefs[i];
+				chunks[i] = ref >= 0 ? baseChunks[ref] : ownChunks[-1 - ref];
+			}
+			return chunks;
+		}
+
+		int getStoredChars() {
+			int size = chunkRefs == null ? 0 : chunkRefs.length;
+			for (String chunk : ownChunks) {
+				size += chunk.length();
+			}
+			return size;
+		}
+	}
+
+	/**
+	 * Creates store with default checkpoint distance
+	 */
+	public DeltaUndoStore() {
+		this(DEFAULT_CHECKPOINT_DISTANCE);
+	}
+
+	/**
+	 * @param checkpointDistance
+	 *            number of states between two full checkpoints
+	 */
+	public DeltaUndoStore(int checkpointDistance) {
+		this.checkpointDistance = Math.max(1, checkpointDistance);
+	}
+
+	/**
+	 * @return number of states between two full checkpoints
+	 */
+	public int getCheckpointDistance() {
+		return checkpointDistance;
+	}
+
+	/**
+	 * @param xml
+	 *            undo XML
+	 * @param base
+	 *            previous state (may be null)
+	 * @return new state
+	 */
+	public synchronized State add(String xml, State base) {
+		String[] chunks = split(xml);
+		State state;
+		if (base == null || base.depth + 1 >= checkpointDistance) {
+			state = new State(null, null, chunks);
+		} else {
+			state = createDelta(chunks, base);
+		}
+		lastResolved = state;
+		lastResolvedChunks = chunks;
+		xmlChars += xml.length();
+		storedChars += state.getStoredChars();
+		stores++;
+		return state;
+	}
+
+	/**
+	 * Records time needed to store a state (including XML creation)
+	 *
+	 * @param ms
+	 *            milliseconds
+	 */
+	public synchronized void addStoreTime(double ms) {
+		storeTime += ms;
+	}
+
+	private State createDelta(String[] chunks, State base) {
+		String[] baseChunks = resolveChunks(base);
+		HashMap<String, Integer> baseIndex = new HashMap<>(
+				baseChunks.length * 2);
+		for (int i = 0; i < baseChunks.length; i++) {
+			baseIndex.put(baseChunks[i], i);
+		}
+		int[] refs = new int[chunks.length];
+		ArrayList<String> changed = new ArrayList<>();
+		for (int i = 0; i < chunks.length; i++) {
+			Integer ref = baseIndex.get(chunks[i]);
+			if (ref != null) {
+				refs[i] = ref;
+			} else {
+				refs[i] = -1 - changed.size();
+				changed.add(chunks[i]);
+			}
+		}
+		return new State(base, refs,
+				changed.toArray(new String[changed.size()]));
+	}
+
+	private String[] resolveChunks(State state) {
+		if (state != lastResolved) {
+			lastResolvedChunks = state.resolve();
+			lastResolved = state;
+		}
+		return lastResolvedChunks;
+	}
+
+	/**
+	 * @param state
+	 *            state
+	 * @return full XML of the state
+	 */
+	public synchronized String getXML(State state) {
+		String[] chunks = resolveChunks(state);
+		int length = 0;
+		for (String chunk : chunks) {
+			length += chunk.length();
+		}
+		StringBuilder sb = new StringBuilder(length);
+		for (String chunk : chunks) {
+			sb.append(chunk);
+		}
+		loads++;
+		return sb.toString();
+	}
+
+	/**
+	 * Records time needed to load a state (including XML processing)
+	 *
+	 * @param ms
+	 *            milliseconds
+	 */
+	public synchronized void addLoadTime(double ms) {
+		loadTime += ms;
+	}
+
+	/**
+	 * Splits XML into chunks; a new chunk starts on every line that begins
+	 * with an opening tag, closing tags stay with the preceding chunk.
+	 *
+	 * @param xml
+	 *            XML
+	 * @return chunks
+	 */
+	static String[] split(String xml) {
+		ArrayList<String> chunks = new ArrayList<>();
+		int start = 0;
+		int lineStart = 0;
+		int length = xml.length();
+		while (lineStart < length) {
+			if (lineStart > start && xml.charAt(lineStart) == '<'
+					&& lineStart + 1 < length
+					&& xml.charAt(lineStart + 1) != '/') {
+				chunks.add(xml.substring(start, lineStart));
+				start = lineStart;
+			}
+			int newLine = xml.indexOf('\n', lineStart);
+			if (newLine < 0) {
+				break;
+			}
+			lineStart = newLine + 1;
+		}
+		chunks.add(xml.substring(start));
+		return chunks.toArray(new String[chunks.size()]);
+	}
+
+	/**
+	 * @return total length of XML passed to this store
+	 */
+	public synchronized long getXMLChars() {
+		return xmlChars;
+	}
+
+	/**
+	 * @return total number of characters (and chunk references) kept by this
+	 *         store
+	 */
+	public synchronized long getStoredChars() {
+		return storedChars;
+	}
+
+	/**
+	 * @return average time to store a state in milliseconds
+	 */
+	public synchronized double getAverageStoreTime() {
+		return stores == 0 ? 0 : storeTime / stores;
+	}
+
+	/**
+	 * @return average time to load a state in milliseconds
+	 */
+	public synchronized double getAverageLoadTime() {
+		return loads == 0 ? 0 : loadTime / loads;
+	}
+
+	/**
+	 * Forget cached chunks, called when undo list is cleared
+	 */
+	public synchronized void clear() {
+		lastResolved = null;
+		lastResolvedChunks = null;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "stored " + storedChars + " of " + xmlChars
+				+ " chars, average store " + getAverageStoreTime()
+				+ "ms, average load " + getAverageLoadTime() + "ms";
+	}
+}
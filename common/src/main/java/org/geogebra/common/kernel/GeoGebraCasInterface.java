@@ -103,6 +103,29 @@ public interface GeoGebraCasInterface {
 	public String evaluateGeoGebraCAS(String exp, MyArbitraryConstant arbConst,
 			StringTemplate tpl, Kernel kernel) throws CASException;
 
+	/**
+	 * Evaluates an expression in GeoGebraCAS syntax.
+	 * 
+	 * @param exp
+	 *            expression to be evaluated
+	 * @param arbConst
+	 *            arbitrary constant handler
+	 * @param tpl
+	 *            string template
+	 * @param kernel
+	 *            kernel
+	 * @param useCache
+	 *            whether the CAS result may be taken from (and stored in) the
+	 *            kernel's CAS cache; only set to true when exp only includes
+	 *            values and no (used) variable names
+	 * @return result string in GeoGebra syntax (null possible)
+	 * @throws CASException
+	 *             if there is a timeout or the expression cannot be evaluated
+	 */
+	public String evaluateGeoGebraCAS(String exp, MyArbitraryConstant arbConst,
+			StringTemplate tpl, Kernel kernel, boolean useCache)
+			throws CASException;
+
 	/**
 	 * Evaluates a valid expression and returns the resulting String in GeoGebra
 	 * notation.
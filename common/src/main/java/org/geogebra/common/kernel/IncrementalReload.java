@@ -0,0 +1,249 @@
+package org.geogebra.common.kernel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.geogebra.common.GeoGebraConstants;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Restores construction from undo XML by changing only the affected elements
+ * of the live construction. Handled cases are
+ * <ul>
+ * <li>properties of existing elements changed (same tags, different
+ * values)</li>
+ * <li>elements removed from the end of construction</li>
+ * <li>elements appended to the end of construction</li>
+ * </ul>
+ * Everything else (settings, redefinitions, changes in the middle of
+ * construction) needs a full reload.
+ */
+public final class IncrementalReload {
+
+	private static final String CONSTRUCTION_END = "</construction>";
+
+	/**
+	 * Undo XML split into construction elements and the rest
+	 */
+	private static final class Parts {
+		final String settings;
+		final ArrayList<String> elements = new ArrayList<>();
+
+		Parts(String xml) {
+			String[] chunks = DeltaUndoStore.split(xml);
+			StringBuilder rest = new StringBuilder();
+			int i = 0;
+			while (i < chunks.length
+					&& !chunks[i].startsWith("<construction")) {
+				rest.append(chunks[i++]);
+			}
+			if (i < chunks.length) {
+				// opening tag (and worksheet text), may include closing tag
+				String chunk = chunks[i++];
+				boolean inConstruction = !chunk.contains(CONSTRUCTION_END);
+				rest.append(chunk);
+				while (i < chunks.length && inConstruction) {
+					chunk = chunks[i++];
+					int end = chunk.indexOf(CONSTRUCTION_END);
+					if (end >= 0) {
+						elements.add(chunk.substring(0, end));
+						rest.append(chunk.substring(end));
+						inConstruction = false;
+					} else {
+						elements.add(chunk);
+					}
+				}
+			}
+			while (i < chunks.length) {
+				rest.append(chunks[i++]);
+			}
+			settings = rest.toString();
+		}
+
+		boolean matches(Parts other) {
+			return settings.equals(other.settings)
+					&& elements.equals(other.elements);
+		}
+	}
+
+	private IncrementalReload() {
+		// utility class
+	}
+
+	/**
+	 * @param cons
+	 *            live construction
+	 * @param sourceXML
+	 *            undo XML of the state the construction was stored to or
+	 *            loaded from
+	 * @param targetXML
+	 *            undo XML of the state to restore
+	 * @return whether construction now matches target; if false, the caller
+	 *         needs to do a full reload
+	 */
+	public static boolean apply(Construction cons, String sourceXML,
+			String targetXML) {
+		Parts source = new Parts(sourceXML);
+		Parts target = new Parts(targetXML);
+		if (!source.settings.equals(target.settings)) {
+			return false;
+		}
+		int sourceSize = source.elements.size();
+		int targetSize = target.elements.size();
+		int common = 0;
+		while (common < Math.min(sourceSize, targetSize) && source.elements
+				.get(common).equals(target.elements.get(common))) {
+			common++;
+		}
+		boolean handled;
+		try {
+			if (sourceSize == targetSize) {
+				handled = updateElements(cons, source, target);
+			} else if (common == targetSize) {
+				handled = removeElements(cons,
+						source.elements.subList(common, sourceSize));
+			} else if (common == sourceSize) {
+				handled = processElements(cons,
+						target.elements.subList(common, targetSize));
+			} else {
+				return false;
+			}
+		} catch (Exception e) {
+			Log.debug("incremental reload failed: " + e.getMessage());
+			return false;
+		}
+		if (!handled) {
+			return false;
+		}
+		cons.getKernel().notifyRepaint();
+		// the live construction may differ from the source state, e.g. after
+		// changes without undo point: make sure we really got the target
+		return new Parts(cons.getCurrentUndoXML(true).toString())
+				.matches(target);
+	}
+
+	private static boolean updateElements(Construction cons, Parts source,
+			Parts target) throws Exception {
+		ArrayList<String> changed = new ArrayList<>();
+		ArrayList<GeoElement> geos = new ArrayList<>();
+		for (int i = 0; i < source.elements.size(); i++) {
+			String sourceElement = source.elements.get(i);
+			String targetElement = target.elements.get(i);
+			if (sourceElement.equals(targetElement)) {
+				continue;
+			}
+			// only property changes, tags missing in target would not be
+			// reset by processing the XML
+			if (!targetElement.startsWith("<element") || !getTagNames(
+					sourceElement).equals(getTagNames(targetElement))) {
+				return false;
+			}
+			GeoElement geo = cons.getKernel()
+					.lookupLabel(getAttribute(targetElement, "label"));
+			if (geo == null) {
+				return false;
+			}
+			geos.add(geo);
+			changed.add(targetElement);
+		}
+		if (changed.isEmpty()) {
+			return true;
+		}
+		processElements(cons, changed);
+		GeoElement.updateCascade(geos, true);
+		return true;
+	}
+
+	private static boolean removeElements(Construction cons,
+			List<String> removed) {
+		ArrayList<GeoElement> geos = new ArrayList<>();
+		for (String element : removed) {
+			String label = null;
+			if (element.startsWith("<element")) {
+				label = getAttribute(element, "label");
+			} else if (element.startsWith("<expression")) {
+				label = getAttribute(element, "label");
+			}
+			if (label != null) {
+				GeoElement geo = cons.getKernel().lookupLabel(label);
+				if (geo == null) {
+					return false;
+				}
+				geos.add(geo);
+			}
+		}
+		for (int i = geos.size() - 1; i >= 0; i--) {
+			if (geos.get(i).isLabelSet()) {
+				geos.get(i).remove();
+			}
+		}
+		return true;
+	}
+
+	private static boolean processElements(Construction cons,
+			List<String> elements) throws Exception {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n");
+		sb.append("<geogebra format=\"");
+		sb.append(GeoGebraConstants.XML_FILE_FORMAT);
+		sb.append("\">\n<construction>\n");
+		for (String element : elements) {
+			sb.append(element);
+		}
+		sb.append("</construction>\n</geogebra>\n");
+		cons.setFileLoading(true);
+		try {
+			cons.getXMLio().processXMLString(sb.toString(), false, false,
+					false, false);
+		} finally {
+			cons.setFileLoading(false);
+		}
+		return true;
+	}
+
+	/**
+	 * @param xml
+	 *            XML fragment
+	 * @return names of all opening tags in given order
+	 */
+	static ArrayList<String> getTagNames(String xml) {
+		ArrayList<String> names = new ArrayList<>();
+		int pos = xml.indexOf('<');
+		while (pos >= 0 && pos + 1 < xml.length()) {
+			if (xml.charAt(pos + 1) != '/') {
+				int end = pos + 1;
+				while (end < xml.length()
+						&& Character.isLetterOrDigit(xml.charAt(end))) {
+					end++;
+				}
+				names.add(xml.substring(pos + 1, end));
+			}
+			pos = xml.indexOf('<', pos + 1);
+		}
+		return names;
+	}
+
+	/**
+	 * @param xml
+	 *            XML fragment
+	 * @param name
+	 *            attribute name
+	 * @return decoded value of first attribute with given name
+	 */
+	static String getAttribute(String xml, String name) {
+		String prefix = " " + name + "=\"";
+		int start = xml.indexOf(prefix);
+		if (start < 0) {
+			return null;
+		}
+		start += prefix.length();
+		int end = xml.indexOf('"', start);
+		if (end < 0) {
+			return null;
+		}
+		return xml.substring(start, end).replace("&lt;", "<")
+				.replace("&gt;", ">").replace("&quot;", "\"")
+				.replace("&apos;", "'").replace("&amp;", "&");
+	}
+}
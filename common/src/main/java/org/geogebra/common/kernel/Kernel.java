@@ -9,6 +9,8 @@ import java.util.List;
 import java.util.TreeSet;
 
 import org.geogebra.common.GeoGebraConstants;
+import org.geogebra.common.cas.CasCacheStore;
+import org.geogebra.common.cas.CasResultCache;
 import org.geogebra.common.cas.GeoGebraCAS;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.EuclidianViewInterfaceCommon;
@@ -29,6 +31,7 @@ import org.geogebra.common.kernel.algos.AlgoPointInRegion;
 import org.geogebra.common.kernel.algos.AlgoPointOnPath;
 import org.geogebra.common.kernel.algos.AlgoPointVector;
 import org.geogebra.common.kernel.algos.AlgoPolygon;
+import org.geogebra.common.kernel.algos.AlgoUpdateScheduler;
 import org.geogebra.common.kernel.algos.AlgoVectorPoint;
 import org.geogebra.common.kernel.algos.ConstructionElement;
 import org.geogebra.common.kernel.algos.DependentAlgo;
@@ -83,6 +86,9 @@ import org.geogebra.common.main.Feature;
 import org.geogebra.common.main.Localization;
 import org.geogebra.common.main.SelectionManager;
 import org.geogebra.common.main.error.ErrorHelper;
+import org.geogebra.common.main.settings.AbstractSettings;
+import org.geogebra.common.main.settings.CASSettings;
+import org.geogebra.common.main.settings.SettingListener;
 import org.geogebra.common.plugin.Event;
 import org.geogebra.common.plugin.EventType;
 import org.geogebra.common.plugin.GeoClass;
@@ -90,7 +96,6 @@ import org.geogebra.common.plugin.Operation;
 import org.geogebra.common.plugin.script.GgbScript;
 import org.geogebra.common.plugin.script.Script;
 import org.geogebra.common.util.Exercise;
-import org.geogebra.common.util.MaxSizeHashMap;
 import org.geogebra.common.util.MyMath;
 import org.geogebra.common.util.NumberFormatAdapter;
 import org.geogebra.common.util.ScientificFormatAdapter;
@@ -357,7 +362,10 @@ public class Kernel {
 	private String libraryJavaScript = defaultLibraryJavaScript;
 
 	private boolean isSaving;
-	private MaxSizeHashMap<String, String> ggbCasCache;
+	private CasResultCache ggbCasCache;
+	private CasCacheStore casCacheStore;
+	private AlgoUpdateScheduler algoUpdateScheduler;
+	private TaskRunner taskRunner;
 	/** min real world x for all views */
 	protected double[] xmin = new double[1];
 	/** max real world x for all views */
@@ -3076,29 +3084,16 @@ public class Kernel {
 	 * 
 	 * @param useCaching
 	 *            only set to true when exp only includes values and no (used)
-	 *            variable names
+	 *            variable names; the CAS then looks up the translated Giac
+	 *            input in {@link #getCasCache()}
 	 * @return result string (null possible)
 	 * @throws Throwable
 	 */
 	private String evaluateGeoGebraCAS(String exp, boolean useCaching,
 			MyArbitraryConstant arbconst, StringTemplate tpl)
 			throws CASException {
-		String result = null;
-		if (useCaching && hasCasCache()) {
-			result = getCasCache().get(exp);
-			if (result != null) {
-				// caching worked
-				return result;
-			}
-		}
-
-		// evaluate in GeoGebraCAS
-		result = getGeoGebraCAS().evaluateGeoGebraCAS(exp, arbconst, tpl, this);
-
-		if (useCaching) {
-			getCasCache().put(exp, result);
-		}
-		return result;
+		return getGeoGebraCAS().evaluateGeoGebraCAS(exp, arbconst, tpl, this,
+				useCaching);
 	}
 
 	/**
@@ -3127,7 +3122,12 @@ public class Kernel {
 		return result;
 	}
 
-
+	/**
+	 * @param exp
+	 *            Giac input
+	 * @param result
+	 *            Giac result
+	 */
 	public void putToCasCache(String exp, String result) {
 		getCasCache().put(exp, result);
 	}
@@ -3167,21 +3167,86 @@ public class Kernel {
 	}
 
 	/**
-	 * @return Hash map for caching CAS results.
+	 * @return Cache for CAS results, keyed by Giac input.
 	 */
-	public MaxSizeHashMap<String, String> getCasCache() {
+	public CasResultCache getCasCache() {
 		if (ggbCasCache == null) {
-			ggbCasCache = new MaxSizeHashMap<>(
-					GEOGEBRA_CAS_CACHE_SIZE);
+			ggbCasCache = new CasResultCache(GEOGEBRA_CAS_CACHE_SIZE,
+					CasResultCache.DEFAULT_MAX_CHARS);
+			ggbCasCache.setStore(casCacheStore);
+			CASSettings settings = app.getSettings().getCasSettings();
+			updateCasCacheContext(settings);
+			settings.addListener(new SettingListener() {
+
+				@Override
+				public void settingsChanged(AbstractSettings settings1) {
+					updateCasCacheContext((CASSettings) settings1);
+				}
+			});
 		}
 		return ggbCasCache;
 	}
 
+	/**
+	 * Results depend on version and CAS settings, so these are part of the
+	 * cache keys.
+	 */
+	private void updateCasCacheContext(CASSettings settings) {
+		ggbCasCache.setContext(GeoGebraConstants.VERSION_STRING + ","
+				+ settings.getTimeoutMilliseconds() + ","
+				+ settings.getShowExpAsRoots());
+	}
+
 	/**
 	 * @return Whether kernel is already using CAS caching.
 	 */
 	public boolean hasCasCache() {
-		return ggbCasCache != null;
+		return ggbCasCache != null || casCacheStore != null;
+	}
+
+	/**
+	 * @param store
+	 *            persistent store for CAS results (may be null)
+	 */
+	public void setCasCacheStore(CasCacheStore store) {
+		casCacheStore = store;
+		if (ggbCasCache != null) {
+			ggbCasCache.setStore(store);
+		}
+	}
+
+	/**
+	 * @return scheduler for updating algorithm sets (null for sequential
+	 *         update)
+	 */
+	public AlgoUpdateScheduler getAlgoUpdateScheduler() {
+		return algoUpdateScheduler;
+	}
+
+	/**
+	 * @param scheduler
+	 *            scheduler for updating algorithm sets, e.g. on several
+	 *            threads (null for sequential update)
+	 */
+	public void setAlgoUpdateScheduler(AlgoUpdateScheduler scheduler) {
+		algoUpdateScheduler = scheduler;
+	}
+
+	/**
+	 * @return runner for independent tasks like plotting parts of implicit
+	 *         curves (null to run them sequentially)
+	 */
+	public TaskRunner getTaskRunner() {
+		return taskRunner;
+	}
+
+	/**
+	 * @param runner
+	 *            runner for independent tasks, e.g. on several threads (null
+	 *            to run them sequentially)
+	 */
+	public void setTaskRunner(TaskRunner runner) {
+		taskRunner = runner;
 	}
 
 
@@ -5317,7 +5382,7 @@ public class Kernel {
 			al.add(geo);
 		}
 		cons.setUpdateConstructionRunning(true);
-		GeoElement.updateCascade(al, new TreeSet<AlgoElement>(), true);
+		GeoElement.updateCascade(al, true);
 		cons.setUpdateConstructionRunning(false);
 	}
 
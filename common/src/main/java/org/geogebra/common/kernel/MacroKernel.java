@@ -13,15 +13,16 @@ package org.geogebra.common.kernel;
 
 import java.util.LinkedHashMap;
 
+import org.geogebra.common.cas.CasResultCache;
 import org.geogebra.common.io.MyXMLHandler;
 import org.geogebra.common.kernel.algos.AlgoDispatcher;
+import org.geogebra.common.kernel.algos.AlgoUpdateScheduler;
 import org.geogebra.common.kernel.arithmetic.ExpressionNodeEvaluator;
 import org.geogebra.common.kernel.commands.AlgebraProcessor;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.kernelND.GeoDirectionND;
 import org.geogebra.common.kernel.kernelND.GeoPlaneND;
 import org.geogebra.common.main.MyError;
-import org.geogebra.common.util.MaxSizeHashMap;
 
 /**
  * Kernel with its own construction for macros.
@@ -200,7 +201,7 @@ public class MacroKernel extends Kernel {
 	 * @return Hash map for caching CAS results from parent kernel.
 	 */
 	@Override
-	public MaxSizeHashMap<String, String> getCasCache() {
+	public CasResultCache getCasCache() {
 		return parentKernel.getCasCache();
 	}
 
@@ -212,6 +213,16 @@ public class MacroKernel extends Kernel {
 		return parentKernel.hasCasCache();
 	}
 
+	@Override
+	public AlgoUpdateScheduler getAlgoUpdateScheduler() {
+		return parentKernel.getAlgoUpdateScheduler();
+	}
+
+	@Override
+	public TaskRunner getTaskRunner() {
+		return parentKernel.getTaskRunner();
+	}
+
 	@Override
 	protected AlgoDispatcher newAlgoDispatcher(Construction cons1) {
 		return this.parentKernel.newAlgoDispatcher(cons1);
@@ -221,38 +221,53 @@ public class CoordMatrix {
 	 */
 	public static final CoordMatrix rotation3DMatrix(int axe, double angle) {
 
-		CoordMatrix m = new CoordMatrix(4, 4);
+		return new CoordMatrix(4, 4).setRotation3DMatrix(axe, angle);
+
+	}
+
+	/**
+	 * set this (dim 4x4) to 3d rotation homogenic matrix
+	 * 
+	 * @param axe
+	 *            axis of rotation
+	 * @param angle
+	 *            angle of rotation
+	 * @return this
+	 */
+	public CoordMatrix setRotation3DMatrix(int axe, double angle) {
+
+		set(0);
 
 		switch (axe) {
 
 		case Z_AXIS:
-			m.set(1, 1, Math.cos(angle));
-			m.set(1, 2, -Math.sin(angle));
-			m.set(2, 1, Math.sin(angle));
-			m.set(2, 2, Math.cos(angle));
-			m.set(3, 3, 1.0);
+			set(1, 1, Math.cos(angle));
+			set(1, 2, -Math.sin(angle));
+			set(2, 1, Math.sin(angle));
+			set(2, 2, Math.cos(angle));
+			set(3, 3, 1.0);
 			break;
 		case X_AXIS:
-			m.set(1, 1, 1.0);
-			m.set(2, 2, Math.cos(angle));
-			m.set(2, 3, -Math.sin(angle));
-			m.set(3, 2, Math.sin(angle));
-			m.set(3, 3, Math.cos(angle));
+			set(1, 1, 1.0);
+			set(2, 2, Math.cos(angle));
+			set(2, 3, -Math.sin(angle));
+			set(3, 2, Math.sin(angle));
+			set(3, 3, Math.cos(angle));
 			break;
 		case Y_AXIS:
-			m.set(2, 2, 1.0);
-			m.set(3, 3, Math.cos(angle));
-			m.set(3, 1, -Math.sin(angle));
-			m.set(1, 3, Math.sin(angle));
-			m.set(1, 1, Math.cos(angle));
+			set(2, 2, 1.0);
+			set(3, 3, Math.cos(angle));
+			set(3, 1, -Math.sin(angle));
+			set(1, 3, Math.sin(angle));
+			set(1, 1, Math.cos(angle));
 			break;
 		default:
 			break;
 		}
 
-		m.set(4, 4, 1.0);
+		set(4, 4, 1.0);
 
-		return m;
+		return this;
 
 	}
 
@@ -633,15 +633,21 @@ public class Coords {
 	}
 
 	/**
-	 * set x,y,z values according to v1 ^ v2 cross product
+	 * set x,y,z values according to v1 ^ v2 cross product (v1 or v2 may be
+	 * this)
 	 * 
 	 * @param v1
 	 * @param v2
+	 * @return this
 	 */
-	final public void setCrossProduct(Coords v1, Coords v2) {
-		val[0] = v1.val[1] * v2.val[2] - v1.val[2] * v2.val[1];
-		val[1] = v1.val[2] * v2.val[0] - v1.val[0] * v2.val[2];
-		val[2] = v1.val[0] * v2.val[1] - v1.val[1] * v2.val[0];
+	final public Coords setCrossProduct(Coords v1, Coords v2) {
+		double x = v1.val[1] * v2.val[2] - v1.val[2] * v2.val[1];
+		double y = v1.val[2] * v2.val[0] - v1.val[0] * v2.val[2];
+		double z = v1.val[0] * v2.val[1] - v1.val[1] * v2.val[0];
+		val[0] = x;
+		val[1] = y;
+		val[2] = z;
+		return this;
 	}
 
 	final public double dotCrossProduct(Coords v1, Coords v2) {
@@ -2215,6 +2221,25 @@ public class Coords {
 		return this;
 	}
 
+	/**
+	 * set this to v1 + v2 * c, e.g. point on a line from origin and direction
+	 * 
+	 * @param v1
+	 *            vector
+	 * @param v2
+	 *            vector
+	 * @param c
+	 *            factor for v2
+	 * @return this
+	 */
+	public Coords setAddMul(Coords v1, Coords v2, double c) {
+		for (int i = 0; i < rows; i++) {
+			val[i] = v1.val[i] + v2.val[i] * c;
+		}
+
+		return this;
+	}
+
 	/**
 	 * set this to v1 + v2 (for 3 first coords)
 	 * 
@@ -2570,6 +2595,7 @@ public class Coords {
 	 * @return this
 	 */
 	public Coords setMul(CoordMatrix m, Coords v) {
+		// note: v must not be this
 
 		for (int i = 1; i <= getLength(); i++) {
 
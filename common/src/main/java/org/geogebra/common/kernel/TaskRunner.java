@@ -0,0 +1,21 @@
+package org.geogebra.common.kernel;
+
+import java.util.List;
+
+/**
+ * Runs independent tasks, e.g. concurrently on several threads. Set via
+ * Kernel.setTaskRunner().
+ */
+public interface TaskRunner {
+
+	/**
+	 * Runs all tasks and returns when they are finished. Tasks must not
+	 * depend on each other or change the construction.
+	 * 
+	 * @param tasks
+	 *            tasks
+	 * @return false if nothing was run and the caller needs to run the tasks
+	 *         itself
+	 */
+	public boolean runAll(List<? extends Runnable> tasks);
+}
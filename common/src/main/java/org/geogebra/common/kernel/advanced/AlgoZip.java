@@ -12,15 +12,19 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.advanced;
 
+import java.util.Arrays;
+
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.algos.DrawInformationAlgo;
+import org.geogebra.common.kernel.algos.ExpressionNumbers;
 import org.geogebra.common.kernel.arithmetic.ReplaceChildrenByValues;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.CasEvaluableFunction;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -41,6 +45,10 @@ public class AlgoZip extends AlgoElement {
 	private int last_length = 0;
 	private boolean expIsFunctionOrCurve, isEmpty;
 	private AlgoElement expressionParentAlgo;
+	// free numbers in expression, elements stay valid while they don't change
+	private ExpressionNumbers expressionNumbers;
+	// values of the lists (if all are numeric) the elements were computed for
+	private double[][] lastOverValues;
 
 	// we need to check that some Object[] reference didn't cause infinite
 	// update cycle
@@ -92,6 +100,7 @@ public class AlgoZip extends AlgoElement {
 
 		expressionParentAlgo = expression.getParentAlgorithm();
 		expIsFunctionOrCurve = expression instanceof CasEvaluableFunction;
+		expressionNumbers = new ExpressionNumbers(expression, vars);
 
 		list = new GeoList(cons);
 		setInputOutput(); // for AlgoElement
@@ -157,6 +166,7 @@ public class AlgoZip extends AlgoElement {
 		for (int i = 2; i < input.length; i += 2) {
 			if (!input[i].isDefined()) {
 				list.setUndefined();
+				lastOverValues = null;
 				updateRunning = false;
 				return;
 			}
@@ -167,6 +177,8 @@ public class AlgoZip extends AlgoElement {
 		// given range
 
 		isEmpty = minOverSize() == 0;
+		boolean expressionChanged = expressionNumbers.update();
+		double[][] overValues = getOverValues();
 
 		// an update may be necessary because another variable in expression
 		// has changed. However, the range (from, to, step) may not have
@@ -178,12 +190,21 @@ public class AlgoZip extends AlgoElement {
 		// setValues does not work for functions
 		setValuesOnly = setValuesOnly && !expIsFunctionOrCurve;
 
+		// with numeric lists we know which elements need to be recomputed
+		double[][] previousValues = lastOverValues;
+		boolean changedOnly = !expressionChanged && !expIsFunctionOrCurve
+				&& overValues != null && previousValues != null
+				&& list.size() == last_length;
+		lastOverValues = overValues;
+
 		// avoid label creation, might happen e.g. in
 		boolean oldSuppressLabels = cons.isSuppressLabelsActive();
 		cons.setSuppressLabelCreation(true);
 
 		// update list
-		if (setValuesOnly) {
+		if (changedOnly) {
+			updateChangedItems(previousValues);
+		} else if (setValuesOnly) {
 			updateListItems();
 		} else {
 			createNewList();
@@ -213,6 +234,7 @@ public class AlgoZip extends AlgoElement {
 					long mem = kernel.getApplication().freeMemory();
 					list.clearCache();
 					kernel.initUndoInfo(); // clear all undo info
+					lastOverValues = null;
 					Log.debug("AlgoZip aborted: free memory reached " + mem);
 					return;
 				}
@@ -313,31 +335,110 @@ public class AlgoZip extends AlgoElement {
 				long mem = kernel.getApplication().freeMemory();
 				list.clearCache();
 				kernel.initUndoInfo(); // clear all undo info
+				lastOverValues = null;
 				Log.debug("AlgoZip aborted: free memory reached " + mem);
 				return;
 			}
 
 			// set local var value
 			updateLocalVar(currentVal);
+			updateListItem(listElement);
 
-			// copy expression value to listElement
-			// if it's undefined, just copy the undefined property
-			if (expression.isDefined()) {
-				listElement.set(expression);
-				if (listElement.isGeoList()) {
-					for (int j = 0; j < varCount; j++) {
-						((GeoList) listElement)
-								.replaceChildrenByValues(vars[j]);
-					}
+			currentVal += 1;
+		}
+	}
+
+	private void updateListItem(GeoElement listElement) {
+		// copy expression value to listElement
+		// if it's undefined, just copy the undefined property
+		if (expression.isDefined()) {
+			listElement.set(expression);
+			if (listElement.isGeoList()) {
+				for (int j = 0; j < varCount; j++) {
+					((GeoList) listElement).replaceChildrenByValues(vars[j]);
 				}
+			}
+		} else {
+			listElement.setUndefined();
+		}
+		copyDrawAlgo(listElement);
+		listElement.update();
+	}
+
+	/**
+	 * Recomputes only elements whose list values changed, adds elements for
+	 * new values and removes elements beyond the shortest list.
+	 * 
+	 * @param previousValues
+	 *            list values the current elements were computed for
+	 */
+	private void updateChangedItems(double[][] previousValues) {
+		int oldListSize = list.size();
+		int length = minOverSize();
+		for (int index = 0; index < length; index++) {
+			if (index < oldListSize && !changedAt(previousValues, index)) {
+				continue;
+			}
+			// check we haven't run out of memory
+			if (kernel.getApplication().freeMemoryIsCritical()) {
+				long mem = kernel.getApplication().freeMemory();
+				list.clearCache();
+				kernel.initUndoInfo(); // clear all undo info
+				lastOverValues = null;
+				Log.debug("AlgoZip aborted: free memory reached " + mem);
+				return;
+			}
+			updateLocalVar(index);
+			if (index < oldListSize) {
+				updateListItem(list.get(index));
 			} else {
-				listElement.setUndefined();
+				addElement(index);
 			}
-			copyDrawAlgo(listElement);
-			listElement.update();
+		}
 
-			currentVal += 1;
+		// remove elements beyond the shortest list, cached elements may be
+		// used elsewhere, so set them undefined
+		for (int k = oldListSize - 1; k >= length; k--) {
+			list.remove(k);
+			GeoElement oldElement = list.getCached(k);
+			oldElement.setUndefined();
+			oldElement.update();
+		}
+		last_length = length;
+	}
+
+	/**
+	 * @return whether some list value at given index differs from the value
+	 *         the element was computed for
+	 */
+	private boolean changedAt(double[][] previousValues, int index) {
+		for (int i = 0; i < listCount; i++) {
+			if (Double.compare(lastOverValues[i][index],
+					previousValues[i][index]) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return copies of the values of all lists, null if some list contains
+	 *         other elements than numbers
+	 */
+	private double[][] getOverValues() {
+		double[][] values = new double[listCount][];
+		for (int i = 0; i < listCount; i++) {
+			// e.g. segments have a number value, but more properties
+			if (over[i].getElementType() != GeoClass.NUMERIC) {
+				return null;
+			}
+			double[] listValues = over[i].getNumberValues();
+			if (listValues == null) {
+				return null;
+			}
+			values[i] = Arrays.copyOf(listValues, listValues.length);
 		}
+		return values;
 	}
 
 	private void copyDrawAlgo(GeoElement listElement) {
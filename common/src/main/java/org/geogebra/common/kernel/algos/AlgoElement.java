@@ -47,8 +47,6 @@ import org.geogebra.common.util.StringUtil;
  */
 public abstract class AlgoElement extends ConstructionElement
 		implements EuclidianViewCE {
-	private static boolean tempSetLock = false;
-	private static TreeSet<AlgoElement> tempSet;
 	/** input elements */
 	public GeoElement[] input;
 	private ArrayList<GeoPointND> inputPoints;
@@ -655,6 +653,23 @@ public abstract class AlgoElement extends ConstructionElement
 		}
 	}
 
+	/**
+	 * @return whether update() can be replaced by compute() (possibly on
+	 *         another thread) followed by {@link #updateAfterCompute()}
+	 */
+	public boolean isComputeSeparable() {
+		return !stopUpdateCascade && !mayHaveRandomAncestors;
+	}
+
+	/**
+	 * Second part of update() for algos updated by an
+	 * {@link AlgoUpdateScheduler}, needs to be called on the main thread
+	 * after compute()
+	 */
+	public void updateAfterCompute() {
+		updateDependentGeos();
+	}
+
 	/**
 	 * Updates all AlgoElements in the given ArrayList. Note: this method is
 	 * more efficient than calling updateCascade() for all individual
@@ -683,16 +698,7 @@ public abstract class AlgoElement extends ConstructionElement
 		}
 
 		// update all geos
-		tempSetLock = true;
-		GeoElement.updateCascade(geos, getTempSet(), true);
-		tempSetLock = false;
-	}
-
-	private static TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null || tempSetLock) {
-			tempSet = new TreeSet<>();
-		}
-		return tempSet;
+		GeoElement.updateCascade(geos, true);
 	}
 
 	// public part
@@ -49,6 +49,8 @@ public class AlgoSequence extends AlgoElement {
 			last_step = Double.MIN_VALUE;
 	private boolean expIsFunctionOrCurve, isEmpty;
 	private AlgoElement expressionParentAlgo;
+	// free numbers in expression, elements stay valid while they don't change
+	private ExpressionNumbers expressionNumbers;
 
 	// we need to check that some Object[] reference didn't cause infinite
 	// update cycle
@@ -114,7 +116,7 @@ public class AlgoSequence extends AlgoElement {
 
 		expressionParentAlgo = expression.getParentAlgorithm();
 		expIsFunctionOrCurve = expression instanceof CasEvaluableFunction;
-
+		expressionNumbers = new ExpressionNumbers(expression, var);
 
 		list = new GeoList(cons);
 		setInputOutput(); // for AlgoElement
@@ -197,6 +199,7 @@ public class AlgoSequence extends AlgoElement {
 															// undefined at last
 															// loop)
 				list.setUndefined();
+				expressionNumbers.invalidate();
 				updateRunning = false;
 				return;
 			}
@@ -210,6 +213,7 @@ public class AlgoSequence extends AlgoElement {
 		double step = var_step == null ? 1 : var_step.getDouble();
 
 		isEmpty = (to - from) * step <= -Kernel.MIN_PRECISION;
+		boolean expressionChanged = expressionNumbers.update();
 
 		// an update may be necessary because another variable in expression
 		// has changed. However, the range (from, to, step) may not have
@@ -222,13 +226,25 @@ public class AlgoSequence extends AlgoElement {
 		// setValues does not work for functions
 		setValuesOnly = setValuesOnly && !expIsFunctionOrCurve;
 
+		// only the upper bound changed and the expression doesn't depend on
+		// it: existing elements stay, just add or remove elements at the end
+		boolean resizeOnly = !setValuesOnly && !expressionChanged
+				&& !expIsFunctionOrCurve && from == last_from
+				&& step == last_step && !isEmpty && list.size() > 0
+				&& !Double.isInfinite((to - from) / step);
+
 		// avoid label creation, might happen e.g. in
 		boolean oldSuppressLabels = cons.isSuppressLabelsActive();
 		cons.setSuppressLabelCreation(true);
 
 		// update list
 		if (setValuesOnly) {
-			updateListItems(from, to, step);
+			// nothing to do if the expression didn't change
+			if (expressionChanged) {
+				updateListItems(from, to, step);
+			}
+		} else if (resizeOnly) {
+			resizeList(from, to, step);
 		} else {
 			createNewList(from, to, step);
 		}
@@ -263,6 +279,7 @@ public class AlgoSequence extends AlgoElement {
 					long mem = kernel.getApplication().freeMemory();
 					list.clearCache();
 					kernel.initUndoInfo(); // clear all undo info
+					expressionNumbers.invalidate();
 					Log.debug(
 							"AlgoSequence aborted: free memory reached " + mem);
 					return;
@@ -293,6 +310,50 @@ public class AlgoSequence extends AlgoElement {
 		last_step = step;
 	}
 
+	/**
+	 * Computes elements for new values of var and removes elements beyond the
+	 * upper bound; existing elements are kept.
+	 */
+	private void resizeList(double from, double to, double step) {
+		int oldListSize = list.size();
+		double currentVal = from;
+		int i = 0;
+		while ((step > 0 && currentVal <= to + Kernel.MIN_PRECISION)
+				|| (step < 0 && currentVal >= to - Kernel.MIN_PRECISION)) {
+			if (i >= oldListSize) {
+				// check we haven't run out of memory
+				if (kernel.getApplication().freeMemoryIsCritical()) {
+					long mem = kernel.getApplication().freeMemory();
+					list.clearCache();
+					kernel.initUndoInfo(); // clear all undo info
+					expressionNumbers.invalidate();
+					last_to = Double.MIN_VALUE;
+					Log.debug(
+							"AlgoSequence aborted: free memory reached " + mem);
+					return;
+				}
+				updateLocalVar(currentVal);
+				addElement(i);
+			}
+			currentVal += step;
+			if (Kernel.isInteger(currentVal)) {
+				currentVal = Math.round(currentVal);
+			}
+			i++;
+		}
+
+		// remove elements beyond the upper bound, cached elements may be used
+		// elsewhere, so set them undefined
+		for (int k = oldListSize - 1; k >= i; k--) {
+			list.remove(k);
+			GeoElement oldElement = list.getCached(k);
+			oldElement.setUndefined();
+			oldElement.update();
+		}
+
+		last_to = to;
+	}
+
 	private void addElement(int i) {
 		// only add new objects
 		GeoElement listElement = null;
@@ -381,6 +442,7 @@ public class AlgoSequence extends AlgoElement {
 				long mem = kernel.getApplication().freeMemory();
 				list.clearCache();
 				kernel.initUndoInfo(); // clear all undo info
+				expressionNumbers.invalidate();
 				Log.debug("AlgoSequence aborted: free memory reached " + mem);
 				return;
 			}
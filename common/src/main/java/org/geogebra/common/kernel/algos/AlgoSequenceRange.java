@@ -45,8 +45,6 @@ public class AlgoSequenceRange extends AlgoElement {
 
 	private SequenceType type;
 
-	private double last_to = Double.MIN_VALUE;
-
 
 
 
@@ -183,44 +181,42 @@ public class AlgoSequenceRange extends AlgoElement {
 			}
 		}
 		// also see Operation.java case Sequence:
+		// elements are only created when needed, see
+		// GeoList.setNumberValues
+		int size = 0;
 		if (from < to) {
 
 			// increasing list
 			for (double k = from; k <= to; k += step) {
-				list.addNumber(k, null);
+				size++;
 			}
 
 		} else {
 
 			// decreasing list
 			for (double k = from; k >= to; k -= step) {
-				list.addNumber(k, null);
+				size++;
 			}
 
 		}
+		double[] values = new double[size];
+		double k = from;
+		for (int i = 0; i < size; i++) {
+			values[i] = k;
+			k = from < to ? k + step : k - step;
+		}
+		list.setNumberValues(values, null);
 	}
 
 	private void computeSimple() {
 		int to = (int) Math.round(var_to.getDouble());
 
-		if (last_to < to) {
-			for (int k = (int) last_to; k < to; k++) {
-				if (k >= 0) {
-					list.addNumber(k + 1, null);
-				}
-			}
+		// cached elements are reused when the list is materialized
+		double[] values = new double[Math.max(to, 0)];
+		for (int k = 0; k < values.length; k++) {
+			values[k] = k + 1;
 		}
-		if (last_to > to) {
-			for (int k = (int) last_to; k > to; k--) {
-				if (k >= 1) {
-					GeoElement ge = list.get(k - 1);
-					ge.remove();
-					list.remove(k - 1);
-				}
-			}
-		}
-		last_to = to;
-
+		list.setNumberValues(values, null);
 	}
 
 }
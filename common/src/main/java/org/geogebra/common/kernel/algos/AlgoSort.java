@@ -12,6 +12,7 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.algos;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.TreeSet;
 
@@ -150,6 +151,17 @@ public class AlgoSort extends AlgoElement {
 			return;
 		}
 
+		if (valueList == null && inputList.isPlainNumberList()) {
+			// no need to create the elements, sort the values
+			double[] values = inputList.getNumberValues();
+			double[] sorted = new double[size];
+			System.arraycopy(values, 0, sorted, 0, size);
+			Arrays.sort(sorted);
+			outputList.setDefined(true);
+			outputList.setNumberValues(sorted, null);
+			return;
+		}
+
 		GeoElement geo0 = inputList.get(0);
 
 		Class<? extends GeoElement> geoClass = geo0.getClass();
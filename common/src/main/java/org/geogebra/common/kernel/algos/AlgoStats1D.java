@@ -21,6 +21,7 @@ import org.geogebra.common.kernel.geos.GeoAngle.AngleStyle;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.plugin.GeoClass;
 
 /**
  * Mean, variance, sum, sum of squares, standard deviation of a list adapted
@@ -94,7 +95,9 @@ public abstract class AlgoStats1D extends AlgoElement {
 		this.stat = stat;
 		this.Truncate = Truncate;
 
-		if (geoList.size() > 0 && geoList.get(0).isAngle()) {
+		// numeric lists may not have their elements yet
+		if (geoList.size() > 0 && geoList.getElementType() != GeoClass.NUMERIC
+				&& geoList.get(0).isAngle()) {
 			result = new GeoAngle(cons);
 
 			// allow unbounded angles (from ggb44). This could break old files
@@ -203,16 +206,26 @@ public abstract class AlgoStats1D extends AlgoElement {
 		// list of numbers only, no frequencies
 		if (geoList2 == null) {
 			double val;
-			for (int i = 0; i < size; i++) {
-				geo = geoList.get(i);
-				if (geo instanceof NumberValue) {
-					val = geo.evaluateDouble();
+			double[] values = geoList.getNumberValues();
+			if (values != null) {
+				for (int i = 0; i < size; i++) {
+					val = values[i];
 					sumVal += val;
 					sumSquares += val * val;
 					product *= val;
-				} else {
-					result.setUndefined();
-					return;
+				}
+			} else {
+				for (int i = 0; i < size; i++) {
+					geo = geoList.get(i);
+					if (geo instanceof NumberValue) {
+						val = geo.evaluateDouble();
+						sumVal += val;
+						sumSquares += val * val;
+						product *= val;
+					} else {
+						result.setUndefined();
+						return;
+					}
 				}
 			}
 		}
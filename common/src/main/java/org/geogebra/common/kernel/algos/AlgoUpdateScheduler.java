@@ -0,0 +1,21 @@
+package org.geogebra.common.kernel.algos;
+
+/**
+ * Strategy for updating a sorted set of algorithms, e.g. concurrently on
+ * several threads. Set via Kernel.setAlgoUpdateScheduler().
+ */
+public interface AlgoUpdateScheduler {
+
+	/**
+	 * Updates the algorithms; the result must be the same as calling
+	 * update() for each of them in the given order.
+	 * 
+	 * @param algos
+	 *            algorithms in update (construction) order
+	 * @param size
+	 *            number of algorithms to use from the array
+	 * @return false if nothing was updated and the caller needs to update
+	 *         the algorithms sequentially
+	 */
+	public boolean updateAll(AlgoElement[] algos, int size);
+}
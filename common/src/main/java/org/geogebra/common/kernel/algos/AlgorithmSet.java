@@ -12,11 +12,15 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.algos;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
+import org.geogebra.common.util.debug.Instrumentation;
+
 /**
  * Set to store AlgoElement objects for updating.
  */
@@ -27,6 +31,12 @@ public class AlgorithmSet implements Iterable<AlgoElement> {
 	private Link head, tail;
 	private int size;
 
+	/** algos in update order, null if outdated */
+	private AlgoElement[] array;
+	/** algos sorted by AlgoElement.compareTo, null if outdated */
+	private AlgoElement[] sortedArray;
+	private int sortedVersion;
+
 	/**
 	 * Creates new algorithm set
 	 */
@@ -76,6 +86,7 @@ public class AlgorithmSet implements Iterable<AlgoElement> {
 			setHead(new Link(algo, null));
 			tail = getHead();
 			size++;
+			invalidateArrays();
 			return true;
 		}
 
@@ -117,6 +128,7 @@ public class AlgorithmSet implements Iterable<AlgoElement> {
 
 		hashMap.put(algo, algo);
 		size++;
+		invalidateArrays();
 
 		return true;
 	}
@@ -136,6 +148,7 @@ public class AlgorithmSet implements Iterable<AlgoElement> {
 			setHead(new Link(algo, null));
 			tail = getHead();
 			size++;
+			invalidateArrays();
 			return true;
 		}
 
@@ -182,6 +195,7 @@ public class AlgorithmSet implements Iterable<AlgoElement> {
 
 		hashMap.put(algo, algo);
 		size++;
+		invalidateArrays();
 
 		return true;
 
@@ -260,6 +274,7 @@ public class AlgorithmSet implements Iterable<AlgoElement> {
 					}
 				}
 				size--;
+				invalidateArrays();
 				return true;
 			}
 			// not yet found
@@ -274,13 +289,86 @@ public class AlgorithmSet implements Iterable<AlgoElement> {
 	 * Updates all algorithms of this set.
 	 */
 	final public void updateAll() {
+		if (size > 1) {
+			AlgoUpdateScheduler scheduler = getHead().algo.getKernel()
+					.getAlgoUpdateScheduler();
+			if (scheduler != null && scheduler.updateAll(toArray(), size)) {
+				return;
+			}
+		}
+		Instrumentation instrumentation = getHead() == null ? null
+				: getHead().algo.getKernel().getApplication()
+						.getInstrumentation();
 		Link cur = getHead();
 		while (cur != null) {
-			cur.algo.update();
+			update(cur.algo, instrumentation);
 			cur = cur.next;
 		}
 	}
 
+	/**
+	 * Updates the algorithm, measuring the time if instrumentation is on.
+	 * 
+	 * @param algo
+	 *            algorithm
+	 * @param instrumentation
+	 *            instrumentation, may be null
+	 */
+	static void update(AlgoElement algo, Instrumentation instrumentation) {
+		if (instrumentation == null) {
+			algo.update();
+			return;
+		}
+		double start = instrumentation.start();
+		algo.update();
+		instrumentation.end(Instrumentation.ALGO, algo, start);
+	}
+
+	/**
+	 * @return algorithms of this set in update order; cached until this set
+	 *         changes, must not be modified
+	 */
+	final public AlgoElement[] toArray() {
+		if (array == null) {
+			AlgoElement[] algos = new AlgoElement[size];
+			Link cur = getHead();
+			for (int i = 0; cur != null; i++) {
+				algos[i] = cur.algo;
+				cur = cur.next;
+			}
+			array = algos;
+		}
+		return array;
+	}
+
+	/**
+	 * @return algorithms of this set sorted by construction index (same
+	 *         order as TreeSet&lt;AlgoElement&gt;); cached until this set or
+	 *         the order of its construction changes, must not be modified
+	 */
+	final public AlgoElement[] getSortedArray() {
+		int orderVersion = getOrderVersion();
+		if (sortedArray == null || sortedVersion != orderVersion) {
+			AlgoElement[] algos = Arrays.copyOf(toArray(), size);
+			Arrays.sort(algos);
+			sortedArray = algos;
+			sortedVersion = orderVersion;
+		}
+		return sortedArray;
+	}
+
+	private int getOrderVersion() {
+		if (head == null || head.algo.getConstruction() == null) {
+			return 0;
+		}
+		return head.algo.getConstruction().getAlgoOrderVersion();
+	}
+
+	private void invalidateArrays() {
+		array = null;
+		sortedArray = null;
+	}
+
 	/**
 	 * Updates all algorithms of this set until the given algorithm is reached.
 	 * 
@@ -345,6 +433,145 @@ public class AlgorithmSet implements Iterable<AlgoElement> {
 		return sb.toString();
 	}
 
+	/**
+	 * Union of several algorithm sets sorted by construction index, replaces
+	 * TreeSet&lt;AlgoElement&gt; for updating. Sets are merged as sorted
+	 * arrays, buffers are reused so that no objects are created once they are
+	 * big enough.
+	 */
+	public static final class Union {
+		/** unions that are not in use */
+		private static final ArrayList<Union> pool = new ArrayList<>();
+
+		private AlgoElement[] algos = new AlgoElement[16];
+		private AlgoElement[] buffer = new AlgoElement[16];
+		private int size = 0;
+
+		/**
+		 * @return empty union, call {@link #recycle()} when done
+		 */
+		public static Union obtain() {
+			synchronized (pool) {
+				if (pool.isEmpty()) {
+					return new Union();
+				}
+				return pool.remove(pool.size() - 1);
+			}
+		}
+
+		/**
+		 * Clears this union and makes it available for {@link #obtain()}.
+		 */
+		public void recycle() {
+			clear();
+			synchronized (pool) {
+				pool.add(this);
+			}
+		}
+
+		/**
+		 * Adds all algorithms of the set.
+		 * 
+		 * @param set
+		 *            algorithm set
+		 */
+		public void addAll(AlgorithmSet set) {
+			AlgoElement[] other = set.getSortedArray();
+			int otherSize = other.length;
+			if (otherSize == 0) {
+				return;
+			}
+			if (buffer.length < size + otherSize) {
+				buffer = new AlgoElement[2 * (size + otherSize)];
+			}
+			int i = 0;
+			int j = 0;
+			int k = 0;
+			while (i < size && j < otherSize) {
+				int cmp = algos[i].compareTo(other[j]);
+				if (cmp < 0) {
+					buffer[k++] = algos[i++];
+				} else if (cmp > 0) {
+					buffer[k++] = other[j++];
+				} else {
+					buffer[k++] = algos[i++];
+					j++;
+				}
+			}
+			while (i < size) {
+				buffer[k++] = algos[i++];
+			}
+			while (j < otherSize) {
+				buffer[k++] = other[j++];
+			}
+			AlgoElement[] swap = algos;
+			algos = buffer;
+			buffer = swap;
+			// don't keep references to removed algos
+			Arrays.fill(buffer, 0, Math.min(size, buffer.length), null);
+			size = k;
+		}
+
+		/**
+		 * Removes all algorithms.
+		 */
+		public void clear() {
+			Arrays.fill(algos, 0, size, null);
+			size = 0;
+		}
+
+		/**
+		 * @return number of algorithms
+		 */
+		public int size() {
+			return size;
+		}
+
+		/**
+		 * @return algorithms, only the first size() entries are valid
+		 */
+		public AlgoElement[] getArray() {
+			return algos;
+		}
+
+		/**
+		 * Updates all algorithms, using kernel's scheduler if there is one.
+		 */
+		public void updateAll() {
+			if (size > 1) {
+				AlgoUpdateScheduler scheduler = algos[0].getKernel()
+						.getAlgoUpdateScheduler();
+				if (scheduler != null && scheduler.updateAll(algos, size)) {
+					return;
+				}
+			}
+			Instrumentation instrumentation = size == 0 ? null
+					: algos[0].getKernel().getApplication()
+							.getInstrumentation();
+			for (int i = 0; i < size; i++) {
+				update(algos[i], instrumentation);
+			}
+		}
+
+		/**
+		 * Updates all algorithms until the given algorithm is reached.
+		 * 
+		 * @param lastAlgoToUpdate
+		 *            last algorithm to update
+		 */
+		public void updateAllUntil(AlgoElement lastAlgoToUpdate) {
+			Instrumentation instrumentation = size == 0 ? null
+					: algos[0].getKernel().getApplication()
+							.getInstrumentation();
+			for (int i = 0; i < size; i++) {
+				update(algos[i], instrumentation);
+				if (algos[i] == lastAlgoToUpdate) {
+					return;
+				}
+			}
+		}
+	}
+
 	private static class Link {
 		AlgoElement algo;
 		Link next;
@@ -0,0 +1,130 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.ArrayList;
+import java.util.TreeSet;
+
+import org.geogebra.common.kernel.EuclidianViewCE;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.arithmetic.FunctionalNVar;
+import org.geogebra.common.kernel.arithmetic.Inspecting;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+
+/**
+ * Values of the free numbers that the expression of Sequence / Zip depends on
+ * (apart from the local variables). As long as they don't change, an element
+ * computed for some values of the local variables stays valid, so only
+ * elements for new values need to be computed.
+ *
+ * Expressions that depend on other free objects, random numbers (including
+ * inline random()) or the view are not tracked: for them every update counts
+ * as a change.
+ */
+public class ExpressionNumbers {
+
+	/** free numbers, null if the expression can't be tracked */
+	private final GeoNumeric[] numbers;
+	private final double[] values;
+	private boolean valid = false;
+
+	/**
+	 * @param expression
+	 *            expression of the local variables
+	 * @param localVars
+	 *            local variables
+	 */
+	public ExpressionNumbers(GeoElementND expression,
+			GeoElementND... localVars) {
+		numbers = collectNumbers(expression, localVars);
+		values = numbers == null ? null : new double[numbers.length];
+	}
+
+	private static GeoNumeric[] collectNumbers(GeoElementND expression,
+			GeoElementND[] localVars) {
+		GeoElement geoExpression = expression.toGeoElement();
+		TreeSet<GeoElement> predecessors = new TreeSet<>();
+		geoExpression.addPredecessorsToSet(predecessors, false);
+		predecessors.add(geoExpression);
+		ArrayList<GeoNumeric> free = new ArrayList<>();
+		for (GeoElement geo : predecessors) {
+			if (isLocalVar(geo, localVars)) {
+				continue;
+			}
+			if (geo.isRandomGeo() || geo.isGeoCasCell() || hasRandom(geo)) {
+				return null;
+			}
+			if (geo.isIndependent()) {
+				if (!geo.isGeoNumeric()) {
+					return null;
+				}
+				free.add((GeoNumeric) geo);
+			} else if (geo.getParentAlgorithm() instanceof EuclidianViewCE) {
+				return null;
+			}
+		}
+		return free.toArray(new GeoNumeric[free.size()]);
+	}
+
+	private static boolean hasRandom(GeoElement geo) {
+		ExpressionNode definition = geo.getDefinition();
+		if (definition == null
+				&& geo.getParentAlgorithm() instanceof DependentAlgo) {
+			definition = ((DependentAlgo) geo.getParentAlgorithm())
+					.getExpression();
+		}
+		if (definition == null && geo instanceof FunctionalNVar
+				&& ((FunctionalNVar) geo).getFunction() != null) {
+			definition = ((FunctionalNVar) geo).getFunction().getExpression();
+		}
+		return definition != null
+				&& definition.inspect(Inspecting.RandomFinder.INSTANCE);
+	}
+
+	private static boolean isLocalVar(GeoElement geo,
+			GeoElementND[] localVars) {
+		for (GeoElementND var : localVars) {
+			if (geo == var) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return whether the expression only depends on free numbers
+	 */
+	public boolean isTracked() {
+		return numbers != null;
+	}
+
+	/**
+	 * Stores current values of the numbers
+	 *
+	 * @return whether some number changed since last call (always true if
+	 *         not tracked or after {@link #invalidate()})
+	 */
+	public boolean update() {
+		if (numbers == null) {
+			return true;
+		}
+		boolean changed = !valid;
+		for (int i = 0; i < numbers.length; i++) {
+			double value = numbers[i].getValue();
+			if (Double.compare(value, values[i]) != 0) {
+				values[i] = value;
+				changed = true;
+			}
+		}
+		valid = true;
+		return changed;
+	}
+
+	/**
+	 * Makes sure that next {@link #update()} reports a change, e.g. when the
+	 * elements couldn't be computed
+	 */
+	public void invalidate() {
+		valid = false;
+	}
+}
@@ -0,0 +1,432 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.plugin.Operation;
+import org.geogebra.common.util.MyMath;
+
+/**
+ * Flat stack program compiled from a real valued expression tree. Evaluation
+ * does not allocate; subtrees with operations that are not supported here are
+ * evaluated by the tree walker (see {@link ExpressionNode#evaluateDouble()}).
+ *
+ * The program keeps references to the leaves of the tree, so changes of
+ * numbers / free geos in the expression are picked up, but structural changes
+ * of the tree need a new compilation.
+ */
+public final class CompiledExpression {
+
+	private static final int LOAD_VAR = 0;
+	private static final int LOAD_VALUE = 1;
+	private static final int PLUS = 2;
+	private static final int MINUS = 3;
+	private static final int MULTIPLY = 4;
+	private static final int DIVIDE = 5;
+	private static final int POWER = 6;
+	private static final int POWER_FRACTION = 7;
+	private static final int SIN = 8;
+	private static final int COS = 9;
+	private static final int TAN = 10;
+	private static final int SQRT = 11;
+	private static final int CBRT = 12;
+	private static final int EXP = 13;
+	private static final int LOG = 14;
+	private static final int ABS = 15;
+	private static final int SINH = 16;
+	private static final int COSH = 17;
+	private static final int TANH = 18;
+
+	private final ExpressionNode expression;
+	private final FunctionVariable[] fVars;
+	/** opcodes, LOAD_* are followed by an operand */
+	private final int[] code;
+	private final ExpressionValue[] values;
+	private final double[] stack;
+	private final double[] vars;
+	private final int fallbackCount;
+	/** whether this is a copy that must not touch the expression tree */
+	private final boolean concurrent;
+
+	private CompiledExpression(ExpressionNode expression,
+			FunctionVariable[] fVars, Compiler compiler) {
+		this.expression = expression;
+		this.fVars = fVars;
+		this.code = new int[compiler.codeLength];
+		System.arraycopy(compiler.code, 0, code, 0, compiler.codeLength);
+		this.values = compiler.values
+				.toArray(new ExpressionValue[compiler.values.size()]);
+		this.stack = new double[Math.max(1, compiler.maxDepth)];
+		this.vars = new double[fVars == null ? 0 : fVars.length];
+		this.fallbackCount = compiler.fallbackCount;
+		this.concurrent = false;
+	}
+
+	private CompiledExpression(CompiledExpression original) {
+		this.expression = original.expression;
+		this.fVars = original.fVars;
+		this.code = original.code;
+		this.values = original.values;
+		this.stack = new double[original.stack.length];
+		this.vars = new double[original.vars.length];
+		this.fallbackCount = 0;
+		this.concurrent = true;
+	}
+
+	/**
+	 * @param expression
+	 *            real valued expression
+	 * @param fVars
+	 *            function variables
+	 * @return compiled expression or null if the expression does not evaluate
+	 *         to a number
+	 */
+	public static CompiledExpression compile(ExpressionNode expression,
+			FunctionVariable[] fVars) {
+		if (expression == null
+				|| expression.getValueType() != ValueType.NUMBER) {
+			return null;
+		}
+		Compiler compiler = new Compiler(fVars);
+		compiler.compile(expression);
+		return new CompiledExpression(expression, fVars, compiler);
+	}
+
+	/**
+	 * @return expression this program was compiled from
+	 */
+	public ExpressionNode getExpression() {
+		return expression;
+	}
+
+	/**
+	 * @return function variables this program was compiled for
+	 */
+	public FunctionVariable[] getFunctionVariables() {
+		return fVars;
+	}
+
+	/**
+	 * @return number of subtrees that are delegated to the tree walker
+	 */
+	public int getFallbackCount() {
+		return fallbackCount;
+	}
+
+	/**
+	 * @return copy with its own stack that does not write the function
+	 *         variables, so that copies can be evaluated on different threads
+	 *         (as long as nobody changes the expression); null if some
+	 *         subtrees need the tree walker
+	 */
+	public CompiledExpression copyForConcurrentUse() {
+		if (fallbackCount > 0) {
+			return null;
+		}
+		return new CompiledExpression(this);
+	}
+
+	/**
+	 * @param x
+	 *            value of the (only) variable
+	 * @return f(x)
+	 */
+	public double value(double x) {
+		if (!concurrent) {
+			fVars[0].set(x);
+		}
+		vars[0] = x;
+		return run();
+	}
+
+	/**
+	 * @param x
+	 *            value of first variable
+	 * @param y
+	 *            value of second variable
+	 * @return f(x,y)
+	 */
+	public double evaluate(double x, double y) {
+		if (!concurrent) {
+			fVars[0].set(x);
+			fVars[1].set(y);
+		}
+		vars[0] = x;
+		vars[1] = y;
+		return run();
+	}
+
+	/**
+	 * @param vals
+	 *            values of variables
+	 * @return f(vals)
+	 */
+	public double evaluate(double[] vals) {
+		for (int i = 0; i < vars.length; i++) {
+			// fallback subtrees still read the variables from the tree
+			if (!concurrent) {
+				fVars[i].set(vals[i]);
+			}
+			vars[i] = vals[i];
+		}
+		return run();
+	}
+
+	private double run() {
+		final int[] c = code;
+		final double[] s = stack;
+		int sp = -1;
+		int pc = 0;
+		double base;
+		while (pc < c.length) {
+			switch (c[pc++]) {
+			case LOAD_VAR:
+				s[++sp] = vars[c[pc++]];
+				break;
+			case LOAD_VALUE:
+				s[++sp] = values[c[pc++]].evaluateDouble();
+				break;
+			case PLUS:
+				sp--;
+				s[sp] = s[sp] + s[sp + 1];
+				break;
+			case MINUS:
+				sp--;
+				s[sp] = s[sp] - s[sp + 1];
+				break;
+			case MULTIPLY:
+				sp--;
+				s[sp] = s[sp] * s[sp + 1];
+				break;
+			case DIVIDE:
+				sp--;
+				s[sp] = s[sp] / s[sp + 1];
+				break;
+			case POWER:
+				sp--;
+				s[sp] = Math.pow(s[sp], s[sp + 1]);
+				break;
+			case POWER_FRACTION:
+				// base, numerator and denominator are on the stack
+				sp -= 2;
+				base = s[sp];
+				s[sp] = base < 0
+						? ExpressionNodeEvaluator.negPower(base, s[sp + 1],
+								s[sp + 2])
+						: Math.pow(base, s[sp + 1] / s[sp + 2]);
+				break;
+			case SIN:
+				s[sp] = Math.sin(s[sp]);
+				break;
+			case COS:
+				s[sp] = Math.cos(s[sp]);
+				break;
+			case TAN:
+				s[sp] = tan(s[sp]);
+				break;
+			case SQRT:
+				s[sp] = Math.sqrt(s[sp]);
+				break;
+			case CBRT:
+				s[sp] = MyMath.cbrt(s[sp]);
+				break;
+			case EXP:
+				s[sp] = Math.exp(s[sp]);
+				break;
+			case LOG:
+				s[sp] = Math.log(s[sp]);
+				break;
+			case ABS:
+				s[sp] = Math.abs(s[sp]);
+				break;
+			case SINH:
+				s[sp] = MyMath.sinh(s[sp]);
+				break;
+			case COSH:
+				s[sp] = MyMath.cosh(s[sp]);
+				break;
+			case TANH:
+				s[sp] = MyMath.tanh(s[sp]);
+				break;
+			default:
+				return Double.NaN;
+			}
+		}
+		return s[0];
+	}
+
+	/**
+	 * Same as {@link MyDouble#tan()}
+	 */
+	private static double tan(double val) {
+		if (Kernel.isEqual(Math.abs(val) % Math.PI, Kernel.PI_HALF)) {
+			return Double.NaN;
+		}
+		double ret = Math.tan(val);
+		return Kernel.isZero(ret) ? 0 : ret;
+	}
+
+	private static int getUnaryCode(Operation op) {
+		switch (op) {
+		case SIN:
+			return SIN;
+		case COS:
+			return COS;
+		case TAN:
+			return TAN;
+		case SQRT:
+			return SQRT;
+		case CBRT:
+			return CBRT;
+		case EXP:
+			return EXP;
+		case LOG:
+			return LOG;
+		case ABS:
+			return ABS;
+		case SINH:
+			return SINH;
+		case COSH:
+			return COSH;
+		case TANH:
+			return TANH;
+		default:
+			return -1;
+		}
+	}
+
+	private static int getBinaryCode(Operation op) {
+		switch (op) {
+		case PLUS:
+			return PLUS;
+		case MINUS:
+			return MINUS;
+		case MULTIPLY:
+			return MULTIPLY;
+		case DIVIDE:
+			return DIVIDE;
+		case POWER:
+			return POWER;
+		default:
+			return -1;
+		}
+	}
+
+	private static boolean isNumber(ExpressionValue ev) {
+		return ev != null && ev.getValueType() == ValueType.NUMBER;
+	}
+
+	/**
+	 * Builds the program in post order
+	 */
+	private static class Compiler {
+		private final FunctionVariable[] fVars;
+		int[] code = new int[16];
+		int codeLength = 0;
+		ArrayList<ExpressionValue> values = new ArrayList<>();
+		int depth = 0;
+		int maxDepth = 0;
+		int fallbackCount = 0;
+
+		Compiler(FunctionVariable[] fVars) {
+			this.fVars = fVars;
+		}
+
+		void compile(ExpressionValue ev) {
+			if (ev instanceof ExpressionNode) {
+				compileNode((ExpressionNode) ev);
+			} else if (ev instanceof FunctionVariable
+					&& getVarIndex((FunctionVariable) ev) >= 0) {
+				emit(LOAD_VAR, getVarIndex((FunctionVariable) ev));
+				push();
+			} else {
+				// MyDouble, GeoNumeric, ... read the value on each run
+				emitValue(ev);
+			}
+		}
+
+		private void compileNode(ExpressionNode node) {
+			Operation op = node.getOperation();
+			ExpressionValue left = node.getLeft();
+			ExpressionValue right = node.getRight();
+			if (node.isLeaf()) {
+				compile(left);
+				return;
+			}
+			int unary = getUnaryCode(op);
+			if (unary >= 0 && isNumber(left)) {
+				compile(left);
+				emit(unary);
+				return;
+			}
+			int binary = getBinaryCode(op);
+			if (binary == POWER && isNumber(left) && right.isExpressionNode()
+					&& ((ExpressionNode) right)
+							.getOperation() == Operation.DIVIDE) {
+				// x^(a/b) needs a and b for negative x, see
+				// ExpressionNodeEvaluator.negPower
+				ExpressionValue num = ((ExpressionNode) right).getLeft();
+				ExpressionValue den = ((ExpressionNode) right).getRight();
+				if (isNumber(num) && isNumber(den)) {
+					compile(left);
+					compile(num);
+					compile(den);
+					emit(POWER_FRACTION);
+					depth -= 2;
+					return;
+				}
+			} else if (binary >= 0 && isNumber(left) && isNumber(right)) {
+				compile(left);
+				compile(right);
+				emit(binary);
+				depth--;
+				return;
+			}
+			// unsupported operation: evaluate the whole subtree by tree walker
+			fallbackCount++;
+			emitValue(node);
+		}
+
+		private void emitValue(ExpressionValue ev) {
+			emit(LOAD_VALUE, values.size());
+			values.add(ev);
+			push();
+		}
+
+		private int getVarIndex(FunctionVariable fv) {
+			if (fVars == null) {
+				return -1;
+			}
+			for (int i = 0; i < fVars.length; i++) {
+				if (fVars[i] == fv) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		private void push() {
+			depth++;
+			maxDepth = Math.max(depth, maxDepth);
+		}
+
+		private void emit(int op) {
+			ensureCapacity(1);
+			code[codeLength++] = op;
+		}
+
+		private void emit(int op, int operand) {
+			ensureCapacity(2);
+			code[codeLength++] = op;
+			code[codeLength++] = operand;
+		}
+
+		private void ensureCapacity(int extra) {
+			if (codeLength + extra > code.length) {
+				int[] bigger = new int[code.length * 2 + extra];
+				System.arraycopy(code, 0, bigger, 0, codeLength);
+				code = bigger;
+			}
+		}
+	}
+}
@@ -48,8 +48,6 @@ public class Equation extends ValidExpression implements EquationValue {
 	private ArrayList<ExpressionValue> variableDegrees = null;
 	private boolean isPolynomial = true;
 
-	private static ArrayList<ExpressionNode> undecided = new ArrayList<>();
-
 
 	/**
 	 * check whether ExpressionNodes are evaluable to instances of Polynomial or
@@ -281,12 +279,12 @@ public class Equation extends ValidExpression implements EquationValue {
 			FunctionVariable xVar, FunctionVariable yVar,
 			FunctionVariable zVar) {
 		// try to replace x(x+1) by x*(x+1)
-		undecided.clear();
+		// local list: kernels of different apps may parse concurrently
+		ArrayList<ExpressionNode> undecided = new ArrayList<>();
 		expression.replaceXYZnodes(xVar, yVar, zVar, undecided);
 		for (ExpressionNode en : undecided) {
 			en.setOperation(Operation.MULTIPLY);
 		}
-		undecided.clear();
 	}
 
 	/**
@@ -1031,14 +1031,26 @@ public class ExpressionNodeEvaluator implements ExpressionNodeConstants {
 	 * @return base^exponent
 	 */
 	static double negPower(double base0, ExpressionValue right) {
-		double base = base0;
 		ExpressionNode node = (ExpressionNode) right;
+		return negPower(base0, node.getLeft().evaluateDouble(),
+				node.getRight().evaluateDouble());
+	}
+
+	/**
+	 * @param base0
+	 *            base
+	 * @param a
+	 *            numerator of the exponent
+	 * @param b
+	 *            denominator of the exponent
+	 * @return base^(a/b)
+	 */
+	static double negPower(double base0, double a, double b) {
+		double base = base0;
 
 		// check if we have a/b with a and b integers
-		double a = node.getLeft().evaluateDouble();
 		long al = Math.round(a);
 		if (Kernel.isEqual(a, al)) { // a is integer
-			double b = node.getRight().evaluateDouble();
 			long bl = Math.round(b);
 			if (b == 0) {
 				// (x^a)^(1/0)
@@ -1079,7 +1091,7 @@ public class ExpressionNodeEvaluator implements ExpressionNodeConstants {
 			}
 		}
 
-		return MyDouble.pow(base, right.evaluateDouble());
+		return MyDouble.pow(base, a / b);
 
 	}
 
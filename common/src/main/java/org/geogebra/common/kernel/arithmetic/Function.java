@@ -107,6 +107,7 @@ public class Function extends FunctionNVar
 		fVars = f.fVars; // no deep copy of function variable
 		isBooleanFunction = f.isBooleanFunction;
 		isConstantFunction = f.isConstantFunction;
+		compiledEvaluation = f.compiledEvaluation;
 
 		this.kernel = kernel;
 	}
@@ -189,6 +190,12 @@ public class Function extends FunctionNVar
 			// BooleanValue
 			return evaluateBoolean(x) ? 1 : 0;
 		}
+		if (compiledEvaluation) {
+			CompiledExpression program = getCompiledExpression();
+			if (program != null) {
+				return program.value(x);
+			}
+		}
 		// NumberValue
 		fVars[0].set(x);
 		return expression.evaluateDouble();
@@ -68,7 +68,11 @@ public class FunctionNVar extends ValidExpression
 	private ExpressionNode casEvalExpression;
 	private String casEvalStringSymbolic;
 
-	private static ArrayList<ExpressionNode> undecided = new ArrayList<>();
+	/** whether to evaluate through compiled program */
+	protected boolean compiledEvaluation = false;
+	private CompiledExpression compiled;
+	private ExpressionNode compiledRoot;
+	private FunctionVariable[] compiledVars;
 
 
 	/**
@@ -124,6 +128,7 @@ public class FunctionNVar extends ValidExpression
 		this.isBooleanFunction = fn.isBooleanFunction;
 		this.isConstantFunction = fn.isConstantFunction;
 		this.ineqs = fn.ineqs;
+		resetCompiledEvaluation();
 	}
 
 	/**
@@ -139,6 +144,7 @@ public class FunctionNVar extends ValidExpression
 		fVars = f.fVars; // no deep copy of function variable
 		isBooleanFunction = f.isBooleanFunction;
 		isConstantFunction = f.isConstantFunction;
+		compiledEvaluation = f.compiledEvaluation;
 
 		this.kernel = kernel;
 	}
@@ -209,6 +215,7 @@ public class FunctionNVar extends ValidExpression
 	 */
 	public void setExpression(ExpressionNode exp) {
 		expression = exp;
+		resetCompiledEvaluation();
 	}
 
 	/**
@@ -222,6 +229,7 @@ public class FunctionNVar extends ValidExpression
 	public void setExpression(ExpressionNode exp, FunctionVariable[] vars) {
 		expression = exp;
 		fVars = vars;
+		resetCompiledEvaluation();
 	}
 
 	@Override
@@ -353,6 +361,7 @@ public class FunctionNVar extends ValidExpression
 		}
 
 		// initialize type as boolean or numeric function
+		resetCompiledEvaluation();
 		return initType(ev);
 	}
 
@@ -375,12 +384,12 @@ public class FunctionNVar extends ValidExpression
 		}
 
 		// try to replace x(x+1) by x*(x+1)
-		undecided.clear();
+		// local list: kernels of different apps may parse concurrently
+		ArrayList<ExpressionNode> undecided = new ArrayList<>();
 		expression.replaceXYZnodes(xVar, yVar, zVar, undecided);
 		for (ExpressionNode en : undecided) {
 			en.setOperation(Operation.MULTIPLY);
 		}
-		undecided.clear();
 	}
 
 	/**
@@ -457,6 +466,9 @@ public class FunctionNVar extends ValidExpression
 			// BooleanValue
 			return evaluateBoolean(vals) ? 1 : 0;
 		}
+		if (compiledEvaluation && getCompiledExpression() != null) {
+			return compiled.evaluate(vals);
+		}
 		// NumberValue
 		if (fVars != null) {
 			for (int i = 0; i < fVars.length; i++) {
@@ -472,6 +484,9 @@ public class FunctionNVar extends ValidExpression
 			// BooleanValue
 			return evaluateBoolean(new double[] { x, y }) ? 1 : 0;
 		}
+		if (compiledEvaluation && getCompiledExpression() != null) {
+			return compiled.evaluate(x, y);
+		}
 		// NumberValue
 
 		fVars[0].set(x);
@@ -480,6 +495,53 @@ public class FunctionNVar extends ValidExpression
 		return expression.evaluateDouble();
 	}
 
+	/**
+	 * Switches evaluation between the expression tree and a compiled program
+	 * (see {@link CompiledExpression}). Code that changes the expression tree
+	 * in place without replacing the root node needs to call
+	 * {@link #resetCompiledEvaluation()} afterwards.
+	 * 
+	 * @param flag
+	 *            whether evaluate / value should use compiled program
+	 */
+	public void setCompiledEvaluation(boolean flag) {
+		compiledEvaluation = flag;
+		resetCompiledEvaluation();
+	}
+
+	/**
+	 * @return whether evaluate / value use compiled program
+	 */
+	public boolean isCompiledEvaluation() {
+		return compiledEvaluation;
+	}
+
+	/**
+	 * Forget the compiled program, it will be rebuilt on next evaluation
+	 */
+	public void resetCompiledEvaluation() {
+		compiled = null;
+		compiledRoot = null;
+		compiledVars = null;
+	}
+
+	/**
+	 * @return compiled program for current expression; null for boolean or
+	 *         non-numeric functions
+	 */
+	public CompiledExpression getCompiledExpression() {
+		if (isBooleanFunction || fVars == null || fVars.length == 0) {
+			return null;
+		}
+		if (compiledRoot != expression || compiledVars != fVars) {
+			// null result is remembered too, no need to retry on every call
+			compiled = CompiledExpression.compile(expression, fVars);
+			compiledRoot = expression;
+			compiledVars = fVars;
+		}
+		return compiled;
+	}
+
 	/**
 	 * Returns this function's value at position vals. (Note: use this method if
 	 * isBooleanFunction() returns true.
@@ -671,7 +733,7 @@ public class FunctionNVar extends ValidExpression
 	protected MaxSizeHashMap<String, FunctionNVar> getCasEvalMap() {
 		if (casEvalMap == null) {
 			casEvalMap = new MaxSizeHashMap<>(
-					MAX_CAS_EVAL_MAP_SIZE);
+					MAX_CAS_EVAL_MAP_SIZE, true);
 		}
 		return casEvalMap;
 	}
@@ -1158,6 +1220,7 @@ public class FunctionNVar extends ValidExpression
 	public void dilate3D(NumberValue d, Coords s) {
 		double r = 1.0 / d.getDouble();
 		int zIndex = this.getVarIndex("z");
+		resetCompiledEvaluation();
 		if (zIndex != -1) {
 			this.translate(-s.getX(), -s.getY(), -s.getZ());
 			ExpressionNode newX = new ExpressionNode(kernel, d,
@@ -1195,6 +1258,7 @@ public class FunctionNVar extends ValidExpression
 	public void matrixTransform(double a00, double a01, double a10,
 			double a11) {
 		ExpressionNode dummy = new ExpressionNode();
+		resetCompiledEvaluation();
 		expression.replace(fVars[0], dummy).wrap();
 		MyDouble ma00 = new MyDouble(kernel, a00);
 		MyDouble ma01 = new MyDouble(kernel, a01);
@@ -1238,6 +1302,7 @@ public class FunctionNVar extends ValidExpression
 	public void matrixTransform(double a00, double a01, double a02, double a10,
 			double a11, double a12, double a20, double a21, double a22) {
 		ExpressionNode dummy = new ExpressionNode();
+		resetCompiledEvaluation();
 		expression = expression.replace(fVars[0], dummy).wrap();
 		double[][] b = MyMath.adjoint(a00, a01, a02, a10, a11, a12, a20, a21,
 				a22);
@@ -1278,6 +1343,7 @@ public class FunctionNVar extends ValidExpression
 			return ev;
 		}
 		expression = expression.traverse(t).wrap();
+		resetCompiledEvaluation();
 		return this;
 	}
 
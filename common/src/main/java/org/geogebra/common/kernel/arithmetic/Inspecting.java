@@ -55,6 +55,17 @@ public interface Inspecting {
 		}
 	}
 
+	/** Checks presence of random(), which changes on every evaluation */
+	public enum RandomFinder implements Inspecting {
+		/** singleton instance */
+		INSTANCE;
+		@Override
+		public boolean check(ExpressionValue v) {
+			return v instanceof ExpressionNode
+					&& ((ExpressionNode) v).getOperation() == Operation.RANDOM;
+		}
+	}
+
 	/** Checks presence of complex number */
 	public enum ComplexChecker implements Inspecting {
 		/** singleton instance */
@@ -19,7 +19,6 @@ the Free Software Foundation.
 package org.geogebra.common.kernel.geos;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -95,6 +94,7 @@ import org.geogebra.common.util.NumberFormatAdapter;
 import org.geogebra.common.util.SpreadsheetTraceSettings;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.GeoGebraProfiler;
+import org.geogebra.common.util.debug.Instrumentation;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.common.util.lang.Language;
 
@@ -503,17 +503,6 @@ public abstract class GeoElement extends ConstructionElement
 	private int colorSpace = COLORSPACE_RGB;
 
 	private List<Integer> viewFlags = null;
-	private static volatile TreeSet<AlgoElement> tempSet;
-
-	private static Comparator<AlgoElement> algoComparator = new Comparator<AlgoElement>() {
-
-		@Override
-		public int compare(AlgoElement o1, AlgoElement o2) {
-			return o1.compareTo(o2);
-		}
-
-	};
-
 
 	/**
 	 * @return used color space (GeoElement.COLORSPACE_*)
@@ -4166,10 +4155,17 @@ public abstract class GeoElement extends ConstructionElement
 	 */
 	public void updateCascade(boolean dragging) {
 		long l = System.currentTimeMillis();
+		Instrumentation instrumentation = kernel.getApplication()
+				.getInstrumentation();
+		double start = instrumentation == null ? -1
+				: instrumentation.start();
 		kernel.notifyBatchUpdate();
 		update(dragging);
 		updateDependentObjects();
 		GeoGebraProfiler.addUpdateCascade(System.currentTimeMillis() - l);
+		if (instrumentation != null) {
+			instrumentation.end(Instrumentation.CASCADE, this, start);
+		}
 		kernel.notifyEndBatchUpdate();
 
 	}
@@ -4210,12 +4206,13 @@ public abstract class GeoElement extends ConstructionElement
 				algoUpdateSet.updateAll();
 			} else {
 				// join both algoUpdateSets and update all algorithms
-				final TreeSet<AlgoElement> tempAlgoSet = getTempSet();
-				tempAlgoSet.clear();
-				algoUpdateSet.addAllToCollection(tempAlgoSet);
-				secondGeo.algoUpdateSet.addAllToCollection(tempAlgoSet);
-				for (final AlgoElement algo : tempAlgoSet) {
-					algo.update();
+				AlgorithmSet.Union union = AlgorithmSet.Union.obtain();
+				try {
+					union.addAll(algoUpdateSet);
+					union.addAll(secondGeo.algoUpdateSet);
+					union.updateAll();
+				} finally {
+					union.recycle();
 				}
 			}
 		}
@@ -4240,16 +4237,11 @@ public abstract class GeoElement extends ConstructionElement
 	 * @param geos
 	 *            geos to be updated
 	 * 
-	 * @param tempSet1
-	 *            a temporary set that is used to collect all algorithms that
-	 *            need to be updated
-	 * 
 	 * @param updateCascadeAll
 	 *            true to update cascade over dependent geos as well
 	 */
 	final static public synchronized void updateCascade(
 			final ArrayList<? extends GeoElementND> geos,
-			final TreeSet<AlgoElement> tempSet1,
 			final boolean updateCascadeAll) {
 
 		// only one geo: call updateCascade()
@@ -4260,32 +4252,27 @@ public abstract class GeoElement extends ConstructionElement
 		}
 
 		// build update set of all algorithms in construction element order
-		// clear temp set
-		tempSet1.clear();
-
-		final int size = geos.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElementND geo = geos.get(i);
+		final AlgorithmSet.Union union = AlgorithmSet.Union.obtain();
+		try {
+			final int size = geos.size();
+			for (int i = 0; i < size; i++) {
+				final GeoElementND geo = geos.get(i);
 
-			geo.update();
+				geo.update();
 
-			if ((geo.isIndependent() || geo.isPointOnPath() || updateCascadeAll)
-					&& (geo.hasAlgoUpdateSet())) {
-				// add all dependent algos of geo to the overall algorithm
-				// set
-				geo.getAlgoUpdateSet().addAllToCollection(tempSet1);
+				if ((geo.isIndependent() || geo.isPointOnPath()
+						|| updateCascadeAll) && (geo.hasAlgoUpdateSet())) {
+					// add all dependent algos of geo to the overall algorithm
+					// set
+					union.addAll(geo.getAlgoUpdateSet());
+				}
 			}
-		}
 
-		// now we have one nice algorithm set that we can update
-		if (tempSet1.size() > 0) {
-			final Iterator<AlgoElement> it = tempSet1.iterator();
-			while (it.hasNext()) {
-				final AlgoElement algo = it.next();
-				algo.update();
-			}
+			// now we have one nice algorithm set that we can update
+			union.updateAll();
+		} finally {
+			union.recycle();
 		}
-
 	}
 
 	/**
@@ -4345,15 +4332,11 @@ public abstract class GeoElement extends ConstructionElement
 	 * 
 	 * @param geos
 	 *            geos to be updated
-	 * 
-	 * @param tempSet2
-	 *            a temporary set that is used to collect all algorithms that
-	 *            need to be updated
 	 * @param lastAlgo
 	 *            stop cascade on this algo
 	 */
 	final static public void updateCascadeUntil(final ArrayList<?> geos,
-			final TreeSet<AlgoElement> tempSet2, final AlgoElement lastAlgo) {
+			final AlgoElement lastAlgo) {
 		// only one geo: call updateCascade()
 		if (geos.size() == 1) {
 			final ConstructionElement ce = (ConstructionElement) geos.get(0);
@@ -4364,38 +4347,30 @@ public abstract class GeoElement extends ConstructionElement
 		}
 
 		// build update set of all algorithms in construction element order
-		// clear temp set
-		tempSet2.clear();
-
-		final int size = geos.size();
-		for (int i = 0; i < size; i++) {
-			final ConstructionElement ce = (ConstructionElement) geos.get(i);
-			if (ce.isGeoElement()) {
-				final GeoElement geo = (GeoElement) geos.get(i);
-
-				geo.update();
-
-				if ((geo.isIndependent() || geo.isPointOnPath())
-						&& (geo.algoUpdateSet != null)) {
-					// add all dependent algos of geo to the overall algorithm
-					// set
-					geo.algoUpdateSet.addAllToCollection(tempSet2);
+		final AlgorithmSet.Union union = AlgorithmSet.Union.obtain();
+		try {
+			final int size = geos.size();
+			for (int i = 0; i < size; i++) {
+				final ConstructionElement ce = (ConstructionElement) geos
+						.get(i);
+				if (ce.isGeoElement()) {
+					final GeoElement geo = (GeoElement) geos.get(i);
+
+					geo.update();
+
+					if ((geo.isIndependent() || geo.isPointOnPath())
+							&& (geo.algoUpdateSet != null)) {
+						// add all dependent algos of geo to the overall
+						// algorithm set
+						union.addAll(geo.algoUpdateSet);
+					}
 				}
 			}
-		}
-
-		// now we have one nice algorithm set that we can update
-		if (tempSet2.size() > 0) {
-			final Iterator<AlgoElement> it = tempSet2.iterator();
-			while (it.hasNext()) {
-				final AlgoElement algo = it.next();
-
-				algo.update();
 
-				if (algo == lastAlgo) {
-					return;
-				}
-			}
+			// now we have one nice algorithm set that we can update
+			union.updateAllUntil(lastAlgo);
+		} finally {
+			union.recycle();
 		}
 	}
 
@@ -6845,16 +6820,6 @@ public abstract class GeoElement extends ConstructionElement
 	}
 
 
-	/**
-	 * @return temporary set of algoritms
-	 */
-	protected static TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null) {
-			tempSet = new TreeSet<>(algoComparator);
-		}
-		return tempSet;
-	}
-
 	/**
 	 * @param rwTransVec
 	 *            translation vector
@@ -6981,7 +6946,7 @@ public abstract class GeoElement extends ConstructionElement
 				tempMoveObjectList2 = new ArrayList<>();
 			}
 			tempMoveObjectList2.add(number);
-			updateCascade(tempMoveObjectList2, getTempSet(), false);
+			updateCascade(tempMoveObjectList2, false);
 		}
 	}
 
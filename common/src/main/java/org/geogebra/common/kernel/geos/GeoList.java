@@ -75,6 +75,12 @@ public class GeoList extends GeoElement
 	// so we keep a cacheList of all old list elements
 	private final ArrayList<GeoElementND> cacheList;
 
+	// numbers of this list before the elements are created, see
+	// setNumberValues
+	private double[] numberValues;
+	private boolean elementsPending = false;
+	private AlgoElement numberParent;
+
 	private boolean isDefined = true;
 	private boolean isDrawable = true;
 	private boolean drawAsComboBox = false;
@@ -194,6 +200,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public GeoList deepCopyGeo() {
+		materialize();
 		GeoList ret = new GeoList(cons);
 
 		for (int i = 0; i < geoList.size(); i++) {
@@ -247,9 +254,13 @@ public class GeoList extends GeoElement
 	}
 
 	private void copyListElements(final GeoList otherList) {
+		if (otherList.elementsPending) {
+			setNumberValues(otherList.numberValues, getParentAlgorithm());
+			return;
+		}
 		final int otherListSize = otherList.size();
 		ensureCapacity(otherListSize);
-		geoList.clear();
+		clear();
 
 		for (int i = 0; i < otherListSize; i++) {
 			final GeoElement otherElement = otherList.get(i);
@@ -575,6 +586,7 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public MyList getMyList() {
+		materialize();
 		final int size = geoList.size();
 		final MyList myList = new MyList(kernel, size);
 
@@ -595,11 +607,12 @@ public class GeoList extends GeoElement
 	 *            true to make this list defined
 	 */
 	public void setDefined(final boolean flag) {
-
 		isDefined = flag;
 
 		if (!isDefined) {
-
+			// only the elements need to be changed, pending numbers stay
+			// pending when the list becomes defined
+			materialize();
 			final int size = geoList.size();
 			for (int i = 0; i < size; i++) {
 				final GeoElement geo = geoList.get(i);
@@ -644,6 +657,9 @@ public class GeoList extends GeoElement
 	 */
 	public final void clear() {
 		geoList.clear();
+		elementsPending = false;
+		numberValues = null;
+		numberParent = null;
 	}
 
 	/**
@@ -670,6 +686,7 @@ public class GeoList extends GeoElement
 	 *            geo to be added
 	 */
 	public final void add(final GeoElementND geo) {
+		materialize();
 		// add geo to end of list
 		geoList.add(geo.toGeoElement());
 
@@ -733,6 +750,7 @@ public class GeoList extends GeoElement
 	 *            element to be removed
 	 */
 	public final void remove(final GeoElement geo) {
+		materialize();
 		geoList.remove(geo);
 
 	}
@@ -759,6 +777,7 @@ public class GeoList extends GeoElement
 	 *            position of element to be removed
 	 */
 	public final void remove(final int index) {
+		materialize();
 		geoList.remove(index);
 
 	}
@@ -771,6 +790,7 @@ public class GeoList extends GeoElement
 	 * @return the element at the specified position in this list.
 	 */
 	final public GeoElement get(final int index) {
+		materialize();
 		return geoList.get(index);
 	}
 
@@ -784,6 +804,7 @@ public class GeoList extends GeoElement
 	 * @return the element at the specified position in this (2D) list.
 	 */
 	final public GeoElement get(final int index, final int index2) {
+		materialize();
 		return ((GeoList) geoList.get(index)).get(index2);
 	}
 
@@ -794,6 +815,7 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public double[] toDouble(int offset) {
+		materialize();
 		int length = geoList.size();
 		try {
 			final double[] valueArray = new double[length - offset];
@@ -819,6 +841,9 @@ public class GeoList extends GeoElement
 
 	@Override
 	final public int size() {
+		if (elementsPending) {
+			return numberValues.length;
+		}
 		return geoList.size();
 	}
 
@@ -853,6 +878,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public String toStringMinimal(StringTemplate tpl) {
+		materialize();
 		sbBuildValueString.setLength(0);
 		if (!isDefined) {
 			sbBuildValueString.append("?");
@@ -884,6 +910,7 @@ public class GeoList extends GeoElement
 	}
 
 	private StringBuilder buildValueString(StringTemplate tpl) {
+		materialize();
 		sbBuildValueString.setLength(0);
 		if (!isDefined) {
 			sbBuildValueString.append("?");
@@ -1143,6 +1170,7 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	final public boolean isEqual(final GeoElementND geo) {
+		materialize();
 
 		if (!geo.isGeoList()) {
 			return false;
@@ -1156,7 +1184,7 @@ public class GeoList extends GeoElement
 		}
 
 		// check each element
-		for (int i = 0; i < list.geoList.size(); i++) {
+		for (int i = 0; i < list.size(); i++) {
 			final GeoElement geoA = geoList.get(i);
 			final GeoElement geoB = list.get(i);
 
@@ -1171,7 +1199,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public void setZero() {
-		geoList.clear();
+		clear();
 	}
 
 	@Override
@@ -1199,6 +1227,7 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public int getMinimumLineThickness() {
+		materialize();
 		if ((geoList == null) || (geoList.size() == 0)) {
 			return 1;
 		}
@@ -1289,6 +1318,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public double getAlphaValue() {
+		materialize();
 		if (super.getAlphaValue() == -1) {
 			// no alphaValue set
 			// so we need to set it to that of the first element, if there is
@@ -1353,6 +1383,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public boolean isFillable() {
+		materialize();
 		if ((geoList == null) || (geoList.size() == 0)) {
 			return false;
 		}
@@ -1375,6 +1406,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public GeoElement getGeoElementForPropertiesDialog() {
+		materialize();
 		if ((geoList.size() > 0) && (elementType != ELEMENT_TYPE_MIXED)) {
 			return get(0).getGeoElementForPropertiesDialog(); // getGeoElementForPropertiesDialog()
 			// to cope with
@@ -1585,6 +1617,7 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public boolean showLineProperties() {
+		materialize();
 		if (showAllProperties) {
 			return true;
 		}
@@ -1606,6 +1639,7 @@ public class GeoList extends GeoElement
 	 * @return true if all elements have point properties
 	 */
 	public boolean showPointProperties() {
+		materialize();
 		if (showAllProperties) {
 			return true;
 		}
@@ -1749,6 +1783,7 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public void pointChanged(final GeoPointND P) {
+		materialize();
 		// Application.debug("pointChanged",1);
 
 		P.updateCoords();
@@ -1815,6 +1850,7 @@ public class GeoList extends GeoElement
 	 *            point
 	 */
 	public void getNearestPoint(final GeoPointND p) {
+		materialize();
 		// Application.printStacktrace(p.inhomX+" "+p.inhomY);
 		double distance = Double.POSITIVE_INFINITY;
 		closestPointIndex = 0; // default - first object
@@ -1840,6 +1876,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public double distance(final GeoPoint p) {
+		materialize();
 		double distance = Double.POSITIVE_INFINITY;
 		for (int i = 0; i < geoList.size(); i++) {
 			final GeoElement geo = geoList.get(i);
@@ -1854,6 +1891,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public double distance(final GeoPointND p) {
+		materialize();
 		double distance = Double.POSITIVE_INFINITY;
 		for (int i = 0; i < geoList.size(); i++) {
 			final GeoElement geo = geoList.get(i);
@@ -1946,6 +1984,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public boolean isOnPath(final GeoPointND PI, final double eps) {
+		materialize();
 		// Application.debug("isOnPath",1);
 		for (int i = 0; i < geoList.size(); i++) {
 			final GeoElement geo = geoList.get(i);
@@ -1963,6 +2002,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public double getMaxParameter() {
+		materialize();
 		return geoList.size();
 	}
 
@@ -1984,6 +2024,7 @@ public class GeoList extends GeoElement
 	@Override
 	public boolean hasMoveableInputPoints(
 			final EuclidianViewInterfaceSlim view) {
+		materialize();
 		// we don't want e.g. DotPlots to be dragged
 		if (!((getParentAlgorithm() == null)
 				|| (getParentAlgorithm() instanceof AlgoDependentList))) {
@@ -2014,6 +2055,7 @@ public class GeoList extends GeoElement
 	@Override
 	public ArrayList<GeoPointND> getFreeInputPoints(
 			final EuclidianViewInterfaceSlim view) {
+		materialize();
 		final ArrayList<GeoPointND> al = new ArrayList<>();
 
 		for (int i = 0; i < geoList.size(); i++) {
@@ -2106,6 +2148,7 @@ public class GeoList extends GeoElement
 	 * @return true if the list contains given geo
 	 */
 	public boolean listContains(final GeoElement geo) {
+		materialize();
 		if (geoList == null) {
 			return true;
 		}
@@ -2114,6 +2157,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public boolean isLaTeXDrawableGeo() {
+		materialize();
 		if (size() == 0) {
 			return false;
 		}
@@ -2143,6 +2187,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public void updateColumnHeadingsForTraceValues() {
+		materialize();
 
 		resetSpreadsheetColumnHeadings();
 
@@ -2226,6 +2271,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public TraceModesEnum getTraceModes() {
+		materialize();
 
 		if (traceModes != null) {
 			return traceModes;
@@ -2250,6 +2296,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public String getTraceDialogAsValues() {
+		materialize();
 
 		StringBuilder sb = new StringBuilder();
 
@@ -2279,6 +2326,7 @@ public class GeoList extends GeoElement
 	@Override
 	public void addToSpreadsheetTraceList(
 			ArrayList<GeoNumeric> spreadsheetTraceList) {
+		materialize();
 
 		for (int i = 0; i < geoList.size(); i++) {
 			final GeoElement geo = geoList.get(i);
@@ -2321,6 +2369,7 @@ public class GeoList extends GeoElement
 	 * @return position of needle in this list or -1 when not found
 	 */
 	public int find(GeoElement needle) {
+		materialize();
 		return geoList.indexOf(needle);
 	}
 
@@ -2647,6 +2696,7 @@ public class GeoList extends GeoElement
 	 * @return true if this list contains a 3D geo
 	 */
 	public boolean containsGeoElement3D() {
+		materialize();
 		for (GeoElement geo : geoList) {
 			boolean contains = false;
 			if (geo.isGeoList()) {
@@ -2664,6 +2714,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	final public Coords getMainDirection() {
+		materialize();
 		if (geoList.size() <= closestPointIndex) {
 			return Coords.VX;
 		}
@@ -2867,6 +2918,7 @@ public class GeoList extends GeoElement
 	 *            sequence variable that should be replaced by its free copy
 	 */
 	public void replaceChildrenByValues(GeoElement vars) {
+		materialize();
 		if (this.elementType != GeoClass.FUNCTION
 				&& this.elementType != GeoClass.CURVE_CARTESIAN
 				&& this.elementType != GeoClass.CURVE_CARTESIAN3D
@@ -2917,7 +2969,7 @@ public class GeoList extends GeoElement
 	 */
 	public void addNumber(double value, AlgoElement parent) {
 		GeoNumeric listElement;
-		if (size() < getCacheSize()) {
+		if (size() < getCacheSize() && getCached(size()) instanceof GeoNumeric) {
 			// use existing list element
 			listElement = (GeoNumeric) getCached(size());
 		} else {
@@ -2932,6 +2984,107 @@ public class GeoList extends GeoElement
 		listElement.setValue(value);
 	}
 
+	/**
+	 * Replaces the content of this list by numbers. The GeoNumeric elements
+	 * are only created when some element is needed, algos that just need the
+	 * values should use {@link #getNumberValues()}.
+	 * 
+	 * @param values
+	 *            values, must not be modified afterwards
+	 * @param parent
+	 *            parent algo of the elements
+	 */
+	public void setNumberValues(double[] values, AlgoElement parent) {
+		clear();
+		if (values.length == 0) {
+			return;
+		}
+		numberValues = values;
+		numberParent = parent;
+		elementsPending = true;
+		isDrawable = false;
+		elementType = GeoClass.NUMERIC;
+		setTypeStringForXML("numeric");
+	}
+
+	/**
+	 * @return values of all elements if they are all numbers, null otherwise;
+	 *         the array must not be modified
+	 */
+	public double[] getNumberValues() {
+		if (elementsPending) {
+			return numberValues;
+		}
+		final int size = geoList.size();
+		final double[] values = new double[size];
+		for (int i = 0; i < size; i++) {
+			final GeoElement geo = geoList.get(i);
+			if (!(geo instanceof NumberValue)) {
+				return null;
+			}
+			values[i] = geo.evaluateDouble();
+		}
+		return values;
+	}
+
+	/**
+	 * @return whether all elements are unlabeled GeoNumerics (no angles, no
+	 *         sliders), so they may be replaced by numbers with the same value
+	 */
+	public boolean isPlainNumberList() {
+		if (elementsPending) {
+			return true;
+		}
+		if (elementType != GeoClass.NUMERIC) {
+			return false;
+		}
+		for (int i = 0; i < geoList.size(); i++) {
+			final GeoElement geo = geoList.get(i);
+			if (geo.getClass() != GeoNumeric.class || geo.isLabelSet()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return interleaved coordinates x0, y0, x1, y1, ... if all elements are
+	 *         2D points, null otherwise
+	 */
+	public double[] getPointCoords() {
+		materialize();
+		final int size = geoList.size();
+		final double[] coords = new double[2 * size];
+		for (int i = 0; i < size; i++) {
+			final GeoElement geo = geoList.get(i);
+			if (!(geo instanceof GeoPoint)) {
+				return null;
+			}
+			final GeoPoint point = (GeoPoint) geo;
+			coords[2 * i] = point.getInhomX();
+			coords[2 * i + 1] = point.getInhomY();
+		}
+		return coords;
+	}
+
+	/**
+	 * Creates the elements of a list filled by
+	 * {@link #setNumberValues(double[], AlgoElement)}
+	 */
+	private void materialize() {
+		if (!elementsPending) {
+			return;
+		}
+		final double[] values = numberValues;
+		elementsPending = false;
+		ensureCapacity(values.length);
+		for (int i = 0; i < values.length; i++) {
+			addNumber(values[i], numberParent);
+		}
+		numberValues = null;
+		numberParent = null;
+	}
+
 	/**
 	 * Add point to the end, use cache if possible. Assumes all cached elements
 	 * are points.
@@ -3062,6 +3215,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public DescriptionMode needToShowBothRowsInAV() {
+		materialize();
 		if (isMatrix() && isIndependent()) {
 			return DescriptionMode.VALUE;
 		}
@@ -3131,6 +3285,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public void resetDefinition() {
+		materialize();
 		super.resetDefinition();
 		for (int i = 0; i < size(); i++) {
 			this.geoList.get(i).resetDefinition();
@@ -3178,6 +3333,7 @@ public class GeoList extends GeoElement
 	 *            new element
 	 */
 	public void setListElement(int i, GeoElement element) {
+		materialize();
 		this.geoList.set(i, element);
 		this.applyVisualStyle(element);
 		// this.elementType = element.getGeoClassType();
@@ -16,6 +16,7 @@ import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.PathMover;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.TaskRunner;
 import org.geogebra.common.kernel.Matrix.CoordSys;
 import org.geogebra.common.kernel.Matrix.Coords;
 import org.geogebra.common.kernel.algos.AlgoElement;
@@ -757,6 +758,28 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 		return ds.length > i ? ds[i] : 0;
 	}
 
+	/**
+	 * @return number of curve and gradient evaluations for the last path
+	 *         update
+	 */
+	public int getPlotEvaluationCount() {
+		return quadTree.evaluations;
+	}
+
+	/**
+	 * @return number of grid corners reused from the previous path update
+	 */
+	public int getPlotReusedCornerCount() {
+		return quadTree.reusedCorners;
+	}
+
+	/**
+	 * @return number of grid cells reused from the previous path update
+	 */
+	public int getPlotReusedCellCount() {
+		return quadTree.plottedCells - quadTree.computedCells;
+	}
+
 	private void updatePathQuadTree(double x, double y, double w, double h,
 			double scaleX, double scaleY) {
 		locus.getPoints().clear();
@@ -1631,12 +1654,17 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 	private class WebExperimentalQuadTree extends QuadTree {
 		private static final int RES_COARSE = 8;
 		private static final int MAX_SPLIT = 40;
+		/** minimal number of cells to plot them on several threads */
+		private static final int MIN_PARALLEL_CELLS = 16;
+		private static final int CELLS_PER_TASK = 8;
 		private int plotDepth;
 		private int segmentCheckDepth;
 		private int sw;
 		private int sh;
 		private Rect[][] grid;
-		private Rect temp;
+		private CellPlot[][] cells;
+		private final Scratch scratch = new Scratch();
+		private final ArrayList<QuadTreeCache> caches = new ArrayList<>();
 		private Timer timer = Timer.newTimer();
 
 		public WebExperimentalQuadTree() {
@@ -1645,20 +1673,37 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 
 		@Override
 		public void updatePath() {
+			evaluations = 0;
+			reusedCorners = 0;
+			plottedCells = 0;
+			computedCells = 0;
+			while (caches.size() > factorLength()) {
+				caches.remove(caches.size() - 1);
+			}
 			for (int factor = 0; factor < factorLength(); ++factor) {
 				try {
 					evaluateImplicitCurve(0, 0, factor);
 				} catch (Throwable e) {
 					continue;
 				}
-				this.sw = Math.min(MAX_SPLIT, (int) (w * scaleX / RES_COARSE));
-				this.sh = Math.min(MAX_SPLIT, (int) (h * scaleY / RES_COARSE));
-				if (sw == 0 || sh == 0) {
+				int cols = Math.min(MAX_SPLIT, (int) (w * scaleX / RES_COARSE));
+				int rows = Math.min(MAX_SPLIT, (int) (h * scaleY / RES_COARSE));
+				if (cols == 0 || rows == 0) {
 					return;
 				}
 
+				// align the grid to multiples of the cell size, so that
+				// corners and cells stay the same when the view is moved
+				double frx = cellSize(w / cols);
+				double fry = cellSize(h / rows);
+				double column0 = Math.floor(x / frx);
+				double row0 = Math.floor(y / fry);
+				this.sw = (int) (Math.ceil((x + w) / frx) - column0);
+				this.sh = (int) (Math.ceil((y + h) / fry) - row0);
+
 				if (grid == null || grid.length != sh || grid[0].length != sw) {
 					this.grid = new Rect[sh][sw];
+					this.cells = new CellPlot[sh][sw];
 					for (int i = 0; i < sh; i++) {
 						for (int j = 0; j < sw; j++) {
 							this.grid[i][j] = new Rect();
@@ -1666,12 +1711,8 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 					}
 				}
 
-				if (temp == null) {
-					temp = new Rect();
-				}
-
-				double frx = w / sw;
-				double fry = h / sh;
+				QuadTreeCache cache = getCache(factor, frx, fry, column0,
+						row0);
 
 				double[] vertices = new double[sw + 1];
 				double[] xcoords = new double[sw + 1];
@@ -1679,16 +1720,16 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 				double cur, prev;
 
 				for (int i = 0; i <= sw; i++) {
-					xcoords[i] = x + i * frx;
+					xcoords[i] = (column0 + i) * frx;
 				}
 
 				for (int i = 0; i <= sh; i++) {
-					ycoords[i] = y + i * fry;
+					ycoords[i] = (row0 + i) * fry;
 				}
 
 				for (int i = 0; i <= sw; i++) {
-					vertices[i] = evaluateImplicitCurve(xcoords[i], ycoords[0],
-							factor);
+					vertices[i] = evaluateCorner(cache, column0 + i, row0,
+							xcoords[i], ycoords[0], factor);
 				}
 
 				// initialize grid configuration at the search depth
@@ -1697,17 +1738,35 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 				// debug = true;
 				timer.reset();
 				for (i = 1; i <= sh; i++) {
-					prev = evaluateImplicitCurve(xcoords[0], ycoords[i],
-							factor);
+					prev = evaluateCorner(cache, column0, row0 + i,
+							xcoords[0], ycoords[i], factor);
 					fy = ycoords[i] - 0.5 * fry;
 					for (j = 1; j <= sw; j++) {
-						cur = evaluateImplicitCurve(xcoords[j], ycoords[i],
-								factor);
+						cur = evaluateCorner(cache, column0 + j, row0 + i,
+								xcoords[j], ycoords[i], factor);
 						Rect rect = this.grid[i - 1][j - 1];
 						if (rect == null) {
 							continue;
 						}
-						rect.set(j - 1, i - 1, frx, fry, false);
+						CellPlot cell = cache == null ? null
+								: cache.getCell(column0 + j - 1, row0 + i - 1);
+						if (cell == null) {
+							cell = cache == null && cells[i - 1][j - 1] != null
+									? cells[i - 1][j - 1] : new CellPlot();
+							cell.reset(-1, -1);
+							fx = xcoords[j] - 0.5 * frx;
+							dx = derivativeX(fx, fy);
+							dy = derivativeY(fx, fy);
+							dx = Math.abs(dx) + Math.abs(dy);
+							evaluations += 2;
+							cell.singular = Kernel.isZero(dx, 0.001);
+							if (cache != null) {
+								cache.putCell(column0 + j - 1, row0 + i - 1,
+										cell);
+							}
+						}
+						cells[i - 1][j - 1] = cell;
+						rect.set(j - 1, i - 1, frx, fry, cell.singular);
 						rect.coords.val[0] = xcoords[j - 1];
 						rect.coords.val[1] = ycoords[i - 1];
 						rect.evals[0] = vertices[j - 1];
@@ -1716,13 +1775,6 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 						rect.evals[3] = prev;
 						rect.status = edgeConfig(rect);
 						rect.shares = 0xff;
-						fx = xcoords[j] - 0.5 * frx;
-						dx = derivativeX(fx, fy);
-						dy = derivativeY(fx, fy);
-						dx = Math.abs(dx) + Math.abs(dy);
-						if (Kernel.isZero(dx, 0.001)) {
-							rect.singular = true;
-						}
 						this.grid[i - 1][j - 1] = rect;
 						vertices[j - 1] = prev;
 						prev = cur;
@@ -1744,12 +1796,22 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 					LIST_THRESHOLD = 24;
 				}
 
+				ArrayList<Rect> pending = new ArrayList<>();
 				for (i = 0; i < sh; i++) {
 					for (j = 0; j < sw; j++) {
 						if (grid[i][j] != null && !grid[i][j].singular
 								&& grid[i][j].status != EMPTY) {
-							temp.set(grid[i][j]);
-							plot(temp, 0, factor);
+							pending.add(grid[i][j]);
+						}
+					}
+				}
+				plotCells(pending, factor);
+
+				for (i = 0; i < sh; i++) {
+					for (j = 0; j < sw; j++) {
+						if (grid[i][j] != null && !grid[i][j].singular
+								&& grid[i][j].status != EMPTY) {
+							addCell(grid[i][j], factor);
 							grid[i][j].status = FINISHED;
 						}
 					}
@@ -1767,13 +1829,23 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 					segmentCheckDepth -= 1;
 				}
 
+				pending.clear();
+				for (i = 0; i < sh; i++) {
+					for (j = 0; j < sw; j++) {
+						if (grid[i][j] != null && grid[i][j].singular
+								&& grid[i][j].status != FINISHED) {
+							pending.add(grid[i][j]);
+						}
+					}
+				}
+				plotCells(pending, factor);
+
 				for (int k = 0; k < 4; k++) {
 					for (i = 0; i < sh; i++) {
 						for (j = 0; j < sw; j++) {
 							if (grid[i][j] != null && grid[i][j].singular
 									&& grid[i][j].status != FINISHED) {
-								temp.set(grid[i][j]);
-								plot(temp, 0, factor);
+								addCell(grid[i][j], factor);
 								grid[i][j].status = FINISHED;
 							}
 						}
@@ -1782,47 +1854,177 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 			}
 		}
 
+		/**
+		 * @param size
+		 *            preferred cell size
+		 * @return power of 2^(1/4) closest to the preferred size (at most 9%
+		 *         off), so that small zooming keeps the grid
+		 */
+		private double cellSize(double size) {
+			double exponent = 4 * Math.log(size) / Math.log(2);
+			return Math.pow(2, Math.round(exponent) / 4.0);
+		}
+
+		private QuadTreeCache getCache(int factor, double frx, double fry,
+				double column0, double row0) {
+			// only polynomial curves can be compared cheaply
+			if (coeff == null || coeffSquarefree == null
+					|| !QuadTreeCache.isValid(column0, row0)
+					|| !QuadTreeCache.isValid(column0 + sw, row0 + sh)) {
+				return null;
+			}
+			while (caches.size() <= factor) {
+				caches.add(new QuadTreeCache());
+			}
+			QuadTreeCache cache = caches.get(factor);
+			cache.start(coeff, coeffSquarefree[factor], frx, fry);
+			return cache;
+		}
+
+		private double evaluateCorner(QuadTreeCache cache, double column,
+				double row, double px, double py, int factor) {
+			if (cache != null) {
+				Double cached = cache.getCorner(column, row);
+				if (cached != null) {
+					reusedCorners++;
+					return cached;
+				}
+			}
+			double value = evaluateImplicitCurve(px, py, factor);
+			evaluations++;
+			if (cache != null) {
+				cache.putCorner(column, row, value);
+			}
+			return value;
+		}
+
+		/**
+		 * Plots the cells that are not known from the last update, on
+		 * several threads for polynomial curves if the kernel has a task
+		 * runner
+		 * 
+		 * @param rects
+		 *            grid cells
+		 * @param factor
+		 *            factor of the curve
+		 */
+		private void plotCells(List<Rect> rects, final int factor) {
+			final ArrayList<Rect> todo = new ArrayList<>();
+			for (Rect rect : rects) {
+				if (!cells[rect.y][rect.x].isPlotted(plotDepth,
+						segmentCheckDepth)) {
+					todo.add(rect);
+				}
+			}
+			TaskRunner runner = kernel.getTaskRunner();
+			boolean done = false;
+			if (runner != null && coeffSquarefree != null
+					&& todo.size() >= MIN_PARALLEL_CELLS) {
+				ArrayList<Runnable> tasks = new ArrayList<>();
+				for (int i = 0; i < todo.size(); i += CELLS_PER_TASK) {
+					final int from = i;
+					final int to = Math.min(todo.size(), i + CELLS_PER_TASK);
+					tasks.add(new Runnable() {
+						@Override
+						public void run() {
+							Scratch taskScratch = new Scratch();
+							for (int k = from; k < to; k++) {
+								Rect rect = todo.get(k);
+								plotCell(rect, cells[rect.y][rect.x], factor,
+										taskScratch);
+							}
+						}
+					});
+				}
+				done = runner.runAll(tasks);
+			}
+			for (Rect rect : todo) {
+				CellPlot cell = cells[rect.y][rect.x];
+				if (!done) {
+					plotCell(rect, cell, factor, scratch);
+				}
+				evaluations += cell.evaluations;
+				computedCells++;
+			}
+		}
+
+		/**
+		 * Adds segments of a cell to the path and marks the neighbours to
+		 * be plotted; plots the cell first if needed
+		 * 
+		 * @param rect
+		 *            grid cell
+		 * @param factor
+		 *            factor of the curve
+		 */
+		private void addCell(Rect rect, int factor) {
+			CellPlot cell = cells[rect.y][rect.x];
+			if (!cell.isPlotted(plotDepth, segmentCheckDepth)) {
+				plotCell(rect, cell, factor, scratch);
+				evaluations += cell.evaluations;
+				computedCells++;
+			}
+			plottedCells++;
+			addSegments(cell);
+			int marks = cell.marks;
+			if (rect.x != 0 && (marks & 0x1) != 0) {
+				nonempty(rect.y, rect.x - 1);
+			}
+			if (rect.x + 1 != sw && (marks & 0x4) != 0) {
+				nonempty(rect.y, rect.x + 1);
+			}
+			if (rect.y != 0 && (marks & 0x8) != 0) {
+				nonempty(rect.y - 1, rect.x);
+			}
+			if (rect.y + 1 != sh && (marks & 0x2) != 0) {
+				nonempty(rect.y + 1, rect.x);
+			}
+		}
 
+		/**
+		 * Computes segments of a grid cell; only reads the grid, so it may
+		 * run concurrently for polynomial curves
+		 */
+		private void plotCell(Rect rect, CellPlot cell, int factor,
+				Scratch s) {
+			cell.reset(plotDepth, segmentCheckDepth);
+			s.evaluations = 0;
+			s.rect.set(rect);
+			plot(s.rect, 0, factor, cell, s);
+			cell.evaluations = s.evaluations;
+		}
 
-		public void createTree(Rect r, int depth, int factor) {
+		public void createTree(Rect r, int depth, int factor, CellPlot cell,
+				Scratch s) {
 			Rect[] n = r.split(GeoImplicitCurve.this, factor);
-			plot(n[0], depth, factor);
-			plot(n[1], depth, factor);
-			plot(n[2], depth, factor);
-			plot(n[3], depth, factor);
+			s.evaluations += 5;
+			plot(n[0], depth, factor, cell, s);
+			plot(n[1], depth, factor, cell, s);
+			plot(n[2], depth, factor, cell, s);
+			plot(n[3], depth, factor, cell, s);
 		}
 
-		public void plot(Rect r, int depth, int factor) {
+		public void plot(Rect r, int depth, int factor, CellPlot cell,
+				Scratch s) {
 			if (depth < segmentCheckDepth) {
-				createTree(r, depth + 1, factor);
+				createTree(r, depth + 1, factor, cell, s);
 				return;
 			}
 			int e = edgeConfig(r);
-			if (grid[r.y][r.x] == null) {
-				Log.warn("Grid for implicit plotting is null");
-			}
-			if (grid[r.y][r.x] != null && grid[r.y][r.x].singular
-					|| e != EMPTY) {
+			if (cell.singular || e != EMPTY) {
 				if (depth >= plotDepth) {
-					if (addSegment(r, factor) == T0101) {
-						createTree(r, depth + 1, factor);
+					int status = createSegment(r, factor, s);
+					if (status == T0101) {
+						createTree(r, depth + 1, factor, cell, s);
 						return;
 					}
-					if (r.x != 0 && (e & r.shares & 0x1) != 0) {
-						nonempty(r.y, r.x - 1);
-
-					}
-					if (r.x + 1 != sw && (e & r.shares & 0x4) != 0) {
-						nonempty(r.y, r.x + 1);
-					}
-					if (r.y != 0 && (e & r.shares & 0x8) != 0) {
-						nonempty(r.y - 1, r.x);
-					}
-					if (r.y + 1 != sh && (e & r.shares & 0x2) != 0) {
-						nonempty(r.y + 1, r.x);
+					if (status == VALID) {
+						cell.addSegment(s.segment);
 					}
+					// neighbours are marked when the cell is added
+					cell.marks |= e & r.shares;
 				} else {
-					createTree(r, depth + 1, factor);
+					createTree(r, depth + 1, factor, cell, s);
 				}
 			}
 		}
@@ -80,6 +80,14 @@ abstract class QuadTree {
 	protected double scaleX;
 	protected double scaleY;
 	protected ArrayList<MyPoint> locusPoints;
+	/** number of curve and gradient evaluations in last update */
+	int evaluations;
+	/** number of grid corners reused in last update */
+	int reusedCorners;
+	/** number of grid cells added to the path in last update */
+	int plottedCells;
+	/** number of grid cells computed in last update */
+	int computedCells;
 	private LinkedList<PointList> openList = new LinkedList<>();
 	private MyPoint[] pts = new MyPoint[2];
 	private PointList p1, p2;
@@ -132,51 +140,79 @@ abstract class QuadTree {
 				&& Kernel.isEqual(q1.y, q2.y, 1e-10);
 	}
 
-	public int addSegment(Rect r, int factor) {
-		int status = createSegment(r, factor);
-		if (status == VALID) {
-			if (pts[0].x > pts[1].x) {
-				temp = pts[0];
-				pts[0] = pts[1];
-				pts[1] = temp;
-			}
-			itr1 = openList.listIterator();
-			itr2 = openList.listIterator();
-			boolean flag1 = false, flag2 = false;
-			while (itr1.hasNext()) {
-				p1 = itr1.next();
-				if (equal(pts[1], p1.start)) {
-					flag1 = true;
-					break;
-				}
-			}
+	/**
+	 * Adds the segments of a plotted cell to the open point lists
+	 * 
+	 * @param cell
+	 *            plotted cell
+	 */
+	public void addSegments(CellPlot cell) {
+		double[] segments = cell.segments;
+		for (int i = 0; i < cell.size; i += 4) {
+			insertSegment(
+					new MyPoint(segments[i], segments[i + 1],
+							SegmentType.MOVE_TO),
+					new MyPoint(segments[i + 2], segments[i + 3],
+							SegmentType.LINE_TO));
+		}
+	}
 
-			while (itr2.hasNext()) {
-				p2 = itr2.next();
-				if (equal(pts[0], p2.end)) {
-					flag2 = true;
-					break;
-				}
+	private void insertSegment(MyPoint start, MyPoint end) {
+		pts[0] = start;
+		pts[1] = end;
+		if (pts[0].x > pts[1].x) {
+			temp = pts[0];
+			pts[0] = pts[1];
+			pts[1] = temp;
+		}
+		itr1 = openList.listIterator();
+		itr2 = openList.listIterator();
+		boolean flag1 = false, flag2 = false;
+		while (itr1.hasNext()) {
+			p1 = itr1.next();
+			if (equal(pts[1], p1.start)) {
+				flag1 = true;
+				break;
 			}
+		}
 
-			if (flag1 && flag2) {
-				itr1.remove();
-				p2.mergeTo(p1);
-			} else if (flag1) {
-				p1.extendBack(pts[0]);
-			} else if (flag2) {
-				p2.extendFront(pts[1]);
-			} else {
-				openList.addFirst(new PointList(pts[0], pts[1]));
-			}
-			if (openList.size() > LIST_THRESHOLD) {
-				abortList();
+		while (itr2.hasNext()) {
+			p2 = itr2.next();
+			if (equal(pts[0], p2.end)) {
+				flag2 = true;
+				break;
 			}
 		}
-		return status;
+
+		if (flag1 && flag2) {
+			itr1.remove();
+			p2.mergeTo(p1);
+		} else if (flag1) {
+			p1.extendBack(pts[0]);
+		} else if (flag2) {
+			p2.extendFront(pts[1]);
+		} else {
+			openList.addFirst(new PointList(pts[0], pts[1]));
+		}
+		if (openList.size() > LIST_THRESHOLD) {
+			abortList();
+		}
 	}
 
-	public int createSegment(Rect r, int factor) {
+	/**
+	 * Computes the segment of the curve in a rectangle; only reads shared
+	 * state, so it may run concurrently for polynomial curves
+	 * 
+	 * @param r
+	 *            rectangle
+	 * @param factor
+	 *            factor of the curve
+	 * @param scratch
+	 *            working data of current thread, gets the segment end points
+	 * @return VALID if a segment was found, T0101 if the rectangle needs to
+	 *         be split
+	 */
+	public int createSegment(Rect r, int factor, Scratch scratch) {
 		int gridType = config(r);
 		if (gridType == T0101 || gridType == T_INV) {
 			return gridType;
@@ -186,66 +222,61 @@ abstract class QuadTree {
 		double tl = r.evals[0], tr = r.evals[1], br = r.evals[2],
 				bl = r.evals[3];
 		double q1 = 0.0, q2 = 0.0;
+		double[] seg = scratch.segment;
 
 		switch (gridType) {
 		// one or three corners are inside / outside
 		case T0001:
-			pts[0] = new MyPoint(x1,
- GeoImplicitCurve.interpolate(bl, tl, y2,
-					y1), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(bl, br, x1, x2),
-					y2, SegmentType.LINE_TO);
+			seg[0] = x1;
+			seg[1] = GeoImplicitCurve.interpolate(bl, tl, y2, y1);
+			seg[2] = GeoImplicitCurve.interpolate(bl, br, x1, x2);
+			seg[3] = y2;
 			q1 = minAbs(bl, tl);
 			q2 = minAbs(bl, br);
 			break;
 
 		case T0010:
-			pts[0] = new MyPoint(x2,
- GeoImplicitCurve.interpolate(br, tr, y2,
-					y1), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(br, bl, x2, x1),
-					y2, SegmentType.LINE_TO);
+			seg[0] = x2;
+			seg[1] = GeoImplicitCurve.interpolate(br, tr, y2, y1);
+			seg[2] = GeoImplicitCurve.interpolate(br, bl, x2, x1);
+			seg[3] = y2;
 			q1 = minAbs(br, tr);
 			q2 = minAbs(br, bl);
 			break;
 
 		case T0100:
-			pts[0] = new MyPoint(x2,
- GeoImplicitCurve.interpolate(tr, br, y1,
-					y2), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(tr, tl, x2, x1),
-					y1, SegmentType.LINE_TO);
+			seg[0] = x2;
+			seg[1] = GeoImplicitCurve.interpolate(tr, br, y1, y2);
+			seg[2] = GeoImplicitCurve.interpolate(tr, tl, x2, x1);
+			seg[3] = y1;
 			q1 = minAbs(tr, br);
 			q2 = minAbs(tr, tl);
 			break;
 
 		case T0111:
-			pts[0] = new MyPoint(x1,
- GeoImplicitCurve.interpolate(tl, bl, y1,
-					y2), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(tl, tr, x1, x2),
-					y1, SegmentType.LINE_TO);
+			seg[0] = x1;
+			seg[1] = GeoImplicitCurve.interpolate(tl, bl, y1, y2);
+			seg[2] = GeoImplicitCurve.interpolate(tl, tr, x1, x2);
+			seg[3] = y1;
 			q1 = minAbs(bl, tl);
 			q2 = minAbs(tl, tr);
 			break;
 
 		// two consecutive corners are inside / outside
 		case T0011:
-			pts[0] = new MyPoint(x1,
- GeoImplicitCurve.interpolate(tl, bl, y1,
-					y2), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(x2,
- GeoImplicitCurve.interpolate(tr, br, y1,
-					y2), SegmentType.LINE_TO);
+			seg[0] = x1;
+			seg[1] = GeoImplicitCurve.interpolate(tl, bl, y1, y2);
+			seg[2] = x2;
+			seg[3] = GeoImplicitCurve.interpolate(tr, br, y1, y2);
 			q1 = minAbs(tl, bl);
 			q2 = minAbs(tr, br);
 			break;
 
 		case T0110:
-			pts[0] = new MyPoint(GeoImplicitCurve.interpolate(tl, tr, x1, x2),
-					y1, SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(bl, br, x1, x2),
-					y2, SegmentType.LINE_TO);
+			seg[0] = GeoImplicitCurve.interpolate(tl, tr, x1, x2);
+			seg[1] = y1;
+			seg[2] = GeoImplicitCurve.interpolate(bl, br, x1, x2);
+			seg[3] = y2;
 			q1 = minAbs(tl, tr);
 			q2 = minAbs(bl, br);
 			break;
@@ -254,9 +285,10 @@ abstract class QuadTree {
 		}
 		// check continuity of the function between P1 and P2
 		double p = Math.abs(this.geoImplicitCurve
-				.evaluateImplicitCurve(pts[0].x, pts[0].y, factor));
+				.evaluateImplicitCurve(seg[0], seg[1], factor));
 		double q = Math.abs(this.geoImplicitCurve
-				.evaluateImplicitCurve(pts[1].x, pts[1].y, factor));
+				.evaluateImplicitCurve(seg[2], seg[3], factor));
+		scratch.evaluations += 2;
 		if ((p <= q1 && q <= q2)) {
 			return VALID;
 		}
@@ -340,6 +372,82 @@ abstract class QuadTree {
 
 	public abstract void updatePath();
 
+	/**
+	 * Working data for plotting grid cells, one instance per thread
+	 */
+	static class Scratch {
+		/** copy of the plotted grid cell, root of the subdivision */
+		final Rect rect = new Rect();
+		/** end points {x1, y1, x2, y2} of the last created segment */
+		final double[] segment = new double[4];
+		/** number of curve evaluations */
+		int evaluations;
+	}
+
+	/**
+	 * Result of plotting one grid cell: segments and neighbours that need to
+	 * be plotted too. Only depends on the curve, the cell position and the
+	 * plot depths, so it can be kept while the view moves.
+	 */
+	static class CellPlot {
+		/** whether the gradient vanishes in the middle of the cell */
+		boolean singular;
+		/** segment end points, 4 coordinates per segment */
+		double[] segments = new double[8];
+		/** number of used coordinates */
+		int size;
+		/** edges shared with neighbours to be plotted, as in edgeConfig */
+		int marks;
+		/** number of curve evaluations needed for the plot */
+		int evaluations;
+		private int plotDepth = -1;
+		private int segmentCheckDepth = -1;
+
+		/**
+		 * @param depth
+		 *            plot depth
+		 * @param checkDepth
+		 *            segment check depth
+		 * @return whether the cell was plotted with given depths
+		 */
+		boolean isPlotted(int depth, int checkDepth) {
+			return plotDepth == depth && segmentCheckDepth == checkDepth;
+		}
+
+		/**
+		 * Forgets segments before plotting the cell
+		 * 
+		 * @param depth
+		 *            plot depth
+		 * @param checkDepth
+		 *            segment check depth
+		 */
+		void reset(int depth, int checkDepth) {
+			plotDepth = depth;
+			segmentCheckDepth = checkDepth;
+			size = 0;
+			marks = 0;
+			evaluations = 0;
+		}
+
+		/**
+		 * @param segment
+		 *            end points {x1, y1, x2, y2}
+		 */
+		void addSegment(double[] segment) {
+			if (size + 4 > segments.length) {
+				double[] grown = new double[2 * segments.length];
+				for (int i = 0; i < size; i++) {
+					grown[i] = segments[i];
+				}
+				segments = grown;
+			}
+			for (int i = 0; i < 4; i++) {
+				segments[size++] = segment[i];
+			}
+		}
+	}
+
 	static class PointList {
 		MyPoint start;
 		MyPoint end;
@@ -0,0 +1,150 @@
+package org.geogebra.common.kernel.implicit;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.geogebra.common.kernel.implicit.QuadTree.CellPlot;
+
+/**
+ * Corner values and plotted cells of one factor of a polynomial curve, kept
+ * from one plot to the next. The plot grid is aligned to multiples of the
+ * cell size, so after panning (or zooming by a small amount) most grid
+ * corners and cells are the same as before. Entries are keyed by their
+ * position in the infinite grid; only the ones used by the last plot are
+ * kept.
+ */
+class QuadTreeCache {
+
+	/** grid positions must fit into an int */
+	private static final double MAX_INDEX = 1 << 30;
+
+	private double[][] coeff;
+	private double[][] factorCoeff;
+	private double cellWidth;
+	private double cellHeight;
+
+	private HashMap<Long, Double> lastCorners = new HashMap<>();
+	private HashMap<Long, Double> corners = new HashMap<>();
+	private HashMap<Long, CellPlot> lastCells = new HashMap<>();
+	private HashMap<Long, CellPlot> cells = new HashMap<>();
+
+	/**
+	 * Starts a new plot, entries of the previous plot may be reused if the
+	 * curve and the cell size did not change
+	 *
+	 * @param curveCoeff
+	 *            coefficients of the curve (used for gradients)
+	 * @param curveFactorCoeff
+	 *            coefficients of the plotted factor
+	 * @param width
+	 *            cell width
+	 * @param height
+	 *            cell height
+	 */
+	void start(double[][] curveCoeff, double[][] curveFactorCoeff,
+			double width, double height) {
+		if (width != cellWidth || height != cellHeight
+				|| !Arrays.deepEquals(curveCoeff, coeff)
+				|| !Arrays.deepEquals(curveFactorCoeff, factorCoeff)) {
+			coeff = copy(curveCoeff);
+			factorCoeff = copy(curveFactorCoeff);
+			cellWidth = width;
+			cellHeight = height;
+			corners.clear();
+			cells.clear();
+		}
+		HashMap<Long, Double> swapCorners = lastCorners;
+		lastCorners = corners;
+		corners = swapCorners;
+		corners.clear();
+		HashMap<Long, CellPlot> swapCells = lastCells;
+		lastCells = cells;
+		cells = swapCells;
+		cells.clear();
+	}
+
+	/**
+	 * @param column
+	 *            column in the infinite grid
+	 * @param row
+	 *            row in the infinite grid
+	 * @return whether the position can be stored
+	 */
+	static boolean isValid(double column, double row) {
+		return Math.abs(column) < MAX_INDEX && Math.abs(row) < MAX_INDEX;
+	}
+
+	private static Long key(double column, double row) {
+		return Long.valueOf(((long) column << 32) | ((long) row & 0xffffffffL));
+	}
+
+	/**
+	 * @param column
+	 *            column in the infinite grid
+	 * @param row
+	 *            row in the infinite grid
+	 * @return value from previous plot, null if not known
+	 */
+	Double getCorner(double column, double row) {
+		Long key = key(column, row);
+		Double value = lastCorners.get(key);
+		if (value != null) {
+			corners.put(key, value);
+		}
+		return value;
+	}
+
+	/**
+	 * @param column
+	 *            column in the infinite grid
+	 * @param row
+	 *            row in the infinite grid
+	 * @param value
+	 *            value of the factor in the corner
+	 */
+	void putCorner(double column, double row, double value) {
+		corners.put(key(column, row), value);
+	}
+
+	/**
+	 * @param column
+	 *            column of the lower left corner
+	 * @param row
+	 *            row of the lower left corner
+	 * @return cell from previous plot, null if not known
+	 */
+	CellPlot getCell(double column, double row) {
+		Long key = key(column, row);
+		CellPlot cell = lastCells.get(key);
+		if (cell != null) {
+			cells.put(key, cell);
+		}
+		return cell;
+	}
+
+	/**
+	 * @param column
+	 *            column of the lower left corner
+	 * @param row
+	 *            row of the lower left corner
+	 * @param cell
+	 *            cell
+	 */
+	void putCell(double column, double row, CellPlot cell) {
+		cells.put(key(column, row), cell);
+	}
+
+	private static double[][] copy(double[][] array) {
+		if (array == null) {
+			return null;
+		}
+		double[][] copy = new double[array.length][];
+		for (int i = 0; i < array.length; i++) {
+			copy[i] = new double[array[i].length];
+			for (int j = 0; j < array[i].length; j++) {
+				copy[i][j] = array[i][j];
+			}
+		}
+		return copy;
+	}
+}
@@ -448,6 +448,14 @@ public final class RegressionMath {
 		// GeoPoint geopoint;
 		xlist = new double[size];
 		ylist = new double[size];
+		double[] coords = geolist.getPointCoords();
+		if (coords != null) {
+			for (int i = 0; i < size; i++) {
+				xlist[i] = coords[2 * i];
+				ylist[i] = coords[2 * i + 1];
+			}
+			return;
+		}
 		for (int i = 0; i < size; i++) {
 			geoelement = geolist.get(i);
 			if (geoelement instanceof GeoPoint) {
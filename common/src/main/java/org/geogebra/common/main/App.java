@@ -96,6 +96,7 @@ import org.geogebra.common.util.LowerCaseDictionary;
 import org.geogebra.common.util.NormalizerMinimal;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.Util;
+import org.geogebra.common.util.debug.Instrumentation;
 import org.geogebra.common.util.debug.Log;
 
 import com.himamis.retex.editor.share.util.Unicode;
@@ -367,6 +368,7 @@ public abstract class App implements UpdateSelection {
 	private boolean blockUpdateScripts = false;
 	private boolean useBrowserForJavaScript = true;
 	private EventDispatcher eventDispatcher;
+	private Instrumentation instrumentation;
 	private int[] versionArray = null;
 	private List<SavedStateListener> savedListeners = new ArrayList<>();
 	private Macro macro;
@@ -1067,6 +1069,30 @@ public abstract class App implements UpdateSelection {
 		return eventDispatcher;
 	}
 
+	/**
+	 * @return performance instrumentation, null unless enabled
+	 */
+	public Instrumentation getInstrumentation() {
+		return instrumentation;
+	}
+
+	/**
+	 * Starts collecting timing statistics, previous statistics are dropped.
+	 * 
+	 * @param sampleRate
+	 *            measure every n-th call, 1 to measure all
+	 */
+	public void enableInstrumentation(int sampleRate) {
+		instrumentation = new Instrumentation(this, sampleRate);
+	}
+
+	/**
+	 * Stops collecting timing statistics
+	 */
+	public void disableInstrumentation() {
+		instrumentation = null;
+	}
+
 	/**
 	 * @param ge
 	 *            geo
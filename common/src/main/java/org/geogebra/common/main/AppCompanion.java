@@ -126,6 +126,7 @@ public class AppCompanion {
 	 */
 	public void resetFonts() {
 		app.getFontManager().setFontSize(app.getGUIFontSize());
+		app.getDrawEquation().clearIconCache();
 		if (app.euclidianView != null) {
 			app.euclidianView.updateFonts();
 		}
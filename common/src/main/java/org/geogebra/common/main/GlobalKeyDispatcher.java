@@ -14,7 +14,6 @@ import org.geogebra.common.kernel.ConstructionDefaults;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.Matrix.Coords;
-import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.geos.Furniture;
 import org.geogebra.common.kernel.geos.GeoAngle;
 import org.geogebra.common.kernel.geos.GeoBoolean;
@@ -43,7 +42,6 @@ public abstract class GlobalKeyDispatcher {
 	/** selection */
 	protected final SelectionManager selection;
 
-	private TreeSet<AlgoElement> tempSet;
 	private Coords tempVec;
 
 	/**
@@ -88,16 +86,6 @@ public abstract class GlobalKeyDispatcher {
 		}
 	}
 
-	/**
-	 * @return temporary set of algos
-	 */
-	protected TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null) {
-			tempSet = new TreeSet<>();
-		}
-		return tempSet;
-	}
-
 	/**
 	 * Open rename dialog when first letter is typed
 	 * 
@@ -1558,7 +1546,7 @@ public abstract class GlobalKeyDispatcher {
 			}
 
 			// update all geos together
-			GeoElement.updateCascade(geos, getTempSet(), false);
+			GeoElement.updateCascade(geos, false);
 			app.getKernel().notifyRepaint();
 
 			return true;
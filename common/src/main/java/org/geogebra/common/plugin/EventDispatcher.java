@@ -1,6 +1,7 @@
 package org.geogebra.common.plugin;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 
 import org.geogebra.common.kernel.ClientView;
 import org.geogebra.common.kernel.ModeSetter;
@@ -9,6 +10,7 @@ import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.main.App;
 import org.geogebra.common.util.debug.GeoGebraProfiler;
+import org.geogebra.common.util.debug.Instrumentation;
 
 /**
  * Every event scripting machinery must implement the EventListener interface
@@ -21,6 +23,12 @@ import org.geogebra.common.util.debug.GeoGebraProfiler;
  * because they are not part of the View interface (the clicked GeoElement is
  * responsible for relaying the event to the event dispatcher)
  * 
+ * In asynchronous mode (see {@link #setAsyncDispatch(boolean)}) UPDATE events
+ * are queued and delivered in one batch via {@link App#invokeLater(Runnable)},
+ * repeated updates of the same object are delivered once. All other events
+ * deliver the queued updates first, so every listener gets the events in the
+ * order they happened.
+ * 
  * @author arno
  * 
  */
@@ -29,6 +37,23 @@ public class EventDispatcher implements ClientView {
 	private App app;
 	private ArrayList<EventListener> listeners = new ArrayList<>();
 
+	private boolean asyncDispatch = false;
+	// queued UPDATE events and their targets
+	private ArrayList<Event> queue = new ArrayList<>();
+	private HashSet<GeoElement> queuedTargets = new HashSet<>();
+	private boolean flushScheduled = false;
+	// time when the oldest queued event was created
+	private double queueStart;
+	private int maxQueueLength = 0;
+	private long coalescedEvents = 0;
+	private final Runnable flushEvents = new Runnable() {
+		@Override
+		public void run() {
+			flushScheduled = false;
+			flushEvents();
+		}
+	};
+
 	/**
 	 * @param app
 	 *            application
@@ -65,6 +90,11 @@ public class EventDispatcher implements ClientView {
 	 *            the event to be dispatched
 	 */
 	public void dispatchEvent(Event evt) {
+		flushEvents();
+		deliver(evt);
+	}
+
+	private void deliver(Event evt) {
 		if (app.getKernel().getConstruction() != null) {
 			app.getKernel().getConstruction().setSelfGeo(evt.target);
 		}
@@ -76,6 +106,97 @@ public class EventDispatcher implements ClientView {
 		}
 	}
 
+	/**
+	 * @param async
+	 *            whether UPDATE events should be queued and delivered in
+	 *            batches
+	 */
+	public void setAsyncDispatch(boolean async) {
+		if (!async) {
+			flushEvents();
+		}
+		this.asyncDispatch = async;
+	}
+
+	/**
+	 * @return whether UPDATE events are queued and delivered in batches
+	 */
+	public boolean isAsyncDispatch() {
+		return asyncDispatch;
+	}
+
+	/**
+	 * Queues an UPDATE event unless there is one for the same target already
+	 */
+	private void queueUpdate(GeoElement geo) {
+		if ((null != geo) && !geo.isLabelSet() && !geo.isGeoCasCell()) {
+			return;
+		}
+		if (!queuedTargets.add(geo)) {
+			coalescedEvents++;
+			return;
+		}
+		if (queue.isEmpty()) {
+			queueStart = app.getMillisecondTime();
+		}
+		queue.add(new Event(EventType.UPDATE, geo));
+		maxQueueLength = Math.max(maxQueueLength, queue.size());
+		if (!flushScheduled) {
+			flushScheduled = true;
+			app.invokeLater(flushEvents);
+		}
+	}
+
+	/**
+	 * Delivers all queued events to the listeners
+	 */
+	public void flushEvents() {
+		if (queue.isEmpty()) {
+			return;
+		}
+		// listeners may cause new updates, they go to the next batch
+		ArrayList<Event> batch = queue;
+		queue = new ArrayList<>();
+		queuedTargets.clear();
+		Instrumentation instrumentation = app.getInstrumentation();
+		if (instrumentation != null) {
+			instrumentation.record(Instrumentation.EVENT, "queueLatency",
+					app.getMillisecondTime() - queueStart);
+		}
+		long start = System.currentTimeMillis();
+		double instrumentationStart = instrumentation == null ? -1
+				: instrumentation.start();
+		for (Event evt : batch) {
+			deliver(evt);
+		}
+		GeoGebraProfiler.addEvent(System.currentTimeMillis() - start);
+		if (instrumentation != null) {
+			instrumentation.end(Instrumentation.EVENT, "updateBatch",
+					instrumentationStart);
+		}
+	}
+
+	/**
+	 * @return number of queued events
+	 */
+	public int getQueueLength() {
+		return queue.size();
+	}
+
+	/**
+	 * @return maximal number of queued events so far
+	 */
+	public int getMaxQueueLength() {
+		return maxQueueLength;
+	}
+
+	/**
+	 * @return number of UPDATE events merged with a queued event so far
+	 */
+	public long getCoalescedEvents() {
+		return coalescedEvents;
+	}
+
 	/**
 	 * Convenience method for dispatching an event
 	 * 
@@ -140,9 +261,20 @@ public class EventDispatcher implements ClientView {
 
 	@Override
 	public void update(GeoElement geo) {
+		if (asyncDispatch) {
+			queueUpdate(geo);
+			return;
+		}
 		long start = System.currentTimeMillis();
+		Instrumentation instrumentation = app.getInstrumentation();
+		double instrumentationStart = instrumentation == null ? -1
+				: instrumentation.start();
 		dispatchEvent(EventType.UPDATE, geo);
 		GeoGebraProfiler.addEvent(System.currentTimeMillis() - start);
+		if (instrumentation != null) {
+			instrumentation.end(Instrumentation.EVENT, "update",
+					instrumentationStart);
+		}
 	}
 
 	@Override
@@ -182,6 +314,8 @@ public class EventDispatcher implements ClientView {
 		// As I understand it, this happens when a new file is started. This is
 		// the time to call the reset() function of the registered event
 		// listeners.
+		queue.clear();
+		queuedTargets.clear();
 		for (EventListener listener : listeners) {
 			listener.reset();
 		}
@@ -56,8 +56,10 @@ import org.geogebra.common.kernel.stepbystep.steptree.StepVariable;
 import org.geogebra.common.main.App;
 import org.geogebra.common.main.error.ErrorHelper;
 import org.geogebra.common.main.settings.EuclidianSettings;
+import org.geogebra.common.move.ggtapi.models.json.JSONException;
 import org.geogebra.common.util.Exercise;
 import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.debug.Instrumentation;
 import org.geogebra.common.util.debug.Log;
 
 import com.himamis.retex.renderer.share.TeXFormula;
@@ -2206,6 +2208,33 @@ public abstract class GgbAPI implements JavaScriptAPI {
 		return geo != null && geo.getTrace();
 	}
 
+	@Override
+	public void enableInstrumentation(int sampleRate) {
+		app.enableInstrumentation(sampleRate);
+	}
+
+	@Override
+	public void disableInstrumentation() {
+		app.disableInstrumentation();
+	}
+
+	@Override
+	public String getInstrumentation(String format) {
+		Instrumentation instrumentation = app.getInstrumentation();
+		if (instrumentation == null) {
+			return "";
+		}
+		if ("csv".equalsIgnoreCase(format)) {
+			return instrumentation.toCSV();
+		}
+		try {
+			return instrumentation.toJSON().toString();
+		} catch (JSONException e) {
+			Log.error("problem exporting instrumentation: " + e.getMessage());
+			return "";
+		}
+	}
+
 	public String stepByStep(String eq) {
 		StepEquation se = new StepEquation(eq, kernel.getParser());
 		StepGuiBuilderJson builder = new StepGuiBuilderJson();
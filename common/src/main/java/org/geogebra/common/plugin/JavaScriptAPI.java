@@ -827,4 +827,25 @@ public interface JavaScriptAPI {
 	public String getToolName(int mode);
 
 	public void evalLaTeX(String input, int mode);
+
+	/**
+	 * Starts collecting timing statistics (algorithm updates, drawing, CAS,
+	 * loading, undo), previous statistics are dropped.
+	 * 
+	 * @param sampleRate
+	 *            measure every n-th call, 1 to measure all
+	 */
+	public void enableInstrumentation(int sampleRate);
+
+	/**
+	 * Stops collecting timing statistics
+	 */
+	public void disableInstrumentation();
+
+	/**
+	 * @param format
+	 *            "json" or "csv"
+	 * @return timing statistics, empty string if instrumentation is disabled
+	 */
+	public String getInstrumentation(String format);
 }
@@ -1,27 +1,47 @@
 package org.geogebra.common.util;
 
-import java.util.Iterator;
 import java.util.LinkedHashMap;
-
+import java.util.Map;
+
+/**
+ * Hash map with bounded size, oldest entries are removed first.
+ *
+ * @param <V>
+ *            key type
+ * @param <T>
+ *            value type
+ */
 public class MaxSizeHashMap<V, T> extends LinkedHashMap<V, T> {
 
 	private static final long serialVersionUID = 1L;
 
 	private int maxSize;
 
+	/**
+	 * Removes entries in insertion order.
+	 *
+	 * @param maxSize
+	 *            maximal number of entries
+	 */
 	public MaxSizeHashMap(int maxSize) {
+		this(maxSize, false);
+	}
+
+	/**
+	 * @param maxSize
+	 *            maximal number of entries
+	 * @param accessOrder
+	 *            whether to remove least recently used entries first rather
+	 *            than least recently inserted
+	 */
+	public MaxSizeHashMap(int maxSize, boolean accessOrder) {
+		super(16, 0.75f, accessOrder);
 		this.maxSize = maxSize;
 	}
 
 	@Override
-	public T put(V key, T value) {
-		if (size() >= maxSize) {
-			Iterator<?> it = entrySet().iterator();
-			it.next();
-			it.remove();
-		}
-
-		return super.put(key, value);
+	protected boolean removeEldestEntry(Map.Entry<V, T> eldest) {
+		return size() > maxSize;
 	}
 
 }
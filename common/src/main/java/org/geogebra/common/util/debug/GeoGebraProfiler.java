@@ -11,12 +11,14 @@ public abstract class GeoGebraProfiler {
 
 	private static volatile GeoGebraProfiler instance = null;
 
-	private static volatile int repaints, repaintTime, drags, dragTime;
-	private static volatile int moveEventsIgnored;
-
-	private static volatile int algebra, event, hits, cascades;
+	private static final TimingHistogram repaints = new TimingHistogram();
+	private static final TimingHistogram hits = new TimingHistogram();
+	private static final TimingHistogram cascades = new TimingHistogram();
+	private static final TimingHistogram algebra = new TimingHistogram();
+	private static final TimingHistogram events = new TimingHistogram();
 
-	private static volatile long algebraTime, eventTime, hitTime, cascadeTime;
+	private static volatile int drags, dragTime;
+	private static volatile int moveEventsIgnored;
 
 	private static Object lock = new Object();
 
@@ -78,67 +80,49 @@ public abstract class GeoGebraProfiler {
 	}
 
 	public static void addRepaint(long time) {
-		synchronized (lock) {
-			repaints++;
-			repaintTime += time;
-			if (repaints % 100 == 0) {
-				Log.debug("Profile Repaint: " + repaints + " x "
-						+ (repaintTime / repaints) + " = " + repaintTime);
+		repaints.add(time);
+		if (repaints.getCount() % 100 == 0) {
+			log("Repaint", repaints);
+			synchronized (lock) {
 				int realDrags = drags - moveEventsIgnored;
 				if (realDrags > 0) {
 					Log.debug("Profile Drag: " + realDrags + " x "
 							+ (dragTime / realDrags) + " = " + dragTime + ","
 							+ moveEventsIgnored + " ignored");
 				}
-				if (hits > 0) {
-					Log.debug("Profile Hits: " + hits + " x " + (hitTime / hits)
-							+ " = " + hitTime);
-				}
-				if (cascades > 0) {
-					Log.debug("Profile Cascades: " + cascades + " x "
-							+ (cascadeTime / cascades) + " = " + cascadeTime);
-				}
-				if (algebra > 0) {
-					Log.debug("Profile Algebra: " + algebra + " x "
-							+ (algebraTime / algebra) + " = " + algebraTime);
-				}
-				if (event > 0) {
-					Log.debug("Profile EventDispatcher: " + event + " x "
-							+ (eventTime / event) + " = " + eventTime);
-				}
 			}
+			log("Hits", hits);
+			log("Cascades", cascades);
+			log("Algebra", algebra);
+			log("EventDispatcher", events);
 		}
 
 	}
 
-	public static void addHit(long l) {
-		synchronized (lock) {
-			hitTime += l;
-			hits++;
+	private static void log(String name, TimingHistogram histogram) {
+		long count = histogram.getCount();
+		if (count > 0) {
+			long total = Math.round(histogram.getTotal());
+			Log.debug("Profile " + name + ": " + count + " x "
+					+ (total / count) + " = " + total + ", max "
+					+ Math.round(histogram.getMax()));
 		}
+	}
 
+	public static void addHit(long l) {
+		hits.add(l);
 	}
 
 	public static void addUpdateCascade(long l) {
-		synchronized (lock) {
-			cascades++;
-			cascadeTime += l;
-		}
-
+		cascades.add(l);
 	}
 
 	public static void addAlgebra(long l) {
-		synchronized (lock) {
-			algebra++;
-			algebraTime += l;
-		}
+		algebra.add(l);
 	}
 
 	public static void addEvent(long l) {
-		synchronized (lock) {
-			event++;
-			eventTime += l;
-		}
+		events.add(l);
 	}
 
 	public static void incrementMoveEventsIgnored() {
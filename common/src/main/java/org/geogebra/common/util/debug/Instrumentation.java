@@ -0,0 +1,235 @@
+package org.geogebra.common.util.debug;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.geogebra.common.main.App;
+import org.geogebra.common.move.ggtapi.models.json.JSONArray;
+import org.geogebra.common.move.ggtapi.models.json.JSONException;
+import org.geogebra.common.move.ggtapi.models.json.JSONObject;
+
+/**
+ * Timing statistics of one app, grouped by category (algorithm updates,
+ * drawing, CAS, ...) and name (e.g. algorithm class). Only active when
+ * enabled via {@link App#enableInstrumentation(int)}; call sites check
+ * {@link App#getInstrumentation()} for null first.
+ *
+ * Usage:
+ *
+ * <pre>
+ * double start = instrumentation.start();
+ * algo.update();
+ * instrumentation.end(Instrumentation.ALGO, algo, start);
+ * </pre>
+ *
+ * With sample rate n only every n-th call of {@link #start()} is measured,
+ * the others cost just a counter increment.
+ */
+public class Instrumentation {
+
+	/** algorithm updates, by algorithm class */
+	public static final String ALGO = "algo";
+	/** drawing, by drawable class */
+	public static final String DRAW = "draw";
+	/** CAS evaluation, by command */
+	public static final String CAS = "cas";
+	/** loading XML, by phase */
+	public static final String XML = "xml";
+	/** storing and restoring undo points */
+	public static final String UNDO = "undo";
+	/** update cascades */
+	public static final String CASCADE = "cascade";
+	/** event dispatching */
+	public static final String EVENT = "event";
+	/** JavaScript listeners, by function name */
+	public static final String SCRIPT = "script";
+
+	private final App app;
+	private final int sampleRate;
+	private int calls = 0;
+	private final TreeMap<String, TreeMap<String, TimingHistogram>> categories =
+			new TreeMap<>();
+
+	/**
+	 * @param app
+	 *            app providing the clock
+	 * @param sampleRate
+	 *            measure every n-th call, 1 to measure all
+	 */
+	public Instrumentation(App app, int sampleRate) {
+		this.app = app;
+		this.sampleRate = Math.max(1, sampleRate);
+	}
+
+	/**
+	 * @return sample rate
+	 */
+	public int getSampleRate() {
+		return sampleRate;
+	}
+
+	/**
+	 * @return start time for {@link #end(String, Object, double)}; negative if
+	 *         this call should not be measured
+	 */
+	public double start() {
+		// not synchronized: a lost increment only shifts the sample
+		if (sampleRate > 1 && ++calls % sampleRate != 0) {
+			return -1;
+		}
+		return app.getMillisecondTime();
+	}
+
+	/**
+	 * @param category
+	 *            category
+	 * @param source
+	 *            measured object, its class is used as name
+	 * @param start
+	 *            result of {@link #start()}
+	 */
+	public void end(String category, Object source, double start) {
+		if (start >= 0) {
+			record(category, getName(source),
+					app.getMillisecondTime() - start);
+		}
+	}
+
+	/**
+	 * @param category
+	 *            category
+	 * @param name
+	 *            name within category
+	 * @param start
+	 *            result of {@link #start()}
+	 */
+	public void end(String category, String name, double start) {
+		if (start >= 0) {
+			record(category, name, app.getMillisecondTime() - start);
+		}
+	}
+
+	/**
+	 * @param category
+	 *            category
+	 * @param name
+	 *            name within category
+	 * @param ms
+	 *            measured time in ms
+	 */
+	public void record(String category, String name, double ms) {
+		getHistogram(category, name).add(ms);
+	}
+
+	private synchronized TimingHistogram getHistogram(String category,
+			String name) {
+		TreeMap<String, TimingHistogram> names = categories.get(category);
+		if (names == null) {
+			names = new TreeMap<>();
+			categories.put(category, names);
+		}
+		TimingHistogram histogram = names.get(name);
+		if (histogram == null) {
+			histogram = new TimingHistogram();
+			names.put(name, histogram);
+		}
+		return histogram;
+	}
+
+	/**
+	 * @param category
+	 *            category
+	 * @param name
+	 *            name within category
+	 * @return histogram, null if nothing was recorded
+	 */
+	public synchronized TimingHistogram get(String category, String name) {
+		TreeMap<String, TimingHistogram> names = categories.get(category);
+		return names == null ? null : names.get(name);
+	}
+
+	/**
+	 * Forgets all measurements
+	 */
+	public synchronized void reset() {
+		categories.clear();
+	}
+
+	private static String getName(Object source) {
+		String name = source.getClass().getName();
+		return name.substring(name.lastIndexOf('.') + 1);
+	}
+
+	/**
+	 * @return statistics as JSON: category -&gt; name -&gt; count, times in ms
+	 *         and histogram
+	 * @throws JSONException
+	 *             if JSON can't be built
+	 */
+	public synchronized JSONObject toJSON() throws JSONException {
+		JSONObject json = new JSONObject();
+		json.put("sampleRate", sampleRate);
+		JSONArray bounds = new JSONArray();
+		for (int i = 0; i < TimingHistogram.getBucketCount() - 1; i++) {
+			bounds.put(TimingHistogram.getBucketBound(i));
+		}
+		json.put("bucketBoundsMs", bounds);
+		for (String category : categories.keySet()) {
+			JSONObject names = new JSONObject();
+			for (Map.Entry<String, TimingHistogram> entry : categories
+					.get(category).entrySet()) {
+				TimingHistogram histogram = entry.getValue();
+				JSONObject stats = new JSONObject();
+				stats.put("count", histogram.getCount());
+				stats.put("totalMs", histogram.getTotal());
+				stats.put("meanMs", histogram.getMean());
+				stats.put("maxMs", histogram.getMax());
+				stats.put("p50Ms", histogram.getPercentile(50));
+				stats.put("p90Ms", histogram.getPercentile(90));
+				stats.put("p99Ms", histogram.getPercentile(99));
+				JSONArray buckets = new JSONArray();
+				for (long bucket : histogram.getBuckets()) {
+					buckets.put(bucket);
+				}
+				stats.put("buckets", buckets);
+				names.put(entry.getKey(), stats);
+			}
+			json.put(category, names);
+		}
+		return json;
+	}
+
+	/**
+	 * @return statistics as CSV with header line, times in ms
+	 */
+	public synchronized String toCSV() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("category,name,count,totalMs,meanMs,maxMs,");
+		sb.append("p50Ms,p90Ms,p99Ms\n");
+		for (String category : categories.keySet()) {
+			for (Map.Entry<String, TimingHistogram> entry : categories
+					.get(category).entrySet()) {
+				TimingHistogram histogram = entry.getValue();
+				sb.append(category);
+				sb.append(',');
+				sb.append(entry.getKey());
+				sb.append(',');
+				sb.append(histogram.getCount());
+				sb.append(',');
+				sb.append(histogram.getTotal());
+				sb.append(',');
+				sb.append(histogram.getMean());
+				sb.append(',');
+				sb.append(histogram.getMax());
+				sb.append(',');
+				sb.append(histogram.getPercentile(50));
+				sb.append(',');
+				sb.append(histogram.getPercentile(90));
+				sb.append(',');
+				sb.append(histogram.getPercentile(99));
+				sb.append('\n');
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,121 @@
+package org.geogebra.common.util.debug;
+
+/**
+ * Number, total and maximum of measured times plus a histogram with
+ * logarithmic buckets, so that percentiles can be estimated without storing
+ * the samples.
+ */
+public class TimingHistogram {
+
+	/** upper bounds of the buckets in ms, the last bucket is unbounded */
+	private static final double[] BOUNDS = { 0.01, 0.03, 0.1, 0.3, 1, 3, 10,
+			30, 100, 300, 1000, 3000 };
+
+	private final long[] buckets = new long[BOUNDS.length + 1];
+	private long count = 0;
+	private double total = 0;
+	private double max = 0;
+
+	/**
+	 * @param ms
+	 *            measured time in ms
+	 */
+	public synchronized void add(double ms) {
+		count++;
+		total += ms;
+		max = Math.max(max, ms);
+		int bucket = 0;
+		while (bucket < BOUNDS.length && ms > BOUNDS[bucket]) {
+			bucket++;
+		}
+		buckets[bucket]++;
+	}
+
+	/**
+	 * @return number of measurements
+	 */
+	public synchronized long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return sum of all times in ms
+	 */
+	public synchronized double getTotal() {
+		return total;
+	}
+
+	/**
+	 * @return maximal time in ms
+	 */
+	public synchronized double getMax() {
+		return max;
+	}
+
+	/**
+	 * @return average time in ms
+	 */
+	public synchronized double getMean() {
+		return count == 0 ? 0 : total / count;
+	}
+
+	/**
+	 * @param percent
+	 *            percentile (0-100)
+	 * @return upper bound of the bucket containing the percentile in ms (at
+	 *         most the maximal time)
+	 */
+	public synchronized double getPercentile(double percent) {
+		if (count == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(percent / 100 * count);
+		long seen = 0;
+		for (int i = 0; i < BOUNDS.length; i++) {
+			seen += buckets[i];
+			if (seen >= rank) {
+				return Math.min(BOUNDS[i], max);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * @return copy of bucket counts, bucket i contains times up to
+	 *         {@link #getBucketBound(int)}
+	 */
+	public synchronized long[] getBuckets() {
+		long[] copy = new long[buckets.length];
+		System.arraycopy(buckets, 0, copy, 0, buckets.length);
+		return copy;
+	}
+
+	/**
+	 * @return number of buckets
+	 */
+	public static int getBucketCount() {
+		return BOUNDS.length + 1;
+	}
+
+	/**
+	 * @param bucket
+	 *            bucket index
+	 * @return upper bound of the bucket in ms, infinity for the last one
+	 */
+	public static double getBucketBound(int bucket) {
+		return bucket < BOUNDS.length ? BOUNDS[bucket]
+				: Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Forgets all measurements
+	 */
+	public synchronized void reset() {
+		for (int i = 0; i < buckets.length; i++) {
+			buckets[i] = 0;
+		}
+		count = 0;
+		total = 0;
+		max = 0;
+	}
+}
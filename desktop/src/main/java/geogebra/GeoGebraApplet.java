@@ -1049,4 +1049,19 @@ public class GeoGebraApplet extends JApplet implements JavaScriptAPI {
 	public void evalLaTeX(String input, int mode) {
 		getGgbApi().evalLaTeX(input, mode);
 	}
+
+	@Override
+	public void enableInstrumentation(int sampleRate) {
+		getGgbApi().enableInstrumentation(sampleRate);
+	}
+
+	@Override
+	public void disableInstrumentation() {
+		getGgbApi().disableInstrumentation();
+	}
+
+	@Override
+	public String getInstrumentation(String format) {
+		return getGgbApi().getInstrumentation(format);
+	}
 }
@@ -14,12 +14,15 @@ package org.geogebra.desktop;
 
 import java.awt.Frame;
 import java.awt.Toolkit;
+import java.io.File;
 import java.net.URL;
 
 import org.geogebra.common.GeoGebraConstants;
 import org.geogebra.common.main.GeoGebraPreferencesXML;
 import org.geogebra.common.util.Util;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.desktop.cas.CasCacheFile;
+import org.geogebra.desktop.export.AnimationExporter;
 import org.geogebra.desktop.gui.app.GeoGebraFrame;
 import org.geogebra.desktop.main.AppD;
 import org.geogebra.desktop.main.GeoGebraServer;
@@ -61,6 +64,19 @@ public class GeoGebra {
 		GeoGebraPreferencesXML.setDefaultWindowY((int) (600.0 * sf));
 	}
 
+	private static int getIntValue(CommandLineArguments args, String name,
+			int defaultValue) {
+		if (!args.containsArg(name)) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(args.getStringValue(name));
+		} catch (NumberFormatException e) {
+			Log.warn("invalid value for " + name);
+			return defaultValue;
+		}
+	}
+
 	protected void doMain(String[] cmdArgs) {
 
 		CommandLineArguments args = new CommandLineArguments(cmdArgs);
@@ -80,7 +96,22 @@ public class GeoGebra {
 		}
 		if (args.containsArg("startHttpServer")) {
 			Log.error("startHttpServer");
-			new GeoGebraServer(args.getStringValue("startHttpServer"));
+			new GeoGebraServer(args.getStringValue("startHttpServer"),
+					getIntValue(args, "serverPoolSize",
+							GeoGebraServer.DEFAULT_POOL_SIZE),
+					getIntValue(args, "serverThreads",
+							GeoGebraServer.DEFAULT_POOL_SIZE),
+					getIntValue(args, "serverTimeout",
+							(int) GeoGebraServer.DEFAULT_TIMEOUT),
+					args.containsArg("casCacheFile")
+							? new CasCacheFile(new File(
+									args.getStringValue("casCacheFile")))
+							: null);
+			return;
+		}
+		if (args.containsArg("exportAnimation")
+				&& args.containsArg("headless")) {
+			AppD.exit(AnimationExporter.exportFromCommandLine(args) ? 0 : 1);
 			return;
 		}
 		if (args.containsArg("help") || args.containsArg("proverhelp")
@@ -0,0 +1,225 @@
+package org.geogebra.desktop.cas;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.geogebra.common.cas.CasCacheStore;
+import org.geogebra.common.util.Charsets;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * CAS results stored in an append-only log file, so that they survive
+ * restarts. All entries are kept in memory (up to a limit), the file is
+ * compacted when it contains too many outdated records. One instance may be
+ * shared by several kernels.
+ */
+public class CasCacheFile implements CasCacheStore {
+
+	/** default maximal number of entries */
+	public static final int DEFAULT_MAX_ENTRIES = 50000;
+
+	private final File file;
+	private final LinkedHashMap<String, String> entries;
+	private DataOutputStream out;
+	private int records = 0;
+	/** length of the complete records read from file */
+	private long validLength = 0;
+
+	/**
+	 * @param file
+	 *            log file, created if it doesn't exist
+	 */
+	public CasCacheFile(File file) {
+		this(file, DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * @param file
+	 *            log file, created if it doesn't exist
+	 * @param maxEntries
+	 *            maximal number of entries
+	 */
+	public CasCacheFile(File file, final int maxEntries) {
+		this.file = file;
+		entries = new LinkedHashMap<String, String>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<String, String> eldest) {
+				return size() > maxEntries;
+			}
+		};
+		load();
+		if (validLength < file.length() || hasManyStaleRecords()) {
+			compact();
+		}
+	}
+
+	/**
+	 * @return whether most records in the log are overwritten or evicted
+	 *         entries
+	 */
+	private boolean hasManyStaleRecords() {
+		return records > 2 * entries.size() + 100;
+	}
+
+	private void load() {
+		if (!file.exists()) {
+			return;
+		}
+		DataInputStream in = null;
+		try {
+			in = new DataInputStream(
+					new BufferedInputStream(new FileInputStream(file)));
+			while (true) {
+				byte[] key = readBytes(in);
+				byte[] value = readBytes(in);
+				entries.put(new String(key, Charsets.UTF_8),
+						new String(value, Charsets.UTF_8));
+				validLength += 8 + key.length + value.length;
+				records++;
+			}
+		} catch (EOFException e) {
+			// done; an incomplete last record is dropped by compaction
+		} catch (IOException e) {
+			Log.warn("problem reading CAS cache " + file + ": "
+					+ e.getMessage());
+		} finally {
+			close(in);
+		}
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			throw new IOException("invalid record");
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private static void writeString(DataOutputStream out, String s)
+			throws IOException {
+		byte[] bytes = s.getBytes(Charsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Rewrites the file with current entries only.
+	 */
+	public synchronized void compact() {
+		closeOutput();
+		File tmp = new File(file.getPath() + ".tmp");
+		DataOutputStream compacted = null;
+		try {
+			compacted = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(tmp)));
+			for (Map.Entry<String, String> entry : entries.entrySet()) {
+				writeString(compacted, entry.getKey());
+				writeString(compacted, entry.getValue());
+			}
+			compacted.close();
+			compacted = null;
+			// replace in one step, the old file stays complete until then
+			try {
+				Files.move(tmp.toPath(), file.toPath(),
+						StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp.toPath(), file.toPath(),
+						StandardCopyOption.REPLACE_EXISTING);
+			}
+			records = entries.size();
+		} catch (IOException e) {
+			Log.warn("problem compacting CAS cache " + file + ": "
+					+ e.getMessage());
+			// don't retry on every write
+			records = entries.size();
+		} finally {
+			close(compacted);
+		}
+	}
+
+	@Override
+	public synchronized String get(String key) {
+		return entries.get(key);
+	}
+
+	@Override
+	public synchronized void put(String key, String result) {
+		if (result.equals(entries.put(key, result))) {
+			return;
+		}
+		try {
+			if (out == null) {
+				out = new DataOutputStream(new BufferedOutputStream(
+						new FileOutputStream(file, true)));
+			}
+			writeString(out, key);
+			writeString(out, result);
+			// keep the log consistent if the process gets killed
+			out.flush();
+			records++;
+		} catch (IOException e) {
+			Log.warn("problem writing CAS cache " + file + ": "
+					+ e.getMessage());
+			closeOutput();
+			return;
+		}
+		if (hasManyStaleRecords()) {
+			compact();
+		}
+	}
+
+	/**
+	 * @return number of records in the log file
+	 */
+	public synchronized int getRecordCount() {
+		return records;
+	}
+
+	/**
+	 * @return number of entries
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Closes the log file; further results reopen it.
+	 */
+	public synchronized void close() {
+		closeOutput();
+	}
+
+	private void closeOutput() {
+		close(out);
+		out = null;
+	}
+
+	private static void close(Closeable stream) {
+		if (stream != null) {
+			try {
+				stream.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+}
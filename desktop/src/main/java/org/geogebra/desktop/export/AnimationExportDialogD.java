@@ -7,8 +7,10 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.image.BufferedImage;
 import java.io.File;
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -20,9 +22,10 @@ import javax.swing.JDialog;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
+import javax.swing.SwingWorker;
 
+import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian3D.EuclidianView3DInterface;
-import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.geos.AnimationExportSlider;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoNumeric;
@@ -283,52 +286,17 @@ public class AnimationExportDialogD extends JDialog {
 				FileExtensions.GIF, null,
 				loc.getMenu("gif") + " " + loc.getMenu("Files"), true, false);
 
+		if (file == null) {
+			return;
+		}
+
 		AnimationExportSlider num = (AnimationExportSlider) cbSliders
 				.getSelectedItem();
 
-		int type = num.getAnimationType();
-		double min = num.getIntervalMin();
-		double max = num.getIntervalMax();
-
-		double val;
-
-		double step;
-		int n;
-
-		switch (type) {
-		case GeoElement.ANIMATION_DECREASING:
-			step = -num.getAnimationStep();
-			n = (int) ((max - min) / -step);
-			if (Kernel.isZero(((max - min) / -step) - n)) {
-				n++;
-			}
-			if (n == 0) {
-				n = 1;
-			}
-			val = max;
-			break;
-		case GeoElement.ANIMATION_OSCILLATING:
-			step = num.getAnimationStep();
-			n = (int) ((max - min) / step) * 2;
-			if (Kernel.isZero(((max - min) / step * 2) - n)) {
-				n++;
-			}
-			if (n == 0) {
-				n = 1;
-			}
-			val = min;
-			break;
-		default: // GeoElement.ANIMATION_INCREASING:
-					// GeoElement.ANIMATION_INCREASING_ONCE:
-			step = num.getAnimationStep();
-			n = (int) ((max - min) / step);
-			if (Kernel.isZero(((max - min) / step) - n)) {
-				n++;
-			}
-			if (n == 0) {
-				n = 1;
-			}
-			val = min;
+		EuclidianView ev = app.getActiveEuclidianView();
+		if (!ev.isEuclidianView3D()) {
+			exportGIF(ev, num, file, timeBetweenFrames);
+			return;
 		}
 
 		final AnimatedGifEncoder gifEncoder = new AnimatedGifEncoder();
@@ -358,9 +326,13 @@ public class AnimationExportDialogD extends JDialog {
 
 		app.setWaitCursor();
 
+		// the 3D view renders the frames in its OpenGL display loop
+		double[] values = AnimationExporter.getFrameValues(num);
+		double step = num.getAnimationType() == GeoElement.ANIMATION_DECREASING
+				? -num.getAnimationStep() : num.getAnimationStep();
 		try {
-			app.exportAnimatedGIF(app.getActiveEuclidianView(), collector, num,
-					n, val, min, max, step);
+			app.exportAnimatedGIF(ev, collector, num, values.length, values[0],
+					num.getIntervalMin(), num.getIntervalMax(), step);
 
 		} catch (Exception ex) {
 			app.localizeAndShowError("SaveFileFailed");
@@ -369,4 +341,44 @@ public class AnimationExportDialogD extends JDialog {
 			app.setDefaultCursor();
 		}
 	}
+
+	/**
+	 * Exports 2D view. Frames are rendered on the event dispatch thread one
+	 * at a time, encoding and writing runs in the background.
+	 */
+	private void exportGIF(EuclidianView ev, AnimationExportSlider num,
+			final File file, int timeBetweenFrames) {
+		final AnimationExporter exporter = new AnimationExporter(ev, num);
+		exporter.setDelay(timeBetweenFrames); // miliseconds
+		exporter.setLoop(cbLoop.isSelected());
+
+		// hide dialog
+		setVisible(false);
+
+		app.setWaitCursor();
+		exporter.setRenderOnEventThread(true);
+
+		SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
+
+			@Override
+			protected Void doInBackground() throws IOException {
+				exporter.exportGIF(file);
+				return null;
+			}
+
+			@Override
+			protected void done() {
+				app.setDefaultCursor();
+				try {
+					get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException e) {
+					app.localizeAndShowError("SaveFileFailed");
+					e.getCause().printStackTrace();
+				}
+			}
+		};
+		worker.execute();
+	}
 }
@@ -0,0 +1,418 @@
+package org.geogebra.desktop.export;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.swing.SwingUtilities;
+
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.AnimationExportSlider;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.main.App.ExportType;
+import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.debug.Log;
+import org.geogebra.desktop.CommandLineArguments;
+import org.geogebra.desktop.awt.GGraphics2DD;
+import org.geogebra.desktop.gui.util.AnimatedGifEncoder;
+import org.geogebra.desktop.io.MyImageIO;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+
+/**
+ * Exports the frames of a slider animation as animated GIF or PNG sequence.
+ * Frames are rendered off-screen on the calling thread (or on the event
+ * dispatch thread, see {@link #setRenderOnEventThread(boolean)}); color
+ * quantization, compression and PNG encoding run on worker threads. GIF
+ * frames are written to the file in order as soon as they are ready, so only
+ * a few frames are kept in memory.
+ */
+public class AnimationExporter {
+
+	/** default time between frames in milliseconds */
+	public static final int DEFAULT_DELAY = 10;
+
+	private final EuclidianView ev;
+	private final AnimationExportSlider slider;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private int delay = DEFAULT_DELAY;
+	private boolean loop = true;
+	private double scale = 1;
+	private int dpi = 72;
+	private boolean transparent = false;
+	private boolean renderOnEventThread = false;
+
+	/**
+	 * @param ev
+	 *            view to export (2D only, 3D view exports frames from the
+	 *            OpenGL renderer)
+	 * @param slider
+	 *            animated slider
+	 */
+	public AnimationExporter(EuclidianView ev, AnimationExportSlider slider) {
+		this.ev = ev;
+		this.slider = slider;
+	}
+
+	/**
+	 * @param threads
+	 *            number of worker threads
+	 */
+	public void setThreads(int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * @param delay
+	 *            time between frames in milliseconds (GIF only)
+	 */
+	public void setDelay(int delay) {
+		this.delay = delay;
+	}
+
+	/**
+	 * @param loop
+	 *            whether the GIF should repeat forever
+	 */
+	public void setLoop(boolean loop) {
+		this.loop = loop;
+	}
+
+	/**
+	 * @param scale
+	 *            ratio of frame size and view size
+	 * @param dpi
+	 *            resolution stored in PNG files
+	 */
+	public void setScale(double scale, int dpi) {
+		this.scale = scale;
+		this.dpi = dpi;
+	}
+
+	/**
+	 * @param transparent
+	 *            whether PNG frames should have transparent background
+	 */
+	public void setTransparent(boolean transparent) {
+		this.transparent = transparent;
+	}
+
+	/**
+	 * @param renderOnEventThread
+	 *            whether to set the slider and render frames on the event
+	 *            dispatch thread, needed when exporting from a background
+	 *            thread while the GUI is running
+	 */
+	public void setRenderOnEventThread(boolean renderOnEventThread) {
+		this.renderOnEventThread = renderOnEventThread;
+	}
+
+	/**
+	 * @return slider values of all frames, same as the slider animation
+	 */
+	public double[] getFrameValues() {
+		return getFrameValues(slider);
+	}
+
+	/**
+	 * @param slider
+	 *            animated slider
+	 * @return slider values of all frames, same as the slider animation
+	 */
+	public static double[] getFrameValues(AnimationExportSlider slider) {
+		int type = slider.getAnimationType();
+		double min = slider.getIntervalMin();
+		double max = slider.getIntervalMax();
+		double step = slider.getAnimationStep();
+		double val = min;
+		double steps = (max - min) / step;
+		int n = (int) steps;
+		if (type == GeoElement.ANIMATION_DECREASING) {
+			step = -step;
+			val = max;
+		} else if (type == GeoElement.ANIMATION_OSCILLATING) {
+			steps *= 2;
+			n *= 2;
+		}
+		if (Kernel.isZero(steps - n)) {
+			n++;
+		}
+		if (n == 0) {
+			n = 1;
+		}
+		double[] values = new double[n];
+		for (int i = 0; i < n; i++) {
+			// avoid values like 14.399999999999968
+			val = Kernel.checkDecimalFraction(val);
+			values[i] = val;
+			val += step;
+			if (val > max + 0.00000001 || val < min - 0.00000001) {
+				val -= 2 * step;
+				step *= -1;
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Exports animated GIF
+	 *
+	 * @param file
+	 *            output file
+	 * @throws IOException
+	 *             when writing or encoding fails
+	 */
+	public void exportGIF(File file) throws IOException {
+		OutputStream out = new BufferedOutputStream(
+				new FileOutputStream(file));
+		try {
+			exportGIF(out);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Exports animated GIF, the stream is not closed
+	 *
+	 * @param out
+	 *            output stream
+	 * @throws IOException
+	 *             when writing or encoding fails
+	 */
+	public void exportGIF(OutputStream out) throws IOException {
+		final AnimatedGifEncoder gifEncoder = new AnimatedGifEncoder();
+		gifEncoder.setQuality(1);
+		gifEncoder.setDelay(delay);
+		if (loop) {
+			// repeat forever
+			gifEncoder.setRepeat(0);
+		}
+		gifEncoder.setSize(getFrameWidth(), getFrameHeight());
+		gifEncoder.start(out);
+		ExecutorService workers = Executors.newFixedThreadPool(threads);
+		ArrayDeque<Future<AnimatedGifEncoder.Frame>> pending = new ArrayDeque<>();
+		try {
+			for (double value : getFrameValues()) {
+				final BufferedImage image = renderFrame(value,
+						BufferedImage.TYPE_3BYTE_BGR);
+				pending.add(workers.submit(
+						new Callable<AnimatedGifEncoder.Frame>() {
+							@Override
+							public AnimatedGifEncoder.Frame call() {
+								return gifEncoder.encodeFrame(image);
+							}
+						}));
+				// limit number of frames in memory
+				while (pending.size() > 2 * threads) {
+					writeFrame(gifEncoder, pending.poll());
+				}
+			}
+			while (!pending.isEmpty()) {
+				writeFrame(gifEncoder, pending.poll());
+			}
+		} finally {
+			workers.shutdownNow();
+		}
+		if (!gifEncoder.finish()) {
+			throw new IOException("GIF export failed");
+		}
+	}
+
+	private static void writeFrame(AnimatedGifEncoder gifEncoder,
+			Future<AnimatedGifEncoder.Frame> frame) throws IOException {
+		if (!gifEncoder.addFrame(get(frame))) {
+			throw new IOException("GIF export failed");
+		}
+	}
+
+	/**
+	 * Exports PNG sequence prefix0.png, prefix1.png, ...
+	 *
+	 * @param prefix
+	 *            path and file name without number and extension
+	 * @return number of files
+	 * @throws IOException
+	 *             when writing fails
+	 */
+	public int exportPNG(String prefix) throws IOException {
+		ExecutorService workers = Executors.newFixedThreadPool(threads);
+		ArrayDeque<Future<Void>> pending = new ArrayDeque<>();
+		double[] values = getFrameValues();
+		try {
+			for (int i = 0; i < values.length; i++) {
+				final BufferedImage image = renderFrame(values[i],
+						transparent ? BufferedImage.TYPE_INT_ARGB
+								: BufferedImage.TYPE_INT_RGB);
+				final File file = new File(prefix + i + ".png");
+				pending.add(workers.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws IOException {
+						MyImageIO.write(image, "png", dpi, file);
+						return null;
+					}
+				}));
+				while (pending.size() > 2 * threads) {
+					get(pending.poll());
+				}
+			}
+			while (!pending.isEmpty()) {
+				get(pending.poll());
+			}
+		} finally {
+			workers.shutdownNow();
+		}
+		return values.length;
+	}
+
+	private static <T> T get(Future<T> result) throws IOException {
+		try {
+			return result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("export interrupted");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		}
+	}
+
+	private int getFrameWidth() {
+		return Math.max(1, (int) Math.floor(ev.getExportWidth() * scale));
+	}
+
+	private int getFrameHeight() {
+		return Math.max(1, (int) Math.floor(ev.getExportHeight() * scale));
+	}
+
+	/**
+	 * Renders a frame on the event dispatch thread if needed
+	 */
+	private BufferedImage renderFrame(final double value,
+			final int imageType) throws IOException {
+		if (!renderOnEventThread || SwingUtilities.isEventDispatchThread()) {
+			return paintFrame(value, imageType);
+		}
+		final BufferedImage[] image = new BufferedImage[1];
+		try {
+			SwingUtilities.invokeAndWait(new Runnable() {
+				@Override
+				public void run() {
+					image[0] = paintFrame(value, imageType);
+				}
+			});
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("export interrupted");
+		} catch (InvocationTargetException e) {
+			throw new IOException(e.getCause());
+		}
+		return image[0];
+	}
+
+	/**
+	 * Sets the slider value and draws the view into a new image
+	 */
+	private BufferedImage paintFrame(double value, int imageType) {
+		slider.setValue(value);
+		slider.updateRepaint();
+		BufferedImage image = new BufferedImage(getFrameWidth(),
+				getFrameHeight(), imageType);
+		Graphics2D g = image.createGraphics();
+		ev.exportPaint(new GGraphics2DD(g), scale,
+				imageType == BufferedImage.TYPE_INT_ARGB, ExportType.PNG);
+		g.dispose();
+		return image;
+	}
+
+	/**
+	 * Loads the file given on command line into an app without GUI and exports
+	 * the animation of the slider given by --slider.
+	 *
+	 * @param args
+	 *            command line arguments (--exportAnimation=file.gif|png
+	 *            --slider=name [--delay=ms] [--loop=false] [--dpi=dpi]
+	 *            [--exportThreads=n] file.ggb)
+	 * @return whether the export was successful
+	 */
+	public static boolean exportFromCommandLine(CommandLineArguments args) {
+		if (args.getNoOfFiles() == 0) {
+			Log.error("no file to export");
+			return false;
+		}
+		System.setProperty("java.awt.headless", "true");
+		AppDNoGui app = new AppDNoGui(new LocalizationD(3), false);
+		try {
+			app.getXMLio().readZipFromString(Files.readAllBytes(
+					new File(args.getStringValue("file0")).toPath()));
+		} catch (Exception e) {
+			Log.error("cannot load file: " + e.getMessage());
+			return false;
+		}
+		String sliderName = args.getStringValue("slider");
+		GeoElement slider = app.getKernel().lookupLabel(sliderName);
+		if (slider == null || !slider.isGeoNumeric()
+				|| !((GeoNumeric) slider).isSlider()) {
+			Log.error(sliderName + " is not a slider");
+			return false;
+		}
+		app.getKernel().getAnimatonManager().stopAnimation();
+
+		AnimationExporter exporter = new AnimationExporter(
+				app.getActiveEuclidianView(), (GeoNumeric) slider);
+		String filename = args.getStringValue("exportAnimation");
+		String extension = StringUtil.getFileExtensionStr(filename);
+		try {
+			exporter.setThreads(parseInt(args, "exportThreads",
+					Runtime.getRuntime().availableProcessors()));
+			exporter.setDelay(parseInt(args, "delay", DEFAULT_DELAY));
+			exporter.setLoop(args.getBooleanValue("loop", true));
+			int dpi = parseInt(args, "dpi", 72);
+			exporter.setScale(dpi / 72.0, dpi);
+			long start = System.currentTimeMillis();
+			if ("png".equals(extension)) {
+				exporter.setTransparent(true);
+				exporter.exportPNG(StringUtil.removeFileExtension(filename));
+			} else {
+				exporter.exportGIF(new File(
+						StringUtil.removeFileExtension(filename) + ".gif"));
+			}
+			Log.debug("animation exported in "
+					+ (System.currentTimeMillis() - start) + "ms");
+			return true;
+		} catch (IOException e) {
+			Log.error("animation export failed: " + e.getMessage());
+			return false;
+		}
+	}
+
+	private static int parseInt(CommandLineArguments args, String name,
+			int defaultValue) {
+		String value = args.getStringValue(name);
+		if ("".equals(value)) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			Log.warn("invalid value for " + name);
+			return defaultValue;
+		}
+	}
+}
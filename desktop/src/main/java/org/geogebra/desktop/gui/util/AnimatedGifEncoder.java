@@ -5,6 +5,7 @@ import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferByte;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -53,17 +54,9 @@ public class AnimatedGifEncoder {
 
 	protected OutputStream out;
 
-	protected BufferedImage image; // current frame
+	protected int colorDepth = 8; // number of bit planes
 
-	protected byte[] pixels; // BGR byte array from frame
-
-	protected byte[] indexedPixels; // converted frame indexed to palette
-
-	protected int colorDepth; // number of bit planes
-
-	protected byte[] colorTab; // RGB palette
-
-	protected boolean[] usedEntry = new boolean[256]; // active palette entries
+	protected byte[] colorTab; // RGB palette of current frame
 
 	protected int palSize = 7; // color table size (bits-1)
 
@@ -145,15 +138,76 @@ public class AnimatedGifEncoder {
 		if ((im == null) || !started) {
 			return false;
 		}
+		if (!sizeSet) {
+			// use first frame's size
+			setSize(im.getWidth(), im.getHeight());
+		}
+		return addFrame(encodeFrame(im));
+	}
+
+	/**
+	 * Converts the image to the GIF size, builds the color table and
+	 * compresses the pixels. Only reads the settings of this encoder, so
+	 * frames may be encoded by several worker threads at once (as long as no
+	 * settings are changed meanwhile) and then written in order by
+	 * {@link #addFrame(Frame)}. The size needs to be set before.
+	 * 
+	 * @param im
+	 *            frame image
+	 * @return encoded frame
+	 */
+	public Frame encodeFrame(BufferedImage im) {
+		byte[] pixels = getImagePixels(im, width, height);
+		int len = pixels.length;
+		int nPix = len / 3;
+		byte[] indexedPixels = new byte[nPix];
+		boolean[] usedEntry = new boolean[256];
+		NeuQuant nq = new NeuQuant(pixels, len, sample);
+		// initialize quantizer
+		byte[] tab = nq.process(); // create reduced palette
+		// convert map from BGR to RGB
+		for (int i = 0; i < tab.length; i += 3) {
+			byte temp = tab[i];
+			tab[i] = tab[i + 2];
+			tab[i + 2] = temp;
+		}
+		// map image pixels to new palette
+		int k = 0;
+		for (int i = 0; i < nPix; i++) {
+			int index = nq.map(pixels[k++] & 0xff, pixels[k++] & 0xff,
+					pixels[k++] & 0xff);
+			usedEntry[index] = true;
+			indexedPixels[i] = (byte) index;
+		}
+		// get closest match to transparent color if specified
+		int trans = transparent == null ? 0
+				: findClosest(tab, usedEntry, transparent);
+		ByteArrayOutputStream data = new ByteArrayOutputStream(nPix / 4);
+		try {
+			new LZWEncoder(width, height, indexedPixels, colorDepth)
+					.encode(data);
+		} catch (IOException e) {
+			// not thrown by ByteArrayOutputStream
+			e.printStackTrace();
+		}
+		return new Frame(tab, trans, data.toByteArray());
+	}
+
+	/**
+	 * Writes next GIF frame, see {@link #encodeFrame(BufferedImage)}.
+	 * 
+	 * @param frame
+	 *            encoded frame
+	 * @return true if successful.
+	 */
+	public boolean addFrame(Frame frame) {
+		if ((frame == null) || !started) {
+			return false;
+		}
 		boolean ok = true;
 		try {
-			if (!sizeSet) {
-				// use first frame's size
-				setSize(im.getWidth(), im.getHeight());
-			}
-			image = im;
-			getImagePixels(); // convert to correct format if necessary
-			analyzePixels(); // build color table & map pixels
+			colorTab = frame.colorTab;
+			transIndex = frame.transIndex;
 			if (firstFrame) {
 				writeLSD(); // logical screen descriptior
 				writePalette(); // global color table
@@ -167,7 +221,7 @@ public class AnimatedGifEncoder {
 			if (!firstFrame) {
 				writePalette(); // local color table
 			}
-			writePixels(); // encode and write pixel data
+			out.write(frame.data); // compressed pixel data
 			firstFrame = false;
 		} catch (IOException e) {
 			e.printStackTrace();
@@ -203,9 +257,6 @@ public class AnimatedGifEncoder {
 		// reset for subsequent use
 		transIndex = 0;
 		out = null;
-		image = null;
-		pixels = null;
-		indexedPixels = null;
 		colorTab = null;
 		closeStream = false;
 		firstFrame = true;
@@ -325,61 +376,30 @@ public class AnimatedGifEncoder {
 		return started = ok;
 	}
 
-	/**
-	 * Analyzes image colors and creates color map.
-	 */
-	protected void analyzePixels() {
-		int len = pixels.length;
-		int nPix = len / 3;
-		indexedPixels = new byte[nPix];
-		NeuQuant nq = new NeuQuant(pixels, len, sample);
-		// initialize quantizer
-		colorTab = nq.process(); // create reduced palette
-		// convert map from BGR to RGB
-		for (int i = 0; i < colorTab.length; i += 3) {
-			byte temp = colorTab[i];
-			colorTab[i] = colorTab[i + 2];
-			colorTab[i + 2] = temp;
-			usedEntry[i / 3] = false;
-		}
-		// map image pixels to new palette
-		int k = 0;
-		for (int i = 0; i < nPix; i++) {
-			int index = nq.map(pixels[k++] & 0xff, pixels[k++] & 0xff,
-					pixels[k++] & 0xff);
-			usedEntry[index] = true;
-			indexedPixels[i] = (byte) index;
-		}
-		pixels = null;
-		colorDepth = 8;
-		palSize = 7;
-		// get closest match to transparent color if specified
-		if (transparent != null) {
-			transIndex = findClosest(transparent);
-		}
-	}
-
 	/**
 	 * Returns index of palette color closest to c
 	 * 
+	 * @param tab
+	 *            RGB palette
+	 * @param usedEntry
+	 *            active palette entries
 	 * @param c
+	 *            color
 	 * @return index of color closest to c in euclidean RGB space
 	 * 
 	 */
-	protected int findClosest(Color c) {
-		if (colorTab == null) {
-			return -1;
-		}
+	protected static int findClosest(byte[] tab, boolean[] usedEntry,
+			Color c) {
 		int r = c.getRed();
 		int g = c.getGreen();
 		int b = c.getBlue();
 		int minpos = 0;
 		int dmin = 256 * 256 * 256;
-		int len = colorTab.length;
+		int len = tab.length;
 		for (int i = 0; i < len;) {
-			int dr = r - (colorTab[i++] & 0xff);
-			int dg = g - (colorTab[i++] & 0xff);
-			int db = b - (colorTab[i] & 0xff);
+			int dr = r - (tab[i++] & 0xff);
+			int dg = g - (tab[i++] & 0xff);
+			int db = b - (tab[i] & 0xff);
 			int d = dr * dr + dg * dg + db * db;
 			int index = i / 3;
 			if (usedEntry[index] && (d < dmin)) {
@@ -392,22 +412,30 @@ public class AnimatedGifEncoder {
 	}
 
 	/**
-	 * Extracts image pixels into byte array "pixels"
+	 * Extracts image pixels into BGR byte array
+	 * 
+	 * @param image
+	 *            frame image
+	 * @param w
+	 *            GIF width
+	 * @param h
+	 *            GIF height
+	 * @return pixels
 	 */
-	protected void getImagePixels() {
-		int w = image.getWidth();
-		int h = image.getHeight();
-		int type = image.getType();
-		if ((w != width) || (h != height)
-				|| (type != BufferedImage.TYPE_3BYTE_BGR)) {
+	protected static byte[] getImagePixels(BufferedImage image, int w,
+			int h) {
+		BufferedImage converted = image;
+		if ((image.getWidth() != w) || (image.getHeight() != h)
+				|| (image.getType() != BufferedImage.TYPE_3BYTE_BGR)) {
 			// create new image with right size/format
-			BufferedImage temp = new BufferedImage(width, height,
+			converted = new BufferedImage(w, h,
 					BufferedImage.TYPE_3BYTE_BGR);
-			Graphics2D g = temp.createGraphics();
+			Graphics2D g = converted.createGraphics();
 			g.drawImage(image, 0, 0, null);
-			image = temp;
+			g.dispose();
 		}
-		pixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+		return ((DataBufferByte) converted.getRaster().getDataBuffer())
+				.getData();
 	}
 
 	/**
@@ -516,17 +544,6 @@ public class AnimatedGifEncoder {
 		}
 	}
 
-	/**
-	 * Encodes and writes pixel data
-	 * 
-	 * @throws IOException
-	 */
-	protected void writePixels() throws IOException {
-		LZWEncoder encoder = new LZWEncoder(width, height, indexedPixels,
-				colorDepth);
-		encoder.encode(out);
-	}
-
 	/**
 	 * Write 16-bit value to output stream, LSB first
 	 * 
@@ -549,6 +566,25 @@ public class AnimatedGifEncoder {
 			out.write((byte) s.charAt(i));
 		}
 	}
+
+	/**
+	 * GIF frame with color table and compressed pixels, created by
+	 * {@link AnimatedGifEncoder#encodeFrame(BufferedImage)}
+	 */
+	public static final class Frame {
+		/** RGB palette */
+		final byte[] colorTab;
+		/** transparent index in color table */
+		final int transIndex;
+		/** LZW compressed pixels */
+		final byte[] data;
+
+		Frame(byte[] colorTab, int transIndex, byte[] data) {
+			this.colorTab = colorTab;
+			this.transIndex = transIndex;
+			this.data = data;
+		}
+	}
 }
 
 /*
@@ -12,72 +12,73 @@ the Free Software Foundation.
 
 package org.geogebra.desktop.kernel;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.security.AccessController;
-import java.security.PrivilegedAction;
-
 import javax.swing.DefaultListSelectionModel;
 
-import org.geogebra.common.jre.io.MyXMLioJre;
 import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.DeltaUndoStore;
+import org.geogebra.common.kernel.IncrementalReload;
 import org.geogebra.common.kernel.UndoManager;
 import org.geogebra.common.main.App;
 import org.geogebra.common.plugin.Event;
 import org.geogebra.common.plugin.EventType;
+import org.geogebra.common.util.debug.Instrumentation;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.desktop.cas.view.CASViewD;
 import org.geogebra.desktop.io.MyXMLioD;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-
 /**
  * UndoManager handles undo information for a Construction. It uses an undo info
- * list with construction snapshots in temporary files.
+ * list with construction states that only keep the XML changed since the
+ * previous state (see {@link DeltaUndoStore}).
  * 
  * @author Markus Hohenwarter
  */
 public class UndoManagerD extends UndoManager {
 
 	/**
-	 * Desktop version of ap stat: wrapper for file
+	 * Desktop version of app state: wrapper for delta of construction XML
 	 * 
 	 */
 	protected static class AppStateDesktop implements AppState {
-		private File f;
+		private final DeltaUndoStore store;
+		private final DeltaUndoStore.State state;
+
+		/**
+		 * @param store
+		 *            store of XML chunks
+		 * @param state
+		 *            wrapped state
+		 */
+		AppStateDesktop(DeltaUndoStore store, DeltaUndoStore.State state) {
+			this.store = store;
+			this.state = state;
+		}
 
 		/**
-		 * Wrap file into app state
-		 * 
-		 * @param f
-		 *            file
+		 * @return full XML of this state
 		 */
-		AppStateDesktop(File f) {
-			this.f = f;
+		public String getXML() {
+			return store.getXML(state);
 		}
 
 		/**
-		 * Unwrap the file
-		 * 
-		 * @return file
+		 * @return wrapped state
 		 */
-		public File getFile() {
-			return f;
+		public DeltaUndoStore.State getState() {
+			return state;
 		}
 
 		@Override
-		@SuppressFBWarnings({ "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE",
-				"don't need to check return value" })
 		public void delete() {
-			f.delete();
-
+			// newer states may still refer to the chunks, they are garbage
+			// collected with the last state using them
 		}
 	}
 
-	private static final String TEMP_FILE_PREFIX = "GeoGebraUndoInfo";
+	private final DeltaUndoStore deltaStore = new DeltaUndoStore();
+	/** state the construction was last stored to or loaded from */
+	private AppStateDesktop currentState;
+	private boolean incrementalReload = true;
 
 	/**
 	 * Creates a new UndowManager for the given Construction.
@@ -89,6 +90,31 @@ public class UndoManagerD extends UndoManager {
 		super(cons);
 	}
 
+	/**
+	 * @return store of undo XML, may be used to get memory and time
+	 *         statistics
+	 */
+	public DeltaUndoStore getDeltaStore() {
+		return deltaStore;
+	}
+
+	/**
+	 * @param incrementalReload
+	 *            whether undo / redo should only change the affected
+	 *            elements of the live construction when possible (see
+	 *            {@link IncrementalReload})
+	 */
+	public void setIncrementalReload(boolean incrementalReload) {
+		this.incrementalReload = incrementalReload;
+	}
+
+	@Override
+	public synchronized void clearUndoInfo() {
+		super.clearUndoInfo();
+		deltaStore.clear();
+		currentState = null;
+	}
+
 	/**
 	 * Adds construction state to undo info list
 	 */
@@ -140,75 +166,49 @@ public class UndoManagerD extends UndoManager {
 	 *            string builder with construction XML
 	 */
 	synchronized void doStoreUndoInfo(final StringBuilder undoXML) {
-		// avoid security problems calling from JavaScript ie setUndoPoint()
-		AccessController.doPrivileged(new PrivilegedAction<Object>() {
-			@Override
-			public Object run() {
-				try {
-
-					// perform the security-sensitive operation here
-
-					// save to file
-					File undoInfo = createTempFile(undoXML);
-
-					// insert undo info
-					AppState appStateToAdd = new AppStateDesktop(undoInfo);
-					iterator.add(appStateToAdd);
-					pruneStateList();
-					app.getEventDispatcher().dispatchEvent(
-							new Event(EventType.STOREUNDO, null));
+		try {
+			double startTime = app.getMillisecondTime();
+			// only keep the XML changed since current state
+			DeltaUndoStore.State base = null;
+			if (iterator.hasPrevious()) {
+				base = ((AppStateDesktop) getCurrentUndoInfo()).getState();
+			}
+			AppStateDesktop appStateToAdd = new AppStateDesktop(deltaStore,
+					deltaStore.add(undoXML.toString(), base));
+			double storeTime = app.getMillisecondTime() - startTime;
+			deltaStore.addStoreTime(storeTime);
+			if (app.getInstrumentation() != null) {
+				app.getInstrumentation().record(Instrumentation.UNDO, "store",
+						storeTime);
+			}
 
-				} catch (Exception e) {
-					Log.debug("storeUndoInfo: " + e.toString());
-					e.printStackTrace();
-				} catch (java.lang.OutOfMemoryError err) {
-					Log.debug("UndoManager.storeUndoInfo: " + err.toString());
-					err.printStackTrace();
-				}
+			// insert undo info
+			iterator.add(appStateToAdd);
+			currentState = appStateToAdd;
+			pruneStateList();
+			app.getEventDispatcher()
+					.dispatchEvent(new Event(EventType.STOREUNDO, null));
 
-				return null;
-			}
-		});
+		} catch (Exception e) {
+			Log.debug("storeUndoInfo: " + e.toString());
+			e.printStackTrace();
+		} catch (java.lang.OutOfMemoryError err) {
+			Log.debug("UndoManager.storeUndoInfo: " + err.toString());
+			err.printStackTrace();
+		}
 
 		updateUndoActions();
 	}
 
-	/**
-	 * Creates a temporary file containing the zipped undoXML.
-	 * 
-	 * @param undoXML
-	 *            XML string
-	 * @return temporary file
-	 * @throws IOException
-	 *             on file creation problem
-	 */
-	synchronized static File createTempFile(StringBuilder undoXML)
-			throws IOException {
-		// create temp file
-		File tempFile = File.createTempFile(TEMP_FILE_PREFIX, ".ggb");
-		// Remove when program ends
-		tempFile.deleteOnExit();
-
-		// create file
-		FileOutputStream fos = new FileOutputStream(tempFile);
-		MyXMLioJre.writeZipped(fos, undoXML);
-		fos.close();
-
-		return tempFile;
-	}
-
 	/**
 	 * restore info at position pos of undo list
 	 */
 	@Override
 	final protected synchronized void loadUndoInfo(final AppState info) {
-
-		InputStream is = null;
-
+		double startTime = app.getMillisecondTime();
 		try {
-			// load from file
-			File tempFile = ((AppStateDesktop) info).getFile();
-			is = new FileInputStream(tempFile);
+			AppStateDesktop target = (AppStateDesktop) info;
+			String xml = target.getXML();
 
 			// make sure objects are displayed in the correct View
 			app.setActiveView(App.VIEW_EUCLIDIAN);
@@ -243,7 +243,21 @@ public class UndoManagerD extends UndoManager {
 
 			// load undo info
 			app.getScriptManager().disableListeners();
-			((MyXMLioD) construction.getXMLio()).readZipFromMemory(is);
+			// restoring current state (cancel, failed redefinition) always
+			// rebuilds the construction
+			if (!incrementalReload || currentState == null
+					|| currentState == target
+					|| !IncrementalReload.apply(construction,
+							currentState.getXML(), xml)) {
+				construction.setFileLoading(true);
+				try {
+					construction.getXMLio().processXMLString(xml, true,
+							false, true, false);
+				} finally {
+					construction.setFileLoading(false);
+				}
+			}
+			currentState = target;
 			if (changed) {
 				listSelModel.setAnchorSelectionIndex(anchorIndex);
 				listSelModel.setLeadSelectionIndex(leadIndex);
@@ -258,17 +272,13 @@ public class UndoManagerD extends UndoManager {
 			restoreCurrentUndoInfo();
 		} catch (java.lang.OutOfMemoryError err) {
 			Log.error("UndoManager.loadUndoInfo: " + err.toString());
-		} finally {
-			try {
-				if (is != null) {
-					is.close();
-				}
-			} catch (IOException e) {
-				Log.error("setUndoInfo: " + e.toString());
-				e.printStackTrace();
-			}
 		}
-
+		double loadTime = app.getMillisecondTime() - startTime;
+		deltaStore.addLoadTime(loadTime);
+		if (app.getInstrumentation() != null) {
+			app.getInstrumentation().record(Instrumentation.UNDO, "restore",
+					loadTime);
+		}
 	}
 
 	/**
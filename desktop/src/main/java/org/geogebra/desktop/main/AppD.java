@@ -137,6 +137,8 @@ import org.geogebra.common.io.layout.Perspective;
 import org.geogebra.common.io.layout.PerspectiveDecoder;
 import org.geogebra.common.javax.swing.GImageIcon;
 import org.geogebra.common.jre.factory.FormatFactoryJre;
+import org.geogebra.common.jre.kernel.ForkJoinTaskRunner;
+import org.geogebra.common.jre.kernel.ParallelAlgoScheduler;
 import org.geogebra.common.jre.util.Base64;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
@@ -765,6 +767,11 @@ public class AppD extends App implements KeyEventDispatcher {
 																	// accepted
 					+ "  --showSplash=BOOLEAN\tenable/disable the splash screen\n"
 					+ "  --enableUndo=BOOLEAN\tenable/disable Undo\n"
+					+ "  --parallelUpdate=BOOLEAN\tupdate independent objects on several threads\n"
+					+ "  --jsOptimizationLevel=NUMBER\tRhino optimization level for scripts: -1 (interpreter) to 9\n"
+					+ "  --asyncEvents=BOOLEAN\tdeliver update events to scripts in batches, once per object\n"
+					+ "  --exportAnimation=FILENAME.gif|png --slider=NAME\texport animation of the slider, then exit\n"
+					+ "  --headless\twith --exportAnimation: render frames without GUI (options --delay=MS --loop=BOOLEAN --dpi=NUMBER --exportThreads=NUMBER)\n"
 					+ "  --fontSize=NUMBER\tset default font size\n"
 					+ "  --showAxes=BOOLEAN\tshow/hide coordinate axes\n"
 					+ "  --showGrid=BOOLEAN\tshow/hide grid\n"
@@ -933,6 +940,26 @@ public class AppD extends App implements KeyEventDispatcher {
 			setUndoActive(false);
 		}
 
+		if (args.getBooleanValue("parallelUpdate", false)) {
+			kernel.setAlgoUpdateScheduler(new ParallelAlgoScheduler());
+			kernel.setTaskRunner(new ForkJoinTaskRunner());
+		}
+
+		String jsOptimizationLevel = args
+				.getStringValue("jsOptimizationLevel");
+		if (!"".equals(jsOptimizationLevel)) {
+			try {
+				((ScriptManagerD) getScriptManager()).setOptimizationLevel(
+						Integer.parseInt(jsOptimizationLevel));
+			} catch (NumberFormatException e) {
+				Log.warn("invalid value for jsOptimizationLevel");
+			}
+		}
+
+		if (args.getBooleanValue("asyncEvents", false)) {
+			getEventDispatcher().setAsyncDispatch(true);
+		}
+
 		if (args.containsArg("showAxes")) {
 			boolean showAxesParam = args.getBooleanValue("showAxes", true);
 			this.showAxes[0] = showAxesParam;
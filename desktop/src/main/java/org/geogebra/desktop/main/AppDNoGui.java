@@ -51,6 +51,7 @@ import org.geogebra.common.main.GuiManagerInterface;
 import org.geogebra.common.main.Localization;
 import org.geogebra.common.main.MyError;
 import org.geogebra.common.main.SpreadsheetTableModel;
+import org.geogebra.common.move.ggtapi.models.json.JSONException;
 import org.geogebra.common.plugin.GgbAPI;
 import org.geogebra.common.plugin.ScriptManager;
 import org.geogebra.common.plugin.SensorLogger;
@@ -60,6 +61,7 @@ import org.geogebra.common.util.GTimerListener;
 import org.geogebra.common.util.ImageManager;
 import org.geogebra.common.util.NormalizerMinimal;
 import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.debug.Instrumentation;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.desktop.awt.GBufferedImageD;
 import org.geogebra.desktop.awt.GDimensionD;
@@ -83,6 +85,7 @@ import org.geogebra.desktop.util.ImageManagerD;
 import org.geogebra.desktop.util.LoggerD;
 import org.geogebra.desktop.util.Normalizer;
 import org.geogebra.desktop.util.StringUtilD;
+import org.geogebra.desktop.util.UtilD;
 
 
 /**
@@ -653,8 +656,36 @@ public class AppDNoGui extends App {
 
 	@Override
 	public double getMillisecondTime() {
-		// TODO Auto-generated method stub
-		return 0;
+		return System.nanoTime() / 1000000d;
+	}
+
+	/**
+	 * Writes timing statistics collected since
+	 * {@link #enableInstrumentation(int)}.
+	 * 
+	 * @param file
+	 *            target file; CSV for .csv extension, JSON otherwise
+	 * @return false if instrumentation is disabled
+	 */
+	public boolean exportInstrumentation(File file) {
+		Instrumentation instrumentation = getInstrumentation();
+		if (instrumentation == null) {
+			return false;
+		}
+		String content;
+		if (file.getName().toLowerCase(Locale.US).endsWith(".csv")) {
+			content = instrumentation.toCSV();
+		} else {
+			try {
+				content = instrumentation.toJSON().toString(2);
+			} catch (JSONException e) {
+				Log.error("problem exporting instrumentation: "
+						+ e.getMessage());
+				return false;
+			}
+		}
+		UtilD.writeStringToFile(content, file);
+		return true;
 	}
 
 	@Override
@@ -4,7 +4,19 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.net.InetSocketAddress;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.geogebra.common.cas.CasCacheStore;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.ExpressionNodeConstants.StringType;
 import org.geogebra.common.main.App;
@@ -19,21 +31,125 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 
+/**
+ * HTTP server evaluating commands with a pool of app instances. Apps of the
+ * pool evaluate concurrently, so kernel code they run must not share mutable
+ * static state.
+ */
 public class GeoGebraServer {
 
-	App app;
-	GgbAPI api;
-	String secret;
+	/** default number of pre-warmed app instances */
+	public static final int DEFAULT_POOL_SIZE = 2;
+	/** default timeout for one request in milliseconds */
+	public static final long DEFAULT_TIMEOUT = 30000;
+	/** default HTTP port */
+	public static final int DEFAULT_PORT = 8000;
+
+	/** evaluation state: submitted, not started yet */
+	private static final int EVAL_QUEUED = 0;
+	/** evaluation state: running */
+	private static final int EVAL_RUNNING = 1;
+	/** evaluation state: finished in time */
+	private static final int EVAL_DONE = 2;
+	/** evaluation state: timed out, the app is no longer leased */
+	private static final int EVAL_ABANDONED = 3;
 
+	String secret;
+	private final BlockingQueue<AppDNoGui> pool;
+	private final int poolSize;
+	private final long timeout;
+	private final ThreadPoolExecutor workers;
+	/**
+	 * runs the evaluations; evaluations that timed out may keep their thread
+	 * until they notice the interrupt, so there are more threads than apps
+	 */
+	private final ExecutorService evaluators;
+	/** number of timed out evaluations that are still running */
+	private final AtomicInteger runaways = new AtomicInteger();
+	/** resets and replaces app instances */
+	private final ExecutorService maintenance;
+	private final CasCacheStore casCache;
+	final GeoGebraServerMetrics metrics = new GeoGebraServerMetrics();
+
+	/**
+	 * @param secret
+	 *            secret that needs to be sent with each request (or null)
+	 */
 	public GeoGebraServer(String secret) {
-		this.app = new AppDNoGui(new LocalizationD(3), false);
-		api = app.getGgbApi();
+		this(secret, DEFAULT_POOL_SIZE, DEFAULT_POOL_SIZE, DEFAULT_TIMEOUT);
+	}
+
+	/**
+	 * @param secret
+	 *            secret that needs to be sent with each request (or null)
+	 * @param poolSize
+	 *            number of app instances
+	 * @param workerThreads
+	 *            number of threads handling HTTP requests
+	 * @param timeout
+	 *            timeout for one request in milliseconds
+	 */
+	public GeoGebraServer(String secret, int poolSize, int workerThreads,
+			long timeout) {
+		this(secret, poolSize, workerThreads, timeout, null);
+	}
+
+	/**
+	 * @param secret
+	 *            secret that needs to be sent with each request (or null)
+	 * @param poolSize
+	 *            number of app instances
+	 * @param workerThreads
+	 *            number of threads handling HTTP requests
+	 * @param timeout
+	 *            timeout for one request in milliseconds
+	 * @param casCache
+	 *            persistent CAS cache shared by all app instances (or null)
+	 */
+	public GeoGebraServer(String secret, int poolSize, int workerThreads,
+			long timeout, CasCacheStore casCache) {
+		this(secret, poolSize, workerThreads, timeout, casCache,
+				DEFAULT_PORT);
+	}
+
+	/**
+	 * @param secret
+	 *            secret that needs to be sent with each request (or null)
+	 * @param poolSize
+	 *            number of app instances
+	 * @param workerThreads
+	 *            number of threads handling HTTP requests
+	 * @param timeout
+	 *            timeout for one request in milliseconds
+	 * @param casCache
+	 *            persistent CAS cache shared by all app instances (or null)
+	 * @param port
+	 *            HTTP port, 0 to only use {@link #evaluate(JSONArray)}
+	 */
+	public GeoGebraServer(String secret, int poolSize, int workerThreads,
+			long timeout, CasCacheStore casCache, int port) {
 		this.secret = secret;
+		this.casCache = casCache;
+		this.poolSize = Math.max(1, poolSize);
+		this.timeout = timeout;
+		pool = new ArrayBlockingQueue<>(this.poolSize);
+		for (int i = 0; i < this.poolSize; i++) {
+			pool.add(createApp());
+		}
+		workers = (ThreadPoolExecutor) Executors
+				.newFixedThreadPool(Math.max(1, workerThreads));
+		evaluators = Executors.newFixedThreadPool(2 * this.poolSize);
+		maintenance = Executors.newFixedThreadPool(this.poolSize);
+		if (port <= 0) {
+			return;
+		}
 
 		HttpServer server;
 		try {
-			server = HttpServer.create(new InetSocketAddress(8000), 0);
+			server = HttpServer.create(new InetSocketAddress(port), 0);
 			server.createContext("/v0.1/json", new MyHandlerJSON());
+			server.createContext("/v0.1/metrics", new MetricsHandler());
+			server.setExecutor(workers);
 			server.start();
 		} catch (IOException e) {
 			// TODO Auto-generated catch block
@@ -42,21 +158,201 @@ public class GeoGebraServer {
 
 	}
 
-	class MyHandlerJSON implements HttpHandler {
-		public void handle(HttpExchange t) throws IOException {
+	private AppDNoGui createApp() {
+		AppDNoGui app = new AppDNoGui(new LocalizationD(3), false);
+		app.getKernel().setCasCacheStore(casCache);
+		// warm up parser, algebra processor and CAS
+		try {
+			app.getGgbApi().evalCommand("a=1+1");
+			app.getKernel().evaluateGeoGebraCAS("Expand[(x+1)^2]", null,
+					StringTemplate.defaultTemplate);
+		} catch (Throwable e) {
+			Log.debug("warmup failed: " + e.getMessage());
+		}
+		resetApp(app);
+		return app;
+	}
+
+	void resetApp(AppDNoGui app) {
+		long start = System.currentTimeMillis();
+		app.reset();
+		app.getGgbApi().setRounding("10");
+		metrics.resetDone(System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * Resets the app in background and makes it available for next request
+	 * 
+	 * @param app
+	 *            app instance
+	 */
+	void releaseApp(final AppDNoGui app) {
+		maintenance.execute(new Runnable() {
+			public void run() {
+				AppDNoGui released = app;
+				try {
+					resetApp(released);
+				} catch (Throwable e) {
+					Log.error(
+							"reset failed, replacing app: " + e.getMessage());
+					released = createApp();
+				}
+				pool.offer(released);
+			}
+		});
+	}
+
+	/**
+	 * Adds a new app instance to the pool in background, the old one is still
+	 * used by an evaluation that did not finish in time. At most poolSize apps
+	 * are replaced at once, so that runaway evaluations can't use up all
+	 * evaluator threads: apps in the pool, leased apps and runaway apps
+	 * together never exceed 2 * poolSize.
+	 */
+	void replaceApp() {
+		if (runaways.incrementAndGet() > poolSize) {
+			// pool stays smaller until a runaway evaluation finishes
+			return;
+		}
+		metrics.appReplaced();
+		maintenance.execute(new Runnable() {
+			public void run() {
+				pool.offer(createApp());
+			}
+		});
+	}
+
+	/**
+	 * Called when an evaluation that timed out finally finishes.
+	 * 
+	 * @param app
+	 *            app instance of that evaluation
+	 */
+	void runawayFinished(AppDNoGui app) {
+		if (runaways.getAndDecrement() > poolSize) {
+			// this app was not replaced, reuse it
+			releaseApp(app);
+		}
+	}
+
+	/**
+	 * Evaluates commands with one of the pooled apps.
+	 * 
+	 * @param commands
+	 *            commands
+	 * @return results as JSON string
+	 * @throws TimeoutException
+	 *             if no app was free or the evaluation took too long
+	 * @throws Exception
+	 *             if evaluation failed
+	 */
+	public String evaluate(final JSONArray commands) throws Exception {
+		long start = System.currentTimeMillis();
+		metrics.startWaiting();
+		final AppDNoGui app;
+		try {
+			app = pool.poll(timeout, TimeUnit.MILLISECONDS);
+		} finally {
+			metrics.stopWaiting();
+		}
+		if (app == null) {
+			throw new TimeoutException("Timeout waiting for free instance");
+		}
+		final AtomicInteger state = new AtomicInteger(EVAL_QUEUED);
+		Future<String> result = evaluators.submit(new Callable<String>() {
+			public String call() throws Exception {
+				if (!state.compareAndSet(EVAL_QUEUED, EVAL_RUNNING)) {
+					// timed out before it started, app was released
+					return null;
+				}
+				try {
+					return process(app, commands);
+				} finally {
+					if (!state.compareAndSet(EVAL_RUNNING, EVAL_DONE)) {
+						runawayFinished(app);
+					}
+				}
+			}
+		});
+		long remaining = timeout - (System.currentTimeMillis() - start);
+		try {
+			String ret = result.get(Math.max(1, remaining),
+					TimeUnit.MILLISECONDS);
+			releaseApp(app);
+			return ret;
+		} catch (ExecutionException e) {
+			releaseApp(app);
+			Throwable cause = e.getCause();
+			throw cause instanceof Exception ? (Exception) cause : e;
+		} catch (TimeoutException e) {
+			result.cancel(true);
+			if (state.compareAndSet(EVAL_QUEUED, EVAL_ABANDONED)) {
+				// will never start, so it won't touch the app
+				releaseApp(app);
+			} else if (state.compareAndSet(EVAL_RUNNING, EVAL_ABANDONED)) {
+				// still running, it keeps the app until it notices the
+				// interrupt
+				replaceApp();
+			} else {
+				// finished just after the timeout
+				releaseApp(app);
+			}
+			throw new TimeoutException("Timeout");
+		}
+	}
+
+	/**
+	 * @return request statistics
+	 */
+	public GeoGebraServerMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * @return number of idle app instances
+	 */
+	public int getAvailableApps() {
+		return pool.size();
+	}
+
+	/**
+	 * @param app
+	 *            app instance leased for this request
+	 * @param commands
+	 *            commands
+	 * @return results as JSON string
+	 * @throws JSONException
+	 *             for invalid input
+	 */
+	protected String process(AppDNoGui app, JSONArray commands)
+			throws JSONException {
+		return processCommands(app, commands);
+	}
 
-			app.reset();
-			api.setRounding("10");
+	class MetricsHandler implements HttpHandler {
+		public void handle(HttpExchange t) throws IOException {
+			try {
+				writeOutput(t, metrics
+						.toJSON(pool.size(), workers.getQueue().size())
+						.toString(), false);
+			} catch (JSONException e) {
+				writeError(t, e.getMessage(), false);
+			}
+		}
+	}
 
+	class MyHandlerJSON implements HttpHandler {
+		public void handle(final HttpExchange t) throws IOException {
+			long start = System.currentTimeMillis();
 			boolean testing = false;
+			boolean timedOut = false;
+			String error = null;
 
 			String inputJSON = null;
-			String result;
+			String result = null;
 			try {
 				inputJSON = HttpRequestD.readOutput(t.getRequestBody());
 
-				
-				
 				if (inputJSON == null) {
 					// ? syntax eg
 					// http://localhost:8000/test?123=456
@@ -65,7 +361,7 @@ public class GeoGebraServer {
 				}
 
 				Log.error(inputJSON);
-				JSONObject topLevel = new JSONObject(inputJSON);
+				final JSONObject topLevel = new JSONObject(inputJSON);
 				if (secret != null) {
 					Log.debug("secret = " + topLevel.get("secret"));
 
@@ -75,71 +371,86 @@ public class GeoGebraServer {
 					}
 
 				}
-				JSONArray json = topLevel.getJSONArray("commands");
-				int i = 0;
-				JSONArray results = new JSONArray();
-				while (i < json.length()) {
-					Object testVal = json.opt(i);
-					if (!(testVal instanceof JSONObject)) {
-						Log.debug("Invalid JSON:" + testVal);
-						i++;
-						continue;
-					}
-					JSONObject test = (JSONObject) testVal;
-
-
-					
-					String cmd = test.get("cmd").toString();
-					String args = test.get("args").toString();
-					Log.debug("cmd = " + cmd);
-					Log.debug("args = " + args);
-
-					// Log.error(api.evalCommandCAS("Expand[(x+1)^2]"));
-
-					if ("evalCommand".equals(cmd)) {
-						api.evalCommand(args);
-					} else if ("evalLaTeX".equals(cmd)) {
-						api.evalLaTeX(args, 0);
-					} else if ("getValue".equals(cmd)) {
-						results.put(api.getValue(args));
-					} else if ("getValueString".equals(cmd)) {
-						results.put(api.getValueString(args));
-					} else if ("getLaTeXString".equals(cmd)) {
-						results.put(api.getLaTeXString(args));
-					} else if ("setRounding".equals(cmd)) {
-						api.setRounding(args);
-					} else if ("evalCommandCAS".equals(cmd)) {
-						results.put(api.evalCommandCAS(args));
-					} else if ("evalGeoGebraCAS".equals(cmd)) {
-						results.put(app.getKernel().evaluateGeoGebraCAS(args,
-								null, StringTemplate
-										.fullFigures(StringType.GEOGEBRA)));
-					} else if ("expressionEvaluatesToZero".equals(cmd)) {
-
-						String answer = app.getKernel().evaluateGeoGebraCAS(
-								"Simplify[" + args + "]", null,
-								StringTemplate.defaultTemplate);
-
-						results.put("0".equals(answer) ? "true" : "false");
-					}
-
-					i++;
 
-				}
-				result = results.toString();
+				result = evaluate(topLevel.getJSONArray("commands"));
+			} catch (TimeoutException e) {
+				timedOut = true;
+				error = e.getMessage();
 			} catch (Throwable e) {
 
 				e.printStackTrace();
 				Log.debug(inputJSON);
-				writeError(t, e.getMessage(), testing);
-				return;
+				error = e.getMessage();
+			}
+
+			if (error != null) {
+				writeError(t, error, testing);
+			} else {
+				writeOutput(t, result, testing);
+			}
+			metrics.requestDone(System.currentTimeMillis() - start,
+					error != null, timedOut);
+		}
+	}
+
+	/**
+	 * @param app
+	 *            app instance leased for this request
+	 * @param json
+	 *            commands
+	 * @return results as JSON string
+	 * @throws JSONException
+	 *             for invalid input
+	 */
+	static String processCommands(App app, JSONArray json)
+			throws JSONException {
+		GgbAPI api = app.getGgbApi();
+		int i = 0;
+		JSONArray results = new JSONArray();
+		while (i < json.length()) {
+			Object testVal = json.opt(i);
+			if (!(testVal instanceof JSONObject)) {
+				Log.debug("Invalid JSON:" + testVal);
+				i++;
+				continue;
+			}
+			JSONObject test = (JSONObject) testVal;
+
+			String cmd = test.get("cmd").toString();
+			String args = test.get("args").toString();
+			Log.debug("cmd = " + cmd);
+			Log.debug("args = " + args);
+
+			if ("evalCommand".equals(cmd)) {
+				api.evalCommand(args);
+			} else if ("evalLaTeX".equals(cmd)) {
+				api.evalLaTeX(args, 0);
+			} else if ("getValue".equals(cmd)) {
+				results.put(api.getValue(args));
+			} else if ("getValueString".equals(cmd)) {
+				results.put(api.getValueString(args));
+			} else if ("getLaTeXString".equals(cmd)) {
+				results.put(api.getLaTeXString(args));
+			} else if ("setRounding".equals(cmd)) {
+				api.setRounding(args);
+			} else if ("evalCommandCAS".equals(cmd)) {
+				results.put(api.evalCommandCAS(args));
+			} else if ("evalGeoGebraCAS".equals(cmd)) {
+				results.put(app.getKernel().evaluateGeoGebraCAS(args, null,
+						StringTemplate.fullFigures(StringType.GEOGEBRA)));
+			} else if ("expressionEvaluatesToZero".equals(cmd)) {
+
+				String answer = app.getKernel().evaluateGeoGebraCAS(
+						"Simplify[" + args + "]", null,
+						StringTemplate.defaultTemplate);
+
+				results.put("0".equals(answer) ? "true" : "false");
 			}
 
-			// StringBuilder result = new StringBuilder("[");
+			i++;
 
-			writeOutput(t, result.toString(), testing);
-			
 		}
+		return results.toString();
 	}
 
 	private void writeOutput(HttpExchange t, String message, boolean testing) {
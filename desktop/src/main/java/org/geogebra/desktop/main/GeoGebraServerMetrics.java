@@ -0,0 +1,134 @@
+package org.geogebra.desktop.main;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.geogebra.common.move.ggtapi.models.json.JSONException;
+import org.geogebra.common.move.ggtapi.models.json.JSONObject;
+
+/**
+ * Request statistics of {@link GeoGebraServer}
+ */
+public class GeoGebraServerMetrics {
+
+	private static final int LATENCY_SAMPLES = 1000;
+
+	private final AtomicInteger waiting = new AtomicInteger();
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong errors = new AtomicLong();
+	private final AtomicLong timeouts = new AtomicLong();
+	private final AtomicLong replacedApps = new AtomicLong();
+	/** ring buffer of last request latencies in ms */
+	private final long[] latencies = new long[LATENCY_SAMPLES];
+	private int latencyCount = 0;
+	private long resets = 0;
+	private long resetTimeTotal = 0;
+	private long resetTimeMax = 0;
+
+	/**
+	 * Request started waiting for an app instance
+	 */
+	public void startWaiting() {
+		waiting.incrementAndGet();
+	}
+
+	/**
+	 * Request got an app instance (or gave up)
+	 */
+	public void stopWaiting() {
+		waiting.decrementAndGet();
+	}
+
+	/**
+	 * @param ms
+	 *            total time needed to handle the request
+	 * @param error
+	 *            whether the request failed
+	 * @param timeout
+	 *            whether the request timed out
+	 */
+	public synchronized void requestDone(long ms, boolean error,
+			boolean timeout) {
+		requests.incrementAndGet();
+		if (error) {
+			errors.incrementAndGet();
+		}
+		if (timeout) {
+			timeouts.incrementAndGet();
+		}
+		latencies[latencyCount % LATENCY_SAMPLES] = ms;
+		latencyCount++;
+	}
+
+	/**
+	 * App instance was abandoned because its evaluation did not finish in
+	 * time
+	 */
+	public void appReplaced() {
+		replacedApps.incrementAndGet();
+	}
+
+	/**
+	 * @return number of abandoned app instances
+	 */
+	public long getReplacedApps() {
+		return replacedApps.get();
+	}
+
+	/**
+	 * @param ms
+	 *            time needed to reset an app instance
+	 */
+	public synchronized void resetDone(long ms) {
+		resets++;
+		resetTimeTotal += ms;
+		resetTimeMax = Math.max(resetTimeMax, ms);
+	}
+
+	/**
+	 * @param poolAvailable
+	 *            number of idle app instances
+	 * @param executorQueue
+	 *            number of requests queued in the worker executor
+	 * @return metrics as JSON
+	 * @throws JSONException
+	 *             if JSON can't be built
+	 */
+	public synchronized JSONObject toJSON(int poolAvailable,
+			int executorQueue) throws JSONException {
+		JSONObject json = new JSONObject();
+		json.put("requests", requests.get());
+		json.put("errors", errors.get());
+		json.put("timeouts", timeouts.get());
+		json.put("waitingForApp", waiting.get());
+		json.put("executorQueue", executorQueue);
+		json.put("appsAvailable", poolAvailable);
+		json.put("appsReplaced", replacedApps.get());
+
+		int size = Math.min(latencyCount, LATENCY_SAMPLES);
+		long[] sorted = Arrays.copyOf(latencies, size);
+		Arrays.sort(sorted);
+		JSONObject latency = new JSONObject();
+		latency.put("p50", percentile(sorted, 50));
+		latency.put("p90", percentile(sorted, 90));
+		latency.put("p99", percentile(sorted, 99));
+		latency.put("max", size == 0 ? 0 : sorted[size - 1]);
+		json.put("latencyMs", latency);
+
+		JSONObject reset = new JSONObject();
+		reset.put("count", resets);
+		reset.put("averageMs", resets == 0 ? 0 : resetTimeTotal / resets);
+		reset.put("maxMs", resetTimeMax);
+		json.put("reset", reset);
+		return json;
+	}
+
+	private static long percentile(long[] sorted, int percent) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+	}
+}
@@ -2,6 +2,7 @@ package org.geogebra.desktop.plugin;
 
 import org.geogebra.common.main.App;
 import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Function;
 import org.mozilla.javascript.Scriptable;
 
 public class CallJavaScript {
@@ -16,14 +17,7 @@ public class CallJavaScript {
 	public static Scriptable evalGlobalScript(App app) {
 
 		// create new scope
-		Context cx = Context.enter();
-
-		// No class loader for unsigned applets so don't try and optimize.
-		// http://www.mail-archive.com/batik-dev@xmlgraphics.apache.org/msg00108.html
-		// if (!AppD.hasFullPermissions()) {
-		// cx.setOptimizationLevel(-1);
-		// Context.setCachingEnabled(false);
-		// }
+		Context cx = enter(app);
 
 		Scriptable scope = cx.initStandardObjects();
 
@@ -45,7 +39,7 @@ public class CallJavaScript {
 
 	/**
 	 * Evaluates a local script using the global scope from the current
-	 * construction.
+	 * construction. The script is compiled only once.
 	 * 
 	 * @param app
 	 * @param script
@@ -53,30 +47,59 @@ public class CallJavaScript {
 	 */
 	public static void evalScript(App app, String script, String arg) {
 
+		ScriptManagerD scriptManager = (ScriptManagerD) app
+				.getScriptManager();
 		// get the global scope for the current construction
+		Scriptable globalScope = scriptManager.getGlobalScopeMap()
+				.get(app.getKernel().getConstruction());
+
+		Context cx = enter(app);
+		try {
+			// Create a new scope that shares the global scope
+			Scriptable newScope = cx.newObject(globalScope);
+			newScope.setPrototype(globalScope);
+			newScope.setParentScope(null);
+
+			// Evaluate the script.
+			scriptManager.getCompiledScript(cx, script).exec(cx, newScope);
+		} finally {
+			Context.exit();
+		}
+
+	}
+
+	/**
+	 * Calls a function of the global script, e.g. a listener
+	 * 
+	 * @param app
+	 * @param function
+	 *            function from global scope
+	 * @param args
+	 *            arguments, passed as strings
+	 */
+	public static void callFunction(App app, Function function,
+			Object[] args) {
 		Scriptable globalScope = ((ScriptManagerD) app.getScriptManager())
 				.getGlobalScopeMap().get(app.getKernel().getConstruction());
+		Object[] jsArgs = new Object[args.length];
+		for (int i = 0; i < args.length; i++) {
+			jsArgs[i] = args[i].toString();
+		}
+		Context cx = enter(app);
+		try {
+			function.call(cx, globalScope, globalScope, jsArgs);
+		} finally {
+			Context.exit();
+		}
+	}
 
+	private static Context enter(App app) {
 		Context cx = Context.enter();
-
-		// No class loader for unsigned applets so don't try and optimize.
+		// -1 (interpreter) is needed without class loader, eg. unsigned applets
 		// http://www.mail-archive.com/batik-dev@xmlgraphics.apache.org/msg00108.html
-		// if (!AppD.hasFullPermissions()) {
-		// cx.setOptimizationLevel(-1);
-		// Context.setCachingEnabled(false);
-		// }
-
-		// Create a new scope that shares the global scope
-		Scriptable newScope = cx.newObject(globalScope);
-		newScope.setPrototype(globalScope);
-		newScope.setParentScope(null);
-
-		// Evaluate the script.
-		cx.evaluateString(newScope, script,
-				app.getLocalization().getMenu("ErrorAtLine"), 1, null);
-
-		Context.exit();
-
+		cx.setOptimizationLevel(((ScriptManagerD) app.getScriptManager())
+				.getOptimizationLevel());
+		return cx;
 	}
 
 }
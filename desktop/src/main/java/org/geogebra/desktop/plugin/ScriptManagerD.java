@@ -6,9 +6,15 @@ import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.main.App;
 import org.geogebra.common.plugin.ScriptManager;
+import org.geogebra.common.util.MaxSizeHashMap;
+import org.geogebra.common.util.debug.Instrumentation;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.desktop.main.AppD;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Function;
+import org.mozilla.javascript.Script;
 import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
 
 //import org.concord.framework.data.stream.DataListener;
 //import org.concord.framework.data.stream.DataStreamEvent;
@@ -37,6 +43,13 @@ public class ScriptManagerD extends ScriptManager {
 
 	protected HashMap<Construction, Scriptable> globalScopeMap;
 
+	/** maximal number of compiled scripts kept */
+	private static final int MAX_COMPILED_SCRIPTS = 100;
+	// compiled scripts by source, don't depend on scope
+	private final MaxSizeHashMap<String, Script> compiledScripts = new MaxSizeHashMap<>(
+			MAX_COMPILED_SCRIPTS);
+	private int optimizationLevel = 0;
+
 	public ScriptManagerD(App app) {
 		super(app);
 
@@ -75,6 +88,24 @@ public class ScriptManagerD extends ScriptManager {
 			((AppD) app).getApplet().callJavaScript(jsFunction, args);
 		} else {
 
+			Instrumentation instrumentation = app.getInstrumentation();
+			double start = instrumentation == null ? -1
+					: instrumentation.start();
+			Function function = getGlobalFunction(jsFunction);
+			if (function != null) {
+				try {
+					CallJavaScript.callFunction(app, function, args);
+				} catch (Exception e) {
+					Log.debug("error calling script " + e.getMessage());
+				}
+				if (instrumentation != null) {
+					instrumentation.end(Instrumentation.SCRIPT, jsFunction,
+							start);
+				}
+				return;
+			}
+
+			// not a global function, eg. method of an object
 			StringBuilder sb = new StringBuilder();
 			sb.append(jsFunction);
 			sb.append("(");
@@ -92,8 +123,68 @@ public class ScriptManagerD extends ScriptManager {
 			} catch (Exception e) {
 				Log.debug("error calling script " + e.getMessage());
 			}
+			if (instrumentation != null) {
+				instrumentation.end(Instrumentation.SCRIPT, jsFunction, start);
+			}
+
+		}
+	}
+
+	/**
+	 * @param name
+	 *            function name
+	 * @return function defined in global script (null if there is no such
+	 *         function)
+	 */
+	private Function getGlobalFunction(String name) {
+		if (globalScopeMap.get(app.getKernel().getConstruction()) == null) {
+			setGlobalScript();
+		}
+		Scriptable scope = globalScopeMap
+				.get(app.getKernel().getConstruction());
+		Object function = ScriptableObject.getProperty(scope, name);
+		return function instanceof Function ? (Function) function : null;
+	}
 
+	/**
+	 * @param cx
+	 *            current context
+	 * @param source
+	 *            script
+	 * @return script compiled with current optimization level
+	 */
+	public synchronized Script getCompiledScript(Context cx, String source) {
+		Script script = compiledScripts.get(source);
+		if (script == null) {
+			script = cx.compileString(source,
+					app.getLocalization().getMenu("ErrorAtLine"), 1, null);
+			compiledScripts.put(source, script);
 		}
+		return script;
+	}
+
+	/**
+	 * @return number of compiled scripts in cache
+	 */
+	public synchronized int getCompiledScriptCount() {
+		return compiledScripts.size();
+	}
+
+	/**
+	 * @param level
+	 *            Rhino optimization level, -1 for interpreter, 0 - 9 to
+	 *            compile into Java classes
+	 */
+	public synchronized void setOptimizationLevel(int level) {
+		optimizationLevel = level;
+		compiledScripts.clear();
+	}
+
+	/**
+	 * @return Rhino optimization level
+	 */
+	public int getOptimizationLevel() {
+		return optimizationLevel;
 	}
 
 	public HashMap<Construction, Scriptable> getGlobalScopeMap() {
@@ -105,6 +196,10 @@ public class ScriptManagerD extends ScriptManager {
 
 		Scriptable globalScope = CallJavaScript.evalGlobalScript(app);
 		globalScopeMap.put(app.getKernel().getConstruction(), globalScope);
+		// global script was changed
+		synchronized (this) {
+			compiledScripts.clear();
+		}
 
 	}
 
@@ -0,0 +1,105 @@
+package org.geogebra.cas;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.common.cas.CasResultCache;
+import org.geogebra.common.kernel.CASException;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.desktop.cas.CasCacheFile;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class CasResultCacheTest {
+
+	@Test
+	public void cacheShouldEvictLeastRecentlyUsed() {
+		CasResultCache cache = new CasResultCache(2, 1000);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		Assert.assertEquals("1", cache.get("a"));
+		cache.put("c", "3");
+		Assert.assertNull(cache.get("b"));
+		Assert.assertEquals("1", cache.get("a"));
+		Assert.assertEquals("3", cache.get("c"));
+		Assert.assertEquals(3, cache.getHits());
+		Assert.assertEquals(1, cache.getMisses());
+		Assert.assertEquals(1, cache.getEvictions());
+	}
+
+	@Test
+	public void cacheShouldRespectSizeAndContext() {
+		CasResultCache cache = new CasResultCache(100, 30);
+		cache.put("Expand[(x+1)^2]", "x^2+2x+1");
+		cache.put("Factor[x^2-1]", "(x-1)(x+1)");
+		Assert.assertEquals(1, cache.size());
+		cache.setContext("other settings");
+		Assert.assertNull(cache.get("Factor[x^2-1]"));
+	}
+
+	@Test
+	public void fileShouldSurviveRestart() throws IOException {
+		File file = File.createTempFile("cascache", ".log");
+		file.deleteOnExit();
+		CasCacheFile store = new CasCacheFile(file);
+		CasResultCache cache = new CasResultCache(10, 1000);
+		cache.setStore(store);
+		cache.put("Expand[(x+1)^2]", "x^2+2x+1");
+		store.close();
+
+		CasResultCache restarted = new CasResultCache(10, 1000);
+		restarted.setStore(new CasCacheFile(file));
+		Assert.assertEquals("x^2+2x+1", restarted.get(" Expand[(x+1)^2]"));
+		Assert.assertEquals(1, restarted.getStoreHits());
+		Assert.assertEquals(0, restarted.getMisses());
+	}
+
+	@Test
+	public void compactionShouldKeepEntries() throws IOException {
+		File file = File.createTempFile("cascache", ".log");
+		file.deleteOnExit();
+		CasCacheFile store = new CasCacheFile(file);
+		store.put("a", "1");
+		store.put("a", "2");
+		store.put("b", "3");
+		store.compact();
+		store.close();
+
+		CasCacheFile reloaded = new CasCacheFile(file);
+		Assert.assertEquals(2, reloaded.size());
+		Assert.assertEquals("2", reloaded.get("a"));
+		Assert.assertEquals("3", reloaded.get("b"));
+	}
+
+	@Test
+	public void logShouldBeCompactedWhileRunning() throws IOException {
+		File file = File.createTempFile("cascache", ".log");
+		file.deleteOnExit();
+		CasCacheFile store = new CasCacheFile(file, 10);
+		for (int i = 0; i < 1000; i++) {
+			store.put("a" + i, "" + i);
+		}
+		Assert.assertEquals(10, store.size());
+		Assert.assertTrue(store.getRecordCount() <= 2 * 10 + 100);
+		store.close();
+
+		CasCacheFile reloaded = new CasCacheFile(file, 10);
+		Assert.assertEquals("999", reloaded.get("a999"));
+	}
+
+	@Test
+	public void cacheShouldBeKeyedByGiacInput() throws CASException {
+		Kernel kernel = CommandsTest.createApp().getKernel();
+		CasResultCache cache = kernel.getCasCache();
+		String first = kernel.evaluateCachedGeoGebraCAS("Expand[(x+1)^2]",
+				null);
+		long hits = cache.getHits();
+		// different GeoGebra syntax, same Giac input
+		String second = kernel
+				.evaluateCachedGeoGebraCAS("Expand( ( x + 1 ) ^ 2 )", null);
+		Assert.assertEquals(first, second);
+		Assert.assertEquals(hits + 1, cache.getHits());
+	}
+}
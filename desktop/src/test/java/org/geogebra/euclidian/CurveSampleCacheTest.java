@@ -0,0 +1,71 @@
+package org.geogebra.euclidian;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.euclidian.draw.DrawParametricCurve;
+import org.geogebra.common.euclidian.plot.CurvePlotter;
+import org.geogebra.common.euclidian.plot.CurvePlotter.Gap;
+import org.geogebra.common.euclidian.plot.CurveSampleCache;
+import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class CurveSampleCacheTest {
+
+	@Test
+	public void panningShouldReuseSamples() {
+		AppDNoGui app = CommandsTest.createApp();
+		app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("f(x) = x sin(x)", false);
+		GeoFunction f = (GeoFunction) app.getKernel().lookupLabel("f");
+		EuclidianView view = app.getActiveEuclidianView();
+		GeneralPathClippedForCurvePlotter gp = new GeneralPathClippedForCurvePlotter(
+				view);
+		CurveSampleCache cache = new CurveSampleCache(f);
+
+		CurvePlotter.plotCachedCurve(cache, view.getXmin(), view.getXmax(),
+				view, gp, false, Gap.MOVE_TO);
+		int evaluations = cache.getEvaluationCount();
+		Assert.assertTrue(evaluations > 0);
+		Assert.assertEquals(0, cache.getReusedCount());
+
+		double shift = 5 / view.getXscale();
+		gp.reset();
+		CurvePlotter.plotCachedCurve(cache, view.getXmin() + shift,
+				view.getXmax() + shift, view, gp, false, Gap.MOVE_TO);
+		Assert.assertTrue(cache.getReusedCount() > 0);
+		Assert.assertTrue(cache.getEvaluationCount() < evaluations);
+
+		cache.clear();
+		gp.reset();
+		CurvePlotter.plotCachedCurve(cache, view.getXmin() + shift,
+				view.getXmax() + shift, view, gp, false, Gap.MOVE_TO);
+		Assert.assertEquals(0, cache.getReusedCount());
+	}
+
+	@Test
+	public void panningViewShouldReuseFunctionSamples() {
+		AppDNoGui app = CommandsTest.createApp();
+		app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("f(x) = x sin(x)", false);
+		GeoFunction f = (GeoFunction) app.getKernel().lookupLabel("f");
+		EuclidianView view = app.getActiveEuclidianView();
+		DrawParametricCurve drawable = (DrawParametricCurve) view
+				.getDrawableFor(f);
+		CurveSampleCache cache = drawable.getSampleCache();
+		Assert.assertNotNull(cache);
+		int evaluations = cache.getEvaluationCount();
+		Assert.assertTrue(evaluations > 0);
+
+		for (int i = 0; i < 3; i++) {
+			// parameter range of f moves with the view
+			view.setCoordSystem(view.getXZero() - 7, view.getYZero(),
+					view.getXscale(), view.getYscale());
+			Assert.assertTrue(cache.getReusedCount() > 0);
+			Assert.assertTrue(cache.getEvaluationCount() < evaluations);
+		}
+	}
+}
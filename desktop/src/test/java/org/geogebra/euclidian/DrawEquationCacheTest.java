@@ -0,0 +1,35 @@
+package org.geogebra.euclidian;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.common.awt.GDimension;
+import org.geogebra.common.awt.GFont;
+import org.geogebra.common.euclidian.DrawEquation;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class DrawEquationCacheTest {
+
+	@Test
+	public void measuringTwiceShouldParseOnce() {
+		AppDNoGui app = CommandsTest.createApp();
+		DrawEquation de = app.getDrawEquation();
+		GFont font = app.getPlainFontCommon();
+		de.clearIconCache();
+		int misses = de.getIconCacheMisses();
+		int hits = de.getIconCacheHits();
+		GDimension first = de.measureEquation(app, null, "\\frac{a}{b}",
+				font, false);
+		GDimension second = de.measureEquation(app, null, "\\frac{a}{b}",
+				font, false);
+		Assert.assertEquals(misses + 1, de.getIconCacheMisses());
+		Assert.assertEquals(hits + 1, de.getIconCacheHits());
+		Assert.assertEquals(first.getWidth(), second.getWidth());
+		Assert.assertEquals(first.getHeight(), second.getHeight());
+
+		de.clearIconCache();
+		de.measureEquation(app, null, "\\frac{a}{b}", font, false);
+		Assert.assertEquals(misses + 2, de.getIconCacheMisses());
+	}
+}
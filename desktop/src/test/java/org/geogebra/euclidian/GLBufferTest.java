@@ -0,0 +1,43 @@
+package org.geogebra.euclidian;
+
+import org.geogebra.common.geogebra3D.euclidian3D.openGL.ReusableFloatArray;
+import org.geogebra.common.jre.openGL.GLBufferJre;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class GLBufferTest {
+
+	private static ReusableFloatArray values(int length, float start) {
+		ReusableFloatArray array = new ReusableFloatArray(2);
+		for (int i = 0; i < length; i++) {
+			array.addValue(start + i);
+		}
+		return array;
+	}
+
+	@Test
+	public void reusedArrayShouldGrowAndReset() {
+		ReusableFloatArray array = values(5, 0);
+		array.addValues(5, 6, 7);
+		Assert.assertEquals(8, array.getLength());
+		Assert.assertEquals(7, array.get(7), 0);
+		array.setLength(0);
+		array.addValue(3);
+		Assert.assertEquals(1, array.getLength());
+		Assert.assertEquals(3, array.get(0), 0);
+	}
+
+	@Test
+	public void bufferShouldCopyValuesAtOffset() {
+		GLBufferJre buffer = new GLBufferJre();
+		buffer.set(values(6, 0), 6);
+		buffer.position(2);
+		buffer.set(values(3, 10), 3, 3);
+		Assert.assertEquals(2, buffer.getBuffer().position());
+		float[] result = new float[6];
+		buffer.array(result);
+		Assert.assertArrayEquals(new float[] { 0, 1, 2, 10, 11, 12 }, result,
+				0);
+	}
+}
@@ -0,0 +1,108 @@
+package org.geogebra.euclidian;
+
+import java.awt.image.BufferedImage;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.awt.GRectangle;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.factories.AwtFactory;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.desktop.awt.GGraphics2DD;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class HitGridTest {
+
+	private static final int COLUMNS = 15;
+	private static final int COUNT = 150;
+
+	private AppDNoGui app;
+	private EuclidianView view;
+	private final BufferedImage image = new BufferedImage(800, 600,
+			BufferedImage.TYPE_INT_ARGB);
+
+	@Before
+	public void createPoints() {
+		app = CommandsTest.createApp();
+		view = app.getActiveEuclidianView();
+		for (int i = 0; i < COUNT; i++) {
+			app.getKernel().getAlgebraProcessor().processAlgebraCommand(
+					"P" + i + "=(" + view.toRealWorldCoordX(screenX(i)) + ","
+							+ view.toRealWorldCoordY(screenY(i)) + ")",
+					false);
+		}
+		paint();
+	}
+
+	private static int screenX(int i) {
+		return 40 + (i % COLUMNS) * 50;
+	}
+
+	private static int screenY(int i) {
+		return 40 + (i / COLUMNS) * 50;
+	}
+
+	private void paint() {
+		view.paint(new GGraphics2DD(image.createGraphics()));
+	}
+
+	private GeoElement point(int i) {
+		return app.getKernel().lookupLabel("P" + i);
+	}
+
+	private boolean isHit(int x, int y, GeoElement geo) {
+		view.setHits(new GPoint(x, y), 3);
+		return view.getHits().contains(geo);
+	}
+
+	private void move(int i, int x, int y) {
+		GeoPoint pt = (GeoPoint) point(i);
+		pt.setCoords(view.toRealWorldCoordX(x), view.toRealWorldCoordY(y),
+				1);
+		pt.updateRepaint();
+	}
+
+	@Test
+	public void allPointsShouldBeHit() {
+		for (int i = 0; i < COUNT; i++) {
+			Assert.assertTrue("P" + i,
+					isHit(screenX(i), screenY(i), point(i)));
+		}
+	}
+
+	@Test
+	public void movedPointShouldBeHitAtNewPosition() {
+		for (int step = 0; step < 20; step++) {
+			int i = step * 7;
+			// between the rows, away from all other points
+			int x = 65 + step * 30;
+			int y = 15 + (step % 3) * 250;
+			move(i, x, y);
+			paint();
+			Assert.assertTrue("P" + i, isHit(x, y, point(i)));
+			Assert.assertFalse("P" + i,
+					isHit(screenX(i), screenY(i), point(i)));
+		}
+	}
+
+	@Test
+	public void rectangleShouldOnlyContainPointsInside() {
+		move(0, 700, 560);
+		paint();
+		GRectangle rect = AwtFactory.getPrototype().newRectangle(680, 540,
+				40, 40);
+		view.setHits(rect);
+		Assert.assertEquals(1, view.getHits().size());
+		Assert.assertTrue(view.getHits().contains(point(0)));
+		// first column, P0 moved away
+		view.setHits(
+				AwtFactory.getPrototype().newRectangle(20, 20, 40, 90));
+		Assert.assertTrue(view.getHits().contains(point(COLUMNS)));
+		Assert.assertFalse(view.getHits().contains(point(1)));
+	}
+}
@@ -0,0 +1,98 @@
+package org.geogebra.io;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.desktop.export.AnimationExporter;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class AnimationExportTest {
+
+	private static AnimationExporter createExporter(String sliderDef) {
+		AppDNoGui app = CommandsTest.createApp();
+		app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand(sliderDef, false);
+		app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("c = Circle((0, 0), a)", false);
+		GeoNumeric slider = (GeoNumeric) app.getKernel().lookupLabel("a");
+		return new AnimationExporter(app.getActiveEuclidianView(), slider);
+	}
+
+	@Test
+	public void frameValuesShouldFollowAnimation() {
+		AnimationExporter exporter = createExporter("a = Slider(1, 2, 0.25)");
+		Assert.assertArrayEquals(new double[] { 1, 1.25, 1.5, 1.75, 2 },
+				exporter.getFrameValues(), 1E-10);
+	}
+
+	@Test
+	public void frameValuesShouldBounceWhenOscillating() {
+		AppDNoGui app = CommandsTest.createApp();
+		GeoNumeric slider = (GeoNumeric) app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("a = Slider(1, 2, 0.5)", false)[0];
+		slider.setAnimationType(GeoElement.ANIMATION_OSCILLATING);
+		Assert.assertArrayEquals(new double[] { 1, 1.5, 2, 1.5, 1 },
+				AnimationExporter.getFrameValues(slider), 1E-10);
+		slider.setAnimationType(GeoElement.ANIMATION_DECREASING);
+		Assert.assertArrayEquals(new double[] { 2, 1.5, 1 },
+				AnimationExporter.getFrameValues(slider), 1E-10);
+	}
+
+	@Test
+	public void gifShouldContainFramesInOrder() throws Exception {
+		AnimationExporter exporter = createExporter("a = Slider(1, 2, 0.1)");
+		exporter.setThreads(3);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exporter.exportGIF(out);
+
+		ImageReader reader = ImageIO.getImageReadersByFormatName("gif")
+				.next();
+		ImageInputStream in = ImageIO.createImageInputStream(
+				new ByteArrayInputStream(out.toByteArray()));
+		reader.setInput(in);
+		Assert.assertEquals(11, reader.getNumImages(true));
+		// circle grows, so first and last frame differ
+		Assert.assertFalse(samePixels(reader.read(0), reader.read(10)));
+		in.close();
+	}
+
+	@Test
+	public void framesRenderedOnEventThreadShouldBeExported()
+			throws Exception {
+		AnimationExporter exporter = createExporter("a = Slider(1, 2, 0.25)");
+		exporter.setRenderOnEventThread(true);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exporter.exportGIF(out);
+
+		ImageReader reader = ImageIO.getImageReadersByFormatName("gif")
+				.next();
+		ImageInputStream in = ImageIO.createImageInputStream(
+				new ByteArrayInputStream(out.toByteArray()));
+		reader.setInput(in);
+		Assert.assertEquals(5, reader.getNumImages(true));
+		in.close();
+	}
+
+	private static boolean samePixels(BufferedImage first,
+			BufferedImage second) {
+		for (int x = 0; x < first.getWidth(); x++) {
+			for (int y = 0; y < first.getHeight(); y++) {
+				if (first.getRGB(x, y) != second.getRGB(x, y)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+}
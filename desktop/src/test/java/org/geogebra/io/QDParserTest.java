@@ -0,0 +1,79 @@
+package org.geogebra.io;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+import org.geogebra.common.io.DocHandler;
+import org.geogebra.common.io.QDParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class QDParserTest {
+
+	private static class TagCollector implements DocHandler {
+		protected final ArrayList<String> tags = new ArrayList<>();
+		protected final ArrayList<String> values = new ArrayList<>();
+		protected final StringBuilder text = new StringBuilder();
+
+		@Override
+		public void startElement(String tag,
+				LinkedHashMap<String, String> attrs) {
+			tags.add(tag);
+			values.addAll(attrs.values());
+		}
+
+		@Override
+		public void endElement(String tag) {
+			// only start tags needed
+		}
+
+		@Override
+		public void startDocument() {
+			// not needed
+		}
+
+		@Override
+		public void endDocument() {
+			// not needed
+		}
+
+		@Override
+		public void text(String str) {
+			text.append(str.trim());
+		}
+
+		@Override
+		public int getConsStep() {
+			return 0;
+		}
+	}
+
+	@Test
+	public void parserShouldShareNamesAndCount() throws Exception {
+		StringBuilder xml = new StringBuilder(
+				"<?xml version=\"1.0\"?>\r\n<!-- a -- b -->\n<geogebra>\n");
+		// longer than the read buffer
+		for (int i = 0; i < 1000; i++) {
+			xml.append("<element label='A").append(i)
+					.append("' caption=\"a &lt; b &amp; &#65;\">")
+					.append("<show object=\"true\"/></element>\r\n");
+		}
+		xml.append("<text>x &gt; y</text></geogebra>");
+
+		QDParser parser = new QDParser();
+		TagCollector collector = new TagCollector();
+		parser.parse(collector, new StringReader(xml.toString()));
+
+		Assert.assertEquals(2002, parser.getElementCount());
+		Assert.assertEquals(3000, parser.getAttributeCount());
+		Assert.assertEquals(xml.length(), parser.getCharCount());
+		Assert.assertEquals("x > y", collector.text.toString());
+		Assert.assertEquals("A999", collector.values.get(2997));
+		Assert.assertEquals("a < b & A", collector.values.get(2998));
+		// same String objects for repeated names and short values
+		Assert.assertSame(collector.tags.get(1), collector.tags.get(3));
+		Assert.assertSame(collector.values.get(2), collector.values.get(5));
+	}
+}
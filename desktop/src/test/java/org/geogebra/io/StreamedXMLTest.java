@@ -0,0 +1,32 @@
+package org.geogebra.io;
+
+import java.io.StringWriter;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class StreamedXMLTest {
+
+	private static void eval(AppDNoGui app, String cmd) {
+		app.getKernel().getAlgebraProcessor().processAlgebraCommand(cmd,
+				false);
+	}
+
+	@Test
+	public void streamedXMLShouldEqualFullXML() throws Exception {
+		AppDNoGui app = CommandsTest.createApp();
+		eval(app, "A = (1, 2)");
+		eval(app, "B = (3, 4)");
+		eval(app, "s = Segment(A, B)");
+		eval(app, "M = Midpoint(s)");
+		eval(app, "a = 2");
+		eval(app, "f(x) = a x^2");
+		eval(app, "t = \"a < b\"");
+		StringWriter out = new StringWriter();
+		app.getXMLio().writeFullXML(out);
+		Assert.assertEquals(app.getXMLio().getFullXML(), out.toString());
+	}
+}
@@ -0,0 +1,54 @@
+package org.geogebra.kernel;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.TreeSet;
+
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.algos.AlgorithmSet;
+import org.geogebra.common.kernel.commands.AlgebraProcessor;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class AlgorithmSetTest {
+
+	@Test
+	public void unionShouldMatchTreeSet() {
+		AppDNoGui app = new AppDNoGui(new LocalizationD(3), false);
+		app.setLanguage(Locale.US);
+		AlgebraProcessor ap = app.getKernel().getAlgebraProcessor();
+		ap.processAlgebraCommand("A=(1,2)", false);
+		ap.processAlgebraCommand("B=(5,-1)", false);
+		ap.processAlgebraCommand("C=(0,3)", false);
+		ap.processAlgebraCommand("f=Line(A,B)", false);
+		ap.processAlgebraCommand("M=Midpoint(B,C)", false);
+		ap.processAlgebraCommand("g=Line(M,A)", false);
+		ap.processAlgebraCommand("d=Distance(C,f)", false);
+		ap.processAlgebraCommand("h=Line(M,C)", false);
+
+		ArrayList<GeoElement> geos = new ArrayList<>();
+		for (String label : new String[] { "C", "A", "B" }) {
+			geos.add(app.getKernel().lookupLabel(label));
+		}
+		TreeSet<AlgoElement> expected = new TreeSet<>();
+		AlgorithmSet.Union union = AlgorithmSet.Union.obtain();
+		for (GeoElement geo : geos) {
+			for (AlgoElement algo : geo.getAlgoUpdateSet()) {
+				expected.add(algo);
+			}
+			union.addAll(geo.getAlgoUpdateSet());
+		}
+		Assert.assertEquals(expected.size(), union.size());
+		int i = 0;
+		for (AlgoElement algo : expected) {
+			Assert.assertSame(algo, union.getArray()[i++]);
+		}
+		union.recycle();
+		Assert.assertSame(union, AlgorithmSet.Union.obtain());
+		Assert.assertEquals(0, union.size());
+	}
+}
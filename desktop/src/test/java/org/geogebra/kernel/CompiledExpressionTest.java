@@ -0,0 +1,133 @@
+package org.geogebra.kernel;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.common.kernel.arithmetic.CompiledExpression;
+import org.geogebra.common.kernel.arithmetic.Function;
+import org.geogebra.common.kernel.arithmetic.FunctionNVar;
+import org.geogebra.common.kernel.commands.AlgebraProcessor;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoFunctionNVar;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class CompiledExpressionTest {
+	static AppDNoGui app;
+	static AlgebraProcessor ap;
+
+	@BeforeClass
+	public static void setupApp() {
+		app = CommandsTest.createApp();
+		ap = app.getKernel().getAlgebraProcessor();
+	}
+
+	private static Function function(String def) {
+		GeoFunction f = (GeoFunction) ap.processAlgebraCommand(def,
+				false)[0];
+		return f.getFunction();
+	}
+
+	private static void compare(String def, int fallbacks) {
+		Function fun = function(def);
+		double[] tree = new double[41];
+		for (int i = 0; i < tree.length; i++) {
+			tree[i] = fun.value(i / 4.0 - 5);
+		}
+		fun.setCompiledEvaluation(true);
+		CompiledExpression program = fun.getCompiledExpression();
+		Assert.assertNotNull(program);
+		Assert.assertEquals(fallbacks, program.getFallbackCount());
+		for (int i = 0; i < tree.length; i++) {
+			Assert.assertEquals(def, tree[i], fun.value(i / 4.0 - 5), 1E-12);
+		}
+	}
+
+	@Test
+	public void compiledShouldMatchTree() {
+		compare("f(x)=3x^2-2x+1", 0);
+		compare("g(x)=sin(x)/x+cos(2x)*tan(x/3)", 0);
+		compare("h(x)=sqrt(abs(x))+exp(-x^2)+ln(abs(x)+1)", 0);
+		compare("p(x)=x^(1/3)+cbrt(x)+sinh(x)/cosh(x)-tanh(x)", 0);
+		compare("q(x)=floor(x)+x", 1);
+	}
+
+	@Test
+	public void compiledShouldFollowSliders() {
+		ap.processAlgebraCommand("a=2", false);
+		Function fun = function("k(x)=a*x+1");
+		fun.setCompiledEvaluation(true);
+		Assert.assertEquals(7, fun.value(3), 1E-12);
+		ap.processAlgebraCommand("SetValue(a,3)", false);
+		Assert.assertEquals(10, fun.value(3), 1E-12);
+	}
+
+	@Test
+	public void compiledShouldWorkForTwoVariables() {
+		FunctionNVar fun = ((GeoFunctionNVar) ap
+				.processAlgebraCommand("m(x,y)=x^2+3x*y-y", false)[0])
+						.getFunction();
+		double tree = fun.evaluate(1.5, -2);
+		fun.setCompiledEvaluation(true);
+		Assert.assertEquals(tree, fun.evaluate(1.5, -2), 1E-12);
+		Assert.assertEquals(tree, fun.evaluate(new double[] { 1.5, -2 }),
+				1E-12);
+	}
+
+	@Test
+	public void negativeBaseShouldWorkConcurrently() throws Exception {
+		final FunctionNVar fun = ((GeoFunctionNVar) ap
+				.processAlgebraCommand("n(x,y)=x^(y/3)", false)[0])
+						.getFunction();
+		final double[][] expected = new double[20][7];
+		for (int i = 0; i < expected.length; i++) {
+			for (int j = 0; j < expected[i].length; j++) {
+				expected[i][j] = fun.evaluate(-i - 1, j - 3);
+			}
+		}
+		// (-8)^(1/3) = -2 needs the odd denominator check
+		Assert.assertEquals(-2, fun.evaluate(-8, 1), 1E-12);
+		fun.setCompiledEvaluation(true);
+		Assert.assertEquals(0,
+				fun.getCompiledExpression().getFallbackCount());
+		final AssertionError[] failure = new AssertionError[1];
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			final CompiledExpression copy = fun.getCompiledExpression()
+					.copyForConcurrentUse();
+			Assert.assertNotNull(copy);
+			final int offset = t;
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int k = 0; k < 2000; k++) {
+							int i = (k + offset) % expected.length;
+							int j = (k * 3 + offset) % expected[i].length;
+							Assert.assertEquals(expected[i][j],
+									copy.evaluate(-i - 1, j - 3), 1E-12);
+						}
+					} catch (AssertionError e) {
+						failure[0] = e;
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		if (failure[0] != null) {
+			throw failure[0];
+		}
+	}
+
+	@Test
+	public void booleanFunctionShouldNotCompile() {
+		Function fun = function("b(x)=x>2");
+		fun.setCompiledEvaluation(true);
+		Assert.assertNull(fun.getCompiledExpression());
+		Assert.assertEquals(1, fun.value(3), 1E-12);
+	}
+}
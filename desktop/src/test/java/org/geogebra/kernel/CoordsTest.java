@@ -1,5 +1,6 @@
 package org.geogebra.kernel;
 
+import org.geogebra.common.kernel.Matrix.CoordMatrix;
 import org.geogebra.common.kernel.Matrix.Coords;
 import org.junit.Assert;
 import org.junit.Test;
@@ -15,4 +16,31 @@ public class CoordsTest {
 
 		Assert.assertEquals(v1.dotproduct(v1), 25, 1E-8);
 	}
+
+	@Test
+	public void crossProductShouldAllowSameVector() {
+		Coords v1 = new Coords(1, 2, 3);
+		Coords v2 = new Coords(4, 5, 6);
+		Coords expected = v1.crossProduct(v2);
+		v1.setCrossProduct(v1, v2);
+		Assert.assertTrue(expected.isEqual(v1));
+	}
+
+	@Test
+	public void inPlaceOperationsShouldMatchCopies() {
+		Coords o = new Coords(1, 2, 3, 1);
+		Coords v = new Coords(1, -1, 2, 0);
+		Assert.assertTrue(o.add(v.mul(2.5))
+				.isEqual(new Coords(4).setAddMul(o, v, 2.5)));
+
+		CoordMatrix m = CoordMatrix.rotation3DMatrix(CoordMatrix.Y_AXIS, 0.3);
+		CoordMatrix reused = CoordMatrix
+				.rotation3DMatrix(CoordMatrix.Z_AXIS, 1.2)
+				.setRotation3DMatrix(CoordMatrix.Y_AXIS, 0.3);
+		Assert.assertTrue(m.mul(v).isEqual(reused.mul(v)));
+
+		CoordMatrix transpose = new CoordMatrix(4, 4);
+		transpose.setTranspose(m);
+		Assert.assertTrue(m.inverse().mul(v).isEqual(transpose.mul(v)));
+	}
 }
@@ -0,0 +1,50 @@
+package org.geogebra.kernel;
+
+import org.geogebra.common.kernel.DeltaUndoStore;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class DeltaUndoStoreTest {
+
+	private static String xml(int changed, int size) {
+		StringBuilder sb = new StringBuilder(
+				"<?xml version=\"1.0\"?>\n<geogebra>\n<construction>\n");
+		for (int i = 0; i < size; i++) {
+			sb.append("<element label=\"A" + i + "\">\n");
+			sb.append("\t<coords x=\"" + (i == changed ? -1 : i)
+					+ "\"/>\n</element>\n");
+		}
+		sb.append("</construction>\n</geogebra>");
+		return sb.toString();
+	}
+
+	@Test
+	public void deltasShouldRestoreXML() {
+		DeltaUndoStore store = new DeltaUndoStore(4);
+		DeltaUndoStore.State[] states = new DeltaUndoStore.State[10];
+		for (int i = 0; i < states.length; i++) {
+			states[i] = store.add(xml(i, 20), i == 0 ? null : states[i - 1]);
+		}
+		for (int i = states.length - 1; i >= 0; i--) {
+			Assert.assertEquals(xml(i, 20), store.getXML(states[i]));
+		}
+		Assert.assertTrue(states[0].isCheckpoint());
+		Assert.assertFalse(states[1].isCheckpoint());
+		Assert.assertTrue(states[4].isCheckpoint());
+		Assert.assertEquals(2, states[1].getChangedChunks().length);
+		Assert.assertTrue(store.getStoredChars() < store.getXMLChars() / 2);
+	}
+
+	@Test
+	public void deltaShouldWorkAfterUndo() {
+		DeltaUndoStore store = new DeltaUndoStore();
+		DeltaUndoStore.State first = store.add(xml(1, 5), null);
+		DeltaUndoStore.State second = store.add(xml(2, 5), first);
+		Assert.assertEquals(xml(1, 5), store.getXML(first));
+		// new branch after undo
+		DeltaUndoStore.State third = store.add(xml(3, 6), first);
+		Assert.assertEquals(xml(3, 6), store.getXML(third));
+		Assert.assertEquals(xml(2, 5), store.getXML(second));
+	}
+}
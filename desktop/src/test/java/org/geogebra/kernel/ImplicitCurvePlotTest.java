@@ -0,0 +1,68 @@
+package org.geogebra.kernel;
+
+import java.util.ArrayList;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.common.jre.kernel.ForkJoinTaskRunner;
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.implicit.GeoImplicitCurve;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class ImplicitCurvePlotTest {
+
+	private static GeoImplicitCurve createCurve(AppDNoGui app, String def) {
+		app.getKernel().getAlgebraProcessor().processAlgebraCommand(def,
+				false);
+		GeoElement geo = app.getKernel().lookupLabel("c");
+		Assert.assertTrue(geo instanceof GeoImplicitCurve);
+		return (GeoImplicitCurve) geo;
+	}
+
+	@Test
+	public void updatePathShouldReuseGrid() {
+		AppDNoGui app = CommandsTest.createApp();
+		GeoImplicitCurve curve = createCurve(app, "c: x^3 + y^3 = 3");
+		int points = curve.getLocus().getPoints().size();
+		Assert.assertTrue(points > 0);
+		curve.updatePath();
+		Assert.assertTrue(curve.getPlotReusedCornerCount() > 0);
+		Assert.assertTrue(curve.getPlotReusedCellCount() > 0);
+
+		GeoImplicitCurve redefined = createCurve(app, "c: x^3 + y^3 = 4");
+		Assert.assertEquals(0, redefined.getPlotReusedCornerCount());
+		Assert.assertTrue(redefined.getPlotEvaluationCount() > 0);
+	}
+
+	@Test
+	public void parallelPlotShouldMatchSequential() {
+		String def = "c: x^4 - 5 x^2 y + y^3 = 1";
+		ArrayList<MyPoint> sequential = createCurve(CommandsTest.createApp(),
+				def).getLocus().getPoints();
+		Assert.assertTrue(sequential.size() > 0);
+
+		AppDNoGui app = CommandsTest.createApp();
+		ForkJoinTaskRunner runner = new ForkJoinTaskRunner();
+		app.getKernel().setTaskRunner(runner);
+		try {
+			ArrayList<MyPoint> parallel = createCurve(app, def).getLocus()
+					.getPoints();
+			Assert.assertEquals(sequential.size(), parallel.size());
+			for (int i = 0; i < sequential.size(); i++) {
+				MyPoint expected = sequential.get(i);
+				MyPoint actual = parallel.get(i);
+				Assert.assertEquals("x" + i, expected.getX(), actual.getX(),
+						1E-12);
+				Assert.assertEquals("y" + i, expected.getY(), actual.getY(),
+						1E-12);
+				Assert.assertEquals("lineTo" + i, expected.getLineTo(),
+						actual.getLineTo());
+			}
+		} finally {
+			runner.shutdown();
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package org.geogebra.kernel;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.common.geogebra3D.kernel3D.geos.GeoTriangulatedSurface3D;
+import org.geogebra.common.geogebra3D.kernel3D.geos.GeoTriangulatedSurface3D.SurfaceMover;
+import org.geogebra.common.geogebra3D.kernel3D.implicit3D.GeoImplicitSurface;
+import org.geogebra.common.jre.kernel.ForkJoinTaskRunner;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class ImplicitSurfaceMeshTest {
+
+	private static final double[] BOUNDS = { -2, 2, -2, 2, -2, 2, 200, 200,
+			200 };
+
+	private static GeoImplicitSurface createSurface(AppDNoGui app,
+			String def) {
+		app.getKernel().getAlgebraProcessor().processAlgebraCommand(def,
+				false);
+		GeoElement geo = app.getKernel().lookupLabel("c");
+		Assert.assertTrue(geo instanceof GeoImplicitSurface);
+		return (GeoImplicitSurface) geo;
+	}
+
+	private static int countTriangles(GeoTriangulatedSurface3D surf) {
+		SurfaceMover mover = surf.getSurfaceMover();
+		int count = 0;
+		while (mover.hasNext()) {
+			mover.next();
+			count++;
+		}
+		return count;
+	}
+
+	@Test
+	public void indexedMeshShouldMatchTriangles() {
+		AppDNoGui app = CommandsTest.createApp();
+		GeoImplicitSurface surface = createSurface(app,
+				"c: x^4 + y^4 + z^4 = 1");
+		surface.setIndexedMesh(false);
+		surface.updateSurface(BOUNDS);
+		GeoTriangulatedSurface3D surf = surface.getSurface3D();
+		Assert.assertFalse(surf.hasMesh());
+		int triangles = countTriangles(surf);
+		Assert.assertTrue(triangles > 0);
+
+		surface.setIndexedMesh(true);
+		surface.updateSurface(BOUNDS);
+		Assert.assertTrue(surf.hasMesh());
+		Assert.assertEquals(3 * triangles, surf.getMeshIndexCount());
+		// shared vertices
+		Assert.assertTrue(surf.getMeshVertexCount() < triangles);
+		int vertices = surf.getMeshVertexCount();
+
+		ForkJoinTaskRunner runner = new ForkJoinTaskRunner();
+		app.getKernel().setTaskRunner(runner);
+		surface.updateSurface(BOUNDS);
+		Assert.assertEquals(3 * triangles, surf.getMeshIndexCount());
+		Assert.assertEquals(vertices, surf.getMeshVertexCount());
+		runner.shutdown();
+	}
+
+	@Test
+	public void refinementShouldSkipEmptyBlocks() {
+		AppDNoGui app = CommandsTest.createApp();
+		GeoImplicitSurface surface = createSurface(app,
+				"c: x^2 + y^2 + z^2 = 1");
+		surface.updateSurface(BOUNDS);
+		int triangles = surface.getSurface3D().getMeshIndexCount();
+		surface.setRefinement(1);
+		surface.updateSurface(BOUNDS);
+		Assert.assertTrue(
+				surface.getSurface3D().getMeshIndexCount() > triangles);
+		// 21 cubes per axis, fine grid has 43^3 points
+		Assert.assertTrue(surface.getLastEvaluationCount() < 43 * 43 * 43);
+	}
+}
@@ -0,0 +1,103 @@
+package org.geogebra.kernel;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.common.awt.GColor;
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.IncrementalReload;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class IncrementalReloadTest {
+
+	private AppDNoGui app;
+	private Construction cons;
+
+	@Before
+	public void createConstruction() {
+		app = CommandsTest.createApp();
+		cons = app.getKernel().getConstruction();
+		eval("A = (1, 2)");
+		eval("B = (3, 4)");
+		eval("s = Segment(A, B)");
+	}
+
+	private void eval(String cmd) {
+		app.getKernel().getAlgebraProcessor().processAlgebraCommand(cmd,
+				false);
+	}
+
+	private GeoElement lookup(String label) {
+		return app.getKernel().lookupLabel(label);
+	}
+
+	private String undoXML() {
+		return cons.getCurrentUndoXML(true).toString();
+	}
+
+	@Test
+	public void propertyChangeShouldBeReverted() {
+		String target = undoXML();
+		GeoElement segment = lookup("s");
+		GColor color = segment.getObjectColor();
+		eval("SetColor(s, \"red\")");
+		Assert.assertNotEquals(color, segment.getObjectColor());
+		Assert.assertTrue(IncrementalReload.apply(cons, undoXML(), target));
+		// same object, no reload
+		Assert.assertSame(segment, lookup("s"));
+		Assert.assertEquals(color, segment.getObjectColor());
+		Assert.assertEquals(target, undoXML());
+	}
+
+	@Test
+	public void appendedElementsShouldBeRemoved() {
+		String target = undoXML();
+		GeoElement a = lookup("A");
+		eval("f(x) = x^2");
+		eval("M = Midpoint(s)");
+		Assert.assertTrue(IncrementalReload.apply(cons, undoXML(), target));
+		Assert.assertNull(lookup("f"));
+		Assert.assertNull(lookup("M"));
+		Assert.assertSame(a, lookup("A"));
+		Assert.assertEquals(target, undoXML());
+	}
+
+	@Test
+	public void removedElementsShouldBeAppended() {
+		eval("f(x) = x^2");
+		eval("M = Midpoint(s)");
+		String target = undoXML();
+		GeoElement a = lookup("A");
+		eval("Delete(M)");
+		eval("Delete(f)");
+		Assert.assertTrue(IncrementalReload.apply(cons, undoXML(), target));
+		Assert.assertNotNull(lookup("f"));
+		Assert.assertNotNull(lookup("M"));
+		Assert.assertSame(a, lookup("A"));
+		Assert.assertEquals(target, undoXML());
+	}
+
+	@Test
+	public void structuralChangeShouldNeedFullReload() {
+		String target = undoXML();
+		// caption adds a tag to an element in the middle
+		eval("SetCaption(A, \"start\")");
+		String changed = undoXML();
+		Assert.assertFalse(IncrementalReload.apply(cons, changed, target));
+		// nothing was applied
+		Assert.assertEquals(changed, undoXML());
+	}
+
+	@Test
+	public void changeAfterSourceStateShouldNeedFullReload() {
+		String target = undoXML();
+		eval("f(x) = x^2");
+		String source = undoXML();
+		// not part of source state
+		eval("SetColor(A, \"red\")");
+		Assert.assertFalse(IncrementalReload.apply(cons, source, target));
+	}
+}
@@ -0,0 +1,80 @@
+package org.geogebra.kernel;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class NumericListTest {
+
+	private static GeoElement eval(AppDNoGui app, String def, String label) {
+		app.getKernel().getAlgebraProcessor().processAlgebraCommand(def,
+				false);
+		return app.getKernel().lookupLabel(label);
+	}
+
+	@Test
+	public void sequenceShouldBeBackedByValues() {
+		AppDNoGui app = CommandsTest.createApp();
+		GeoList list = (GeoList) eval(app, "l = Sequence(1000)", "l");
+		Assert.assertEquals(1000, list.size());
+		Assert.assertTrue(list.isPlainNumberList());
+		double[] values = list.getNumberValues();
+		Assert.assertEquals(1000, values[999], 0);
+
+		GeoElement mean = eval(app, "m = Mean(l)", "m");
+		Assert.assertEquals(500.5, mean.evaluateDouble(), 1E-10);
+		GeoElement sd = eval(app, "s = SD(Sequence(4))", "s");
+		Assert.assertEquals(Math.sqrt(1.25), sd.evaluateDouble(), 1E-10);
+
+		// materialize the elements
+		Assert.assertEquals(1000, list.get(999).evaluateDouble(), 0);
+		Assert.assertEquals(1000, list.size());
+		Assert.assertEquals(500.5, mean.evaluateDouble(), 1E-10);
+	}
+
+	@Test
+	public void sortShouldKeepNumbersAndDuplicates() {
+		AppDNoGui app = CommandsTest.createApp();
+		GeoList sorted = (GeoList) eval(app,
+				"l = Sort(Join(Sequence(5, 1), {0, 3}))", "l");
+		Assert.assertEquals("{0, 1, 2, 3, 3, 4, 5}",
+				sorted.toValueString(StringTemplate.defaultTemplate));
+		GeoList desc = (GeoList) eval(app, "d = Sequence(5, 1, -2)", "d");
+		Assert.assertEquals("{5, 3, 1}",
+				desc.toValueString(StringTemplate.defaultTemplate));
+	}
+
+	@Test
+	public void sortUpdatesShouldNotCreateElements() {
+		AppDNoGui app = CommandsTest.createApp();
+		eval(app, "a = 5", "a");
+		GeoList sorted = (GeoList) eval(app, "l = Sort(Sequence(a, 1, -1))",
+				"l");
+		for (int i = 6; i < 20; i++) {
+			eval(app, "SetValue(a, " + i + ")", "a");
+			Assert.assertTrue(sorted.isDefined());
+			Assert.assertEquals(i, sorted.size());
+			Assert.assertEquals(i, sorted.getNumberValues()[i - 1], 0);
+			// elements are only created when they are needed
+			Assert.assertEquals(0, sorted.getCacheSize());
+		}
+	}
+
+	@Test
+	public void fitShouldUsePointCoords() {
+		AppDNoGui app = CommandsTest.createApp();
+		GeoList points = (GeoList) eval(app, "p = {(0, 1), (1, 3), (2, 5)}",
+				"p");
+		double[] coords = points.getPointCoords();
+		Assert.assertArrayEquals(new double[] { 0, 1, 1, 3, 2, 5 }, coords,
+				0);
+		GeoFunction fit = (GeoFunction) eval(app, "f = FitPoly(p, 1)", "f");
+		Assert.assertEquals(5, fit.value(2), 1E-10);
+	}
+}
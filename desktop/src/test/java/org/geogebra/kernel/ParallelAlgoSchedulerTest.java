@@ -0,0 +1,58 @@
+package org.geogebra.kernel;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.common.jre.kernel.ParallelAlgoScheduler;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.commands.AlgebraProcessor;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class ParallelAlgoSchedulerTest {
+
+	private static AppDNoGui createApp() {
+		AppDNoGui app = CommandsTest.createApp();
+		AlgebraProcessor ap = app.getKernel().getAlgebraProcessor();
+		ap.processAlgebraCommand("A=(1,2)", false);
+		ap.processAlgebraCommand("B=(5,-1)", false);
+		for (int i = 0; i < 20; i++) {
+			ap.processAlgebraCommand("C" + i + "=(" + i + ",3)", false);
+			ap.processAlgebraCommand("M" + i + "=Midpoint(A,C" + i + ")",
+					false);
+			ap.processAlgebraCommand("d" + i + "=Distance(M" + i + ",B)",
+					false);
+			ap.processAlgebraCommand("f" + i + "=Line(M" + i + ",B)", false);
+			ap.processAlgebraCommand("s" + i + "=d" + i + "+1", false);
+		}
+		return app;
+	}
+
+	private static String moveAndDescribe(AppDNoGui app) {
+		GeoPoint a = (GeoPoint) app.getKernel().lookupLabel("A");
+		a.setCoords(-3, 7, 1);
+		a.updateCascade();
+		StringBuilder sb = new StringBuilder();
+		for (GeoElement geo : app.getKernel().getConstruction()
+				.getGeoSetConstructionOrder()) {
+			sb.append(geo.toString(StringTemplate.maxPrecision));
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	@Test
+	public void parallelUpdateShouldMatchSequential() {
+		String sequential = moveAndDescribe(createApp());
+		AppDNoGui app = createApp();
+		ParallelAlgoScheduler scheduler = new ParallelAlgoScheduler();
+		scheduler.setMinParallel(2);
+		app.getKernel().setAlgoUpdateScheduler(scheduler);
+		Assert.assertEquals(sequential, moveAndDescribe(app));
+		Assert.assertTrue(scheduler.getParallelAlgos() >= 40);
+		Assert.assertTrue(scheduler.getSequentialAlgos() >= 20);
+		scheduler.shutdown();
+	}
+}
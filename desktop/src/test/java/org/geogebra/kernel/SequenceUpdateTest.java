@@ -0,0 +1,102 @@
+package org.geogebra.kernel;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class SequenceUpdateTest {
+
+	private static AppDNoGui app;
+
+	@BeforeClass
+	public static void setupApp() {
+		app = CommandsTest.createApp();
+	}
+
+	@Before
+	public void clearConstruction() {
+		app.getKernel().clearConstruction(true);
+	}
+
+	private static void eval(String... commands) {
+		for (String cmd : commands) {
+			app.getKernel().getAlgebraProcessor().processAlgebraCommand(cmd,
+					false);
+		}
+	}
+
+	private static void set(String label, double value) {
+		GeoNumeric num = (GeoNumeric) app.getKernel().lookupLabel(label);
+		num.setValue(value);
+		num.updateCascade();
+	}
+
+	private static String value(String label) {
+		GeoList list = (GeoList) app.getKernel().lookupLabel(label);
+		return list.toValueString(StringTemplate.maxPrecision);
+	}
+
+	private static void check(String label, String value) {
+		GeoList list = (GeoList) app.getKernel().lookupLabel(label);
+		Assert.assertEquals(value,
+				list.toValueString(StringTemplate.defaultTemplate));
+	}
+
+	@Test
+	public void sequenceShouldFollowBoundsAndNumbers() {
+		eval("n = 3", "a = 2", "l1 = Sequence(i^2, i, 1, n)",
+				"l2 = Sequence(a i, i, 1, n)", "l3 = Sequence(i / n, i, 1, n)",
+				"l4 = Sequence(i, i, 1, n, 2)");
+		set("n", 5);
+		check("l1", "{1, 4, 9, 16, 25}");
+		check("l2", "{2, 4, 6, 8, 10}");
+		check("l3", "{0.2, 0.4, 0.6, 0.8, 1}");
+		check("l4", "{1, 3, 5}");
+		set("n", 2);
+		check("l1", "{1, 4}");
+		check("l3", "{0.5, 1}");
+		check("l4", "{1}");
+		set("a", 3);
+		check("l2", "{3, 6}");
+		set("n", 4);
+		check("l1", "{1, 4, 9, 16}");
+		check("l2", "{3, 6, 9, 12}");
+		check("l4", "{1, 3}");
+	}
+
+	@Test
+	public void zipShouldUpdateChangedElements() {
+		eval("a = 1", "b = 2", "L = {a, 2, 3}", "z = Zip(k^2 + b, k, L)",
+				"M = Sequence(a)", "w = Zip(k + m, k, L, m, M)");
+		check("z", "{3, 6, 11}");
+		check("w", "{2}");
+		set("a", 4);
+		check("z", "{18, 6, 11}");
+		check("w", "{5, 4, 6}");
+		set("b", 0);
+		check("z", "{16, 4, 9}");
+		set("a", 2);
+		check("w", "{3, 4}");
+	}
+
+	@Test
+	public void inlineRandomShouldChangeOnUpdate() {
+		eval("n = 3", "a = 1", "L = {a, 2, 3}",
+				"s = Sequence(i + random(), i, 1, n)",
+				"z = Zip(k + random(), k, L)");
+		String sequence = value("s");
+		String zip = value("z");
+		// same values: only random() can change the elements
+		set("n", 3);
+		set("a", 1);
+		Assert.assertNotEquals(sequence, value("s"));
+		Assert.assertNotEquals(zip, value("z"));
+	}
+}
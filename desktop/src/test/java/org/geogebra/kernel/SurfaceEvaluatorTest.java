@@ -0,0 +1,47 @@
+package org.geogebra.kernel;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.common.geogebra3D.kernel3D.geos.GeoSurfaceCartesian3D;
+import org.geogebra.common.kernel.Matrix.CoordsDouble3;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class SurfaceEvaluatorTest {
+
+	@Test
+	public void concurrentEvaluatorShouldMatchSurface() {
+		AppDNoGui app = CommandsTest.createApp();
+		app.getKernel().getAlgebraProcessor().processAlgebraCommand(
+				"a = Surface(u v, u + v, sin(u) + v^2, u, -1, 1, v, 1, 3)",
+				false);
+		GeoSurfaceCartesian3D surface = (GeoSurfaceCartesian3D) app
+				.getKernel().lookupLabel("a");
+		surface.setDerivatives();
+		GeoSurfaceCartesian3D.ConcurrentEvaluator evaluator = surface
+				.newConcurrentEvaluator();
+		Assert.assertNotNull(evaluator);
+
+		CoordsDouble3 expected = new CoordsDouble3();
+		CoordsDouble3 actual = new CoordsDouble3();
+		CoordsDouble3 normal = new CoordsDouble3();
+		for (double u = -1; u <= 1; u += 0.25) {
+			for (double v = 1; v <= 3; v += 0.5) {
+				surface.evaluatePoint(u, v, expected);
+				evaluator.evaluatePoint(u, v, actual);
+				assertEquals(expected, actual);
+				surface.evaluateNormal(expected, u, v, normal);
+				Assert.assertTrue(evaluator.evaluateNormal(u, v, actual));
+				assertEquals(normal, actual);
+			}
+		}
+	}
+
+	private static void assertEquals(CoordsDouble3 expected,
+			CoordsDouble3 actual) {
+		Assert.assertEquals(expected.x, actual.x, 1E-12);
+		Assert.assertEquals(expected.y, actual.y, 1E-12);
+		Assert.assertEquals(expected.z, actual.z, 1E-12);
+	}
+}
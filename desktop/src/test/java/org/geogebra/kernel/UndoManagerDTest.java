@@ -0,0 +1,112 @@
+package org.geogebra.kernel;
+
+import org.geogebra.commands.CommandsTest;
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.DeltaUndoStore;
+import org.geogebra.common.kernel.UndoManager;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.desktop.kernel.UndoManagerD;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class UndoManagerDTest {
+
+	private static final int STEPS = 12;
+
+	private AppDNoGui app;
+	private Construction cons;
+
+	@Before
+	public void createConstruction() throws InterruptedException {
+		app = CommandsTest.createApp();
+		cons = app.getKernel().getConstruction();
+		app.getKernel().setUndoActive(true);
+		cons.initUndoInfo();
+		waitForStates(1);
+	}
+
+	private void eval(String cmd) {
+		app.getKernel().getAlgebraProcessor().processAlgebraCommand(cmd,
+				false);
+	}
+
+	private int getStates() {
+		UndoManager manager = cons.getUndoManager();
+		synchronized (manager) {
+			return manager.iterator.nextIndex();
+		}
+	}
+
+	/** undo info is stored in a separate thread */
+	private void waitForStates(int states) throws InterruptedException {
+		for (int i = 0; i < 500 && getStates() < states; i++) {
+			Thread.sleep(10);
+		}
+		Assert.assertEquals(states, getStates());
+	}
+
+	private String undoXML() {
+		return cons.getCurrentUndoXML(true).toString();
+	}
+
+	@Test
+	public void undoShouldRestoreStoredDeltas() throws InterruptedException {
+		String[] xml = new String[STEPS + 1];
+		xml[0] = undoXML();
+		for (int i = 1; i <= STEPS; i++) {
+			eval("P_{" + i + "} = (" + i + ", 0)");
+			cons.storeUndoInfo();
+			waitForStates(i + 1);
+			xml[i] = undoXML();
+		}
+		for (int i = STEPS - 1; i >= 0; i--) {
+			cons.undo();
+			Assert.assertEquals(xml[i], undoXML());
+		}
+		Assert.assertNull(app.getKernel().lookupLabel("P_{1}"));
+		cons.redo();
+		cons.redo();
+		Assert.assertEquals(xml[2], undoXML());
+		Assert.assertNotNull(app.getKernel().lookupLabel("P_{2}"));
+
+		DeltaUndoStore store = ((UndoManagerD) cons.getUndoManager())
+				.getDeltaStore();
+		// only the new point is stored for most steps
+		Assert.assertTrue(store.getStoredChars() < store.getXMLChars() / 2);
+	}
+
+	@Test
+	public void undoShouldKeepUnchangedElements() throws InterruptedException {
+		eval("A = (1, 2)");
+		eval("B = (3, 4)");
+		cons.storeUndoInfo();
+		waitForStates(2);
+		String xml = undoXML();
+		GeoElement a = app.getKernel().lookupLabel("A");
+		eval("s = Segment(A, B)");
+		cons.storeUndoInfo();
+		waitForStates(3);
+		cons.undo();
+		Assert.assertEquals(xml, undoXML());
+		// incremental reload: same object
+		Assert.assertSame(a, app.getKernel().lookupLabel("A"));
+	}
+
+	@Test
+	public void undoShouldRevertChangesWithoutUndoPoint()
+			throws InterruptedException {
+		eval("A = (1, 2)");
+		cons.storeUndoInfo();
+		waitForStates(2);
+		String xml = undoXML();
+		eval("B = (3, 4)");
+		cons.storeUndoInfo();
+		waitForStates(3);
+		eval("SetColor(A, \"red\")");
+		cons.undo();
+		Assert.assertEquals(xml, undoXML());
+	}
+}
@@ -39,6 +39,23 @@ public class APITest {
 		Assert.assertEquals(api.getValueString("latex"), "latex(x) = sqrt(x)");
 	}
 
+	@Test
+	public void testInstrumentation() {
+		Assert.assertEquals("", api.getInstrumentation("json"));
+		api.enableInstrumentation(1);
+		api.evalCommand("A=(1,2)");
+		api.evalCommand("B=(3,4)");
+		api.evalCommand("M=Midpoint(A,B)");
+		api.setCoords("A", 2, 3);
+		String csv = api.getInstrumentation("csv");
+		Assert.assertTrue(csv.contains("algo,AlgoMidpoint,"));
+		Assert.assertTrue(csv.contains("cascade,GeoPoint,"));
+		Assert.assertTrue(
+				api.getInstrumentation("json").contains("\"AlgoMidpoint\""));
+		api.disableInstrumentation();
+		Assert.assertEquals("", api.getInstrumentation("csv"));
+	}
+
 	@Test
 	public void testLabelStyle() {
 		api.evalCommand("a=7");
@@ -0,0 +1,91 @@
+package org.geogebra.main;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+import org.geogebra.common.plugin.Event;
+import org.geogebra.common.plugin.EventDispatcher;
+import org.geogebra.common.plugin.EventListener;
+import org.geogebra.common.plugin.EventType;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class AsyncEventDispatchTest {
+
+	/**
+	 * Keeps runnables passed to invokeLater until the test runs them, so
+	 * that the event thread can't flush the queue in the middle of a test
+	 */
+	private static class ManualApp extends AppDNoGui {
+		final ArrayList<Runnable> scheduled = new ArrayList<>();
+
+		ManualApp() {
+			super(new LocalizationD(3), false);
+			setLanguage(Locale.US);
+		}
+
+		@Override
+		public void invokeLater(Runnable runnable) {
+			scheduled.add(runnable);
+		}
+	}
+
+	private ManualApp app;
+	private EventDispatcher dispatcher;
+	private final ArrayList<String> received = new ArrayList<>();
+
+	@Before
+	public void setup() {
+		app = new ManualApp();
+		eval("a = 1");
+		eval("b = 2");
+		dispatcher = app.getEventDispatcher();
+		dispatcher.addEventListener(new EventListener() {
+			@Override
+			public void sendEvent(Event evt) {
+				received.add(evt.type + " "
+						+ (evt.target == null ? "" : evt.target.getLabelSimple()));
+			}
+
+			@Override
+			public void reset() {
+				// nothing to do
+			}
+		});
+		dispatcher.setAsyncDispatch(true);
+		// ignore anything scheduled during construction
+		app.scheduled.clear();
+	}
+
+	private void eval(String cmd) {
+		app.getKernel().getAlgebraProcessor().processAlgebraCommand(cmd,
+				false);
+	}
+
+	@Test
+	public void updatesShouldBeCoalesced() {
+		dispatcher.update(app.getKernel().lookupLabel("a"));
+		dispatcher.update(app.getKernel().lookupLabel("b"));
+		dispatcher.update(app.getKernel().lookupLabel("a"));
+		Assert.assertEquals(2, dispatcher.getQueueLength());
+		Assert.assertTrue(received.isEmpty());
+		// one flush for the whole batch
+		Assert.assertEquals(1, app.scheduled.size());
+		app.scheduled.remove(0).run();
+		Assert.assertEquals("[UPDATE a, UPDATE b]", received.toString());
+		Assert.assertEquals(0, dispatcher.getQueueLength());
+		Assert.assertEquals(1, dispatcher.getCoalescedEvents());
+	}
+
+	@Test
+	public void otherEventsShouldKeepOrder() {
+		dispatcher.update(app.getKernel().lookupLabel("a"));
+		dispatcher.dispatchEvent(EventType.CLICK,
+				app.getKernel().lookupLabel("b"));
+		Assert.assertEquals("[UPDATE a, CLICK b]", received.toString());
+	}
+}
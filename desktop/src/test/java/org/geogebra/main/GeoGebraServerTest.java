@@ -0,0 +1,103 @@
+package org.geogebra.main;
+
+import java.util.concurrent.TimeoutException;
+
+import org.geogebra.common.move.ggtapi.models.json.JSONArray;
+import org.geogebra.common.move.ggtapi.models.json.JSONException;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.geogebra.desktop.main.GeoGebraServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class GeoGebraServerTest {
+
+	private static final long TIMEOUT = 5000;
+
+	/**
+	 * Server without HTTP, evaluations can be made to hang and ignore
+	 * interrupts
+	 */
+	private static class RunawayServer extends GeoGebraServer {
+		volatile boolean hang = false;
+		volatile boolean released = false;
+
+		RunawayServer() {
+			super(null, 1, 1, TIMEOUT, null, 0);
+		}
+
+		@Override
+		protected String process(AppDNoGui app, JSONArray commands)
+				throws JSONException {
+			if (hang) {
+				while (!released) {
+					Thread.yield();
+				}
+			}
+			return super.process(app, commands);
+		}
+	}
+
+	private final RunawayServer server = new RunawayServer();
+
+	@After
+	public void releaseRunaway() {
+		server.released = true;
+	}
+
+	private static JSONArray commands(String value) throws JSONException {
+		return new JSONArray("[{\"cmd\":\"evalCommand\",\"args\":\"a=" + value
+				+ "\"},{\"cmd\":\"getValue\",\"args\":\"a\"}]");
+	}
+
+	@Test
+	public void evaluationShouldReturnAppToPool() throws Exception {
+		Assert.assertEquals("[3]", server.evaluate(commands("3")));
+		// app is reset before it is reused
+		Assert.assertEquals("[4]", server.evaluate(commands("4")));
+		Assert.assertEquals(0, server.getMetrics().getReplacedApps());
+	}
+
+	@Test
+	public void runawayEvaluationShouldReplaceApp() throws Exception {
+		server.hang = true;
+		try {
+			server.evaluate(commands("1"));
+			Assert.fail("timeout expected");
+		} catch (TimeoutException e) {
+			Assert.assertEquals("Timeout", e.getMessage());
+		}
+		Assert.assertEquals(1, server.getMetrics().getReplacedApps());
+
+		// the hanging evaluation still runs, a new app takes its place
+		server.hang = false;
+		Assert.assertEquals("[5]", server.evaluate(commands("5")));
+
+		// finishing the runaway evaluation doesn't give its app back
+		server.released = true;
+		Thread.sleep(500);
+		Assert.assertTrue(server.getAvailableApps() <= 1);
+	}
+
+	@Test
+	public void runawaysShouldNotExhaustEvaluators() throws Exception {
+		server.hang = true;
+		for (int i = 0; i < 2; i++) {
+			try {
+				server.evaluate(commands("1"));
+				Assert.fail("timeout expected");
+			} catch (TimeoutException e) {
+				Assert.assertEquals("Timeout", e.getMessage());
+			}
+		}
+		// only one app per pool slot is replaced
+		Assert.assertEquals(1, server.getMetrics().getReplacedApps());
+		Assert.assertEquals(0, server.getAvailableApps());
+
+		// finished runaway gives back the app that was not replaced
+		server.hang = false;
+		server.released = true;
+		Assert.assertEquals("[5]", server.evaluate(commands("5")));
+	}
+}
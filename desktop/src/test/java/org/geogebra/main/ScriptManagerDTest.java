@@ -0,0 +1,100 @@
+package org.geogebra.main;
+
+import java.util.Locale;
+
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.main.App;
+import org.geogebra.common.plugin.script.JsScript;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+import org.geogebra.desktop.plugin.ScriptManagerD;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class ScriptManagerDTest {
+
+	/**
+	 * Runs JavaScript of objects like the desktop app does
+	 */
+	private static class ScriptingApp extends AppDNoGui {
+		ScriptingApp() {
+			super(new LocalizationD(3), false);
+			setLanguage(Locale.US);
+		}
+
+		@Override
+		public void evalJavaScript(App app, String script, String arg)
+				throws Exception {
+			((ScriptManagerD) getScriptManager()).evalJavaScript(app, script,
+					arg);
+		}
+	}
+
+	private AppDNoGui app;
+	private ScriptManagerD scriptManager;
+
+	@Before
+	public void setup() {
+		app = new ScriptingApp();
+		scriptManager = (ScriptManagerD) app.getScriptManager();
+		app.getKernel().setLibraryJavaScript("function listener(arg) {"
+				+ "ggbApplet.evalCommand('n = ' + arg.length);}"
+				+ "var counter = {add: function(x) {"
+				+ "ggbApplet.setValue('n', ggbApplet.getValue('n') + Number(x));}};");
+		eval("n = 0");
+	}
+
+	private void eval(String cmd) {
+		app.getKernel().getAlgebraProcessor().processAlgebraCommand(cmd,
+				false);
+	}
+
+	private double getN() {
+		return app.getGgbApi().getValue("n");
+	}
+
+	@Test
+	public void repeatedScriptShouldBeCompiledOnce() {
+		scriptManager.callJavaScript("counter.add", new Object[] { "2" });
+		Assert.assertEquals(1, scriptManager.getCompiledScriptCount());
+		scriptManager.callJavaScript("counter.add", new Object[] { "2" });
+		Assert.assertEquals(1, scriptManager.getCompiledScriptCount());
+		Assert.assertEquals(4, getN(), 0);
+	}
+
+	@Test
+	public void globalFunctionShouldBeCalledDirectly() {
+		// would be a syntax error in a compiled call string
+		scriptManager.callJavaScript("listener", new Object[] { "a\"b" });
+		Assert.assertEquals(3, getN(), 0);
+		Assert.assertEquals(0, scriptManager.getCompiledScriptCount());
+	}
+
+	@Test
+	public void editedScriptShouldNotUseOldCompiledScript() {
+		eval("A = (1, 2)");
+		GeoElement a = app.getKernel().lookupLabel("A");
+		a.setClickScript(new JsScript(app, "ggbApplet.evalCommand('n = 1')"));
+		a.runClickScripts(null);
+		Assert.assertEquals(1, getN(), 0);
+		Assert.assertEquals(1, scriptManager.getCompiledScriptCount());
+
+		a.setClickScript(new JsScript(app, "ggbApplet.evalCommand('n = 2')"));
+		a.runClickScripts(null);
+		Assert.assertEquals(2, getN(), 0);
+		Assert.assertEquals(2, scriptManager.getCompiledScriptCount());
+	}
+
+	@Test
+	public void editedGlobalScriptShouldClearCompiledScripts() {
+		scriptManager.callJavaScript("counter.add", new Object[] { "2" });
+		Assert.assertEquals(1, scriptManager.getCompiledScriptCount());
+		app.getKernel().setLibraryJavaScript("var counter = {add: function(x) {"
+				+ "ggbApplet.setValue('n', ggbApplet.getValue('n') - Number(x));}};");
+		Assert.assertEquals(0, scriptManager.getCompiledScriptCount());
+		scriptManager.callJavaScript("counter.add", new Object[] { "2" });
+		Assert.assertEquals(0, getN(), 0);
+	}
+}
@@ -66,4 +66,17 @@ public class ColorW implements Color {
 		return cssColor;
 	}
 
+	@Override
+	public int hashCode() {
+		return cssColor.value().hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof ColorW)) {
+			return false;
+		}
+		return cssColor.value().equals(((ColorW) obj).cssColor.value());
+	}
+
 }
@@ -1,8 +1,7 @@
 package org.geogebra.web.geogebra3D.web.euclidian3D.openGL;
 
-import java.util.ArrayList;
-
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.GLBuffer;
+import org.geogebra.common.geogebra3D.euclidian3D.openGL.ReusableFloatArray;
 
 import com.googlecode.gwtgl.array.Float32Array;
 
@@ -79,23 +78,25 @@ public class GLBufferW implements GLBuffer {
 
 
 	@Override
-	public void set(ArrayList<Double> array, int length) {
+	public void set(ReusableFloatArray array, int length) {
 
 		allocate(length);
 		if (impl == null) {
 			return;
 		}
+		float[] values = array.array();
 		for (int i = 0; i < length; i++) {
-			impl.set(i, array.get(i));
+			impl.set(i, values[i]);
 		}
 
 		setLimit(length);
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, int offset, int length) {
+	public void set(ReusableFloatArray array, int offset, int length) {
+		float[] values = array.array();
 		for (int i = 0; i < length; i++) {
-			impl.set(i + offset, array.get(i));
+			impl.set(i + offset, values[i]);
 		}
 	}
 
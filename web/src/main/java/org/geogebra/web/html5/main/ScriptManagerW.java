@@ -949,6 +949,18 @@ public class ScriptManagerW extends ScriptManager {
 			return ggbAPI.@org.geogebra.web.html5.main.GgbAPIW::evalLaTeX(Ljava/lang/String;I)(text + "",mode);
 		};
 
+		api.enableInstrumentation = function(sampleRate) {
+			ggbAPI.@org.geogebra.web.html5.main.GgbAPIW::enableInstrumentation(I)(sampleRate || 1);
+		};
+
+		api.disableInstrumentation = function() {
+			ggbAPI.@org.geogebra.web.html5.main.GgbAPIW::disableInstrumentation()();
+		};
+
+		api.getInstrumentation = function(format) {
+			return ggbAPI.@org.geogebra.web.html5.main.GgbAPIW::getInstrumentation(Ljava/lang/String;)((format || "json") + "");
+		};
+
 		api.evalMathML = function(text) {
 			return ggbAPI.@org.geogebra.web.html5.main.GgbAPIW::evalMathML(Ljava/lang/String;)(text + "");
 		};